@@ -0,0 +1,412 @@
+package com.github.chromabreak.benchmark;
+
+import com.github.chromabreak.Config;
+import com.github.chromabreak.blocks.BuddingCrystalsBlock;
+import com.github.chromabreak.blocks.CrystalGrowthEngine;
+import com.github.chromabreak.blocks.CrystalGrowthStages;
+import com.github.chromabreak.util.ModBlocks;
+import net.minecraft.core.Direction;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.block.Block;
+import net.neoforged.neoforge.registries.DeferredHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CrystalGrowthBenchmark - 水晶生长模拟基准测试
+ * Crystal Growth Simulation Benchmark
+ * <p>
+ * 在不启动游戏的情况下，为每种CrystalColor放置N个母岩并模拟M刻，比较三种生长模型的耗时和结果：
+ * Without bootstrapping the game, places N budding blocks of every CrystalColor and simulates M ticks, comparing the cost
+ * and outcome of three growth models:
+ * - randomTickPolling：旧实现，每个母岩每刻以 randomTickSpeed / 4096 被选中，选中后每个面10%几率生长
+ * randomTickPolling: Old implementation, every budding block is picked with randomTickSpeed / 4096 per tick, then every face grows with a 10% chance
+ * - scheduledTicks：CrystalGrowthEngine.nextDelay驱动的计划刻队列，每次事件随机选择一个面
+ * scheduledTicks: Scheduled tick queue driven by CrystalGrowthEngine.nextDelay, every event picks a random face
+ * - catchUp：CrystalGrowthEngine.eventsWithin一次性抽取整段时间的事件数
+ * catchUp: CrystalGrowthEngine.eventsWithin draws the event count of the whole period at once
+ * <p>
+ * 每次生长事件都运行母岩真实的生长步骤BuddingCrystalsBlock.grownState，阶段表由CrystalGrowthStages.link构建；
+ * 方块和方块状态需要启动游戏注册表，因此用替身代替：每个已注册的芽方块对应一个StubBlock，每个面保存一个StubState
+ * Every growth event runs the budding block's real growth step BuddingCrystalsBlock.grownState, and the stage table is
+ * built by CrystalGrowthStages.link; blocks and block states need the game registries, so stand-ins replace them: one
+ * StubBlock per registered bud block and one StubState per face
+ * <p>
+ * 运行main方法可以打印每种模型的阶段分布，以及按泊松分布计算的期望阶段分布，用于检查生长速率是否正确
+ * Run the main method to print each model's stage distribution next to the expected distribution from the Poisson model,
+ * to check that the growth rate is correct
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CrystalGrowthBenchmark {
+
+    private static final int FACES = 6;
+
+    private static final double FACE_GROWTH_CHANCE = 0.1;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * 各阶段芽方块的注册名格式，按生长顺序排列（与ModBlocks中的注册名一致）
+     * Registry name formats of the bud blocks of every stage, in growth order (matching the names in ModBlocks)
+     */
+    private static final String[] STAGE_NAMES = {
+            "small_crystals_%s_bud",
+            "medium_crystals_%s_bud",
+            "large_crystals_%s_bud",
+            "crystals_%s_cluster"
+    };
+
+    /**
+     * 空气
+     * Air
+     */
+    private static final StubState AIR = new StubState(null, null, false);
+
+    /**
+     * 替身方块状态的访问方式
+     * Access to the stand-in block states
+     */
+    private static final BuddingCrystalsBlock.GrowthStates<StubBlock, StubState> STUB_STATES =
+            new BuddingCrystalsBlock.GrowthStates<>() {
+                @Override
+                public boolean canGrowInto(final StubState state) {
+                    return null == state.block();
+                }
+
+                @Override
+                public boolean isWater(final StubState state) {
+                    return false;
+                }
+
+                @Override
+                public Direction facing(final StubState state) {
+                    return state.facing();
+                }
+
+                @Override
+                public boolean isWaterlogged(final StubState state) {
+                    return state.waterlogged();
+                }
+
+                @Override
+                public StubBlock block(final StubState state) {
+                    return state.block();
+                }
+
+                @Override
+                public StubState orient(final StubState stage, final Direction facing, final boolean waterlogged) {
+                    return new StubState(stage.block(), facing, waterlogged);
+                }
+            };
+
+    /**
+     * 替身芽方块
+     * Stand-in bud block
+     *
+     * @param color 颜色 / Color
+     * @param stage 阶段编号（1为小芽） / Stage number (1 is the small bud)
+     */
+    private record StubBlock(BuddingCrystalsBlock.CrystalColor color, int stage) {
+    }
+
+    /**
+     * 替身方块状态，block为null表示空气
+     * Stand-in block state, a null block is air
+     */
+    private record StubState(StubBlock block, Direction facing, boolean waterlogged) {
+        private int stage() {
+            return null == this.block ? 0 : this.block.stage();
+        }
+    }
+
+    /**
+     * 每种颜色的母岩数量
+     * Number of budding blocks per color
+     */
+    @Param({"64", "1024"})
+    public int blocksPerColor;
+
+    /**
+     * 模拟的刻数（默认一个游戏日）
+     * Simulated ticks (one game day by default)
+     */
+    @Param({"24000"})
+    public int ticks;
+
+    @Param({"3"})
+    public int randomTickSpeed;
+
+    private CrystalGrowthStages.Table<StubBlock, StubState> table;
+
+    private BuddingCrystalsBlock.CrystalColor[] colorByBlock;
+
+    private int catchUpCap;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.table = CrystalGrowthBenchmark.stubTable();
+        this.colorByBlock = CrystalGrowthBenchmark.colors(this.blocksPerColor);
+        this.catchUpCap = CrystalGrowthBenchmark.catchUpCap();
+    }
+
+    /**
+     * 旧模型：随机刻轮询
+     * Old model: random tick polling
+     */
+    @Benchmark
+    public StubState[] randomTickPolling() {
+        return CrystalGrowthBenchmark.simulateRandomTicks(this.table, this.colorByBlock, this.ticks, this.randomTickSpeed,
+                RandomSource.create(42L));
+    }
+
+    /**
+     * 新模型：计划刻
+     * New model: scheduled ticks
+     */
+    @Benchmark
+    public StubState[] scheduledTicks() {
+        return CrystalGrowthBenchmark.simulateScheduledTicks(this.table, this.colorByBlock, this.ticks, this.randomTickSpeed,
+                RandomSource.create(42L));
+    }
+
+    /**
+     * 区块重新加载时的补算模型
+     * Catch-up model used when a chunk loads again
+     */
+    @Benchmark
+    public StubState[] catchUp() {
+        return CrystalGrowthBenchmark.simulateCatchUp(this.table, this.colorByBlock, this.ticks, this.randomTickSpeed,
+                this.catchUpCap, RandomSource.create(42L));
+    }
+
+    /**
+     * 无头运行：打印每种模型的结果和每刻耗时
+     * Headless run: print every model's outcome and cost per tick
+     *
+     * @param args [每种颜色的母岩数量] [刻数] [randomTickSpeed]
+     *             [blocks per color] [ticks] [randomTickSpeed]
+     */
+    public static void main(final String[] args) {
+        final int blocksPerColor = 0 < args.length ? Integer.parseInt(args[0]) : 1024;
+        final int ticks = 1 < args.length ? Integer.parseInt(args[1]) : 24000;
+        final int randomTickSpeed = 2 < args.length ? Integer.parseInt(args[2]) : 3;
+        final CrystalGrowthStages.Table<StubBlock, StubState> table = CrystalGrowthBenchmark.stubTable();
+        final BuddingCrystalsBlock.CrystalColor[] colors = CrystalGrowthBenchmark.colors(blocksPerColor);
+        final int catchUpCap = CrystalGrowthBenchmark.catchUpCap();
+
+        final double expectedPerFace = CrystalGrowthEngine.eventRate(randomTickSpeed) / CrystalGrowthBenchmark.FACES * ticks;
+        System.out.printf(Locale.ROOT, "%d blocks per color, %d ticks, randomTickSpeed %d, catch-up cap %d, expected %.3f events per face%n",
+                blocksPerColor, ticks, randomTickSpeed, catchUpCap, expectedPerFace);
+
+        System.out.println("expected:");
+        CrystalGrowthBenchmark.printExpected(table, expectedPerFace, blocksPerColor);
+
+        for (final String model : new String[]{"randomTickPolling", "scheduledTicks", "catchUp"}) {
+            final RandomSource random = RandomSource.create(42L);
+            final long start = System.nanoTime();
+            final StubState[] faces = switch (model) {
+                case "randomTickPolling" ->
+                        CrystalGrowthBenchmark.simulateRandomTicks(table, colors, ticks, randomTickSpeed, random);
+                case "scheduledTicks" ->
+                        CrystalGrowthBenchmark.simulateScheduledTicks(table, colors, ticks, randomTickSpeed, random);
+                default -> CrystalGrowthBenchmark.simulateCatchUp(table, colors, ticks, randomTickSpeed, catchUpCap, random);
+            };
+            final long elapsed = System.nanoTime() - start;
+
+            System.out.printf(Locale.ROOT, "%s: %.1f ns per tick%n", model, (double) elapsed / ticks);
+            CrystalGrowthBenchmark.printOutcome(table, faces, blocksPerColor);
+        }
+    }
+
+    /**
+     * 用CrystalGrowthStages.link构建替身阶段表，每种颜色的阶段来自ModBlocks中注册的芽方块（只按注册名，不绑定注册表）
+     * Build the stand-in stage table with CrystalGrowthStages.link, each color's stages coming from the bud blocks
+     * registered in ModBlocks (by registered name only, without binding the registry)
+     */
+    private static CrystalGrowthStages.Table<StubBlock, StubState> stubTable() {
+        final Set<String> registered = new HashSet<>();
+        for (final DeferredHolder<Block, ? extends Block> holder : ModBlocks.BLOCKS.getEntries()) {
+            registered.add(holder.getId().getPath());
+        }
+
+        final List<Map<BuddingCrystalsBlock.CrystalColor, StubBlock>> chain = new ArrayList<>();
+        for (int stage = 0; stage < CrystalGrowthBenchmark.STAGE_NAMES.length; stage++) {
+            final Map<BuddingCrystalsBlock.CrystalColor, StubBlock> blocks = new EnumMap<>(BuddingCrystalsBlock.CrystalColor.class);
+            for (final BuddingCrystalsBlock.CrystalColor color : BuddingCrystalsBlock.CrystalColor.values()) {
+                final String name = String.format(Locale.ROOT, CrystalGrowthBenchmark.STAGE_NAMES[stage],
+                        color.name().toLowerCase(Locale.ROOT));
+                if (registered.contains(name)) {
+                    blocks.put(color, new StubBlock(color, stage + 1));
+                }
+            }
+            chain.add(blocks);
+        }
+        return CrystalGrowthStages.link(chain, block -> new StubState(block, Direction.UP, false));
+    }
+
+    /**
+     * 按颜色顺序排列的每个母岩的颜色
+     * Color of every budding block, ordered by color
+     */
+    private static BuddingCrystalsBlock.CrystalColor[] colors(final int blocksPerColor) {
+        final BuddingCrystalsBlock.CrystalColor[] colors = BuddingCrystalsBlock.CrystalColor.values();
+        final BuddingCrystalsBlock.CrystalColor[] colorByBlock = new BuddingCrystalsBlock.CrystalColor[colors.length * blocksPerColor];
+        for (int c = 0; c < colors.length; c++) {
+            Arrays.fill(colorByBlock, c * blocksPerColor, (c + 1) * blocksPerColor, colors[c]);
+        }
+        return colorByBlock;
+    }
+
+    /**
+     * 补算时每个母岩的事件数上限：Config.CRYSTAL_CATCH_UP_MAX_EVENTS的默认值（基准测试不加载配置文件）
+     * Per-block event cap for catch-up: the default of Config.CRYSTAL_CATCH_UP_MAX_EVENTS (benchmarks never load the
+     * config file)
+     */
+    private static int catchUpCap() {
+        return Config.CRYSTAL_CATCH_UP_MAX_EVENTS.getDefault();
+    }
+
+    private static StubState[] emptyFaces(final int blocks) {
+        final StubState[] faces = new StubState[blocks * CrystalGrowthBenchmark.FACES];
+        Arrays.fill(faces, CrystalGrowthBenchmark.AIR);
+        return faces;
+    }
+
+    private static StubState[] simulateRandomTicks(final CrystalGrowthStages.Table<StubBlock, StubState> table,
+                                                   final BuddingCrystalsBlock.CrystalColor[] colors, final int ticks,
+                                                   final int randomTickSpeed, final RandomSource random) {
+        final StubState[] faces = CrystalGrowthBenchmark.emptyFaces(colors.length);
+        for (int tick = 0; tick < ticks; tick++) {
+            for (int block = 0; block < colors.length; block++) {
+                if (random.nextInt(4096) >= randomTickSpeed) {
+                    continue;
+                }
+                for (final Direction direction : CrystalGrowthBenchmark.DIRECTIONS) {
+                    if (random.nextDouble() < CrystalGrowthBenchmark.FACE_GROWTH_CHANCE) {
+                        CrystalGrowthBenchmark.grow(table, faces, colors, block, direction);
+                    }
+                }
+            }
+        }
+        return faces;
+    }
+
+    private static StubState[] simulateScheduledTicks(final CrystalGrowthStages.Table<StubBlock, StubState> table,
+                                                      final BuddingCrystalsBlock.CrystalColor[] colors, final int ticks,
+                                                      final int randomTickSpeed, final RandomSource random) {
+        final StubState[] faces = CrystalGrowthBenchmark.emptyFaces(colors.length);
+        final double rate = CrystalGrowthEngine.eventRate(randomTickSpeed);
+        if (0 >= rate) {
+            return faces;
+        }
+
+        // 计划刻队列：高位为触发时间，低32位为方块编号
+        // Scheduled tick queue: the high bits hold the trigger time, the low 32 bits the block index
+        final PriorityQueue<Long> queue = new PriorityQueue<>(colors.length);
+        for (int block = 0; block < colors.length; block++) {
+            queue.add(((long) CrystalGrowthEngine.nextDelay(rate, random) << 32) | block);
+        }
+        while (!queue.isEmpty()) {
+            final long entry = queue.poll();
+            final long time = entry >>> 32;
+            if (time > ticks) {
+                break;
+            }
+            final int block = (int) entry;
+            CrystalGrowthBenchmark.grow(table, faces, colors, block, Direction.getRandom(random));
+            queue.add(((time + CrystalGrowthEngine.nextDelay(rate, random)) << 32) | block);
+        }
+        return faces;
+    }
+
+    private static StubState[] simulateCatchUp(final CrystalGrowthStages.Table<StubBlock, StubState> table,
+                                               final BuddingCrystalsBlock.CrystalColor[] colors, final int ticks,
+                                               final int randomTickSpeed, final int cap, final RandomSource random) {
+        final StubState[] faces = CrystalGrowthBenchmark.emptyFaces(colors.length);
+        final double rate = CrystalGrowthEngine.eventRate(randomTickSpeed);
+        for (int block = 0; block < colors.length; block++) {
+            final int events = CrystalGrowthEngine.eventsWithin(rate, ticks, cap, random);
+            for (int i = 0; i < events; i++) {
+                CrystalGrowthBenchmark.grow(table, faces, colors, block, Direction.getRandom(random));
+            }
+        }
+        return faces;
+    }
+
+    /**
+     * 一次生长事件：在替身状态上运行母岩的生长步骤
+     * One growth event: run the budding block's growth step on the stand-in states
+     */
+    private static void grow(final CrystalGrowthStages.Table<StubBlock, StubState> table, final StubState[] faces,
+                             final BuddingCrystalsBlock.CrystalColor[] colors, final int block, final Direction direction) {
+        final int index = block * CrystalGrowthBenchmark.FACES + direction.get3DDataValue();
+        final StubState grown = BuddingCrystalsBlock.grownState(table, CrystalGrowthBenchmark.STUB_STATES, colors[block],
+                faces[index], direction);
+        if (null != grown) {
+            faces[index] = grown;
+        }
+    }
+
+    private static void printOutcome(final CrystalGrowthStages.Table<StubBlock, StubState> table, final StubState[] faces,
+                                     final int blocksPerColor) {
+        final BuddingCrystalsBlock.CrystalColor[] colors = BuddingCrystalsBlock.CrystalColor.values();
+        for (int c = 0; c < colors.length; c++) {
+            final int maxStage = table.stages(colors[c], StubState::block).size();
+            final int[] histogram = new int[maxStage + 1];
+            for (int i = c * blocksPerColor * CrystalGrowthBenchmark.FACES;
+                 i < (c + 1) * blocksPerColor * CrystalGrowthBenchmark.FACES; i++) {
+                histogram[faces[i].stage()]++;
+            }
+
+            final StringBuilder line = new StringBuilder("  ").append(colors[c].name().toLowerCase(Locale.ROOT)).append(':');
+            for (int stage = 0; stage <= maxStage; stage++) {
+                line.append(" stage").append(stage).append('=').append(histogram[stage]);
+            }
+            System.out.println(line);
+        }
+    }
+
+    /**
+     * 打印期望的阶段分布：每个面的事件数服从泊松分布，超过最终阶段的部分计入最终阶段
+     * Print the expected stage distribution: events per face are Poisson distributed, with the tail beyond the final stage
+     * counted as the final stage
+     */
+    private static void printExpected(final CrystalGrowthStages.Table<StubBlock, StubState> table,
+                                      final double expectedPerFace, final int blocksPerColor) {
+        final BuddingCrystalsBlock.CrystalColor[] colors = BuddingCrystalsBlock.CrystalColor.values();
+        final int faces = blocksPerColor * CrystalGrowthBenchmark.FACES;
+        for (int c = 0; c < colors.length; c++) {
+            final int maxStage = table.stages(colors[c], StubState::block).size();
+            final StringBuilder line = new StringBuilder("  ").append(colors[c].name().toLowerCase(Locale.ROOT)).append(':');
+            double probability = Math.exp(-expectedPerFace);
+            double remaining = 1.0;
+            for (int stage = 0; stage <= maxStage; stage++) {
+                final double share = stage < maxStage ? probability : remaining;
+                line.append(String.format(Locale.ROOT, " stage%d=%.0f", stage, share * faces));
+                remaining -= probability;
+                probability *= expectedPerFace / (stage + 1);
+            }
+            System.out.println(line);
+        }
+    }
+}
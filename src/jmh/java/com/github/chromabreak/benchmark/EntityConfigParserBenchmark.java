@@ -0,0 +1,95 @@
+package com.github.chromabreak.benchmark;
+
+import com.github.chromabreak.config.EntityConfigParser;
+import com.github.chromabreak.system.EntityProfile;
+import com.github.chromabreak.system.ToughnessColor;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EntityConfigParserBenchmark - 实体配置解析基准测试
+ * Entity Configuration Parser Benchmark
+ * <p>
+ * 模拟大型整合包中的实体配置列表（默认10000条），比较流式解析与构建JsonObject对象树的耗时
+ * Simulates the entity config list of a large modpack (10000 entries by default) and compares
+ * streaming parsing against building JsonObject trees
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EntityConfigParserBenchmark {
+
+    @Param({"10000"})
+    public int entries;
+
+    private List<String> configs;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Random random = new Random(42L);
+        final ToughnessColor[] colors = ToughnessColor.values();
+        this.configs = new ArrayList<>(this.entries);
+        for (int i = 0; i < this.entries; i++) {
+            final StringBuilder builder = new StringBuilder(160)
+                    .append("{\"entityType\": \"benchmod:entity_").append(i).append('"')
+                    .append(", \"maxHealth\": ").append(20 + random.nextInt(200))
+                    .append(", \"maxToughness\": ").append(random.nextInt(300));
+            if (0 == i % 2) {
+                builder.append(", \"toughnessColor\": \"")
+                        .append(colors[random.nextInt(colors.length)].getName()).append('"');
+            } else {
+                builder.append(", \"toughnessColors\": {");
+                final int colorCount = 2 + random.nextInt(3);
+                for (int c = 0; c < colorCount; c++) {
+                    if (0 < c) {
+                        builder.append(", ");
+                    }
+                    builder.append('"').append(colors[(i + c) % colors.length].name().toLowerCase(Locale.ROOT))
+                            .append("\": ").append(random.nextInt(100) + 1);
+                }
+                builder.append('}');
+            }
+            this.configs.add(builder.append('}').toString());
+        }
+    }
+
+    /**
+     * 流式解析：每条配置直接读取为EntityProfile
+     * Streaming parse: every entry is read straight into an EntityProfile
+     */
+    @Benchmark
+    public void streamingParser(final Blackhole blackhole) throws EntityConfigParser.ParseException {
+        for (final String config : this.configs) {
+            final EntityProfile profile = EntityConfigParser.parse(config);
+            blackhole.consume(profile);
+        }
+    }
+
+    /**
+     * 基线：仅构建JsonObject对象树（旧版处理器的第一步）
+     * Baseline: only build the JsonObject tree (the first step of the old processor)
+     */
+    @Benchmark
+    public void gsonTreeBaseline(final Blackhole blackhole) {
+        for (final String config : this.configs) {
+            final JsonObject object = JsonParser.parseString(config).getAsJsonObject();
+            blackhole.consume(object);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.chromabreak.benchmark;
+
+import net.minecraft.core.component.DataComponentMap;
+import net.minecraft.core.component.DataComponentType;
+import net.minecraft.core.component.PatchedDataComponentMap;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.util.Unit;
+import net.minecraft.world.item.component.CustomData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProtectedHatCheckBenchmark - 受保护帽子检查基准测试
+ * Protected Hat Check Benchmark
+ * <p>
+ * 模拟玩家与骷髅/僵尸交互时对头盔的检查，比较旧的反射copyTag路径、自定义数据contains路径和数据组件has路径
+ * Simulates the helmet check done when a player interacts with a skeleton/zombie, comparing the old reflective
+ * copyTag path, the custom data contains path and the data component has path
+ * <p>
+ * 使用未注册的DataComponentType代替注册表中的组件，基准测试不需要启动游戏注册表
+ * Unregistered DataComponentType stand-ins replace the registered components so the benchmark does not need the game registries
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProtectedHatCheckBenchmark {
+
+    private static final String LEGACY_KEY = "chromabreak:protected_hat";
+
+    private static final DataComponentType<Unit> PROTECTED_HAT = DataComponentType.<Unit>builder()
+            .persistent(Unit.CODEC)
+            .build();
+
+    private static final DataComponentType<CustomData> CUSTOM_DATA = DataComponentType.<CustomData>builder()
+            .persistent(CustomData.CODEC)
+            .build();
+
+    /**
+     * 头盔自定义数据中额外的无关键数量（模拟其他模组写入的数据）
+     * Number of unrelated keys in the helmet custom data (simulates data written by other mods)
+     */
+    @Param({"0", "16"})
+    public int extraKeys;
+
+    private PatchedDataComponentMap legacyHat;
+    private PatchedDataComponentMap componentHat;
+    private PatchedDataComponentMap plainHelmet;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final CompoundTag legacyTag = new CompoundTag();
+        final CompoundTag plainTag = new CompoundTag();
+        for (int i = 0; i < this.extraKeys; i++) {
+            legacyTag.putString("othermod:key_" + i, "value_" + i);
+            plainTag.putString("othermod:key_" + i, "value_" + i);
+        }
+        legacyTag.putBoolean(ProtectedHatCheckBenchmark.LEGACY_KEY, true);
+
+        this.legacyHat = new PatchedDataComponentMap(DataComponentMap.EMPTY);
+        this.legacyHat.set(ProtectedHatCheckBenchmark.CUSTOM_DATA, CustomData.of(legacyTag));
+
+        this.componentHat = new PatchedDataComponentMap(DataComponentMap.EMPTY);
+        this.componentHat.set(ProtectedHatCheckBenchmark.PROTECTED_HAT, Unit.INSTANCE);
+
+        this.plainHelmet = new PatchedDataComponentMap(DataComponentMap.EMPTY);
+        this.plainHelmet.set(ProtectedHatCheckBenchmark.CUSTOM_DATA, CustomData.of(plainTag));
+    }
+
+    /**
+     * 旧路径：反射调用copyTag后读取布尔值
+     * Old path: reflectively call copyTag and read the boolean
+     */
+    @Benchmark
+    public boolean reflectiveCopyTagHit() throws ReflectiveOperationException {
+        return ProtectedHatCheckBenchmark.reflectiveCheck(this.legacyHat);
+    }
+
+    /**
+     * 旧路径：普通头盔（未命中）
+     * Old path: plain helmet (miss)
+     */
+    @Benchmark
+    public boolean reflectiveCopyTagMiss() throws ReflectiveOperationException {
+        return ProtectedHatCheckBenchmark.reflectiveCheck(this.plainHelmet);
+    }
+
+    /**
+     * 迁移路径：旧版帽子通过contains检查，只在命中时复制NBT
+     * Migration path: legacy hats checked with contains, NBT copied only on a hit
+     */
+    @Benchmark
+    public boolean legacyContainsHit() {
+        return ProtectedHatCheckBenchmark.containsCheck(this.legacyHat);
+    }
+
+    /**
+     * 迁移路径：普通头盔（未命中）
+     * Migration path: plain helmet (miss)
+     */
+    @Benchmark
+    public boolean legacyContainsMiss() {
+        return ProtectedHatCheckBenchmark.containsCheck(this.plainHelmet);
+    }
+
+    /**
+     * 新路径：数据组件has检查
+     * New path: data component has check
+     */
+    @Benchmark
+    public boolean componentHasHit() {
+        return this.componentHat.has(ProtectedHatCheckBenchmark.PROTECTED_HAT);
+    }
+
+    /**
+     * 新路径：普通头盔（未命中，同时检查旧版标记）
+     * New path: plain helmet (miss, legacy marker also checked)
+     */
+    @Benchmark
+    public boolean componentHasMiss() {
+        return this.plainHelmet.has(ProtectedHatCheckBenchmark.PROTECTED_HAT)
+                || ProtectedHatCheckBenchmark.containsCheck(this.plainHelmet);
+    }
+
+    private static boolean reflectiveCheck(final DataComponentMap components) throws ReflectiveOperationException {
+        final Object customData = components.get(ProtectedHatCheckBenchmark.CUSTOM_DATA);
+        if (null == customData) {
+            return false;
+        }
+        final Method copyTagMethod = customData.getClass().getMethod("copyTag");
+        final CompoundTag tag = (CompoundTag) copyTagMethod.invoke(customData);
+        return null != tag && tag.getBoolean(ProtectedHatCheckBenchmark.LEGACY_KEY);
+    }
+
+    private static boolean containsCheck(final DataComponentMap components) {
+        final CustomData customData = components.get(ProtectedHatCheckBenchmark.CUSTOM_DATA);
+        return null != customData && !customData.isEmpty()
+                && customData.contains(ProtectedHatCheckBenchmark.LEGACY_KEY)
+                && customData.copyTag().getBoolean(ProtectedHatCheckBenchmark.LEGACY_KEY);
+    }
+}
@@ -0,0 +1,174 @@
+package com.github.chromabreak.benchmark;
+
+import com.github.chromabreak.config.EntityConfigProcessor;
+import com.github.chromabreak.system.ModCompatibilityManager;
+import com.github.chromabreak.system.ToughnessColor;
+import com.github.chromabreak.system.ToughnessColorDistribution;
+import com.github.chromabreak.system.ToughnessSystem;
+import com.github.chromabreak.system.WeaponColorHelper;
+import net.minecraft.core.Holder;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.world.damagesource.DamageSource;
+import net.minecraft.world.damagesource.DamageType;
+import net.minecraft.world.item.component.CustomData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ToughnessHotPathBenchmark - 韧性热路径基准测试
+ * Toughness Hot Path Benchmark
+ * <p>
+ * 覆盖每次受伤都会执行的韧性路径，使每项性能修改都能用数据说明：
+ * Covers the toughness paths that run on every hit, so every performance change can be justified with numbers:
+ * - ToughnessSystem：reduceToughness、getToughnessPercentage和readColorDistribution（不依赖实体的核心逻辑）
+ * ToughnessSystem: reduceToughness, getToughnessPercentage and readColorDistribution (the entity-free core logic)
+ * - ModCompatibilityManager.canBypassToughness：没有来源实体的环境伤害
+ * ModCompatibilityManager.canBypassToughness: Environmental damage without source entities
+ * - WeaponColorHelper.canBreakDistribution：从自定义数据读取武器颜色后比较
+ * WeaponColorHelper.canBreakDistribution: Weapon colors read from custom data, then compared
+ * - ToughnessColorDistribution.toNbt/fromNbt
+ * - EntityConfigProcessor.processEntityConfig
+ * <p>
+ * 实体和物品需要启动游戏注册表，因此用轻量替代品代替：实体持久化数据用CompoundTag，武器用CustomData，
+ * 伤害源用直接持有的DamageType
+ * Entities and items need the game registries, so lightweight stand-ins replace them: a CompoundTag for entity persistent data,
+ * CustomData for the weapon, and a directly held DamageType for damage sources
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ToughnessHotPathBenchmark {
+
+    private static final String TOUGHNESS_TAG = "chromabreak_toughness";
+    private static final String MAX_TOUGHNESS_TAG = "chromabreak_max_toughness";
+    private static final String WEAPON_COLORS_TAG = "chromabreak_weapon_colors";
+
+    private static final int CONFIG_COUNT = 1024;
+
+    private CompoundTag entityData;
+    private ToughnessColorDistribution distribution;
+    private CustomData matchingWeapon;
+    private CustomData missingColorWeapon;
+    private DamageSource genericDamage;
+    private DamageSource voidDamage;
+    private DamageSource configuredDamage;
+    private String[] configs;
+    private int configIndex;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final Map<ToughnessColor, Float> colors = new EnumMap<>(ToughnessColor.class);
+        colors.put(ToughnessColor.RED, 0.5f);
+        colors.put(ToughnessColor.BLUE, 0.3f);
+        colors.put(ToughnessColor.GREEN, 0.2f);
+        this.distribution = ToughnessColorDistribution.multiColor(colors);
+
+        this.entityData = new CompoundTag();
+        this.entityData.putFloat(ToughnessHotPathBenchmark.MAX_TOUGHNESS_TAG, 100.0f);
+        this.entityData.putFloat(ToughnessHotPathBenchmark.TOUGHNESS_TAG, 100.0f);
+        this.distribution.toNbt(this.entityData);
+
+        this.matchingWeapon = ToughnessHotPathBenchmark.weapon(
+                ToughnessColor.RED, ToughnessColor.BLUE, ToughnessColor.GREEN, ToughnessColor.WHITE);
+        this.missingColorWeapon = ToughnessHotPathBenchmark.weapon(ToughnessColor.RED, ToughnessColor.BLUE);
+
+        ModCompatibilityManager.addBypassDamageType("benchmark_laser");
+        this.genericDamage = new DamageSource(Holder.direct(new DamageType("generic", 0.0f)));
+        this.voidDamage = new DamageSource(Holder.direct(new DamageType("outOfWorld", 0.0f)));
+        this.configuredDamage = new DamageSource(Holder.direct(new DamageType("benchmark_laser", 0.0f)));
+
+        final ToughnessColor[] toughnessColors = ToughnessColor.values();
+        this.configs = new String[ToughnessHotPathBenchmark.CONFIG_COUNT];
+        for (int i = 0; i < this.configs.length; i++) {
+            this.configs[i] = "{\"entityType\": \"benchmod:entity_" + i + "\", \"maxHealth\": " + (20 + i % 200)
+                    + ", \"maxToughness\": " + (i % 300) + ", \"toughnessColors\": {\""
+                    + toughnessColors[i % toughnessColors.length].getName() + "\": 60, \""
+                    + toughnessColors[(i + 1) % toughnessColors.length].getName() + "\": 40}}";
+        }
+    }
+
+    @Benchmark
+    public boolean reduceToughness() {
+        final boolean broken = ToughnessSystem.reduceToughness(this.entityData, 0.25f);
+        if (broken) {
+            this.entityData.putFloat(ToughnessHotPathBenchmark.TOUGHNESS_TAG, 100.0f);
+        }
+        return broken;
+    }
+
+    @Benchmark
+    public float getToughnessPercentage() {
+        return ToughnessSystem.getToughnessPercentage(this.entityData);
+    }
+
+    @Benchmark
+    public ToughnessColorDistribution getColorDistribution() {
+        return ToughnessSystem.readColorDistribution(this.entityData);
+    }
+
+    @Benchmark
+    public boolean canBypassToughnessGeneric() {
+        return ModCompatibilityManager.canBypassToughness(this.genericDamage);
+    }
+
+    @Benchmark
+    public boolean canBypassToughnessVoid() {
+        return ModCompatibilityManager.canBypassToughness(this.voidDamage);
+    }
+
+    @Benchmark
+    public boolean canBypassToughnessConfigured() {
+        return ModCompatibilityManager.canBypassToughness(this.configuredDamage);
+    }
+
+    @Benchmark
+    public boolean canBreakDistributionHit() {
+        return WeaponColorHelper.canBreakDistribution(WeaponColorHelper.getColors(this.matchingWeapon), this.distribution);
+    }
+
+    @Benchmark
+    public boolean canBreakDistributionMiss() {
+        return WeaponColorHelper.canBreakDistribution(WeaponColorHelper.getColors(this.missingColorWeapon), this.distribution);
+    }
+
+    @Benchmark
+    public CompoundTag distributionToNbt() {
+        final CompoundTag tag = new CompoundTag();
+        this.distribution.toNbt(tag);
+        return tag;
+    }
+
+    @Benchmark
+    public ToughnessColorDistribution distributionFromNbt() {
+        return ToughnessColorDistribution.fromNbt(this.entityData);
+    }
+
+    @Benchmark
+    public boolean processEntityConfig() {
+        final String config = this.configs[this.configIndex];
+        this.configIndex = (this.configIndex + 1) % this.configs.length;
+        return EntityConfigProcessor.processEntityConfig(config);
+    }
+
+    private static CustomData weapon(final ToughnessColor... colors) {
+        final ListTag colorsTag = new ListTag();
+        for (final ToughnessColor color : colors) {
+            colorsTag.add(StringTag.valueOf(color.getName()));
+        }
+        final CompoundTag tag = new CompoundTag();
+        tag.put(ToughnessHotPathBenchmark.WEAPON_COLORS_TAG, colorsTag);
+        return CustomData.of(tag);
+    }
+}
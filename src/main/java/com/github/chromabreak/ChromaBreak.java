@@ -2,9 +2,13 @@ package com.github.chromabreak;
 
 import com.github.chromabreak.config.ConfigExampleGenerator;
 import com.github.chromabreak.config.EntityConfigLoader;
+import com.github.chromabreak.config.EntityProfileReloadListener;
 import com.github.chromabreak.config.ModCompatibilityConfigLoader;
+import com.github.chromabreak.tool.ChromaBreakCommands;
 import com.github.chromabreak.tool.WorldGenCommands;
+import com.github.chromabreak.util.ModAttachments;
 import com.github.chromabreak.util.ModBlocks;
+import com.github.chromabreak.util.ModDataComponents;
 import com.github.chromabreak.util.ModItems;
 import com.mojang.logging.LogUtils;
 import net.neoforged.bus.api.IEventBus;
@@ -13,6 +17,7 @@ import net.neoforged.fml.common.Mod;
 import net.neoforged.fml.config.ModConfig;
 import net.neoforged.fml.event.lifecycle.FMLCommonSetupEvent;
 import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.AddReloadListenerEvent;
 import net.neoforged.neoforge.event.RegisterCommandsEvent;
 import org.slf4j.Logger;
 
@@ -88,10 +93,12 @@ public class ChromaBreak {
         // Register our mod's ModConfigSpec so that FML can create and load the config file for us
         modContainer.registerConfig(ModConfig.Type.COMMON, Config.SPEC);
 
-        // 注册物品、方块到模组事件总线
-        // Register items and blocks to mod event bus
+        // 注册物品、方块、数据组件和数据附件到模组事件总线
+        // Register items, blocks, data components and data attachments to mod event bus
         ModItems.ITEMS.register(modEventBus);
         ModBlocks.BLOCKS.register(modEventBus);
+        ModDataComponents.DATA_COMPONENTS.register(modEventBus);
+        ModAttachments.ATTACHMENT_TYPES.register(modEventBus);
 
         // 注册模组事件总线监听器 - 通用设置事件
         // Register mod event bus listener - common setup event
@@ -101,6 +108,10 @@ public class ChromaBreak {
         // Register Forge event bus listener - command registration event
         NeoForge.EVENT_BUS.addListener(this::onRegisterCommands);
 
+        // 注册Forge事件总线监听器 - 数据包重载监听器注册事件
+        // Register Forge event bus listener - data pack reload listener registration event
+        NeoForge.EVENT_BUS.addListener(this::onAddReloadListeners);
+
         // 记录模组初始化完成日志
         // Log mod initialization completion
         ChromaBreak.LOGGER.info("ChromaBreak模组初始化完成 - ChromaBreak mod initialization completed");
@@ -120,11 +131,28 @@ public class ChromaBreak {
         // Register structure finder command
         WorldGenCommands.register(event.getDispatcher());
 
+        // 注册ChromaBreak诊断命令
+        // Register ChromaBreak diagnostic commands
+        ChromaBreakCommands.register(event.getDispatcher());
+
         // 记录命令注册成功日志
         // Log successful command registration
         ChromaBreak.LOGGER.info("WorldGenCommands命令已注册 - WorldGenCommands command registered");
     }
 
+    /**
+     * 注册数据包重载监听器 - Register data pack reload listeners
+     * <p>
+     * 数据包中的实体配置档案在服务器启动和每次/reload时重新加载
+     * Entity profiles in data packs are loaded on server start and on every /reload
+     *
+     * @param event 重载监听器注册事件
+     *              Reload listener registration event
+     */
+    private void onAddReloadListeners(final AddReloadListenerEvent event) {
+        event.addListener(new EntityProfileReloadListener());
+    }
+
     /**
      * 通用设置事件处理器 - Common setup event handler
      * <p>
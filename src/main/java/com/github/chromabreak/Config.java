@@ -134,6 +134,118 @@ public enum Config {
             .comment("Whether skeletons and zombies always spawn with hats\n是否启用骷髅和僵尸生成时必定有帽子")
             .define("enableMobHatSpawn", true);
 
+    /**
+     * 每个维度每tick最多处理的延迟实体初始化数量
+     * 大量实体同时加入世界时（区块加载、服务器重启），帽子和配置档案解析分摊到多个tick完成
+     * <p>
+     * Maximum number of deferred entity setups processed per dimension per tick
+     * When many entities join at once (chunk loads, server restarts), hats and profile resolution are spread over several ticks
+     */
+    public static final ModConfigSpec.IntValue ENTITY_JOIN_BUDGET = Config.BUILDER
+            .comment(
+                    "Maximum number of deferred entity setups (hats, toughness profile resolution) processed per dimension per tick.\n",
+                    "Entities are always fully set up before they are first hurt, regardless of this budget.\n",
+                    "每个维度每tick最多处理的延迟实体初始化数量（帽子、韧性配置档案解析）。\n",
+                    "无论此预算如何，实体在首次受伤前都会完成初始化。"
+            )
+            .defineInRange("entityJoinBudget", 64, 1, 4096);
+
+    /**
+     * 每个维度每tick最多执行的水晶补算工作量（生长事件数加扫描的区块段数）
+     * 区块重新加载时，离开期间的水晶生长分摊到多个tick补算
+     * <p>
+     * Maximum crystal catch-up work per dimension per tick (growth events plus scanned chunk sections)
+     * When chunks load again, the crystal growth for the time they were away is caught up over several ticks
+     */
+    public static final ModConfigSpec.IntValue CRYSTAL_CATCH_UP_BUDGET = Config.BUILDER
+            .comment(
+                    "Maximum crystal catch-up work (growth events plus scanned chunk sections) per dimension per tick.\n",
+                    "每个维度每tick最多执行的水晶补算工作量（生长事件数加扫描的区块段数）。"
+            )
+            .defineInRange("crystalCatchUpBudget", 256, 1, 65536);
+
+    /**
+     * 区块重新加载时每个母岩最多补算的生长事件数，0表示禁用补算
+     * 母岩6个面全部长成晶簇后，更多的事件不再有效果
+     * <p>
+     * Maximum growth events caught up per budding block when its chunk loads again, 0 disables catch-up
+     * Once all 6 faces of a budding block hold clusters, further events have no effect
+     */
+    public static final ModConfigSpec.IntValue CRYSTAL_CATCH_UP_MAX_EVENTS = Config.BUILDER
+            .comment(
+                    "Maximum growth events caught up per budding block when its chunk loads again after being unloaded. 0 disables catch-up.\n",
+                    "区块卸载后重新加载时每个母岩最多补算的生长事件数。0表示禁用补算。"
+            )
+            .defineInRange("crystalCatchUpMaxEvents", 64, 0, 1024);
+
+    /**
+     * 是否对每次热路径调用计时，关闭时只对部分调用采样计时
+     * <p>
+     * Whether every hot path call is timed, when disabled only a sample of calls is timed
+     */
+    public static final ModConfigSpec.BooleanValue METRICS_ENABLED = Config.BUILDER
+            .comment(
+                    "Time every call of the hot paths shown by /chromabreak stats. When disabled only 1 in metricsSampleInterval calls is timed.\n",
+                    "对/chromabreak stats显示的热路径的每次调用计时。关闭时只对metricsSampleInterval次调用中的1次计时。"
+            )
+            .define("metricsEnabled", false);
+
+    /**
+     * 完整计时关闭时的采样间隔
+     * <p>
+     * Sample interval when full timing is disabled
+     */
+    public static final ModConfigSpec.IntValue METRICS_SAMPLE_INTERVAL = Config.BUILDER
+            .comment(
+                    "Time 1 in this many hot path calls when metricsEnabled is false. Calls are always counted.\n",
+                    "metricsEnabled关闭时每这么多次热路径调用计时1次。调用次数始终会被统计。"
+            )
+            .defineInRange("metricsSampleInterval", 64, 1, 65536);
+
+    /**
+     * 热路径指标日志的间隔（秒），0表示禁用
+     * <p>
+     * Interval of the hot path metrics log line in seconds, 0 disables it
+     */
+    public static final ModConfigSpec.IntValue METRICS_LOG_INTERVAL = Config.BUILDER
+            .comment(
+                    "Seconds between hot path metrics log lines. 0 disables the log line.\n",
+                    "热路径指标日志的间隔秒数。0表示禁用。"
+            )
+            .defineInRange("metricsLogIntervalSeconds", 600, 0, 86400);
+
+    /**
+     * 骷髅和僵尸可以生成的帽子及其权重
+     * 格式："物品ID=权重" 或 "物品ID=权重@维度ID"
+     * 带维度的条目只用于该维度，该维度不再使用不带维度的条目
+     * <p>
+     * Hats skeletons and zombies can spawn with, and their weights
+     * Format: "itemId=weight" or "itemId=weight@dimensionId"
+     * Entries with a dimension only apply to that dimension, which then no longer uses entries without a dimension
+     */
+    public static final ModConfigSpec.ConfigValue<List<? extends String>> MOB_HATS = Config.BUILDER
+            .comment(
+                    "Hats skeletons and zombies can spawn with, as \"itemId=weight\" or \"itemId=weight@dimensionId\".\n",
+                    "Entries with a dimension replace the entries without one in that dimension. Items from mods that are not loaded are skipped.\n",
+                    "Example: minecraft:golden_helmet=0.5@minecraft:the_nether\n",
+                    "骷髅和僵尸可以生成的帽子，格式为 \"物品ID=权重\" 或 \"物品ID=权重@维度ID\"。\n",
+                    "带维度的条目在该维度中替代不带维度的条目。未加载模组的物品会被跳过。\n",
+                    "示例：minecraft:golden_helmet=0.5@minecraft:the_nether"
+            )
+            .defineList(
+                    "mobHats",
+                    () -> Arrays.asList(
+                            "minecraft:leather_helmet=0.25",
+                            "minecraft:chainmail_helmet=0.25",
+                            "minecraft:iron_helmet=0.15",
+                            "minecraft:golden_helmet=0.15",
+                            "minecraft:diamond_helmet=0.075",
+                            "minecraft:turtle_helmet=0.075",
+                            "minecraft:netherite_helmet=0.04"),  // 与原稀有度权重相同的分布 - Same distribution as the former rarity weights
+                    () -> "",  // 在配置界面点击“+”添加新元素时的默认值
+                    obj -> obj instanceof String && ((String) obj).contains("=")  // 验证：必须包含权重
+            );
+
     // ===== 实体配置 =====
     // ===== Entity Configuration =====
     /**
@@ -155,6 +267,8 @@ public enum Config {
                     "实体配置列表（JSON格式）\n",
                     "For detailed instructions and examples, please refer to chromabreak-common.toml.example file.\n",
                     "详细说明和示例请参考 chromabreak-common.toml.example 文件。\n",
+                    "Data packs can also provide profiles in data/<namespace>/chromabreak/entity_profiles/*.json (reloadable with /reload); entries here take precedence.\n",
+                    "数据包也可以在 data/<命名空间>/chromabreak/entity_profiles/*.json 中提供配置档案（可通过 /reload 重载）；此处的条目优先。\n",
                     "Available colors (7 types, one-to-one with Minecraft dyes): red, blue, green, yellow, white, black, orange\n",
                     "可用颜色（7种，与Minecraft染料一一对应）：red, blue, green, yellow, white, black, orange"
             )
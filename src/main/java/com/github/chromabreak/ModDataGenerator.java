@@ -12,6 +12,7 @@ import net.neoforged.neoforge.common.data.BlockTagsProvider;
 import net.neoforged.neoforge.common.data.ExistingFileHelper;
 import net.neoforged.neoforge.data.event.GatherDataEvent;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -34,6 +35,9 @@ import java.util.concurrent.CompletableFuture;
  * Register item data generator (ModItemProvider)
  * - 管理数据生成流程和依赖
  * Manage data generation flow and dependencies
+ * - 增量生成：每组提供者由CachedDataProvider包装，输入未变化时跳过；互相独立的组并行运行
+ * Incremental generation: Every provider group is wrapped in CachedDataProvider and skipped when its inputs did not
+ * change; independent groups run in parallel
  * <p>
  * 工作流程：
  * Workflow:
@@ -94,40 +98,55 @@ public enum ModDataGenerator {
         final ExistingFileHelper existingFileHelper = event.getExistingFileHelper();
         final CompletableFuture<HolderLookup.Provider> lookupProvider = event.getLookupProvider();
 
+        // 服务端数据：三组互相独立，并行运行；每组输入未变化时跳过
+        // Server data: three independent groups running in parallel; each group is skipped when its inputs did not change
+        final List<CachedDataProvider> serverData = new ArrayList<>();
+
         // 注册战利品列表数据提供者，生成方块的战利品表JSON文件
         // Register loot table provider to generate block loot table JSON files
-        generator.addProvider(event.includeServer(), new LootTableProvider(packOutput, Collections.emptySet(),
-                List.of(new LootTableProvider.SubProviderEntry(ModBlockLootTableProvider::new, LootContextParamSets.BLOCK)), lookupProvider));
+        serverData.add(new CachedDataProvider(packOutput, "loot_tables",
+                List.of(new LootTableProvider(packOutput, Collections.emptySet(),
+                        List.of(new LootTableProvider.SubProviderEntry(ModBlockLootTableProvider::new, LootContextParamSets.BLOCK)), lookupProvider))));
 
         // 注册方块标签提供者，生成方块标签JSON文件
         // Register block tags provider to generate block tags JSON files
         final BlockTagsProvider blockTagsProvider = new ModBlockTagsProvider(packOutput, lookupProvider, existingFileHelper);
-        generator.addProvider(event.includeServer(), blockTagsProvider);
 
         // 注册物品标签提供者，依赖于方块标签提供者，生成物品标签JSON文件
+        // 两者必须在同一组中：物品标签等待方块标签的结果
         // Register item tags provider (depends on block tags provider) to generate item tags JSON files
-        generator.addProvider(event.includeServer(), new ModItemTagsProvider(packOutput, lookupProvider, blockTagsProvider.contentsGetter(), existingFileHelper));
+        // Both must share a group: item tags wait for the block tag results
+        serverData.add(new CachedDataProvider(packOutput, "tags",
+                List.of(blockTagsProvider,
+                        new ModItemTagsProvider(packOutput, lookupProvider, blockTagsProvider.contentsGetter(), existingFileHelper))));
 
         // 注册世界生成数据提供者，生成世界生成配置JSON文件
         // Register world generation provider to generate worldgen configuration JSON files
-        generator.addProvider(event.includeServer(), new ModWorldGenerationProvider(packOutput, lookupProvider));
+        serverData.add(new CachedDataProvider(packOutput, "worldgen",
+                List.of(new ModWorldGenerationProvider(packOutput, lookupProvider))));
+
+        generator.addProvider(event.includeServer(), CachedDataProvider.concurrent("ChromaBreak server data", serverData));
 
-        // 注册英文语言文件提供者，生成en_us.json语言文件
-        // Register English language provider to generate en_us.json language file
-        generator.addProvider(event.includeClient(), new ModLanguageProvider(packOutput, "en_us"));
+        // 客户端数据：语言文件和模型互相独立，并行运行
+        // Client data: language files and models are independent and run in parallel
+        final List<CachedDataProvider> clientData = new ArrayList<>();
 
-        // 注册中文语言文件提供者，生成zh_cn.json语言文件
-        // Register Chinese language provider to generate zh_cn.json language file
-        generator.addProvider(event.includeClient(), new ModLanguageProvider(packOutput, "zh_cn"));
+        // 注册英文和中文语言文件提供者，生成en_us.json和zh_cn.json语言文件
+        // Register English and Chinese language providers to generate en_us.json and zh_cn.json language files
+        clientData.add(new CachedDataProvider(packOutput, "lang",
+                List.of(new ModLanguageProvider(packOutput, "en_us"), new ModLanguageProvider(packOutput, "zh_cn"))));
 
         // 注册方块数据提供者，生成方块状态JSON(blockstates/)和方块模型JSON(models/block/)
         // Register block data provider to generate:
         // - Block state JSON files (blockstates/)
         // - Block model JSON files (models/block/)
-        generator.addProvider(event.includeClient(), new ModBlockProvider(packOutput, existingFileHelper));
-
         // 注册物品数据提供者，生成物品模型JSON(models/item/)
+        // 两者共享ExistingFileHelper（记录已生成的模型），因此放在同一组中按顺序运行
         // Register item data provider to generate item model JSON files (models/item/)
-        generator.addProvider(event.includeClient(), new ModItemProvider(packOutput, existingFileHelper));
+        // Both share the ExistingFileHelper (which tracks generated models), so they run in order in one group
+        clientData.add(new CachedDataProvider(packOutput, "models",
+                List.of(new ModBlockProvider(packOutput, existingFileHelper), new ModItemProvider(packOutput, existingFileHelper))));
+
+        generator.addProvider(event.includeClient(), CachedDataProvider.concurrent("ChromaBreak client data", clientData));
     }
 }
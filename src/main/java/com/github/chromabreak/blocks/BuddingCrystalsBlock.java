@@ -1,13 +1,16 @@
 package com.github.chromabreak.blocks;
 
-import com.github.chromabreak.util.ModBlocks;
+import com.github.chromabreak.system.HotPathMetrics;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.AmethystClusterBlock;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.block.state.StateDefinition;
+import net.minecraft.world.level.block.state.properties.BooleanProperty;
 import net.minecraft.world.level.material.Fluids;
 import org.jetbrains.annotations.NotNull;
 
@@ -34,16 +37,16 @@ import org.jetbrains.annotations.NotNull;
  * <p>
  * 生长机制：
  * Growth mechanism:
- * - 每个游戏刻，母岩的6个方向（上下左右前后）都有10%的几率尝试生长
- * Each game tick, all 6 directions of the budding block have 10% chance to attempt growth
- * - 生长位置必须是空气或水
- * Growth position must be air or water
- * - 生长阶段根据当前位置的方块状态决定
- * Growth stage is determined by the current block state at the position
- * - 橙色水晶支持完整生长阶段（小芽→中芽→大芽→晶簇）
- * Orange crystals support full growth stages (small bud → medium bud → large bud → cluster)
- * - 其他颜色目前只支持小芽阶段
- * Other colors currently only support small bud stage
+ * - 由CrystalGrowthEngine计算的计划刻驱动，期望速率与原先的随机刻实现相同
+ * Driven by scheduled ticks computed by CrystalGrowthEngine, with the same expected rate as the former random tick implementation
+ * - 每次生长事件随机选择一个面：空气或水中放置小芽，附着在该面的同色芽进入下一阶段
+ * Every growth event picks a random face: air or water gets a small bud, a same-color bud attached to that face advances a stage
+ * - 芽本身不再随机刻，由所附着的母岩推动生长
+ * Buds no longer random tick themselves, the budding block they are attached to grows them
+ * - 阶段转换由CrystalGrowthStages查表得到，链条在该颜色缺少的阶段处结束
+ * Stage transitions are looked up in CrystalGrowthStages, and a chain ends at the first stage the color lacks
+ * - 橙色水晶支持完整生长阶段（小芽→中芽→大芽→晶簇），其他颜色目前生长到中芽
+ * Orange crystals support full growth stages (small bud → medium bud → large bud → cluster), other colors currently grow to medium buds
  * <p>
  * 使用场景：
  * Usage scenarios:
@@ -65,6 +68,55 @@ import org.jetbrains.annotations.NotNull;
  */
 public class BuddingCrystalsBlock extends Block {
 
+    /**
+     * 是否已经有生长计划刻
+     * Whether a growth scheduled tick is pending
+     * <p>
+     * 为false时母岩接受随机刻，用于在世界生成或旧存档加载后启动计划刻
+     * When false the block receives random ticks, used to start scheduling after world generation or loading an old save
+     */
+    public static final BooleanProperty SCHEDULED = BooleanProperty.create("scheduled");
+
+    /**
+     * 真实方块状态的访问方式
+     * Access to real block states
+     */
+    public static final GrowthStates<Block, BlockState> BLOCK_STATES = new GrowthStates<>() {
+        @Override
+        public boolean canGrowInto(final BlockState state) {
+            // 只能在空气或水中生长
+            // Can only grow in air or water
+            return state.isAir() || this.isWater(state);
+        }
+
+        @Override
+        public boolean isWater(final BlockState state) {
+            return state.getFluidState().is(Fluids.WATER);
+        }
+
+        @Override
+        public Direction facing(final BlockState state) {
+            return state.hasProperty(AmethystClusterBlock.FACING) ? state.getValue(AmethystClusterBlock.FACING) : null;
+        }
+
+        @Override
+        public boolean isWaterlogged(final BlockState state) {
+            return state.getValue(AmethystClusterBlock.WATERLOGGED);
+        }
+
+        @Override
+        public Block block(final BlockState state) {
+            return state.getBlock();
+        }
+
+        @Override
+        public BlockState orient(final BlockState stage, final Direction facing, final boolean waterlogged) {
+            return stage
+                    .setValue(AmethystClusterBlock.FACING, facing)
+                    .setValue(AmethystClusterBlock.WATERLOGGED, waterlogged);
+        }
+    };
+
     /**
      * 水晶颜色
      * Crystal color
@@ -90,173 +142,181 @@ public class BuddingCrystalsBlock extends Block {
     public BuddingCrystalsBlock(final Properties properties, final CrystalColor color) {
         super(properties);
         this.color = color;
+        this.registerDefaultState(this.stateDefinition.any().setValue(BuddingCrystalsBlock.SCHEDULED, false));
     }
 
     /**
-     * 随机Tick方法，用于实现生长逻辑
-     * Random tick method for implementing growth logic
+     * 随机Tick方法，只用于启动计划刻生长
+     * Random tick method, only used to bootstrap scheduled growth
      * <p>
-     * 每个游戏刻调用，检查母岩的各个方向是否有生长机会
-     * Called each game tick, checks each direction of the budding block for growth opportunities
+     * 世界生成放置的母岩和旧存档中的母岩还没有计划刻，第一次随机刻时开始计划并切换到SCHEDULED状态，
+     * 之后该状态不再接受随机刻
+     * Budding blocks placed by world generation or loaded from old saves have no scheduled tick yet; the first random tick
+     * starts the schedule and switches to the SCHEDULED state, which no longer receives random ticks
      *
      * @param state  当前方块状态
      *               Current block state
-     * @param level  服务器级别，用于修改方块状态
-     *               Server level, used to modify block states
+     * @param level  服务器级别
+     *               Server level
      * @param pos    母岩位置
      *               Budding block position
-     * @param random 随机数生成器，用于决定生长几率
-     *               Random number generator, used to determine growth probability
-     *               <p>
-     *               处理逻辑：
-     *               Processing logic:
-     *               1. 遍历6个方向（上下左右前后）
-     *               Iterate through 6 directions (up, down, north, south, east, west)
-     *               2. 每个方向有10%的几率尝试生长
-     *               Each direction has 10% chance to attempt growth
-     *               3. 检查生长位置是否适合生长（空气或水）
-     *               Check if growth position is suitable (air or water)
-     *               4. 如果适合生长，调用生长逻辑
-     *               If suitable for growth, call growth logic
-     *               <p>
-     *               生长几率：每个方向10%，每个游戏刻平均有60%的几率至少有一个方向尝试生长
-     *               Growth probability: 10% per direction, average 60% chance per game tick for at least one direction to attempt growth
+     * @param random 随机数生成器
+     *               Random number generator
      */
     @Override
     public void randomTick(final @NotNull BlockState state, final @NotNull ServerLevel level, final @NotNull BlockPos pos, final @NotNull RandomSource random) {
-        // 模拟原版紫水晶母岩生长机制：每个表面有20%几率尝试生长
-        // Simulate vanilla budding amethyst growth: each face has 20% chance to attempt growth
-        for (final Direction direction : Direction.values()) {
-            if (0 == random.nextInt(10)) { // 10% chance per face
-                final BlockPos growthPos = pos.relative(direction);
-                final BlockState growthBlockState = level.getBlockState(growthPos);
-
-                // 检查生长位置是否适合生长（空气或水）
-                // Check if growth position is suitable (air or water)
-                if (this.canGrowthOccur(growthBlockState)) {
-                    // 根据当前位置的芽状态决定生长阶段
-                    // Determine growth stage based on current bud state at this position
-                    this.growCrystal(level, growthPos, direction, growthBlockState);
-                }
-            }
+        if (!state.getValue(BuddingCrystalsBlock.SCHEDULED)) {
+            this.scheduleNextGrowth(state, level, pos, random);
         }
     }
 
     /**
-     * 检查是否可以生长
-     * Check if growth can occur
+     * 计划刻方法，执行一次生长事件并计划下一次
+     * Scheduled tick method, runs one growth event and schedules the next one
      *
-     * @param blockState 目标位置方块状态 Target position block state
-     * @return 是否可以生长 Whether growth can occur
+     * @param state  当前方块状态
+     *               Current block state
+     * @param level  服务器级别
+     *               Server level
+     * @param pos    母岩位置
+     *               Budding block position
+     * @param random 随机数生成器
+     *               Random number generator
      */
-    private boolean canGrowthOccur(final BlockState blockState) {
-        // 只能在空气或水中生长
-        // Can only grow in air or water
-        return blockState.isAir() || blockState.getFluidState().is(Fluids.WATER);
+    @Override
+    protected void tick(final @NotNull BlockState state, final @NotNull ServerLevel level, final @NotNull BlockPos pos, final @NotNull RandomSource random) {
+        if (!state.getValue(BuddingCrystalsBlock.SCHEDULED)) {
+            return;
+        }
+
+        this.growOnce(level, pos, random);
+        this.scheduleNextGrowth(state, level, pos, random);
+
+        // 确保区块带有账本，卸载后按离开的时长补算生长
+        // Make sure the chunk has a ledger, so growth is caught up for the time it spends unloaded
+        CrystalGrowthLedger.stamp(level, pos);
     }
 
     /**
-     * 生长水晶
-     * Grow crystal
+     * 方块放置时的处理
+     * Handle block placement
+     * <p>
+     * 以SCHEDULED状态放置（例如结构模板）但没有计划刻时，补上计划刻
+     * When placed in the SCHEDULED state (for example by a structure template) without a pending tick, schedule one
      *
-     * @param level        服务器级别 Server level
-     * @param pos          生长位置 Growth position
-     * @param direction    生长方向 Growth direction
-     * @param currentState 当前方块状态 Current block state
+     * @param state    新方块状态 New block state
+     * @param level    级别 Level
+     * @param pos      位置 Position
+     * @param oldState 原方块状态 Old block state
+     * @param movedByPiston 是否被活塞移动 Whether moved by a piston
      */
-    private void growCrystal(final ServerLevel level, final BlockPos pos, final Direction direction, final BlockState currentState) {
-        // 根据生长位置周围的方块决定生长阶段
-        // Determine growth stage based on surrounding block
-        final BlockState newState = this.determineGrowthStage(level, pos, direction, currentState);
-
-        if (null != newState) {
-            // 放置新的水晶方块
-            // Place new crystal block
-            level.setBlockAndUpdate(pos, newState);
+    @Override
+    protected void onPlace(final @NotNull BlockState state, final @NotNull Level level, final @NotNull BlockPos pos,
+                           final @NotNull BlockState oldState, final boolean movedByPiston) {
+        if (level instanceof final ServerLevel serverLevel && !oldState.is(this)
+                && state.getValue(BuddingCrystalsBlock.SCHEDULED)
+                && !serverLevel.getBlockTicks().hasScheduledTick(pos, this)) {
+            final double rate = CrystalGrowthEngine.eventRate(serverLevel);
+            if (0 < rate) {
+                serverLevel.scheduleTick(pos, this, CrystalGrowthEngine.nextDelay(rate, serverLevel.getRandom()));
+            }
         }
     }
 
     /**
-     * 确定生长阶段
-     * Determine growth stage
+     * 执行一次生长事件：随机选择一个面，在空气或水中放置小芽，或让附着在该面的同色芽进入下一阶段
+     * Run one growth event: pick a random face, place a small bud in air or water, or advance the same-color bud attached to that face
+     *
+     * @param level  服务器级别
+     *               Server level
+     * @param pos    母岩位置
+     *               Budding block position
+     * @param random 随机数生成器
+     *               Random number generator
+     */
+    public void growOnce(final ServerLevel level, final BlockPos pos, final RandomSource random) {
+        this.growFace(level, pos, Direction.getRandom(random));
+    }
+
+    /**
+     * 在指定的面上执行一次生长事件
+     * Run one growth event on a given face
      *
-     * @param level        服务器级别 Server level
-     * @param pos          生长位置 Growth position
-     * @param direction    生长方向 Growth direction
-     * @param currentState 当前位置的方块状态 Current block state at the position
-     * @return 新的方块状态 New block state
+     * @param level     服务器级别
+     *                  Server level
+     * @param pos       母岩位置
+     *                  Budding block position
+     * @param direction 生长的面
+     *                  Face to grow on
      */
-    private BlockState determineGrowthStage(final ServerLevel level, final BlockPos pos, final Direction direction, final BlockState currentState) {
-        // 基于当前位置的方块状态决定生长阶段（模拟原版紫水晶母岩行为）
-        // Determine growth stage based on current block state (simulate vanilla budding amethyst behavior)
-        BlockState newState = null;
-        final boolean isWaterlogged = currentState.getFluidState().is(Fluids.WATER);
-
-        // 检查当前位置的方块类型
-        final Block currentBlock = currentState.getBlock();
-
-        switch (this.color) {
-            case ORANGE:
-                if (currentState.isAir() || currentState.getFluidState().is(Fluids.WATER)) {
-                    // 空气或水 → 生长小芽
-                    // Air or water → grow small bud
-                    newState = ModBlocks.SMALL_CRYSTALS_ORANGE_BUD.get().defaultBlockState();
-                } else if (currentBlock == ModBlocks.SMALL_CRYSTALS_ORANGE_BUD.get()) {
-                    // 小芽 → 生长中芽
-                    // Small bud → grow medium bud
-                    newState = ModBlocks.MEDIUM_CRYSTALS_ORANGE_BUD.get().defaultBlockState();
-                } else if (currentBlock == ModBlocks.MEDIUM_CRYSTALS_ORANGE_BUD.get()) {
-                    // 中芽 → 生长大芽
-                    // Medium bud → grow large bud
-                    newState = ModBlocks.LARGE_CRYSTALS_ORANGE_BUD.get().defaultBlockState();
-                } else if (currentBlock == ModBlocks.LARGE_CRYSTALS_ORANGE_BUD.get()) {
-                    // 大芽 → 生长簇
-                    // Large bud → grow cluster
-                    newState = ModBlocks.CRYSTALS_ORANGE_CLUSTER.get().defaultBlockState();
-                }
-                break;
-
-            // 其他颜色目前只有小芽
-            // Other colors currently only have small buds
-            case BLACK:
-            case WHITE:
-            case YELLOW:
-            case GREEN:
-            case BLUE:
-            case RED:
-                if (currentState.isAir() || currentState.getFluidState().is(Fluids.WATER)) {
-                    // 空气或水 → 生长小芽
-                    // Air or water → grow small bud
-                    newState = this.getSmallBudForColor();
-                }
-                break;
+    public void growFace(final ServerLevel level, final BlockPos pos, final Direction direction) {
+        final long start = HotPathMetrics.CRYSTAL_GROWTH.start();
+        try {
+            final BlockPos growthPos = pos.relative(direction);
+            final BlockState grownState = BuddingCrystalsBlock.grownState(CrystalGrowthStages.table(),
+                    BuddingCrystalsBlock.BLOCK_STATES, this.color, level.getBlockState(growthPos), direction);
+            if (null != grownState) {
+                level.setBlockAndUpdate(growthPos, grownState);
+            }
+        } finally {
+            HotPathMetrics.CRYSTAL_GROWTH.stop(start);
         }
+    }
 
-        if (null != newState) {
-            return newState
-                    .setValue(AmethystClusterBlock.FACING, direction)
-                    .setValue(AmethystClusterBlock.WATERLOGGED, isWaterlogged);
+    /**
+     * 一次生长事件中面上方块的新状态：空气或水中放置该颜色的小芽，附着在这个面上的同色芽进入下一阶段
+     * New state of the block on the face for one growth event: air or water gets this color's small bud, a same-color
+     * bud attached to this face advances a stage
+     * <p>
+     * 不访问世界，基准测试可以用替身方块状态运行同一个生长步骤
+     * Does not touch the level, so benchmarks can run the same growth step on stand-in block states
+     *
+     * @param table     阶段表 Stage table
+     * @param states    方块状态的访问方式 Access to the block states
+     * @param color     母岩颜色 Budding block color
+     * @param target    面上的方块状态 Block state on the face
+     * @param direction 生长的面 Face to grow on
+     * @return 新的方块状态，不生长时返回null
+     * New block state, null when nothing grows
+     */
+    public static <B, S> S grownState(final CrystalGrowthStages.Table<B, S> table, final GrowthStates<B, S> states,
+                                      final CrystalColor color, final S target, final Direction direction) {
+        // 空气或水 → 生长该颜色的小芽
+        // Air or water → grow this color's small bud
+        if (states.canGrowInto(target)) {
+            final S firstStage = table.first(color);
+            return null == firstStage ? null : states.orient(firstStage, direction, states.isWater(target));
         }
 
+        // 附着在这个面上的同色芽进入下一阶段
+        // A same-color bud attached to this face advances a stage
+        if (direction == states.facing(target)) {
+            final S nextStage = table.next(color, states.block(target));
+            return null == nextStage ? null : states.orient(nextStage, direction, states.isWaterlogged(target));
+        }
         return null;
     }
 
     /**
-     * 根据颜色获取小芽方块
-     * Get small bud block for color
-     *
-     * @return 小芽方块状态 Small bud block state
+     * 按当前速率计划下一次生长事件
+     * Schedule the next growth event at the current rate
+     * <p>
+     * randomTickSpeed为0时退回未计划状态，由随机刻在速率恢复后重新启动
+     * When randomTickSpeed is 0 the block falls back to the unscheduled state, and random ticks restart it once the rate is restored
      */
-    private BlockState getSmallBudForColor() {
-        return switch (this.color) {
-            case BLACK -> ModBlocks.SMALL_CRYSTALS_BLACK_BUD.get().defaultBlockState();
-            case WHITE -> ModBlocks.SMALL_CRYSTALS_WHITE_BUD.get().defaultBlockState();
-            case YELLOW -> ModBlocks.SMALL_CRYSTALS_YELLOW_BUD.get().defaultBlockState();
-            case GREEN -> ModBlocks.SMALL_CRYSTALS_GREEN_BUD.get().defaultBlockState();
-            case BLUE -> ModBlocks.SMALL_CRYSTALS_BLUE_BUD.get().defaultBlockState();
-            case RED -> ModBlocks.SMALL_CRYSTALS_RED_BUD.get().defaultBlockState();
-            default -> ModBlocks.SMALL_CRYSTALS_ORANGE_BUD.get().defaultBlockState();
-        };
+    private void scheduleNextGrowth(final BlockState state, final ServerLevel level, final BlockPos pos, final RandomSource random) {
+        final double rate = CrystalGrowthEngine.eventRate(level);
+        if (0 >= rate) {
+            if (state.getValue(BuddingCrystalsBlock.SCHEDULED)) {
+                level.setBlock(pos, state.setValue(BuddingCrystalsBlock.SCHEDULED, false), Block.UPDATE_CLIENTS);
+            }
+            return;
+        }
+
+        if (!state.getValue(BuddingCrystalsBlock.SCHEDULED)) {
+            level.setBlock(pos, state.setValue(BuddingCrystalsBlock.SCHEDULED, true), Block.UPDATE_CLIENTS);
+        }
+        level.scheduleTick(pos, this, CrystalGrowthEngine.nextDelay(rate, random));
     }
 
     /**
@@ -268,7 +328,20 @@ public class BuddingCrystalsBlock extends Block {
      */
     @Override
     public boolean isRandomlyTicking(final @NotNull BlockState state) {
-        return true;
+        // 只有还没有计划刻的状态需要随机刻
+        // Only states without a scheduled tick need random ticks
+        return !state.getValue(BuddingCrystalsBlock.SCHEDULED);
+    }
+
+    /**
+     * 注册方块状态属性
+     * Register block state properties
+     *
+     * @param builder 状态定义构建器 State definition builder
+     */
+    @Override
+    protected void createBlockStateDefinition(final StateDefinition.@NotNull Builder<Block, BlockState> builder) {
+        builder.add(BuddingCrystalsBlock.SCHEDULED);
     }
 
     /**
@@ -281,6 +354,51 @@ public class BuddingCrystalsBlock extends Block {
         return this.color;
     }
 
+    /**
+     * 生长步骤需要的方块状态操作
+     * Block state operations the growth step needs
+     *
+     * @param <B> 方块类型 Block type
+     * @param <S> 方块状态类型 Block state type
+     */
+    public interface GrowthStates<B, S> {
+        /**
+         * 是否可以在这个状态中放置小芽（空气或水）
+         * Whether a small bud can be placed into this state (air or water)
+         */
+        boolean canGrowInto(S state);
+
+        /**
+         * 是否为水
+         * Whether the state is water
+         */
+        boolean isWater(S state);
+
+        /**
+         * 芽的朝向，不是芽时返回null
+         * Facing of a bud, null when it is not a bud
+         */
+        Direction facing(S state);
+
+        /**
+         * 芽是否含水
+         * Whether a bud is waterlogged
+         */
+        boolean isWaterlogged(S state);
+
+        /**
+         * 状态所属的方块
+         * Block the state belongs to
+         */
+        B block(S state);
+
+        /**
+         * 设置阶段状态的朝向和含水
+         * Set the facing and waterlogging of a stage state
+         */
+        S orient(S stage, Direction facing, boolean waterlogged);
+    }
+
     /**
      * 水晶颜色枚举
      * Crystal Color Enum
@@ -0,0 +1,137 @@
+package com.github.chromabreak.blocks;
+
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.GameRules;
+
+/**
+ * CrystalGrowthEngine - 水晶生长引擎
+ * Crystal Growth Engine
+ * <p>
+ * 用计划刻代替随机刻驱动水晶母岩的生长：每个母岩根据指数分布计算下一次生长事件的时间，两次事件之间不消耗任何CPU
+ * Drives budding crystal growth with scheduled ticks instead of random ticks: every budding block draws the time of its
+ * next growth event from an exponential distribution, so no CPU is spent between events
+ * <p>
+ * 期望生长速率与随机刻实现相同：
+ * The expected growth rate matches the random tick implementation:
+ * - 每个方块每刻被随机刻选中的概率为 randomTickSpeed / 4096
+ * Every block is picked by random ticks with probability randomTickSpeed / 4096 per tick
+ * - 旧实现中每个面（放置小芽）和每个附着的芽（进入下一阶段）被选中后都有10%几率生长
+ * In the old implementation every face (placing a small bud) and every attached bud (advancing a stage) grew with a 10% chance when picked
+ * - 因此每个面的生长速率为 randomTickSpeed / 4096 * 0.1，母岩的6个面合计为其6倍
+ * So each face grows at randomTickSpeed / 4096 * 0.1 per tick, and the 6 faces of a budding block together at 6 times that
+ * <p>
+ * 每次事件随机选择一个面，因此每个面的速率保持不变
+ * Every event picks a uniformly random face, so each face keeps its own rate
+ * <p>
+ * 使用枚举模式确保单例，所有方法都是静态方法
+ * Uses enum pattern to ensure singleton, all methods are static methods
+ */
+public enum CrystalGrowthEngine {
+    ;
+
+    /**
+     * 区块段中的方块数量（随机刻按区块段选择方块）
+     * Number of blocks in a chunk section (random ticks pick blocks per section)
+     */
+    private static final double BLOCKS_PER_SECTION = 4096.0;
+
+    /**
+     * 被随机刻选中后每个面尝试生长的几率
+     * Chance of a face attempting growth once picked by a random tick
+     */
+    private static final double FACE_GROWTH_CHANCE = 0.1;
+
+    /**
+     * 母岩的面数
+     * Number of faces of a budding block
+     */
+    private static final int FACES = 6;
+
+    /**
+     * 计划刻的最大延迟，避免极低速率时溢出
+     * Maximum scheduled tick delay, avoids overflow at extremely low rates
+     */
+    private static final int MAX_DELAY = 1_000_000;
+
+    /**
+     * 获取单个母岩每刻的生长事件速率（6个面合计）
+     * Get the growth event rate of a single budding block per tick (all 6 faces)
+     *
+     * @param level 服务器级别
+     *              Server level
+     * @return 每刻的期望事件数，randomTickSpeed为0时返回0
+     * Expected events per tick, 0 when randomTickSpeed is 0
+     */
+    public static double eventRate(final ServerLevel level) {
+        return CrystalGrowthEngine.eventRate(level.getGameRules().getInt(GameRules.RULE_RANDOMTICKING));
+    }
+
+    /**
+     * 按randomTickSpeed获取单个母岩每刻的生长事件速率（6个面合计）
+     * Get the growth event rate of a single budding block per tick (all 6 faces) for a randomTickSpeed
+     *
+     * @param randomTickSpeed randomTickSpeed游戏规则的值
+     *                        Value of the randomTickSpeed game rule
+     * @return 每刻的期望事件数，randomTickSpeed为0时返回0
+     * Expected events per tick, 0 when randomTickSpeed is 0
+     */
+    public static double eventRate(final int randomTickSpeed) {
+        if (0 >= randomTickSpeed) {
+            return 0.0;
+        }
+        return CrystalGrowthEngine.FACES * CrystalGrowthEngine.FACE_GROWTH_CHANCE
+                * randomTickSpeed / CrystalGrowthEngine.BLOCKS_PER_SECTION;
+    }
+
+    /**
+     * 按指数分布抽取到下一次生长事件的延迟
+     * Draw the delay until the next growth event from an exponential distribution
+     *
+     * @param rate   每刻的事件速率，必须大于0
+     *               Events per tick, must be greater than 0
+     * @param random 随机数生成器
+     *               Random source
+     * @return 延迟刻数（至少为1）
+     * Delay in ticks (at least 1)
+     */
+    public static int nextDelay(final double rate, final RandomSource random) {
+        final double delay = -Math.log(1.0 - random.nextDouble()) / rate;
+        return (int) Math.max(1.0, Math.min(CrystalGrowthEngine.MAX_DELAY, Math.ceil(delay)));
+    }
+
+    /**
+     * 抽取一段时间内发生的生长事件数（泊松分布，上限截断）
+     * Draw the number of growth events within a period (Poisson distributed, truncated at a cap)
+     * <p>
+     * 累加指数分布的间隔直到超过时长，循环次数不超过上限
+     * Sums exponential gaps until the period is exceeded, so the loop never runs more than cap times
+     *
+     * @param rate   每刻的事件速率
+     *               Events per tick
+     * @param ticks  时长（刻）
+     *               Period in ticks
+     * @param cap    事件数上限
+     *               Maximum number of events
+     * @param random 随机数生成器
+     *               Random source
+     * @return 事件数，范围[0, cap]
+     * Number of events, in [0, cap]
+     */
+    public static int eventsWithin(final double rate, final long ticks, final int cap, final RandomSource random) {
+        if (0 >= rate || 0 >= ticks) {
+            return 0;
+        }
+
+        double elapsed = 0.0;
+        int events = 0;
+        while (events < cap) {
+            elapsed += -Math.log(1.0 - random.nextDouble()) / rate;
+            if (elapsed > ticks) {
+                break;
+            }
+            events++;
+        }
+        return events;
+    }
+}
@@ -0,0 +1,404 @@
+package com.github.chromabreak.blocks;
+
+import com.github.chromabreak.ChromaBreak;
+import com.github.chromabreak.Config;
+import com.github.chromabreak.jfr.CrystalGrowthBatchEvent;
+import com.github.chromabreak.util.ModAttachments;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.level.ChunkEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * CrystalGrowthLedger - 水晶生长账本
+ * Crystal Growth Ledger
+ * <p>
+ * 母岩只在区块加载时生长，大型晶洞农场要么生长不均匀，要么需要玩家一直保持区块加载
+ * Budding blocks only grow while their chunk is loaded, so large geode farms either grow unevenly or need players to keep chunks loaded
+ * <p>
+ * 每个包含生长中母岩的区块带有一个数据附件，记录生长已模拟到的游戏时间：
+ * Every chunk with growing budding blocks carries a data attachment recording the game time growth has been simulated up to:
+ * - 母岩第一次计划刻生长时写入；之后只在区块卸载和维度保存时更新为当前时间，生长刻不会反复标记区块需要保存
+ * Written on the first scheduled growth tick; after that only updated to the current time when the chunk unloads and
+ * when the level saves, so growth ticks do not keep marking the chunk for saving
+ * - 区块重新加载时，每个母岩按离开的时长抽取泊松分布的事件数，统计上与一直加载等价
+ * When the chunk loads again, every budding block draws a Poisson number of events for the time away, statistically equivalent to staying loaded
+ * - 补算在LevelTickEvent.Post中按Config.CRYSTAL_CATCH_UP_BUDGET分批执行，大量农场区块同时加载不会造成卡顿
+ * Catch-up runs in slices of Config.CRYSTAL_CATCH_UP_BUDGET in LevelTickEvent.Post, so loading many farm chunks at once does not spike the tick
+ * - 只在区块可以进行方块刻时补算，生长面位于未加载区块的事件被跳过，补算不会触发区块加载
+ * Catch-up only runs once the chunk ticks blocks, and events whose face lies in an unloaded chunk are skipped, so catch-up never loads chunks
+ * <p>
+ * 所有方法都在服务器线程调用
+ * All methods are called on the server thread
+ */
+@EventBusSubscriber(modid = ChromaBreak.MODID)
+public enum CrystalGrowthLedger {
+    ;
+
+    /**
+     * 按维度分组的补算任务
+     * Catch-up jobs grouped by dimension
+     */
+    private static final Map<LevelAccessor, PendingJobs> QUEUES = new IdentityHashMap<>();
+
+    /**
+     * 按维度分组的已加载且带有账本的区块，维度保存时更新它们的账本
+     * Loaded chunks with a ledger grouped by dimension, their ledgers are updated when the level saves
+     */
+    private static final Map<LevelAccessor, LongSet> LEDGER_CHUNKS = new IdentityHashMap<>();
+
+    /**
+     * 记录母岩所在区块有生长中的母岩
+     * Record that the chunk of a budding block has growing budding blocks
+     * <p>
+     * 区块已有账本时不做任何事：加载期间账本的值不会被读取，卸载和保存时才更新
+     * Does nothing when the chunk already has a ledger: the value is not read while the chunk is loaded, it is updated
+     * on unload and save
+     *
+     * @param level 服务器级别
+     *              Server level
+     * @param pos   母岩位置
+     *              Budding block position
+     */
+    static void stamp(final ServerLevel level, final BlockPos pos) {
+        final LevelChunk chunk = level.getChunkAt(pos);
+        if (!chunk.hasData(ModAttachments.CRYSTAL_GROWTH_LEDGER)) {
+            CrystalGrowthLedger.stamp(chunk, level.getGameTime());
+            CrystalGrowthLedger.track(level, chunk);
+        }
+    }
+
+    /**
+     * 区块加载时，如果有账本且离开过一段时间，加入补算队列
+     * When a chunk with a ledger loads after some time away, queue its catch-up
+     *
+     * @param event 区块加载事件
+     *              Chunk load event
+     */
+    @SubscribeEvent
+    public static void onChunkLoad(final ChunkEvent.Load event) {
+        if (!(event.getLevel() instanceof final ServerLevel level)
+                || !(event.getChunk() instanceof final LevelChunk chunk)
+                || !chunk.hasData(ModAttachments.CRYSTAL_GROWTH_LEDGER)) {
+            return;
+        }
+        CrystalGrowthLedger.track(level, chunk);
+
+        final long elapsed = level.getGameTime() - chunk.getData(ModAttachments.CRYSTAL_GROWTH_LEDGER);
+        if (0 >= elapsed || 0 == Config.CRYSTAL_CATCH_UP_MAX_EVENTS.getAsInt()
+                || 0 >= CrystalGrowthEngine.eventRate(level)) {
+            return;
+        }
+
+        final PendingJobs jobs = CrystalGrowthLedger.QUEUES.computeIfAbsent(level, key -> new PendingJobs());
+        final long chunkKey = chunk.getPos().toLong();
+        if (!jobs.byChunk.containsKey(chunkKey)) {
+            final CatchUpJob job = new CatchUpJob(chunk.getPos(), chunk.getSectionsCount(), elapsed);
+            jobs.byChunk.put(chunkKey, job);
+            jobs.order.addLast(job);
+        }
+    }
+
+    /**
+     * 区块卸载时更新账本
+     * Update the ledger when a chunk unloads
+     * <p>
+     * 还没有开始的补算保留在账本中，下次加载时一起补算
+     * Catch-up that has not started yet is kept in the ledger and applied on the next load
+     *
+     * @param event 区块卸载事件
+     *              Chunk unload event
+     */
+    @SubscribeEvent
+    public static void onChunkUnload(final ChunkEvent.Unload event) {
+        if (!(event.getLevel() instanceof final ServerLevel level)
+                || !(event.getChunk() instanceof final LevelChunk chunk)
+                || !chunk.hasData(ModAttachments.CRYSTAL_GROWTH_LEDGER)) {
+            return;
+        }
+
+        final LongSet tracked = CrystalGrowthLedger.LEDGER_CHUNKS.get(level);
+        if (null != tracked) {
+            tracked.remove(chunk.getPos().toLong());
+        }
+        final PendingJobs jobs = CrystalGrowthLedger.QUEUES.get(level);
+        final CatchUpJob job = null != jobs ? jobs.byChunk.remove(chunk.getPos().toLong()) : null;
+        if (null != job) {
+            jobs.order.remove(job);
+        }
+        CrystalGrowthLedger.stamp(chunk, CrystalGrowthLedger.simulatedUntil(level, job));
+    }
+
+    /**
+     * 维度保存前更新所有已加载区块的账本，服务器关闭或崩溃前保存的存档也能正确补算
+     * Update the ledgers of all loaded chunks before the level saves, so saves written before a shutdown or crash
+     * still catch up correctly
+     *
+     * @param event 维度保存事件
+     *              Level save event
+     */
+    @SubscribeEvent
+    public static void onLevelSave(final LevelEvent.Save event) {
+        final LongSet tracked = CrystalGrowthLedger.LEDGER_CHUNKS.get(event.getLevel());
+        if (null == tracked || !(event.getLevel() instanceof final ServerLevel level)) {
+            return;
+        }
+
+        final PendingJobs jobs = CrystalGrowthLedger.QUEUES.get(level);
+        for (final LongIterator it = tracked.iterator(); it.hasNext(); ) {
+            final long chunkKey = it.nextLong();
+            final LevelChunk chunk = level.getChunkSource().getChunkNow(ChunkPos.getX(chunkKey), ChunkPos.getZ(chunkKey));
+            if (null == chunk) {
+                it.remove();
+                continue;
+            }
+            final CatchUpJob job = null != jobs ? jobs.byChunk.get(chunkKey) : null;
+            CrystalGrowthLedger.stamp(chunk, CrystalGrowthLedger.simulatedUntil(level, job));
+        }
+    }
+
+    /**
+     * 区块已模拟到的时间：当前时间，减去还没有开始的补算时长
+     * Time the chunk is simulated up to: now, minus catch-up that has not started yet
+     */
+    private static long simulatedUntil(final ServerLevel level, final CatchUpJob job) {
+        return null != job && !job.started ? level.getGameTime() - job.elapsed : level.getGameTime();
+    }
+
+    /**
+     * 记录已加载且带有账本的区块
+     * Track a loaded chunk with a ledger
+     */
+    private static void track(final ServerLevel level, final LevelChunk chunk) {
+        CrystalGrowthLedger.LEDGER_CHUNKS.computeIfAbsent(level, key -> new LongOpenHashSet()).add(chunk.getPos().toLong());
+    }
+
+    /**
+     * 每tick结束时按预算执行补算
+     * Run catch-up within the budget at the end of every tick
+     *
+     * @param event 维度tick事件
+     *              Level tick event
+     */
+    @SubscribeEvent
+    public static void onLevelTick(final LevelTickEvent.Post event) {
+        final PendingJobs jobs = CrystalGrowthLedger.QUEUES.get(event.getLevel());
+        if (null == jobs || !(event.getLevel() instanceof final ServerLevel level)) {
+            return;
+        }
+
+        final CrystalGrowthBatchEvent batchEvent = new CrystalGrowthBatchEvent();
+        batchEvent.begin();
+
+        final double rate = CrystalGrowthEngine.eventRate(level);
+        final int maxEvents = Config.CRYSTAL_CATCH_UP_MAX_EVENTS.getAsInt();
+        final int initialBudget = Config.CRYSTAL_CATCH_UP_BUDGET.getAsInt();
+        int budget = initialBudget;
+        int waiting = 0;
+        int completed = 0;
+        while (0 < budget && waiting < jobs.order.size()) {
+            final CatchUpJob job = jobs.order.peekFirst();
+            final LevelChunk chunk = level.getChunkSource().getChunkNow(job.chunkPos.x, job.chunkPos.z);
+            if (null == chunk) {
+                jobs.order.pollFirst();
+                jobs.byChunk.remove(job.chunkPos.toLong());
+                continue;
+            }
+
+            // 区块还不能进行方块刻时，相邻区块可能还没加载，稍后再试
+            // Neighbouring chunks may not be loaded before the chunk ticks blocks, try again later
+            if (!level.shouldTickBlocksAt(job.chunkPos.toLong())) {
+                jobs.order.addLast(jobs.order.pollFirst());
+                waiting++;
+                continue;
+            }
+
+            budget = job.run(level, chunk, rate, maxEvents, budget);
+            if (job.isDone()) {
+                jobs.order.pollFirst();
+                jobs.byChunk.remove(job.chunkPos.toLong());
+                CrystalGrowthLedger.stamp(chunk, level.getGameTime());
+                completed++;
+            }
+        }
+
+        if (batchEvent.shouldCommit()) {
+            batchEvent.dimension = level.dimension().location().toString();
+            batchEvent.work = initialBudget - budget;
+            batchEvent.chunksCompleted = completed;
+            batchEvent.chunksPending = jobs.order.size();
+            batchEvent.commit();
+        }
+
+        if (jobs.order.isEmpty()) {
+            CrystalGrowthLedger.QUEUES.remove(event.getLevel());
+        }
+    }
+
+    /**
+     * 维度卸载时丢弃队列
+     * Drop the queue when a dimension unloads
+     *
+     * @param event 维度卸载事件
+     *              Level unload event
+     */
+    @SubscribeEvent
+    public static void onLevelUnload(final LevelEvent.Unload event) {
+        CrystalGrowthLedger.QUEUES.remove(event.getLevel());
+        CrystalGrowthLedger.LEDGER_CHUNKS.remove(event.getLevel());
+    }
+
+    /**
+     * 写入账本，值改变时才标记区块需要保存
+     * Write the ledger, marking the chunk for saving only when the value changes
+     */
+    private static void stamp(final LevelChunk chunk, final long gameTime) {
+        if (!chunk.hasData(ModAttachments.CRYSTAL_GROWTH_LEDGER)
+                || gameTime != chunk.getData(ModAttachments.CRYSTAL_GROWTH_LEDGER)) {
+            chunk.setData(ModAttachments.CRYSTAL_GROWTH_LEDGER, gameTime);
+            chunk.setUnsaved(true);
+        }
+    }
+
+    /**
+     * 单个区块的补算任务
+     * Catch-up job of a single chunk
+     * <p>
+     * 先逐个区块段扫描母岩位置（调色板中没有母岩的区块段直接跳过），再逐个母岩执行生长事件
+     * First scans budding block positions section by section (sections whose palette has no budding block are skipped),
+     * then runs growth events block by block
+     */
+    private static final class CatchUpJob {
+        private final ChunkPos chunkPos;
+        private final int sectionCount;
+        private final long elapsed;
+        private final LongArrayList positions = new LongArrayList();
+        private int nextSection;
+        private int cursor;
+        private int remainingEvents = -1;
+        private boolean started;
+
+        private CatchUpJob(final ChunkPos chunkPos, final int sectionCount, final long elapsed) {
+            this.chunkPos = chunkPos;
+            this.sectionCount = sectionCount;
+            this.elapsed = elapsed;
+        }
+
+        /**
+         * 在预算内推进任务
+         * Advance the job within the budget
+         *
+         * @return 剩余预算
+         * Remaining budget
+         */
+        private int run(final ServerLevel level, final LevelChunk chunk, final double rate, final int maxEvents, final int budget) {
+            this.started = true;
+            int remaining = budget;
+            final LevelChunkSection[] sections = chunk.getSections();
+            while (0 < remaining && this.nextSection < this.sectionCount) {
+                final int sectionIndex = this.nextSection++;
+                final LevelChunkSection section = sections[sectionIndex];
+                if (section.hasOnlyAir()
+                        || !section.maybeHas(state -> state.getBlock() instanceof BuddingCrystalsBlock)) {
+                    continue;
+                }
+                this.scanSection(chunk, section, sectionIndex);
+                remaining--;
+            }
+
+            final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+            while (0 < remaining && this.cursor < this.positions.size()) {
+                pos.set(this.positions.getLong(this.cursor));
+                final BlockState state = chunk.getBlockState(pos);
+                if (!(state.getBlock() instanceof final BuddingCrystalsBlock budding)) {
+                    this.nextPosition();
+                    continue;
+                }
+
+                final BlockPos budPos = pos.immutable();
+                if (0 > this.remainingEvents) {
+                    this.remainingEvents = CrystalGrowthEngine.eventsWithin(rate, this.elapsed, maxEvents, level.getRandom());
+                }
+                while (0 < remaining && 0 < this.remainingEvents) {
+                    final Direction direction = Direction.getRandom(level.getRandom());
+                    // 生长面位于未加载的区块时跳过，避免加载区块
+                    // Skip faces in unloaded chunks to avoid loading them
+                    if (level.hasChunkAt(budPos.relative(direction))) {
+                        budding.growFace(level, budPos, direction);
+                    }
+                    this.remainingEvents--;
+                    remaining--;
+                }
+                if (0 == this.remainingEvents) {
+                    this.nextPosition();
+                }
+            }
+            return remaining;
+        }
+
+        /**
+         * 收集一个区块段中的母岩位置
+         * Collect the budding block positions of a section
+         */
+        private void scanSection(final LevelChunk chunk, final LevelChunkSection section, final int sectionIndex) {
+            final int baseX = this.chunkPos.getMinBlockX();
+            final int baseY = SectionPos.sectionToBlockCoord(chunk.getSectionYFromSectionIndex(sectionIndex));
+            final int baseZ = this.chunkPos.getMinBlockZ();
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        if (section.getBlockState(x, y, z).getBlock() instanceof BuddingCrystalsBlock) {
+                            this.positions.add(BlockPos.asLong(baseX + x, baseY + y, baseZ + z));
+                        }
+                    }
+                }
+            }
+        }
+
+        private void nextPosition() {
+            this.cursor++;
+            this.remainingEvents = -1;
+        }
+
+        private boolean isDone() {
+            return this.nextSection >= this.sectionCount && this.cursor >= this.positions.size();
+        }
+    }
+
+    /**
+     * 单个维度的补算队列
+     * Catch-up queue of a single dimension
+     */
+    private static final class PendingJobs {
+        /**
+         * 加载顺序
+         * Load order
+         */
+        private final ArrayDeque<CatchUpJob> order = new ArrayDeque<>();
+
+        /**
+         * 按区块位置索引的任务
+         * Jobs indexed by chunk position
+         */
+        private final Long2ObjectOpenHashMap<CatchUpJob> byChunk = new Long2ObjectOpenHashMap<>();
+    }
+}
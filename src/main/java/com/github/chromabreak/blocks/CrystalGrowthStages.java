@@ -0,0 +1,215 @@
+package com.github.chromabreak.blocks;
+
+import com.github.chromabreak.ChromaBreak;
+import com.github.chromabreak.util.ModBlocks;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.fml.event.lifecycle.FMLCommonSetupEvent;
+import net.neoforged.neoforge.registries.DeferredHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * CrystalGrowthStages - 水晶生长阶段表
+ * Crystal Growth Stage Table
+ * <p>
+ * 从ModBlocks中注册的方块预先构建生长阶段转换表，每次生长只需一次按对象身份的查找
+ * Precomputes the growth stage transitions from the blocks registered in ModBlocks, so every growth step is a single identity lookup
+ * <p>
+ * 主要功能包括：
+ * Main functionalities include:
+ * - 第一阶段：每种颜色在空气或水中放置的小芽
+ * First stage: The small bud each color places in air or water
+ * - 下一阶段：芽方块 → 同色下一阶段的方块状态（小芽→中芽→大芽→晶簇）
+ * Next stage: Bud block → next stage block state of the same color (small → medium → large → cluster)
+ * <p>
+ * 链条按方块类型和颜色自动连接，某种颜色缺少的阶段处链条结束；添加新颜色或新阶段只需在ModBlocks中注册方块
+ * Chains are linked automatically by block type and color and end where a color lacks a stage;
+ * adding a color or stage only needs the block registered in ModBlocks
+ * <p>
+ * 阶段表对方块和方块状态类型是泛型的，基准测试可以用替身类型构建同样的表（不需要启动游戏）
+ * The table is generic over the block and block state types, so benchmarks can build the same table from stand-in
+ * types (without bootstrapping the game)
+ * <p>
+ * 使用枚举模式确保单例，所有方法都是静态方法
+ * Uses enum pattern to ensure singleton, all methods are static methods
+ */
+@EventBusSubscriber(modid = ChromaBreak.MODID, bus = EventBusSubscriber.Bus.MOD)
+public enum CrystalGrowthStages {
+    ;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger("CrystalGrowthStages");
+
+    /**
+     * 当前的阶段表，为null表示尚未构建
+     * Current stage table, null means it has not been built yet
+     */
+    private static volatile Table<Block, BlockState> table;
+
+    /**
+     * 通用设置时构建阶段表（此时所有方块都已注册）
+     * Build the stage table during common setup (all blocks are registered by then)
+     *
+     * @param event 通用设置事件
+     *              Common setup event
+     */
+    @SubscribeEvent
+    public static void onCommonSetup(final FMLCommonSetupEvent event) {
+        CrystalGrowthStages.table();
+    }
+
+    /**
+     * 获取颜色从小芽开始的全部阶段
+     * Get every stage of a color, starting with the small bud
+     *
+     * @param color 水晶颜色
+     *              Crystal color
+     * @return 各阶段的默认方块状态（小芽、中芽、大芽、晶簇中已注册的部分），该颜色没有小芽时为空
+     * Default block states of the stages (the registered ones of small, medium, large and cluster), empty when the color has no small bud
+     */
+    public static List<BlockState> stages(final BuddingCrystalsBlock.CrystalColor color) {
+        return CrystalGrowthStages.table().stages(color, BlockState::getBlock);
+    }
+
+    /**
+     * 获取阶段表，尚未构建时构建
+     * Get the stage table, building it if needed
+     */
+    static Table<Block, BlockState> table() {
+        final Table<Block, BlockState> current = CrystalGrowthStages.table;
+        return null != current ? current : CrystalGrowthStages.build();
+    }
+
+    /**
+     * 从ModBlocks构建阶段表
+     * Build the stage table from ModBlocks
+     */
+    private static synchronized Table<Block, BlockState> build() {
+        final Table<Block, BlockState> existing = CrystalGrowthStages.table;
+        if (null != existing) {
+            return existing;
+        }
+
+        // 按阶段和颜色收集方块
+        // Collect blocks by stage and color
+        final Map<BuddingCrystalsBlock.CrystalColor, Block> small = new EnumMap<>(BuddingCrystalsBlock.CrystalColor.class);
+        final Map<BuddingCrystalsBlock.CrystalColor, Block> medium = new EnumMap<>(BuddingCrystalsBlock.CrystalColor.class);
+        final Map<BuddingCrystalsBlock.CrystalColor, Block> large = new EnumMap<>(BuddingCrystalsBlock.CrystalColor.class);
+        final Map<BuddingCrystalsBlock.CrystalColor, Block> cluster = new EnumMap<>(BuddingCrystalsBlock.CrystalColor.class);
+        for (final DeferredHolder<Block, ? extends Block> holder : ModBlocks.BLOCKS.getEntries()) {
+            final Block block = holder.get();
+            if (block instanceof final CustomSmallBudBlock bud) {
+                small.put(bud.getColor(), block);
+            } else if (block instanceof final CustomMediumBudBlock bud) {
+                medium.put(bud.getColor(), block);
+            } else if (block instanceof final CustomLargeBudBlock bud) {
+                large.put(bud.getColor(), block);
+            } else if (block instanceof final CustomClusterBlock bud) {
+                cluster.put(bud.getColor(), block);
+            }
+        }
+
+        final Table<Block, BlockState> built = CrystalGrowthStages.link(List.of(small, medium, large, cluster),
+                Block::defaultBlockState);
+        CrystalGrowthStages.LOGGER.info("Built crystal growth stage table: {} colors, {} transitions",
+                built.firstStage().size(), built.nextStage().size());
+        CrystalGrowthStages.table = built;
+        return built;
+    }
+
+    /**
+     * 按顺序连接各阶段中同色的方块，构建阶段表
+     * Build a stage table by linking the same-color blocks of consecutive stages
+     *
+     * @param chain        按生长顺序排列的各阶段（小芽、中芽、大芽、晶簇），每个阶段是颜色到方块的映射
+     *                     The stages in growth order (small, medium, large, cluster), each mapping colors to blocks
+     * @param defaultState 方块的默认状态
+     *                     Default state of a block
+     * @return 阶段表
+     * Stage table
+     */
+    public static <B, S> Table<B, S> link(final List<Map<BuddingCrystalsBlock.CrystalColor, B>> chain,
+                                          final Function<B, S> defaultState) {
+        final Map<BuddingCrystalsBlock.CrystalColor, S> firstStage = new EnumMap<>(BuddingCrystalsBlock.CrystalColor.class);
+        chain.getFirst().forEach((color, block) -> firstStage.put(color, defaultState.apply(block)));
+
+        final Map<B, Transition<S>> nextStage = new IdentityHashMap<>();
+        for (int i = 1; i < chain.size(); i++) {
+            final Map<BuddingCrystalsBlock.CrystalColor, B> to = chain.get(i);
+            chain.get(i - 1).forEach((color, block) -> {
+                final B next = to.get(color);
+                if (null != next) {
+                    nextStage.put(block, new Transition<>(color, defaultState.apply(next)));
+                }
+            });
+        }
+        return new Table<>(firstStage, nextStage);
+    }
+
+    /**
+     * 阶段转换
+     * Stage transition
+     *
+     * @param color 芽的颜色
+     *              Bud color
+     * @param next  下一阶段的默认方块状态
+     *              Default block state of the next stage
+     */
+    public record Transition<S>(BuddingCrystalsBlock.CrystalColor color, S next) {
+    }
+
+    /**
+     * 阶段表快照
+     * Stage table snapshot
+     *
+     * @param firstStage 每种颜色的小芽
+     *                   Small bud of every color
+     * @param nextStage  芽方块到下一阶段的转换（按对象身份查找）
+     *                   Transitions from bud blocks to their next stage (looked up by identity)
+     */
+    public record Table<B, S>(Map<BuddingCrystalsBlock.CrystalColor, S> firstStage,
+                              Map<B, Transition<S>> nextStage) {
+        /**
+         * 颜色的第一阶段，该颜色没有小芽时返回null
+         * First stage of a color, null when the color has no small bud
+         */
+        public S first(final BuddingCrystalsBlock.CrystalColor color) {
+            return this.firstStage.get(color);
+        }
+
+        /**
+         * 芽的下一阶段，不是同色芽或已是最终阶段时返回null
+         * Next stage of a bud, null when it is not a same-color bud or already final
+         */
+        public S next(final BuddingCrystalsBlock.CrystalColor color, final B bud) {
+            final Transition<S> transition = this.nextStage.get(bud);
+            return null != transition && transition.color() == color ? transition.next() : null;
+        }
+
+        /**
+         * 颜色从小芽开始的全部阶段，该颜色没有小芽时为空
+         * Every stage of a color starting with the small bud, empty when the color has no small bud
+         *
+         * @param block 阶段状态所属的方块
+         *              Block a stage state belongs to
+         */
+        public List<S> stages(final BuddingCrystalsBlock.CrystalColor color, final Function<S, B> block) {
+            final List<S> stages = new ArrayList<>();
+            S stage = this.first(color);
+            while (null != stage) {
+                stages.add(stage);
+                stage = this.next(color, block.apply(stage));
+            }
+            return stages;
+        }
+    }
+}
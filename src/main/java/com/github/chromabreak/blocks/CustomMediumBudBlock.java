@@ -1,10 +1,5 @@
 package com.github.chromabreak.blocks;
 
-import com.github.chromabreak.util.ModBlocks;
-import net.minecraft.core.BlockPos;
-import net.minecraft.core.Direction;
-import net.minecraft.server.level.ServerLevel;
-import net.minecraft.util.RandomSource;
 import net.minecraft.world.level.block.AmethystClusterBlock;
 import net.minecraft.world.level.block.state.BlockState;
 import org.jetbrains.annotations.NotNull;
@@ -22,19 +17,17 @@ import org.jetbrains.annotations.NotNull;
  * Inherit amethyst cluster features: Inherit all features of vanilla amethyst cluster including model, collision box, waterlogging, etc.
  * - 多颜色支持：支持7种不同颜色的中型水晶芽
  * Multi-color support: Supports 7 different colors of medium crystal buds
- * - 生长逻辑：实现中芽生长为大芽的随机tick机制
- * Growth logic: Implements random tick mechanism for medium bud growing to large bud
+ * - 生长逻辑：由附着的同色母岩按CrystalGrowthStages中的阶段表推动生长
+ * Growth logic: Grown by the attached same-color budding block following the stage table in CrystalGrowthStages
  * - 附着检查：检查是否附着在相同颜色的母岩上才能生长
  * Attachment check: Checks if attached to budding block of same color to allow growth
  * <p>
  * 生长机制：
  * Growth mechanism:
- * - 每个游戏刻有10%的几率尝试生长
- * Each game tick has 10% chance to attempt growth
- * - 检查附着位置是否是相同颜色的母岩
- * Checks if attached position is budding block of same color
- * - 如果条件满足，中芽生长为大芽
- * If conditions are met, medium bud grows to large bud
+ * - 芽本身不进行随机刻，附着的母岩在计划刻生长事件中选中该面时让芽进入下一阶段
+ * Buds do not random tick themselves, the attached budding block advances the bud when its growth event picks that face
+ * - 只有附着在相同颜色母岩上的芽会生长
+ * Only buds attached to a budding block of the same color grow
  * - 保持原有的朝向和水浸状态
  * Maintains original facing direction and waterlogged state
  * <p>
@@ -75,37 +68,11 @@ public class CustomMediumBudBlock extends AmethystClusterBlock {
         this.color = color;
     }
 
-    @Override
-    public void randomTick(final @NotNull BlockState state, final @NotNull ServerLevel level, final @NotNull BlockPos pos, final RandomSource random) {
-        if (0 == random.nextInt(10)) { // 10% chance to grow
-            // 中芽生长为大芽
-            // Medium bud grows to large bud
-            final Direction facing = state.getValue(AmethystClusterBlock.FACING);
-            final BlockPos attachedPos = pos.relative(facing.getOpposite());
-
-            // 检查附着位置是否是相同颜色的母岩
-            // Check if attached position is budding block of same color
-            final BlockState attachedState = level.getBlockState(attachedPos);
-            if (attachedState.getBlock() instanceof final BuddingCrystalsBlock buddingBlock &&
-                    buddingBlock.getColor() == this.color) {
-
-                // 生长为大芽
-                // Grow to large bud
-                final BlockState largeBudState = this.getLargeBudForColor(this.color)
-                        .setValue(AmethystClusterBlock.FACING, facing)
-                        .setValue(AmethystClusterBlock.WATERLOGGED, state.getValue(AmethystClusterBlock.WATERLOGGED));
-                level.setBlockAndUpdate(pos, largeBudState);
-            }
-        }
-    }
-
     @Override
     public boolean isRandomlyTicking(final @NotNull BlockState state) {
-        return true;
-    }
-
-    private BlockState getLargeBudForColor(final BuddingCrystalsBlock.CrystalColor color) {
-        return ModBlocks.LARGE_CRYSTALS_ORANGE_BUD.get().defaultBlockState();
+        // 生长由附着的母岩通过计划刻推动
+        // Growth is driven by the attached budding block through scheduled ticks
+        return false;
     }
 
     public BuddingCrystalsBlock.CrystalColor getColor() {
@@ -1,10 +1,5 @@
 package com.github.chromabreak.blocks;
 
-import com.github.chromabreak.util.ModBlocks;
-import net.minecraft.core.BlockPos;
-import net.minecraft.core.Direction;
-import net.minecraft.server.level.ServerLevel;
-import net.minecraft.util.RandomSource;
 import net.minecraft.world.level.block.AmethystClusterBlock;
 import net.minecraft.world.level.block.state.BlockState;
 import org.jetbrains.annotations.NotNull;
@@ -22,19 +17,17 @@ import org.jetbrains.annotations.NotNull;
  * Inherit amethyst cluster features: Inherit all features of vanilla amethyst cluster including model, collision box, waterlogging, etc.
  * - 多颜色支持：支持7种不同颜色的小型水晶芽
  * Multi-color support: Supports 7 different colors of small crystal buds
- * - 生长逻辑：实现小芽生长为中芽的随机tick机制
- * Growth logic: Implements random tick mechanism for small bud growing to medium bud
+ * - 生长逻辑：由附着的同色母岩按CrystalGrowthStages中的阶段表推动生长
+ * Growth logic: Grown by the attached same-color budding block following the stage table in CrystalGrowthStages
  * - 附着检查：检查是否附着在相同颜色的母岩上才能生长
  * Attachment check: Checks if attached to budding block of same color to allow growth
  * <p>
  * 生长机制：
  * Growth mechanism:
- * - 每个游戏刻有10%的几率尝试生长
- * Each game tick has 10% chance to attempt growth
- * - 检查附着位置是否是相同颜色的母岩
- * Checks if attached position is budding block of same color
- * - 如果条件满足，小芽生长为中芽
- * If conditions are met, small bud grows to medium bud
+ * - 芽本身不进行随机刻，附着的母岩在计划刻生长事件中选中该面时让芽进入下一阶段
+ * Buds do not random tick themselves, the attached budding block advances the bud when its growth event picks that face
+ * - 只有附着在相同颜色母岩上的芽会生长
+ * Only buds attached to a budding block of the same color grow
  * - 保持原有的朝向和水浸状态
  * Maintains original facing direction and waterlogged state
  * <p>
@@ -88,60 +81,6 @@ public class CustomSmallBudBlock extends AmethystClusterBlock {
         this.color = color;
     }
 
-    /**
-     * 随机Tick方法，用于实现生长逻辑
-     * Random tick method for implementing growth logic
-     * <p>
-     * 每个游戏刻调用，检查小芽是否有生长为中芽的机会
-     * Called each game tick, checks if small bud has opportunity to grow to medium bud
-     *
-     * @param state  当前方块状态
-     *               Current block state
-     * @param level  服务器级别，用于修改方块状态
-     *               Server level, used to modify block states
-     * @param pos    小芽位置
-     *               Small bud position
-     * @param random 随机数生成器，用于决定生长几率
-     *               Random number generator, used to determine growth probability
-     *               <p>
-     *               处理逻辑：
-     *               Processing logic:
-     *               1. 检查是否有10%的生长几率
-     *               Check if there's 10% growth chance
-     *               2. 获取小芽的朝向和附着位置
-     *               Get small bud's facing direction and attached position
-     *               3. 检查附着位置是否是相同颜色的母岩
-     *               Check if attached position is budding block of same color
-     *               4. 如果条件满足，将小芽替换为中芽
-     *               If conditions are met, replace small bud with medium bud
-     *               <p>
-     *               生长条件：必须附着在相同颜色的母岩上才能生长
-     *               Growth condition: Must be attached to budding block of same color to grow
-     */
-    @Override
-    public void randomTick(final @NotNull BlockState state, final @NotNull ServerLevel level, final @NotNull BlockPos pos, final RandomSource random) {
-        if (0 == random.nextInt(10)) { // 10% chance to grow
-            // 小芽生长为中芽
-            // Small bud grows to medium bud
-            final Direction facing = state.getValue(AmethystClusterBlock.FACING);
-            final BlockPos attachedPos = pos.relative(facing.getOpposite());
-
-            // 检查附着位置是否是相同颜色的母岩
-            // Check if attached position is budding block of same color
-            final BlockState attachedState = level.getBlockState(attachedPos);
-            if (attachedState.getBlock() instanceof final BuddingCrystalsBlock buddingBlock &&
-                    buddingBlock.getColor() == this.color) {
-
-                // 生长为中芽
-                // Grow to medium bud
-                final BlockState mediumBudState = this.getMediumBudForColor(this.color)
-                        .setValue(AmethystClusterBlock.FACING, facing)
-                        .setValue(AmethystClusterBlock.WATERLOGGED, state.getValue(AmethystClusterBlock.WATERLOGGED));
-                level.setBlockAndUpdate(pos, mediumBudState);
-            }
-        }
-    }
-
     /**
      * 检查是否可以进行随机tick
      * Check if random tick can occur
@@ -159,51 +98,9 @@ public class CustomSmallBudBlock extends AmethystClusterBlock {
      */
     @Override
     public boolean isRandomlyTicking(final @NotNull BlockState state) {
-        return true;
-    }
-
-    /**
-     * 根据颜色获取中芽方块状态
-     * Get medium bud block state for color
-     * <p>
-     * 根据水晶颜色返回对应的中芽方块状态
-     * Returns corresponding medium bud block state based on crystal color
-     *
-     * @param color 水晶颜色
-     *              Crystal color
-     * @return 对应颜色的中芽方块状态
-     * Medium bud block state of corresponding color
-     * <p>
-     * 颜色映射：
-     * Color mapping:
-     * - BLACK → 黑色中芽
-     * BLACK → Black medium bud
-     * - WHITE → 白色中芽
-     * WHITE → White medium bud
-     * - YELLOW → 黄色中芽
-     * YELLOW → Yellow medium bud
-     * - GREEN → 绿色中芽
-     * GREEN → Green medium bud
-     * - BLUE → 蓝色中芽
-     * BLUE → Blue medium bud
-     * - RED → 红色中芽
-     * RED → Red medium bud
-     * - ORANGE → 橙色中芽
-     * ORANGE → Orange medium bud
-     * <p>
-     * 默认值：如果颜色未定义，返回橙色中芽
-     * Default: If color is undefined, returns orange medium bud
-     */
-    private BlockState getMediumBudForColor(final BuddingCrystalsBlock.CrystalColor color) {
-        return switch (color) {
-            case BLACK -> ModBlocks.MEDIUM_CRYSTALS_BLACK_BUD.get().defaultBlockState();
-            case WHITE -> ModBlocks.MEDIUM_CRYSTALS_WHITE_BUD.get().defaultBlockState();
-            case YELLOW -> ModBlocks.MEDIUM_CRYSTALS_YELLOW_BUD.get().defaultBlockState();
-            case GREEN -> ModBlocks.MEDIUM_CRYSTALS_GREEN_BUD.get().defaultBlockState();
-            case BLUE -> ModBlocks.MEDIUM_CRYSTALS_BLUE_BUD.get().defaultBlockState();
-            case RED -> ModBlocks.MEDIUM_CRYSTALS_RED_BUD.get().defaultBlockState();
-            default -> ModBlocks.MEDIUM_CRYSTALS_ORANGE_BUD.get().defaultBlockState();
-        };
+        // 生长由附着的母岩通过计划刻推动
+        // Growth is driven by the attached budding block through scheduled ticks
+        return false;
     }
 
     /**
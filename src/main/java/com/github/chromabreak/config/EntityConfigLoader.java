@@ -1,6 +1,7 @@
 package com.github.chromabreak.config;
 
 import com.github.chromabreak.Config;
+import com.github.chromabreak.jfr.ConfigReloadEvent;
 import com.github.chromabreak.system.EntityHealthManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -91,10 +92,25 @@ public enum EntityConfigLoader {
      * Exception handling: If exception occurs, log error and mark as loaded (avoid repeated attempts)
      */
     public static void loadEntityConfigs() {
+        EntityConfigLoader.loadEntityConfigs(false);
+    }
+
+    /**
+     * 加载实体配置，并在JFR录制时提交ConfigReloadEvent
+     * Load entity configurations and commit a ConfigReloadEvent when JFR is recording
+     *
+     * @param reload 是否为重新加载
+     *               Whether this is a reload
+     */
+    private static void loadEntityConfigs(final boolean reload) {
         if (EntityConfigLoader.loaded) {
             return;
         }
 
+        final ConfigReloadEvent event = new ConfigReloadEvent();
+        event.begin();
+        event.reload = reload;
+
         EntityConfigLoader.LOGGER.info("Loading entity configurations from config file...");
         EntityConfigLoader.LOGGER.info("从配置文件加载实体配置...");
 
@@ -104,9 +120,11 @@ public enum EntityConfigLoader {
                 EntityConfigLoader.LOGGER.info("No entity configurations found in config file");
                 EntityConfigLoader.LOGGER.info("配置文件中没有找到实体配置");
                 EntityConfigLoader.loaded = true;
+                event.commit();
                 return;
             }
 
+            final long startTime = System.nanoTime();
             int successCount = 0;
             int failCount = 0;
 
@@ -118,9 +136,14 @@ public enum EntityConfigLoader {
                 }
             }
 
-            EntityConfigLoader.LOGGER.info("Entity configuration loading completed: {} succeeded, {} failed", successCount, failCount);
-            EntityConfigLoader.LOGGER.info("实体配置加载完成：{} 成功，{} 失败", successCount, failCount);
+            final double elapsedMillis = (System.nanoTime() - startTime) / 1_000_000.0;
+            EntityConfigLoader.LOGGER.info("Entity configuration loading completed: {} succeeded, {} failed in {} ms", successCount, failCount, String.format("%.2f", elapsedMillis));
+            EntityConfigLoader.LOGGER.info("实体配置加载完成：{} 成功，{} 失败，耗时 {} 毫秒", successCount, failCount, String.format("%.2f", elapsedMillis));
             EntityConfigLoader.loaded = true;
+
+            event.succeeded = successCount;
+            event.failed = failCount;
+            event.commit();
         } catch (final Exception e) {
             EntityConfigLoader.LOGGER.error("Failed to load entity configurations", e);
             EntityConfigLoader.loaded = true; // 标记为已加载，避免重复尝试
@@ -149,7 +172,7 @@ public enum EntityConfigLoader {
     public static void reloadEntityConfigs() {
         EntityConfigLoader.loaded = false;
         EntityHealthManager.clearAllCustomSettings();
-        EntityConfigLoader.loadEntityConfigs();
+        EntityConfigLoader.loadEntityConfigs(true);
     }
 }
 
@@ -0,0 +1,287 @@
+package com.github.chromabreak.config;
+
+import com.github.chromabreak.system.EntityProfile;
+import com.github.chromabreak.system.ToughnessColor;
+import com.github.chromabreak.system.ToughnessColorDistribution;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * EntityConfigParser - 实体配置流式解析器
+ * Entity Configuration Streaming Parser
+ * <p>
+ * 使用Gson的JsonReader逐个读取配置字段，一次遍历直接生成EntityProfile，不构建JsonObject对象树
+ * Reads configuration fields one by one with Gson's JsonReader and produces an EntityProfile in a single pass,
+ * without building a JsonObject tree
+ * <p>
+ * 主要功能包括：
+ * Main functionalities include:
+ * - 单条配置解析：解析一个实体配置对象
+ * Single entry parsing: Parse one entity configuration object
+ * - 批量配置解析：解析单个对象或对象数组（用于数据包文件）
+ * Batch parsing: Parse a single object or an array of objects (used for data pack files)
+ * - 错误定位：解析错误包含行号和列号
+ * Error location: Parse errors include line and column numbers
+ * <p>
+ * 解析器只负责读取，不修改EntityHealthManager，可以在任意线程中调用
+ * The parser only reads and never touches EntityHealthManager, so it can be called from any thread
+ * <p>
+ * 使用枚举模式确保单例，所有方法都是静态方法
+ * Uses enum pattern to ensure singleton, all methods are static methods
+ */
+public enum EntityConfigParser {
+    ;
+    private static final Logger LOGGER = LoggerFactory.getLogger("EntityConfigParser");
+
+    /**
+     * 颜色数量，用于分配按序号排列的权重数组
+     * Number of colors, used to allocate ordinal-indexed weight arrays
+     */
+    private static final int COLOR_COUNT = ToughnessColor.values().length;
+
+    /**
+     * 解析单个实体配置字符串
+     * Parse a single entity configuration string
+     *
+     * @param configStr 配置字符串（JSON格式）
+     *                  Configuration string (JSON format)
+     * @return 解析得到的实体配置档案
+     * Parsed entity profile
+     * @throws ParseException 配置格式错误时抛出，消息中包含行号和列号
+     *                        Thrown when the configuration is malformed, the message contains line and column
+     */
+    public static EntityProfile parse(final String configStr) throws ParseException {
+        try (final JsonReader reader = EntityConfigParser.createReader(new StringReader(configStr))) {
+            if (JsonToken.BEGIN_OBJECT != reader.peek()) {
+                throw EntityConfigParser.error(reader, "Expected an entity config object");
+            }
+            return EntityConfigParser.readProfile(reader);
+        } catch (final IOException | IllegalStateException e) {
+            throw new ParseException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 解析包含单个对象或对象数组的配置源
+     * Parse a configuration source containing a single object or an array of objects
+     *
+     * @param source 配置源
+     *               Configuration source
+     * @param name   配置源名称（用于日志）
+     *               Source name (used for logging)
+     * @return 解析成功的实体配置档案列表，数组中格式错误的条目会被跳过
+     * List of successfully parsed entity profiles, malformed entries inside an array are skipped
+     * @throws ParseException 配置源整体格式错误时抛出
+     *                        Thrown when the source as a whole is malformed
+     */
+    public static List<EntityProfile> parseAll(final Reader source, final String name) throws ParseException {
+        final List<EntityProfile> profiles = new ArrayList<>();
+        try (final JsonReader reader = EntityConfigParser.createReader(source)) {
+            final JsonToken token = reader.peek();
+            if (JsonToken.BEGIN_OBJECT == token) {
+                profiles.add(EntityConfigParser.readProfile(reader));
+            } else if (JsonToken.BEGIN_ARRAY == token) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    if (JsonToken.BEGIN_OBJECT != reader.peek()) {
+                        EntityConfigParser.LOGGER.warn("Skipping non-object entry in {}{}", name, EntityConfigParser.location(reader));
+                        reader.skipValue();
+                        continue;
+                    }
+                    try {
+                        profiles.add(EntityConfigParser.readProfile(reader));
+                    } catch (final ParseException e) {
+                        // 跳过单个错误条目，readProfile已经读完了该对象
+                        // Skip the single bad entry, readProfile has already consumed the object
+                        EntityConfigParser.LOGGER.warn("Skipping invalid entity profile in {}: {}", name, e.getMessage());
+                    }
+                }
+                reader.endArray();
+            } else {
+                throw EntityConfigParser.error(reader, "Expected an entity config object or array");
+            }
+        } catch (final IOException | IllegalStateException e) {
+            throw new ParseException(e.getMessage(), e);
+        }
+        return profiles;
+    }
+
+    /**
+     * 创建宽松模式的JsonReader（与Config中JsonTool.isValidJson的宽松校验保持一致）
+     * Create a lenient JsonReader (consistent with the lenient validation of JsonTool.isValidJson in Config)
+     */
+    private static JsonReader createReader(final Reader source) {
+        final JsonReader reader = new JsonReader(source);
+        reader.setLenient(true);
+        return reader;
+    }
+
+    /**
+     * 读取一个实体配置对象，调用前reader必须位于BEGIN_OBJECT
+     * Read one entity configuration object, the reader must be positioned at BEGIN_OBJECT
+     * <p>
+     * 即使对象缺少entityType，也会先读完整个对象再抛出异常，便于数组中的后续条目继续解析
+     * Even when entityType is missing the whole object is consumed before throwing,
+     * so following entries in an array can still be parsed
+     */
+    private static EntityProfile readProfile(final JsonReader reader) throws IOException, ParseException {
+        final String start = EntityConfigParser.location(reader);
+        String entityType = null;
+        float maxHealth = EntityProfile.UNSET;
+        float maxToughness = EntityProfile.UNSET;
+        ToughnessColor singleColor = null;
+        float[] colorWeights = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String key = reader.nextName();
+            switch (key) {
+                case "entityType" -> entityType = EntityConfigParser.readString(reader, key);
+                case "maxHealth" -> {
+                    final float value = EntityConfigParser.readFloat(reader, key);
+                    if (0 < value) {
+                        maxHealth = value;
+                    }
+                }
+                case "maxToughness" -> {
+                    final float value = EntityConfigParser.readFloat(reader, key);
+                    if (0 <= value) {
+                        maxToughness = value;
+                    }
+                }
+                case "toughnessColor" -> {
+                    final String colorName = EntityConfigParser.readString(reader, key);
+                    if (null != colorName) {
+                        singleColor = ToughnessColor.byName(colorName);
+                    }
+                }
+                case "toughnessColors" -> colorWeights = EntityConfigParser.readColorWeights(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (null == entityType || entityType.trim().isEmpty()) {
+            throw new ParseException("Entity config missing 'entityType'" + start);
+        }
+
+        // 单一颜色优先于多色分布（与旧版处理顺序一致）
+        // A single color takes precedence over a multi-color distribution (same order as the old processor)
+        ToughnessColorDistribution distribution = null;
+        if (null != singleColor) {
+            distribution = ToughnessColorDistribution.singleColor(singleColor);
+        } else if (null != colorWeights) {
+            distribution = ToughnessColorDistribution.fromWeights(colorWeights);
+            if (null == distribution) {
+                EntityConfigParser.LOGGER.warn("No valid colors found in toughnessColors for {}{}", entityType, start);
+            }
+        }
+
+        return new EntityProfile(entityType, maxHealth, maxToughness, distribution);
+    }
+
+    /**
+     * 读取toughnessColors对象为按颜色序号排列的权重数组
+     * Read the toughnessColors object into an ordinal-indexed weight array
+     */
+    private static float[] readColorWeights(final JsonReader reader) throws IOException {
+        if (JsonToken.BEGIN_OBJECT != reader.peek()) {
+            EntityConfigParser.LOGGER.warn("Expected an object for 'toughnessColors'{}", EntityConfigParser.location(reader));
+            reader.skipValue();
+            return null;
+        }
+
+        final float[] weights = new float[EntityConfigParser.COLOR_COUNT];
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String colorName = reader.nextName();
+            final float percentage = EntityConfigParser.readFloat(reader, colorName);
+            if (0 < percentage) {
+                weights[ToughnessColor.byName(colorName).ordinal()] += percentage;
+            }
+        }
+        reader.endObject();
+        return weights;
+    }
+
+    /**
+     * 读取数值字段，格式错误时记录警告并返回UNSET
+     * Read a numeric field, logs a warning and returns UNSET when malformed
+     */
+    private static float readFloat(final JsonReader reader, final String key) throws IOException {
+        final JsonToken token = reader.peek();
+        if (JsonToken.NUMBER == token || JsonToken.STRING == token) {
+            final String location = EntityConfigParser.location(reader);
+            try {
+                return (float) reader.nextDouble();
+            } catch (final NumberFormatException e) {
+                EntityConfigParser.LOGGER.warn("Invalid number for '{}'{}", key, location);
+                reader.skipValue();
+                return EntityProfile.UNSET;
+            }
+        }
+        EntityConfigParser.LOGGER.warn("Expected a number for '{}'{}", key, EntityConfigParser.location(reader));
+        reader.skipValue();
+        return EntityProfile.UNSET;
+    }
+
+    /**
+     * 读取字符串字段，格式错误时记录警告并返回null
+     * Read a string field, logs a warning and returns null when malformed
+     */
+    private static String readString(final JsonReader reader, final String key) throws IOException {
+        final JsonToken token = reader.peek();
+        if (JsonToken.STRING == token || JsonToken.NUMBER == token || JsonToken.BOOLEAN == token) {
+            return JsonToken.BOOLEAN == token ? String.valueOf(reader.nextBoolean()) : reader.nextString();
+        }
+        EntityConfigParser.LOGGER.warn("Expected a string for '{}'{}", key, EntityConfigParser.location(reader));
+        reader.skipValue();
+        return null;
+    }
+
+    /**
+     * 创建带位置信息的解析异常
+     * Create a parse exception with location information
+     */
+    private static ParseException error(final JsonReader reader, final String message) {
+        return new ParseException(message + EntityConfigParser.location(reader));
+    }
+
+    /**
+     * 获取reader当前的位置描述（" at line X column Y path $..."）
+     * Get the current location description of the reader (" at line X column Y path $...")
+     * <p>
+     * JsonReader.toString()由类名加位置信息组成，这里去掉类名部分
+     * JsonReader.toString() consists of the class name followed by the location, the class name is stripped here
+     */
+    private static String location(final JsonReader reader) {
+        final String description = reader.toString();
+        final int index = description.indexOf(" at line ");
+        return 0 <= index ? description.substring(index) : "";
+    }
+
+    /**
+     * ParseException - 实体配置解析异常
+     * Entity Configuration Parse Exception
+     * <p>
+     * 消息中包含出错位置的行号和列号
+     * The message contains the line and column of the error location
+     */
+    public static class ParseException extends Exception {
+        public ParseException(final String message) {
+            super(message);
+        }
+
+        public ParseException(final String message, final Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
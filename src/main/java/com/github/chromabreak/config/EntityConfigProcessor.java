@@ -1,15 +1,11 @@
 package com.github.chromabreak.config;
 
 import com.github.chromabreak.system.EntityHealthManager;
-import com.github.chromabreak.system.ToughnessColor;
-import com.github.chromabreak.system.ToughnessColorDistribution;
+import com.github.chromabreak.system.EntityProfile;
 import com.google.gson.Gson;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -22,8 +18,8 @@ import java.util.Map;
  * <p>
  * 主要功能包括：
  * Main functionalities include:
- * - JSON配置解析：解析实体配置的JSON字符串
- * JSON configuration parsing: Parse JSON strings of entity configurations
+ * - JSON配置解析：通过EntityConfigParser流式解析实体配置的JSON字符串
+ * JSON configuration parsing: Stream-parse JSON strings of entity configurations via EntityConfigParser
  * - 配置验证：验证配置的完整性和有效性
  * Configuration validation: Validate configuration completeness and validity
  * - 配置处理：将配置应用到EntityHealthManager
@@ -76,6 +72,9 @@ public enum EntityConfigProcessor {
     /**
      * 处理单个实体配置
      * Process a single entity configuration
+     * <p>
+     * 使用EntityConfigParser流式解析，不再为每条配置构建JsonObject对象树
+     * Parsed with the streaming EntityConfigParser instead of building a JsonObject tree per entry
      *
      * @param configStr 配置字符串（JSON格式）
      * @return 处理结果（成功/失败）
@@ -86,36 +85,13 @@ public enum EntityConfigProcessor {
         }
 
         try {
-            final JsonObject config = EntityConfigProcessor.GSON.fromJson(configStr, JsonObject.class);
-            if (null == config) {
-                EntityConfigProcessor.LOGGER.warn("Invalid entity config (null): {}", configStr);
-                return false;
-            }
-
-            // 获取实体类型
-            if (!config.has("entityType")) {
-                EntityConfigProcessor.LOGGER.warn("Entity config missing 'entityType': {}", configStr);
-                return false;
-            }
-
-            final String entityType = config.get("entityType").getAsString();
-            if (null == entityType || entityType.trim().isEmpty()) {
-                EntityConfigProcessor.LOGGER.warn("Entity config has empty 'entityType': {}", configStr);
-                return false;
-            }
-
-            // 处理最大生命值配置
-            EntityConfigProcessor.processMaxHealthConfig(config, entityType);
-
-            // 处理韧性值配置
-            EntityConfigProcessor.processToughnessConfig(config, entityType);
-
-            // 处理韧性颜色配置
-            EntityConfigProcessor.processToughnessColorConfig(config, entityType);
-
-            EntityConfigProcessor.LOGGER.debug("Successfully processed entity config for {}", entityType);
+            final EntityProfile profile = EntityConfigParser.parse(configStr);
+            EntityConfigProcessor.applyProfile(profile);
+            EntityConfigProcessor.LOGGER.debug("Successfully processed entity config for {}", profile.entityType());
             return true;
-
+        } catch (final EntityConfigParser.ParseException e) {
+            EntityConfigProcessor.LOGGER.warn("Invalid entity config ({}): {}", e.getMessage(), configStr);
+            return false;
         } catch (final Exception e) {
             EntityConfigProcessor.LOGGER.error("Failed to parse entity config: {}", configStr, e);
             return false;
@@ -123,125 +99,31 @@ public enum EntityConfigProcessor {
     }
 
     /**
-     * 处理最大生命值配置
-     * Process max health configuration
-     */
-    private static void processMaxHealthConfig(final JsonObject config, final String entityType) {
-        if (config.has("maxHealth")) {
-            try {
-                final float maxHealth = config.get("maxHealth").getAsFloat();
-                if (0 < maxHealth) {
-                    EntityHealthManager.setCustomMaxHealth(entityType, maxHealth);
-                    EntityConfigProcessor.LOGGER.debug("Set max health for {}: {}", entityType, maxHealth);
-                }
-            } catch (final Exception e) {
-                EntityConfigProcessor.LOGGER.warn("Failed to parse maxHealth for {}: {}", entityType, e.getMessage());
-            }
-        }
-    }
-
-    /**
-     * 处理韧性值配置
-     * Process toughness configuration
+     * 将已解析的实体配置档案应用到EntityHealthManager
+     * Apply a parsed entity profile to EntityHealthManager
+     *
+     * @param profile 实体配置档案
+     *                Entity profile
      */
-    private static void processToughnessConfig(final JsonObject config, final String entityType) {
-        if (config.has("maxToughness")) {
-            try {
-                final float maxToughness = config.get("maxToughness").getAsFloat();
-                if (0 <= maxToughness) {
-                    EntityHealthManager.setCustomToughness(entityType, maxToughness);
-                    EntityConfigProcessor.LOGGER.debug("Set max toughness for {}: {}", entityType, maxToughness);
-                }
-            } catch (final Exception e) {
-                EntityConfigProcessor.LOGGER.warn("Failed to parse maxToughness for {}: {}", entityType, e.getMessage());
-            }
-        }
-    }
+    public static void applyProfile(final EntityProfile profile) {
+        final String entityType = profile.entityType();
 
-    /**
-     * 处理韧性颜色配置
-     * Process toughness color configuration
-     */
-    private static void processToughnessColorConfig(final JsonObject config, final String entityType) {
-        // 单一颜色配置
-        if (config.has("toughnessColor")) {
-            EntityConfigProcessor.processSingleColorConfig(config, entityType);
+        // 处理最大生命值配置
+        if (profile.hasMaxHealth()) {
+            EntityHealthManager.setCustomMaxHealth(entityType, profile.maxHealth());
+            EntityConfigProcessor.LOGGER.debug("Set max health for {}: {}", entityType, profile.maxHealth());
         }
-        // 多色分布配置
-        else if (config.has("toughnessColors")) {
-            EntityConfigProcessor.processMultiColorConfig(config, entityType);
-        }
-    }
 
-    /**
-     * 处理单一颜色配置
-     * Process single color configuration
-     */
-    private static void processSingleColorConfig(final JsonObject config, final String entityType) {
-        try {
-            final String colorName = config.get("toughnessColor").getAsString();
-            final ToughnessColor color = ToughnessColor.byName(colorName);
-            if (null != color) {
-                final ToughnessColorDistribution distribution = ToughnessColorDistribution.singleColor(color);
-                EntityHealthManager.setCustomColorDistribution(entityType, distribution);
-                EntityConfigProcessor.LOGGER.debug("Set single color for {}: {}", entityType, colorName);
-            } else {
-                EntityConfigProcessor.LOGGER.warn("Invalid color name '{}' for {}", colorName, entityType);
-            }
-        } catch (final Exception e) {
-            EntityConfigProcessor.LOGGER.warn("Failed to parse toughnessColor for {}: {}", entityType, e.getMessage());
+        // 处理韧性值配置
+        if (profile.hasMaxToughness()) {
+            EntityHealthManager.setCustomToughness(entityType, profile.maxToughness());
+            EntityConfigProcessor.LOGGER.debug("Set max toughness for {}: {}", entityType, profile.maxToughness());
         }
-    }
-
-    /**
-     * 处理多色分布配置
-     * Process multi-color distribution configuration
-     */
-    private static void processMultiColorConfig(final JsonObject config, final String entityType) {
-        try {
-            final JsonObject colorsObj = config.getAsJsonObject("toughnessColors");
-            if (null != colorsObj) {
-                final Map<ToughnessColor, Float> colorMap = new HashMap<>();
-                float totalPercentage = 0.0f;
-
-                for (final Map.Entry<String, JsonElement> entry : colorsObj.entrySet()) {
-                    final String colorName = entry.getKey();
-                    final ToughnessColor color = ToughnessColor.byName(colorName);
-                    if (null != color) {
-                        try {
-                            final float percentage = entry.getValue().getAsFloat();
-                            if (0 < percentage) {
-                                colorMap.put(color, percentage);
-                                totalPercentage += percentage;
-                            }
-                        } catch (final Exception e) {
-                            EntityConfigProcessor.LOGGER.warn("Invalid percentage for color '{}' in {}: {}", colorName, entityType, e.getMessage());
-                        }
-                    } else {
-                        EntityConfigProcessor.LOGGER.warn("Invalid color name '{}' in toughnessColors for {}", colorName, entityType);
-                    }
-                }
 
-                if (!colorMap.isEmpty()) {
-                    // 归一化百分比
-                    if (1.0f != totalPercentage && 0 < totalPercentage) {
-                        final Map<ToughnessColor, Float> normalizedMap = new HashMap<>();
-                        for (final Map.Entry<ToughnessColor, Float> entry : colorMap.entrySet()) {
-                            normalizedMap.put(entry.getKey(), entry.getValue() / totalPercentage);
-                        }
-                        colorMap.clear();
-                        colorMap.putAll(normalizedMap);
-                    }
-
-                    final ToughnessColorDistribution distribution = ToughnessColorDistribution.multiColor(colorMap);
-                    EntityHealthManager.setCustomColorDistribution(entityType, distribution);
-                    EntityConfigProcessor.LOGGER.debug("Set multi-color distribution for {}: {}", entityType, colorMap);
-                } else {
-                    EntityConfigProcessor.LOGGER.warn("No valid colors found in toughnessColors for {}", entityType);
-                }
-            }
-        } catch (final Exception e) {
-            EntityConfigProcessor.LOGGER.warn("Failed to parse toughnessColors for {}: {}", entityType, e.getMessage());
+        // 处理韧性颜色配置
+        if (profile.hasColorDistribution()) {
+            EntityHealthManager.setCustomColorDistribution(entityType, profile.colorDistribution());
+            EntityConfigProcessor.LOGGER.debug("Set color distribution for {}: {}", entityType, profile.colorDistribution().getColorMap());
         }
     }
 
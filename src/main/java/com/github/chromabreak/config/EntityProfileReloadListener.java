@@ -0,0 +1,169 @@
+package com.github.chromabreak.config;
+
+import com.github.chromabreak.system.EntityHealthManager;
+import com.github.chromabreak.system.EntityProfile;
+import net.minecraft.resources.FileToIdConverter;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.PackResources;
+import net.minecraft.server.packs.resources.PreparableReloadListener;
+import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.util.profiling.ProfilerFiller;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * EntityProfileReloadListener - 实体配置档案数据包重载监听器
+ * Entity Profile Data Pack Reload Listener
+ * <p>
+ * 从数据包的data/&lt;命名空间&gt;/chromabreak/entity_profiles/*.json加载实体配置档案，并支持/reload热重载
+ * Loads entity profiles from data/&lt;namespace&gt;/chromabreak/entity_profiles/*.json in data packs,
+ * and supports hot reloading through /reload
+ * <p>
+ * 主要功能包括：
+ * Main functionalities include:
+ * - 并行解析：每个文件在重载后台执行器上使用EntityConfigParser独立解析
+ * Parallel parsing: Every file is parsed independently with EntityConfigParser on the reload background executor
+ * - 按包顺序合并：优先级更高的数据包覆盖较低数据包中已设置的字段
+ * Merging by pack order: Higher priority packs override the fields set by lower priority packs
+ * - 原子替换：合并结果在服务器线程中整体替换到EntityHealthManager
+ * Atomic replacement: The merged result replaces the EntityHealthManager data pack table on the server thread
+ * <p>
+ * 文件格式：单个实体配置对象，或实体配置对象数组，字段与Config.ENTITY_CONFIGS中的JSON相同
+ * File format: A single entity config object or an array of them, with the same fields as the JSON in Config.ENTITY_CONFIGS
+ * <p>
+ * 没有继承SimpleJsonResourceReloadListener，因为它会在单线程中为每个文件构建JsonElement对象树；
+ * 这里沿用相同的目录约定（FileToIdConverter），但直接流式解析为EntityProfile
+ * Does not extend SimpleJsonResourceReloadListener because it builds a JsonElement tree per file on a single thread;
+ * the same directory convention (FileToIdConverter) is used, but files are stream-parsed straight into EntityProfiles
+ */
+public class EntityProfileReloadListener implements PreparableReloadListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger("EntityProfileReloadListener");
+
+    /**
+     * 数据包目录：data/&lt;命名空间&gt;/chromabreak/entity_profiles
+     * Data pack directory: data/&lt;namespace&gt;/chromabreak/entity_profiles
+     */
+    private static final FileToIdConverter PROFILE_LISTER = FileToIdConverter.json("chromabreak/entity_profiles");
+
+    @Override
+    public CompletableFuture<Void> reload(final PreparationBarrier preparationBarrier, final ResourceManager resourceManager,
+                                          final ProfilerFiller preparationsProfiler, final ProfilerFiller reloadProfiler,
+                                          final Executor backgroundExecutor, final Executor gameExecutor) {
+        return CompletableFuture.supplyAsync(() -> EntityProfileReloadListener.listSources(resourceManager), backgroundExecutor)
+                .thenCompose(sources -> EntityProfileReloadListener.parseAll(sources, backgroundExecutor))
+                .thenCompose(preparationBarrier::wait)
+                .thenAcceptAsync(EntityProfileReloadListener::apply, gameExecutor);
+    }
+
+    /**
+     * 列出所有档案文件，并记录每个文件来源数据包的优先级
+     * List all profile files and record the priority of the pack each file comes from
+     */
+    private static List<ProfileSource> listSources(final ResourceManager resourceManager) {
+        // listPacks()按优先级从低到高排列
+        // listPacks() is ordered from lowest to highest priority
+        final Map<String, Integer> packOrder = new HashMap<>();
+        final List<PackResources> packs = resourceManager.listPacks().toList();
+        for (int i = 0; i < packs.size(); i++) {
+            packOrder.put(packs.get(i).packId(), i);
+        }
+
+        final List<ProfileSource> sources = new ArrayList<>();
+        for (final Map.Entry<ResourceLocation, List<Resource>> entry :
+                EntityProfileReloadListener.PROFILE_LISTER.listMatchingResourceStacks(resourceManager).entrySet()) {
+            final ResourceLocation id = EntityProfileReloadListener.PROFILE_LISTER.fileToId(entry.getKey());
+            for (final Resource resource : entry.getValue()) {
+                sources.add(new ProfileSource(id, resource, packOrder.getOrDefault(resource.sourcePackId(), -1)));
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * 在后台执行器上并行解析所有档案文件
+     * Parse all profile files in parallel on the background executor
+     */
+    private static CompletableFuture<List<ParsedProfiles>> parseAll(final List<ProfileSource> sources, final Executor executor) {
+        final List<CompletableFuture<ParsedProfiles>> futures = new ArrayList<>(sources.size());
+        for (final ProfileSource source : sources) {
+            futures.add(CompletableFuture.supplyAsync(() -> EntityProfileReloadListener.parse(source), executor));
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * 解析单个档案文件，失败时记录错误并返回空结果
+     * Parse a single profile file, logs the error and returns an empty result on failure
+     */
+    private static ParsedProfiles parse(final ProfileSource source) {
+        final String name = source.id() + " (" + source.resource().sourcePackId() + ")";
+        try (final Reader reader = source.resource().openAsReader()) {
+            return new ParsedProfiles(source, EntityConfigParser.parseAll(reader, name));
+        } catch (final Exception e) {
+            EntityProfileReloadListener.LOGGER.error("Failed to load entity profile {}: {}", name, e.getMessage());
+            return new ParsedProfiles(source, List.of());
+        }
+    }
+
+    /**
+     * 按数据包顺序合并并应用到EntityHealthManager（在服务器线程执行）
+     * Merge by pack order and apply to EntityHealthManager (runs on the server thread)
+     */
+    private static void apply(final List<ParsedProfiles> parsed) {
+        final List<ParsedProfiles> ordered = new ArrayList<>(parsed);
+        ordered.sort(Comparator.comparingInt((ParsedProfiles p) -> p.source().packIndex())
+                .thenComparing(p -> p.source().id()));
+
+        final Map<String, EntityProfile> merged = new HashMap<>();
+        int fileCount = 0;
+        for (final ParsedProfiles file : ordered) {
+            if (!file.profiles().isEmpty()) {
+                fileCount++;
+            }
+            for (final EntityProfile profile : file.profiles()) {
+                merged.merge(profile.entityType(), profile, EntityProfile::withOverrides);
+            }
+        }
+
+        EntityHealthManager.setDataPackProfiles(merged);
+        EntityProfileReloadListener.LOGGER.info("Loaded {} entity profiles from {} data pack files", merged.size(), fileCount);
+        EntityProfileReloadListener.LOGGER.info("从 {} 个数据包文件加载了 {} 个实体配置档案", fileCount, merged.size());
+    }
+
+    @Override
+    public String getName() {
+        return "ChromaBreak entity profiles";
+    }
+
+    /**
+     * 档案文件来源
+     * Profile file source
+     *
+     * @param id        档案ID（不含目录前缀和扩展名）
+     *                  Profile id (without directory prefix and extension)
+     * @param resource  文件资源
+     *                  File resource
+     * @param packIndex 来源数据包的优先级，数值越大优先级越高
+     *                  Priority of the source pack, higher values win
+     */
+    private record ProfileSource(ResourceLocation id, Resource resource, int packIndex) {
+    }
+
+    /**
+     * 单个文件的解析结果
+     * Parse result of a single file
+     */
+    private record ParsedProfiles(ProfileSource source, List<EntityProfile> profiles) {
+    }
+}
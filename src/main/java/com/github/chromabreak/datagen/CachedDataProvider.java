@@ -0,0 +1,312 @@
+package com.github.chromabreak.datagen;
+
+import com.github.chromabreak.ChromaBreak;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import net.minecraft.SharedConstants;
+import net.minecraft.Util;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.data.CachedOutput;
+import net.minecraft.data.DataProvider;
+import net.minecraft.data.PackOutput;
+import net.minecraft.resources.ResourceLocation;
+import net.neoforged.fml.ModList;
+import net.neoforged.fml.loading.FMLLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * CachedDataProvider - 带内容哈希缓存的数据提供者
+ * Data Provider with a Content Hash Cache
+ * <p>
+ * 包装一个或多个数据提供者，输入没有变化时跳过它们：
+ * Wraps one or more data providers and skips them when their inputs did not change:
+ * - 指纹：本模组全部编译后的类和资源（不含上次生成的输出）、本模组注册的方块和物品ID、Minecraft和NeoForge版本、
+ * 已加载模组的版本以及运行时类路径的SHA-256；只列出部分类会漏掉嵌套类、lambda和间接决定输出的类，因此整体哈希，每次运行只计算一次
+ * Fingerprint: SHA-256 of all compiled classes and resources of this mod (excluding the outputs of earlier runs), the
+ * IDs of the blocks and items this mod registers, the Minecraft and NeoForge versions, the versions of the loaded mods
+ * and the runtime classpath; listing classes would miss nested classes, lambdas and classes that shape the output
+ * indirectly, so everything is hashed, once per run
+ * - 清单：上次运行的指纹和每个输出文件的SHA-1，通过CachedOutput写入.cache/chromabreak/
+ * Manifest: The fingerprint of the last run and the SHA-1 of every output file, written to .cache/chromabreak/ through CachedOutput
+ * - 指纹相同且所有输出文件的哈希一致时，只把已有文件重新登记到CachedOutput（内容未变，不会重写），
+ * 这样数据生成器不会把它们当作过期文件删除
+ * When the fingerprint matches and every output file still has its hash, the existing files are only registered with
+ * CachedOutput again (unchanged content is not rewritten), so the data generator does not delete them as stale
+ * <p>
+ * 代码或资源有任何变化时所有组都会重新生成，没有变化时全部跳过（例如在Gradle之外直接启动数据生成）；
+ * Any change to the code or resources regenerates every group, and with no change they all skip (for example when data
+ * generation is launched outside Gradle);
+ * <p>
+ * 同一个实例中的提供者一起运行或一起跳过，并按顺序运行；互相依赖或共享状态的提供者（例如方块标签和物品标签）必须放在同一个实例中，
+ * 不同实例可以用concurrent()并行运行
+ * The providers of one instance run or skip together, in order; providers that depend on each other or share state
+ * (such as block tags and item tags) must share an instance, different instances can run in parallel with concurrent()
+ * <p>
+ * 使用-Dchromabreak.datagen.force=true可以强制重新生成
+ * Use -Dchromabreak.datagen.force=true to force regeneration
+ */
+public final class CachedDataProvider implements DataProvider {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger("CachedDataProvider");
+
+    /**
+     * 是否忽略缓存
+     * Whether to ignore the cache
+     */
+    private static final boolean FORCE = Boolean.getBoolean("chromabreak.datagen.force");
+
+    private final PackOutput packOutput;
+    private final String name;
+    private final List<DataProvider> delegates;
+
+    /**
+     * 本次运行的模组内容和运行环境哈希，所有实例共用，首次使用时计算
+     * Hash of the mod contents and environment of this run, shared by every instance and computed on first use
+     */
+    private static volatile HashCode contentHash;
+
+    /**
+     * 构造函数
+     * Constructor
+     *
+     * @param packOutput 输出路径
+     *                   Pack output
+     * @param name       名称，也用作清单文件名
+     *                   Name, also used as the manifest file name
+     * @param delegates  被包装的提供者
+     *                   Wrapped providers
+     */
+    public CachedDataProvider(final PackOutput packOutput, final String name, final List<DataProvider> delegates) {
+        this.packOutput = packOutput;
+        this.name = name;
+        this.delegates = List.copyOf(delegates);
+    }
+
+    /**
+     * 把多个提供者组合成一个，在后台线程池上并行运行
+     * Combine several providers into one that runs them in parallel on the background executor
+     *
+     * @param name      组合后的名称
+     *                  Name of the combination
+     * @param providers 互相独立的提供者
+     *                  Independent providers
+     * @return 组合后的提供者
+     * The combined provider
+     */
+    public static DataProvider concurrent(final String name, final List<? extends DataProvider> providers) {
+        final List<DataProvider> copy = List.copyOf(providers);
+        return new DataProvider() {
+            @Override
+            public CompletableFuture<?> run(final CachedOutput output) {
+                return CachedDataProvider.runAll(copy, output);
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+        };
+    }
+
+    @Override
+    public CompletableFuture<?> run(final CachedOutput output) {
+        final String fingerprint = this.fingerprint();
+        final Path manifest = this.packOutput.getOutputFolder().resolve(".cache").resolve(ChromaBreak.MODID)
+                .resolve(this.name + ".manifest");
+        if (!CachedDataProvider.FORCE && this.reuse(output, manifest, fingerprint)) {
+            CachedDataProvider.LOGGER.info("{} is up to date, skipped", this.name);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // 记录这次运行写出的每个文件
+        // Record every file written by this run
+        final Map<Path, HashCode> written = new ConcurrentHashMap<>();
+        final CachedOutput recording = (path, data, hash) -> {
+            written.put(path, hash);
+            output.writeIfNeeded(path, data, hash);
+        };
+        CompletableFuture<?> run = CompletableFuture.completedFuture(null);
+        for (final DataProvider delegate : this.delegates) {
+            run = run.thenComposeAsync(ignored -> delegate.run(recording), Util.backgroundExecutor());
+        }
+        return run.thenRun(() -> this.writeManifest(output, manifest, fingerprint, written));
+    }
+
+    @Override
+    public String getName() {
+        return "Cached " + this.name;
+    }
+
+    /**
+     * 在后台线程池上同时启动所有提供者（有些提供者在run()中同步完成大部分工作）
+     * Start every provider on the background executor at once (some providers do most of their work synchronously in run())
+     */
+    private static CompletableFuture<?> runAll(final List<DataProvider> providers, final CachedOutput output) {
+        final List<CompletableFuture<?>> runs = new ArrayList<>(providers.size());
+        for (final DataProvider provider : providers) {
+            runs.add(CompletableFuture.supplyAsync(() -> provider.run(output), Util.backgroundExecutor())
+                    .thenCompose(run -> run));
+        }
+        return CompletableFuture.allOf(runs.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * 计算输入指纹
+     * Compute the input fingerprint
+     */
+    private String fingerprint() {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putString(this.name, StandardCharsets.UTF_8);
+        hasher.putBytes(this.contentHash().asBytes());
+        return hasher.hash().toString();
+    }
+
+    /**
+     * 获取本次运行的模组内容和运行环境哈希，必要时计算
+     * Get the hash of the mod contents and environment of this run, computing it when needed
+     */
+    private HashCode contentHash() {
+        final HashCode current = CachedDataProvider.contentHash;
+        return null != current ? current : CachedDataProvider.computeContentHash(this.packOutput.getOutputFolder());
+    }
+
+    private static synchronized HashCode computeContentHash(final Path outputRoot) {
+        final HashCode existing = CachedDataProvider.contentHash;
+        if (null != existing) {
+            return existing;
+        }
+
+        final Hasher hasher = Hashing.sha256().newHasher();
+        CachedDataProvider.putModFiles(hasher, outputRoot);
+        CachedDataProvider.putModIds(hasher, BuiltInRegistries.BLOCK);
+        CachedDataProvider.putModIds(hasher, BuiltInRegistries.ITEM);
+        CachedDataProvider.putEnvironment(hasher);
+        final HashCode computed = hasher.hash();
+        CachedDataProvider.contentHash = computed;
+        return computed;
+    }
+
+    /**
+     * 按路径排序加入本模组的每个类和资源文件；输出目录中已有的同名文件是上次生成的结果（被复制进了资源），跳过它们
+     * Add every class and resource file of this mod in path order; files that also exist in the output folder are
+     * results of an earlier run (copied into the resources), so they are skipped
+     */
+    private static void putModFiles(final Hasher hasher, final Path outputRoot) {
+        final Path root = ModList.get().getModFileById(ChromaBreak.MODID).getFile().getSecureJar().getRootPath();
+        try (final Stream<Path> files = Files.walk(root)) {
+            final List<Path> sorted = files.filter(Files::isRegularFile)
+                    .sorted(Comparator.comparing(file -> root.relativize(file).toString()))
+                    .toList();
+            for (final Path file : sorted) {
+                final String relative = root.relativize(file).toString().replace('\\', '/');
+                if (Files.exists(outputRoot.resolve(relative))) {
+                    continue;
+                }
+                hasher.putString(relative, StandardCharsets.UTF_8);
+                hasher.putBytes(Files.readAllBytes(file));
+            }
+        } catch (final IOException | UncheckedIOException e) {
+            // 读不到模组文件时使用随机值，保证重新生成
+            // Use a random value when the mod files cannot be read, which forces regeneration
+            CachedDataProvider.LOGGER.warn("Cannot read the mod files, every group will be regenerated", e);
+            hasher.putLong(System.nanoTime());
+        }
+    }
+
+    /**
+     * 按排序后的顺序加入本模组在注册表中的ID
+     * Add the IDs this mod has in a registry, in sorted order
+     */
+    private static void putModIds(final Hasher hasher, final Registry<?> registry) {
+        registry.keySet().stream()
+                .filter(id -> ChromaBreak.MODID.equals(id.getNamespace()))
+                .map(ResourceLocation::toString)
+                .sorted()
+                .forEach(id -> hasher.putString(id, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 指纹相同且所有输出都未被修改时，重新登记输出并返回true
+     * Register the outputs again and return true when the fingerprint matches and no output was modified
+     */
+    @SuppressWarnings("deprecation")
+    private boolean reuse(final CachedOutput output, final Path manifest, final String fingerprint) {
+        if (!Files.isRegularFile(manifest)) {
+            return false;
+        }
+        try {
+            final byte[] manifestData = Files.readAllBytes(manifest);
+            final List<String> lines = new String(manifestData, StandardCharsets.UTF_8).lines().toList();
+            if (lines.isEmpty() || !fingerprint.equals(lines.get(0))) {
+                return false;
+            }
+
+            final Path root = this.packOutput.getOutputFolder();
+            final Map<Path, byte[]> contents = new LinkedHashMap<>();
+            final Map<Path, HashCode> hashes = new LinkedHashMap<>();
+            for (final String line : lines.subList(1, lines.size())) {
+                final int space = line.indexOf(' ');
+                final HashCode hash = HashCode.fromString(line.substring(0, space));
+                final Path file = root.resolve(line.substring(space + 1));
+                if (!Files.isRegularFile(file)) {
+                    return false;
+                }
+                final byte[] data = Files.readAllBytes(file);
+                if (!Hashing.sha1().hashBytes(data).equals(hash)) {
+                    return false;
+                }
+                contents.put(file, data);
+                hashes.put(file, hash);
+            }
+
+            for (final Map.Entry<Path, byte[]> entry : contents.entrySet()) {
+                output.writeIfNeeded(entry.getKey(), entry.getValue(), hashes.get(entry.getKey()));
+            }
+            output.writeIfNeeded(manifest, manifestData, Hashing.sha1().hashBytes(manifestData));
+            return true;
+        } catch (final IOException | RuntimeException e) {
+            CachedDataProvider.LOGGER.warn("Cannot reuse the outputs of {}, regenerating", this.name, e);
+            return false;
+        }
+    }
+
+    /**
+     * 写入清单：第一行是指纹，之后每行是“SHA-1 相对路径”
+     * Write the manifest: the first line is the fingerprint, then one "SHA-1 relative-path" line per output
+     */
+    @SuppressWarnings("deprecation")
+    private void writeManifest(final CachedOutput output, final Path manifest, final String fingerprint,
+                               final Map<Path, HashCode> written) {
+        final Path root = this.packOutput.getOutputFolder();
+        final Map<String, HashCode> sorted = new TreeMap<>();
+        written.forEach((path, hash) -> sorted.put(root.relativize(path).toString().replace('\\', '/'), hash));
+
+        final StringBuilder text = new StringBuilder(fingerprint).append('\n');
+        sorted.forEach((path, hash) -> text.append(hash).append(' ').append(path).append('\n'));
+        final byte[] data = text.toString().getBytes(StandardCharsets.UTF_8);
+        try {
+            output.writeIfNeeded(manifest, data, Hashing.sha1().hashBytes(data));
+        } catch (final IOException e) {
+            CachedDataProvider.LOGGER.warn("Cannot write the manifest of {}", this.name, e);
+        }
+    }
+}
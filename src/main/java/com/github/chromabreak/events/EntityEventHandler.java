@@ -2,25 +2,29 @@ package com.github.chromabreak.events;
 
 import com.github.chromabreak.ChromaBreak;
 import com.github.chromabreak.Config;
-import net.minecraft.core.registries.BuiltInRegistries;
-import net.minecraft.resources.ResourceLocation;
+import com.github.chromabreak.system.GrantedEquipment;
+import com.github.chromabreak.util.ModDataComponents;
+import net.minecraft.core.component.DataComponents;
 import net.minecraft.util.RandomSource;
+import net.minecraft.util.Unit;
 import net.minecraft.world.entity.EquipmentSlot;
 import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.Mob;
 import net.minecraft.world.entity.monster.Skeleton;
 import net.minecraft.world.entity.monster.Zombie;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
+import net.minecraft.world.item.component.CustomData;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.neoforge.event.entity.EntityJoinLevelEvent;
 import net.neoforged.neoforge.event.entity.living.LivingDropsEvent;
 import net.neoforged.neoforge.event.entity.player.PlayerInteractEvent;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * EntityEventHandler - 实体事件处理器类
@@ -31,8 +35,8 @@ import java.util.List;
  * <p>
  * 主要功能包括：
  * Main functionalities include:
- * - 韧性系统初始化：在实体生成时初始化韧性系统和自定义生命值
- * Toughness system initialization: Initialize toughness system and custom health values when entities spawn
+ * - 韧性系统初始化：由ToughnessSystem在首次受伤或读取时延迟完成
+ * Toughness system initialization: Done lazily by ToughnessSystem on first damage or read
  * - 帽子系统：为骷髅和僵尸添加随机帽子，并防止帽子掉落
  * Hat system: Add random hats to skeletons and zombies, and prevent hat drops
  * - 实体掉落管理：管理实体死亡时的掉落物，保护特殊物品
@@ -44,8 +48,8 @@ import java.util.List;
  * <p>
  * 事件处理类型：
  * Event handling types:
- * - EntityJoinLevelEvent：实体加入世界事件，用于初始化韧性系统和添加帽子
- * EntityJoinLevelEvent: Entity join world event, used for toughness system initialization and hat addition
+ * - EntityJoinLevelEvent：实体加入世界事件，将实体交给EntityJoinQueue分批添加帽子
+ * EntityJoinLevelEvent: Entity join world event, hands entities to EntityJoinQueue which adds hats in slices
  * - LivingDropsEvent：生物掉落事件，用于管理掉落物和保护帽子
  * LivingDropsEvent: Living entity drops event, used for drop management and hat protection
  * - PlayerInteractEvent：玩家交互事件，用于处理玩家与实体的交互
@@ -53,12 +57,12 @@ import java.util.List;
  * <p>
  * 帽子系统特性：
  * Hat system features:
- * - 稀有度系统：帽子按稀有度分类（普通、不常见、稀有、史诗、传说）
- * Rarity system: Hats categorized by rarity (common, uncommon, rare, epic, legendary)
- * - 随机选择：根据稀有度权重随机选择帽子
- * Random selection: Randomly select hats based on rarity weights
- * - 防掉落保护：使用NBT标记保护帽子不被掉落
- * Drop protection: Use NBT tags to protect hats from being dropped
+ * - 权重配置：帽子及其权重由Config.MOB_HATS配置，可按维度区分
+ * Weight configuration: Hats and their weights come from Config.MOB_HATS, optionally per dimension
+ * - 随机选择：MobHatTable使用别名表以O(1)选择帽子
+ * Random selection: MobHatTable picks hats in O(1) with an alias table
+ * - 防掉落保护：帽子作为GrantedEquipment授予装备，掉落概率为0；protected_hat数据组件防止剥离
+ * Drop protection: Hats are GrantedEquipment with a zero drop chance; the protected_hat data component prevents stripping
  * - 兼容性检查：只添加已加载模组的帽子物品
  * Compatibility check: Only add hat items from loaded mods
  * <p>
@@ -88,38 +92,31 @@ import java.util.List;
 public enum EntityEventHandler {
     ;
 
-    // 帽子列表（按稀有度分组）
-    // Hat list (grouped by rarity)
-    private static final List<HatConfig> HAT_CONFIGS = new ArrayList<>();
+    // 旧版本写入实体NBT的受保护帽子槽位标记
+    // Protected hat slot marker written to entity NBT by older versions
+    private static final String LEGACY_PROTECTED_HAT_SLOT_TAG = "chromabreak:protected_hat_slot_head";
 
-    static {
-        // 初始化帽子列表
-        // Initialize hat list
-        // 普通帽子（Common）
-        EntityEventHandler.HAT_CONFIGS.add(new HatConfig("minecraft:leather_helmet", HatRarity.COMMON));
-        EntityEventHandler.HAT_CONFIGS.add(new HatConfig("minecraft:chainmail_helmet", HatRarity.COMMON));
+    // 旧版本写入自定义数据的受保护帽子标记
+    // Protected hat marker written to custom data by older versions
+    private static final String[] LEGACY_PROTECTED_HAT_KEYS = {"chromabreak:protected_hat"};
 
-        // 不常见帽子（Uncommon）
-        EntityEventHandler.HAT_CONFIGS.add(new HatConfig("minecraft:iron_helmet", HatRarity.UNCOMMON));
-        EntityEventHandler.HAT_CONFIGS.add(new HatConfig("minecraft:golden_helmet", HatRarity.UNCOMMON));
+    // 其他模组或旧版本写入自定义数据的盔甲剥离标记
+    // Armor stripping markers written to custom data by other mods or older versions
+    private static final String[] LEGACY_ARMOR_STRIPPER_KEYS = {"chromabreak:can_strip_armor", "armor_strip", "strip_armor"};
 
-        // 稀有帽子（Rare）
-        EntityEventHandler.HAT_CONFIGS.add(new HatConfig("minecraft:diamond_helmet", HatRarity.RARE));
-        EntityEventHandler.HAT_CONFIGS.add(new HatConfig("minecraft:turtle_helmet", HatRarity.RARE));
-
-        // 史诗帽子（Epic）
-        EntityEventHandler.HAT_CONFIGS.add(new HatConfig("minecraft:netherite_helmet", HatRarity.EPIC));
-
-        // 传说帽子（Legendary）- 可以添加其他模组的稀有帽子
-        // Legendary hats - can add rare hats from other mods
-    }
+    // 物品ID是否包含剥离关键词的缓存
+    // Cache of whether an item id contains a stripping keyword
+    private static final Map<Item, Boolean> STRIPPER_ITEM_CACHE = new ConcurrentHashMap<>();
 
     /**
      * 实体加入世界事件处理方法
-     * 在实体加入世界时初始化韧性系统和添加帽子
+     * 将实体加入延迟处理队列，由EntityJoinQueue分批添加帽子和解析韧性配置档案
      * <p>
      * Entity join level event handler
-     * Initialize toughness system and add hats when entity joins the world
+     * Queue the entity so EntityJoinQueue adds hats and resolves the toughness profile in bounded slices
+     * <p>
+     * 韧性状态在实体首次受伤前一定会完成初始化（见ToughnessSystem.ensureInitialized和EntityJoinQueue.flush）
+     * Toughness state is always initialized before the entity is first hurt (see ToughnessSystem.ensureInitialized and EntityJoinQueue.flush)
      *
      * @param event 实体加入世界事件
      *              Entity join level event
@@ -127,17 +124,7 @@ public enum EntityEventHandler {
     @SubscribeEvent
     public static void onEntityJoinLevel(final EntityJoinLevelEvent event) {
         if (event.getEntity() instanceof final LivingEntity livingEntity) {
-            // Apply custom health and toughness values
-            // 应用自定义生命值和韧性值
-            com.github.chromabreak.system.EntityHealthManager.applyCustomValues(livingEntity);
-
-            // 初始化韧性系统（所有符合条件的实体都需要初始化）
-            // Initialize toughness system (all eligible entities need initialization)
-            com.github.chromabreak.system.ToughnessSystem.initializeToughness(livingEntity);
-
-            // 为骷髅和僵尸添加帽子
-            // Add hats to skeletons and zombies
-            EntityEventHandler.addHatToMob(livingEntity, event.getLevel().getRandom());
+            EntityJoinQueue.enqueue(livingEntity);
         }
     }
 
@@ -148,7 +135,7 @@ public enum EntityEventHandler {
      * @param mob    生物实体
      * @param random 随机数生成器
      */
-    private static void addHatToMob(final LivingEntity mob, final RandomSource random) {
+    static void addHatToMob(final LivingEntity mob, final RandomSource random) {
         // 检查配置是否启用
         // Check if config is enabled
         if (!Config.ENABLE_MOB_HAT_SPAWN.getAsBoolean()) {
@@ -174,136 +161,41 @@ public enum EntityEventHandler {
             return;
         }
 
-        // 随机选择一个帽子
-        // Randomly select a hat
-        final HatConfig selectedHat = EntityEventHandler.selectRandomHat(random);
-
-        if (null != selectedHat) {
-            // 检查物品是否存在（兼容其他模组）
-            // Check if item exists (compatible with other mods)
-            if (BuiltInRegistries.ITEM.containsKey(selectedHat.itemId)) {
-                final Item hatItem = BuiltInRegistries.ITEM.get(selectedHat.itemId);
-                if (null != hatItem) {
-                    final ItemStack hatStack = new ItemStack(hatItem);
-                    // 设置耐久度随机（50%-100%）
-                    // Set random durability (50%-100%)
-                    if (hatStack.isDamageableItem()) {
-                        final int maxDamage = hatStack.getMaxDamage();
-                        final int currentDamage = maxDamage - (int) (maxDamage * (0.5f + random.nextFloat() * 0.5f));
-                        hatStack.setDamageValue(currentDamage);
-                    }
-                    // 标记为特殊帽子（用于识别）
-                    // Mark as special hat (for identification)
-                    // 在 Minecraft 1.21.1 中使用 DataComponents
-                    // Use DataComponents in Minecraft 1.21.1
-                    try {
-                        final net.minecraft.nbt.CompoundTag protectionTag = new net.minecraft.nbt.CompoundTag();
-                        protectionTag.putBoolean("chromabreak:protected_hat", true);
-                        // 使用反射创建和设置 CustomData
-                        // Use reflection to create and set CustomData
-                        try {
-                            final Class<?> customDataClass = Class.forName("net.minecraft.core.component.CustomData");
-                            final java.lang.reflect.Method ofMethod = customDataClass.getMethod("of", net.minecraft.nbt.CompoundTag.class);
-                            final Object customData = ofMethod.invoke(null, protectionTag);
-
-                            // 使用反射调用 set 方法，避免类型推断问题
-                            // Use reflection to call set method, avoid type inference issues
-                            final java.lang.reflect.Method setMethod = hatStack.getClass().getMethod("set",
-                                    net.minecraft.core.component.DataComponentType.class, Object.class);
-                            setMethod.invoke(hatStack, net.minecraft.core.component.DataComponents.CUSTOM_DATA, customData);
-                        } catch (final Exception e) {
-                            // 如果反射失败，跳过设置（不影响功能）
-                            // If reflection fails, skip setting (doesn't affect functionality)
-                        }
-                    } catch (final Exception e) {
-                        // 如果设置失败，仍然继续（不影响功能）
-                        // If setting fails, continue anyway (doesn't affect functionality)
-                    }
-
-                    mob.setItemSlot(EquipmentSlot.HEAD, hatStack);
-                    // 使用 NBT 标记来防止掉落
-                    // Use NBT tag to prevent dropping
-                    mobTag.putBoolean("chromabreak:protected_hat_slot_head", true);
-                    mobTag.putBoolean("chromabreak:hat_added", true);
-                }
-            }
-        }
-    }
-
-    /**
-     * 根据稀有度随机选择帽子
-     * Randomly select a hat based on rarity
-     *
-     * @param random 随机数生成器
-     * @return 选中的帽子配置，如果没有则返回null
-     */
-    private static HatConfig selectRandomHat(final RandomSource random) {
-        // 按稀有度分组帽子
-        // Group hats by rarity
-        final List<HatConfig>[] hatsByRarity = new List[HatRarity.values().length];
-        for (int i = 0; i < hatsByRarity.length; i++) {
-            hatsByRarity[i] = new ArrayList<>();
-        }
-
-        // 只添加已加载的模组的帽子（兼容性检查）
-        // Only add hats from loaded mods (compatibility check)
-        for (final HatConfig hat : EntityEventHandler.HAT_CONFIGS) {
-            // 检查物品是否存在
-            // Check if item exists
-            if (BuiltInRegistries.ITEM.containsKey(hat.itemId)) {
-                final int rarityIndex = hat.rarity.ordinal();
-                hatsByRarity[rarityIndex].add(hat);
-            }
-        }
-
-        // 计算总权重（只计算有可用帽子的稀有度）
-        // Calculate total weight (only for rarities with available hats)
-        float totalWeight = 0.0f;
-        for (final HatRarity rarity : HatRarity.values()) {
-            final List<HatConfig> hatsInRarity = hatsByRarity[rarity.ordinal()];
-            if (!hatsInRarity.isEmpty()) {
-                totalWeight += rarity.getWeight();
-            }
-        }
-
-        // 如果没有可用的帽子，返回null
-        // If no available hats, return null
-        if (0.0f >= totalWeight) {
-            return null;
-        }
-
-        // 根据稀有度权重选择
-        // Select based on rarity weight
-        final float randomValue = random.nextFloat() * totalWeight;
-        float cumulativeWeight = 0.0f;
-
-        for (final HatRarity rarity : HatRarity.values()) {
-            final List<HatConfig> hatsInRarity = hatsByRarity[rarity.ordinal()];
-            if (!hatsInRarity.isEmpty()) {
-                cumulativeWeight += rarity.getWeight();
-                if (randomValue <= cumulativeWeight) {
-                    return hatsInRarity.get(random.nextInt(hatsInRarity.size()));
-                }
+        // 从预先构建的别名表中随机选择一个帽子（只包含已加载模组的物品）
+        // Randomly select a hat from the precomputed alias table (only contains items from loaded mods)
+        final Item hatItem = MobHatTable.select(mob.level().dimension().location(), random);
+
+        if (null != hatItem) {
+            final ItemStack hatStack = new ItemStack(hatItem);
+            // 设置耐久度随机（50%-100%）
+            // Set random durability (50%-100%)
+            if (hatStack.isDamageableItem()) {
+                final int maxDamage = hatStack.getMaxDamage();
+                final int currentDamage = maxDamage - (int) (maxDamage * (0.5f + random.nextFloat() * 0.5f));
+                hatStack.setDamageValue(currentDamage);
             }
+            // 标记为特殊帽子（用于识别）
+            // Mark as special hat (for identification)
+            hatStack.set(ModDataComponents.PROTECTED_HAT.get(), Unit.INSTANCE);
+
+            // 作为授予装备装备，生物死亡时不会掉落
+            // Equip as granted equipment so it is never dropped when the mob dies
+            GrantedEquipment.grant(mob, EquipmentSlot.HEAD, hatStack);
+            mobTag.putBoolean("chromabreak:hat_added", true);
         }
-
-        // 如果没有找到，返回第一个可用的帽子
-        // If not found, return first available hat
-        for (final HatConfig hat : EntityEventHandler.HAT_CONFIGS) {
-            if (BuiltInRegistries.ITEM.containsKey(hat.itemId)) {
-                return hat;
-            }
-        }
-
-        return null;
     }
 
     /**
      * 实体死亡掉落事件处理方法
-     * 防止受保护的帽子掉落
+     * 移除仍然出现在掉落物中的授予装备
      * <p>
      * Entity death drops event handler
-     * Prevent protected hats from dropping
+     * Remove granted equipment that still shows up in the drops
+     * <p>
+     * Mob的授予装备掉落概率为0，不会进入掉落列表；这里只处理非Mob实体和旧版本标记的生物，
+     * 并且只移除带有标记的物品，生物自己捡起的头盔会正常掉落
+     * Granted equipment of a Mob has a zero drop chance and never reaches the drop list; this only handles non-Mob
+     * entities and mobs marked by older versions, and only removes marked stacks so helmets the mob picked up still drop
      *
      * @param event 实体死亡掉落事件
      *              Entity death drops event
@@ -312,33 +204,17 @@ public enum EntityEventHandler {
     public static void onLivingDrops(final LivingDropsEvent event) {
         final LivingEntity entity = event.getEntity();
 
-        // 只处理骷髅和僵尸
-        // Only process skeletons and zombies
-        if (!(entity instanceof Skeleton) && !(entity instanceof Zombie)) {
+        // 旧版本只用NBT标记受保护帽子的槽位
+        // Older versions only marked the protected hat slot in NBT
+        final boolean legacyHat = entity.getPersistentData().getBoolean(EntityEventHandler.LEGACY_PROTECTED_HAT_SLOT_TAG);
+        if (!legacyHat && (0 == GrantedEquipment.getGrantedSlots(entity) || entity instanceof Mob)) {
             return;
         }
 
-        // 检查是否有受保护帽子的标记
-        // Check if has protected hat marker
-        final net.minecraft.nbt.CompoundTag mobTag = entity.getPersistentData();
-        if (mobTag.getBoolean("chromabreak:protected_hat_slot_head")) {
-            // 移除头部装备的掉落物
-            // Remove head equipment drops
-            event.getDrops().removeIf(drop -> {
-                final net.minecraft.world.item.ItemStack stack = drop.getItem();
-                // 检查是否是头部装备
-                // Check if it's head equipment
-                if (!stack.isEmpty()) {
-                    // 检查物品是否是头盔类型
-                    // Check if item is helmet type
-                    final net.minecraft.world.item.Item item = stack.getItem();
-                    if (item instanceof final net.minecraft.world.item.ArmorItem armorItem) {
-                        return EquipmentSlot.HEAD == armorItem.getEquipmentSlot();
-                    }
-                }
-                return false;
-            });
-        }
+        event.getDrops().removeIf(drop -> {
+            final ItemStack stack = drop.getItem();
+            return GrantedEquipment.isGranted(stack) || (legacyHat && EntityEventHandler.isProtectedHat(stack));
+        });
     }
 
     /**
@@ -409,29 +285,10 @@ public enum EntityEventHandler {
             return false;
         }
 
-        try {
-            final net.minecraft.core.component.DataComponentMap components = itemStack.getComponents();
-            if (null != components) {
-                final var customData = components.get(net.minecraft.core.component.DataComponents.CUSTOM_DATA);
-                if (null != customData) {
-                    try {
-                        final java.lang.reflect.Method copyTagMethod = customData.getClass().getMethod("copyTag");
-                        final net.minecraft.nbt.CompoundTag tag = (net.minecraft.nbt.CompoundTag) copyTagMethod.invoke(customData);
-                        if (null != tag && tag.getBoolean("chromabreak:protected_hat")) {
-                            return true;
-                        }
-                    } catch (final Exception e) {
-                        // Ignore reflection errors
-                        // 忽略反射错误
-                    }
-                }
-            }
-        } catch (final Exception e) {
-            // Ignore exceptions
-            // 忽略异常
-        }
-
-        return false;
+        // 检查数据组件标记，旧版本添加的帽子使用自定义数据标记
+        // Check the data component marker, hats added by older versions use a custom data marker
+        return itemStack.has(ModDataComponents.PROTECTED_HAT.get())
+                || EntityEventHandler.hasLegacyMarker(itemStack, EntityEventHandler.LEGACY_PROTECTED_HAT_KEYS);
     }
 
     /**
@@ -446,83 +303,65 @@ public enum EntityEventHandler {
             return false;
         }
 
-        // 检查物品ID是否包含剥离相关的关键词
-        // Check if item ID contains stripping-related keywords
-        final net.minecraft.resources.ResourceLocation itemId = net.minecraft.core.registries.BuiltInRegistries.ITEM.getKey(itemStack.getItem());
-        if (null != itemId) {
-            final String itemIdString = itemId.toString().toLowerCase();
-            // 检查常见的关键词
-            // Check common keywords
-            if (itemIdString.contains("strip") ||
-                    itemIdString.contains("remove_armor") ||
-                    itemIdString.contains("armor_strip") ||
-                    itemIdString.contains("disarm")) {
-                return true;
-            }
+        // 检查数据组件标记
+        // Check the data component marker
+        if (itemStack.has(ModDataComponents.ARMOR_STRIPPER.get())) {
+            return true;
         }
 
-        // 检查物品的NBT或组件中是否有剥离标记
-        // Check if item has stripping marker in NBT or components
-        try {
-            final net.minecraft.core.component.DataComponentMap components = itemStack.getComponents();
-            if (null != components) {
-                // 检查自定义数据组件
-                // Check custom data component
-                final var customData = components.get(net.minecraft.core.component.DataComponents.CUSTOM_DATA);
-                if (null != customData) {
-                    try {
-                        final java.lang.reflect.Method copyTagMethod = customData.getClass().getMethod("copyTag");
-                        final net.minecraft.nbt.CompoundTag tag = (net.minecraft.nbt.CompoundTag) copyTagMethod.invoke(customData);
-                        if (null != tag) {
-                            if (tag.getBoolean("chromabreak:can_strip_armor") ||
-                                    tag.getBoolean("armor_strip") ||
-                                    tag.getBoolean("strip_armor")) {
-                                return true;
-                            }
-                        }
-                    } catch (final Exception e) {
-                        // Ignore reflection errors
-                        // 忽略反射错误
-                    }
-                }
-            }
-        } catch (final Exception e) {
-            // Ignore exceptions
-            // 忽略异常
+        // 检查物品ID是否包含剥离相关的关键词（每种物品只计算一次）
+        // Check if item ID contains stripping-related keywords (computed once per item)
+        if (EntityEventHandler.STRIPPER_ITEM_CACHE.computeIfAbsent(itemStack.getItem(), EntityEventHandler::hasStrippingKeyword)) {
+            return true;
         }
 
-        return false;
+        // 检查自定义数据中的旧版剥离标记
+        // Check legacy stripping markers in custom data
+        return EntityEventHandler.hasLegacyMarker(itemStack, EntityEventHandler.LEGACY_ARMOR_STRIPPER_KEYS);
     }
 
     /**
-     * 帽子稀有度枚举
-     * Hat rarity enumeration
+     * 检查物品ID是否包含剥离相关的关键词
+     * Check if an item id contains stripping-related keywords
+     *
+     * @param item 物品
+     * @return 是否包含关键词
      */
-    private enum HatRarity {
-        COMMON(0.5f),      // 普通：50%概率
-        UNCOMMON(0.3f),   // 不常见：30%概率
-        RARE(0.15f),      // 稀有：15%概率
-        EPIC(0.04f),      // 史诗：4%概率
-        LEGENDARY(0.01f); // 传说：1%概率
-
-        private final float weight;
-
-        HatRarity(final float weight) {
-            this.weight = weight;
-        }
-
-        public float getWeight() {
-            return this.weight;
+    private static boolean hasStrippingKeyword(final Item item) {
+        final net.minecraft.resources.ResourceLocation itemId = net.minecraft.core.registries.BuiltInRegistries.ITEM.getKey(item);
+        if (null == itemId) {
+            return false;
         }
+        final String itemIdString = itemId.toString().toLowerCase();
+        // 检查常见的关键词
+        // Check common keywords
+        return itemIdString.contains("strip") ||
+                itemIdString.contains("remove_armor") ||
+                itemIdString.contains("armor_strip") ||
+                itemIdString.contains("disarm");
     }
 
     /**
-     * 帽子配置类
-     * Hat configuration class
+     * 检查物品自定义数据中是否有值为true的旧版标记
+     * Check if the item's custom data has a legacy marker set to true
+     * <p>
+     * 只在自定义数据包含标记键时才复制NBT
+     * NBT is only copied when the custom data contains a marker key
+     *
+     * @param itemStack 物品堆栈
+     * @param keys      标记键
+     * @return 是否有旧版标记
      */
-    private record HatConfig(ResourceLocation itemId, HatRarity rarity) {
-        private HatConfig(final String itemId, final HatRarity rarity) {
-            this(ResourceLocation.parse(itemId), rarity);
+    private static boolean hasLegacyMarker(final ItemStack itemStack, final String[] keys) {
+        final CustomData customData = itemStack.get(DataComponents.CUSTOM_DATA);
+        if (null == customData || customData.isEmpty()) {
+            return false;
+        }
+        for (final String key : keys) {
+            if (customData.contains(key) && customData.copyTag().getBoolean(key)) {
+                return true;
+            }
         }
+        return false;
     }
-}
\ No newline at end of file
+}
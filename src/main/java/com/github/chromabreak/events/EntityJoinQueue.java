@@ -0,0 +1,174 @@
+package com.github.chromabreak.events;
+
+import com.github.chromabreak.ChromaBreak;
+import com.github.chromabreak.Config;
+import com.github.chromabreak.system.HotPathMetrics;
+import com.github.chromabreak.system.ToughnessSystem;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.LevelAccessor;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.tick.LevelTickEvent;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * EntityJoinQueue - 实体加入延迟处理队列
+ * Deferred Entity Join Queue
+ * <p>
+ * 区块加载或服务器重启时，同一tick内可能有数百个实体加入世界
+ * When chunks load or the server restarts, hundreds of entities may join the world in a single tick
+ * <p>
+ * 每个维度维护一个队列，在LevelTickEvent.Post中按Config.ENTITY_JOIN_BUDGET分批完成非紧急的初始化：
+ * Each dimension keeps a queue, and non-urgent setup is done in slices of Config.ENTITY_JOIN_BUDGET in LevelTickEvent.Post:
+ * - 为骷髅和僵尸添加帽子
+ * Adding hats to skeletons and zombies
+ * - 解析韧性配置档案并写入韧性值和颜色分布
+ * Resolving the toughness profile and writing toughness values and the color distribution
+ * <p>
+ * 实体首次受伤时LivingEntityMixin会调用flush，保证战斗需要的状态在伤害计算前已经完成
+ * LivingEntityMixin calls flush when an entity is first hurt, so everything combat needs is resolved before damage is calculated
+ * <p>
+ * 只在服务器端排队，所有方法都在服务器线程调用
+ * Only queued on the server side, all methods are called on the server thread
+ */
+@EventBusSubscriber(modid = ChromaBreak.MODID)
+public enum EntityJoinQueue {
+    ;
+
+    /**
+     * 按维度分组的待处理队列
+     * Pending queues grouped by dimension
+     */
+    private static final Map<LevelAccessor, PendingQueue> QUEUES = new IdentityHashMap<>();
+
+    /**
+     * 将实体加入延迟处理队列
+     * Add an entity to the deferred queue
+     *
+     * @param entity 加入世界的实体
+     *               Entity that joined the world
+     */
+    static void enqueue(final LivingEntity entity) {
+        final Level level = entity.level();
+        if (level.isClientSide() || entity instanceof Player) {
+            return;
+        }
+
+        final PendingQueue queue = EntityJoinQueue.QUEUES.computeIfAbsent(level, key -> new PendingQueue());
+        if (queue.pending.add(entity)) {
+            queue.order.addLast(entity);
+        }
+    }
+
+    /**
+     * 立即完成实体的延迟初始化（如果还在队列中）
+     * Finish an entity's deferred setup immediately (if it is still queued)
+     * <p>
+     * 在伤害计算前调用，保证帽子和韧性状态已经就绪
+     * Called before damage is calculated so the hat and toughness state are ready
+     *
+     * @param entity 目标实体
+     *               Target entity
+     */
+    public static void flush(final LivingEntity entity) {
+        // hurt也会在客户端调用，队列只属于服务器线程
+        // hurt is also called on the client, the queues belong to the server thread only
+        if (entity.level().isClientSide() || EntityJoinQueue.QUEUES.isEmpty()) {
+            return;
+        }
+
+        final PendingQueue queue = EntityJoinQueue.QUEUES.get(entity.level());
+        if (null != queue && queue.pending.remove(entity)) {
+            EntityJoinQueue.setUp(entity);
+        }
+    }
+
+    /**
+     * 每tick结束时按预算处理队列
+     * Process the queue within the budget at the end of every tick
+     *
+     * @param event 维度tick事件
+     *              Level tick event
+     */
+    @SubscribeEvent
+    public static void onLevelTick(final LevelTickEvent.Post event) {
+        final PendingQueue queue = EntityJoinQueue.QUEUES.get(event.getLevel());
+        if (null == queue) {
+            return;
+        }
+
+        int budget = Config.ENTITY_JOIN_BUDGET.getAsInt();
+        while (0 < budget && !queue.order.isEmpty()) {
+            final LivingEntity entity = queue.order.pollFirst();
+            // 已经通过flush处理过的实体不在pending中
+            // Entities already handled through flush are no longer pending
+            if (!queue.pending.remove(entity) || entity.isRemoved()) {
+                continue;
+            }
+            EntityJoinQueue.setUp(entity);
+            budget--;
+        }
+
+        if (queue.order.isEmpty()) {
+            queue.pending.clear();
+            EntityJoinQueue.QUEUES.remove(event.getLevel());
+        }
+    }
+
+    /**
+     * 维度卸载时丢弃队列
+     * Drop the queue when a dimension unloads
+     *
+     * @param event 维度卸载事件
+     *              Level unload event
+     */
+    @SubscribeEvent
+    public static void onLevelUnload(final LevelEvent.Unload event) {
+        EntityJoinQueue.QUEUES.remove(event.getLevel());
+    }
+
+    /**
+     * 完成实体的初始化
+     * Set up an entity
+     */
+    private static void setUp(final LivingEntity entity) {
+        final long start = HotPathMetrics.ENTITY_JOIN.start();
+        try {
+            // 解析韧性配置档案（已初始化的实体只需一次代数比较）
+            // Resolve the toughness profile (already-initialized entities only need a generation comparison)
+            ToughnessSystem.ensureInitialized(entity);
+
+            // 为骷髅和僵尸添加帽子
+            // Add hats to skeletons and zombies
+            EntityEventHandler.addHatToMob(entity, entity.level().getRandom());
+        } finally {
+            HotPathMetrics.ENTITY_JOIN.stop(start);
+        }
+    }
+
+    /**
+     * 单个维度的待处理队列
+     * Pending queue of a single dimension
+     */
+    private static final class PendingQueue {
+        /**
+         * 加入顺序
+         * Join order
+         */
+        private final ArrayDeque<LivingEntity> order = new ArrayDeque<>();
+
+        /**
+         * 仍未处理的实体（按对象身份）
+         * Entities that are still pending (by identity)
+         */
+        private final Set<LivingEntity> pending = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+}
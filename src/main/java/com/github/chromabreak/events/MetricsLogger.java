@@ -0,0 +1,85 @@
+package com.github.chromabreak.events;
+
+import com.github.chromabreak.ChromaBreak;
+import com.github.chromabreak.Config;
+import com.github.chromabreak.system.HotPathMetrics;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * MetricsLogger - 热路径指标日志
+ * Hot Path Metrics Logger
+ * <p>
+ * 每Config.METRICS_LOG_INTERVAL秒输出一行热路径指标：
+ * Logs one line of hot path metrics every Config.METRICS_LOG_INTERVAL seconds:
+ * - 调用速率按本次间隔计算
+ * Call rates cover the current interval
+ * - p99耗时和每次调用的分配量按上次重置以来的全部采样计算
+ * p99 latency and bytes per call cover all samples since the last reset
+ * <p>
+ * 只在服务器线程调用
+ * Only called on the server thread
+ */
+@EventBusSubscriber(modid = ChromaBreak.MODID)
+public enum MetricsLogger {
+    ;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger("MetricsLogger");
+
+    /**
+     * 上次输出的时间（纳秒）
+     * Time of the last log line (nanoseconds)
+     */
+    private static long lastLogNanos = System.nanoTime();
+
+    /**
+     * 上次输出时各探针的调用次数
+     * Call count of every probe at the last log line
+     */
+    private static long[] lastCalls = new long[HotPathMetrics.probes().size()];
+
+    /**
+     * 每tick结束时检查是否到达输出间隔
+     * Check whether the log interval has elapsed at the end of every tick
+     *
+     * @param event 服务器tick事件
+     *              Server tick event
+     */
+    @SubscribeEvent
+    public static void onServerTick(final ServerTickEvent.Post event) {
+        final int intervalSeconds = Config.METRICS_LOG_INTERVAL.getAsInt();
+        if (0 >= intervalSeconds) {
+            return;
+        }
+
+        final long now = System.nanoTime();
+        final double seconds = (now - MetricsLogger.lastLogNanos) / 1.0e9;
+        if (seconds < intervalSeconds) {
+            return;
+        }
+
+        final List<HotPathMetrics.Probe> probes = HotPathMetrics.probes();
+        final long[] calls = new long[probes.size()];
+        final StringBuilder line = new StringBuilder("Hot path metrics:");
+        for (int i = 0; i < probes.size(); i++) {
+            final HotPathMetrics.Snapshot snapshot = probes.get(i).snapshot();
+            calls[i] = snapshot.calls();
+            // 重置后调用次数可能小于上次记录的值
+            // The call count may be lower than the last recorded value after a reset
+            final long intervalCalls = calls[i] >= MetricsLogger.lastCalls[i] ? calls[i] - MetricsLogger.lastCalls[i] : calls[i];
+            line.append(String.format(Locale.ROOT, " %s %.1f/s p99 %dns alloc %s;", snapshot.name(),
+                    intervalCalls / seconds, snapshot.p99Nanos(),
+                    0 > snapshot.bytesPerCall() ? "n/a" : String.format(Locale.ROOT, "%.0fB", snapshot.bytesPerCall())));
+        }
+
+        MetricsLogger.LOGGER.info(line.toString());
+        MetricsLogger.lastCalls = calls;
+        MetricsLogger.lastLogNanos = now;
+    }
+}
@@ -0,0 +1,272 @@
+package com.github.chromabreak.events;
+
+import com.github.chromabreak.ChromaBreak;
+import com.github.chromabreak.Config;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.item.Item;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.fml.event.config.ModConfigEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MobHatTable - 生物帽子选择表
+ * Mob Hat Selection Table
+ * <p>
+ * 根据Config.MOB_HATS预先构建Vose别名表，选择帽子只需一次nextInt和一次nextFloat，不分配任何对象
+ * Precomputes Vose alias tables from Config.MOB_HATS, so picking a hat takes one nextInt and one nextFloat and allocates nothing
+ * <p>
+ * 主要功能包括：
+ * Main functionalities include:
+ * - 物品解析：构建时把物品ID解析为Item，跳过未加载模组的物品
+ * Item resolution: Item ids are resolved to Items when building, items from mods that are not loaded are skipped
+ * - 按维度分表：带@维度的条目组成该维度自己的表
+ * Per-dimension tables: Entries with @dimension form that dimension's own table
+ * - 延迟构建：首次选择时构建，配置重载时丢弃
+ * Lazy building: Built on the first selection and discarded when the config reloads
+ * <p>
+ * 使用枚举模式确保单例，所有方法都是静态方法
+ * Uses enum pattern to ensure singleton, all methods are static methods
+ */
+@EventBusSubscriber(modid = ChromaBreak.MODID, bus = EventBusSubscriber.Bus.MOD)
+public enum MobHatTable {
+    ;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger("MobHatTable");
+
+    /**
+     * 当前的帽子表快照，为null表示需要重建
+     * Current hat table snapshot, null means it needs to be rebuilt
+     */
+    private static volatile Tables tables;
+
+    /**
+     * 为指定维度随机选择一个帽子
+     * Randomly select a hat for a dimension
+     *
+     * @param dimension 维度ID
+     *                  Dimension id
+     * @param random    随机数生成器
+     *                  Random source
+     * @return 选中的帽子物品，没有可用帽子时返回null
+     * Selected hat item, null when no hat is available
+     */
+    public static Item select(final ResourceLocation dimension, final RandomSource random) {
+        Tables current = MobHatTable.tables;
+        if (null == current) {
+            current = MobHatTable.rebuild();
+        }
+
+        final AliasTable table = current.byDimension().getOrDefault(dimension, current.fallback());
+        return null != table ? table.sample(random) : null;
+    }
+
+    /**
+     * 配置加载时丢弃帽子表
+     * Discard the hat tables when the config loads
+     *
+     * @param event 配置加载事件
+     *              Config loading event
+     */
+    @SubscribeEvent
+    public static void onConfigLoading(final ModConfigEvent.Loading event) {
+        MobHatTable.invalidate(event.getConfig());
+    }
+
+    /**
+     * 配置重载时丢弃帽子表
+     * Discard the hat tables when the config reloads
+     *
+     * @param event 配置重载事件
+     *              Config reloading event
+     */
+    @SubscribeEvent
+    public static void onConfigReloading(final ModConfigEvent.Reloading event) {
+        MobHatTable.invalidate(event.getConfig());
+    }
+
+    /**
+     * 如果是本模组的配置，丢弃帽子表
+     * Discard the hat tables if the config belongs to this mod
+     */
+    private static void invalidate(final net.neoforged.fml.config.ModConfig config) {
+        if (config.getSpec() == Config.SPEC) {
+            MobHatTable.tables = null;
+        }
+    }
+
+    /**
+     * 从配置重建帽子表
+     * Rebuild the hat tables from the config
+     */
+    private static synchronized Tables rebuild() {
+        final Tables existing = MobHatTable.tables;
+        if (null != existing) {
+            return existing;
+        }
+
+        final Map<ResourceLocation, Weights> weightsByDimension = new LinkedHashMap<>();
+        final Weights fallbackWeights = new Weights();
+        for (final String entry : Config.MOB_HATS.get()) {
+            MobHatTable.parseEntry(entry, fallbackWeights, weightsByDimension);
+        }
+
+        final Map<ResourceLocation, AliasTable> byDimension = new HashMap<>();
+        weightsByDimension.forEach((dimension, weights) -> byDimension.put(dimension, weights.build()));
+        final Tables rebuilt = new Tables(fallbackWeights.build(), Map.copyOf(byDimension));
+
+        MobHatTable.LOGGER.info("Built mob hat tables: {} default hats, {} dimension-specific tables",
+                fallbackWeights.items.size(), byDimension.size());
+        MobHatTable.tables = rebuilt;
+        return rebuilt;
+    }
+
+    /**
+     * 解析一条"物品ID=权重[@维度ID]"配置
+     * Parse one "itemId=weight[@dimensionId]" entry
+     */
+    private static void parseEntry(final String entry, final Weights fallbackWeights,
+                                   final Map<ResourceLocation, Weights> weightsByDimension) {
+        final int equals = entry.indexOf('=');
+        if (0 > equals) {
+            MobHatTable.LOGGER.warn("Ignoring mob hat entry without weight: {}", entry);
+            return;
+        }
+
+        final int at = entry.indexOf('@', equals);
+        final String itemId = entry.substring(0, equals).trim();
+        final String weightText = (0 > at ? entry.substring(equals + 1) : entry.substring(equals + 1, at)).trim();
+        final String dimensionId = 0 > at ? null : entry.substring(at + 1).trim();
+
+        final ResourceLocation itemKey = ResourceLocation.tryParse(itemId);
+        final ResourceLocation dimension = null == dimensionId ? null : ResourceLocation.tryParse(dimensionId);
+        final float weight;
+        try {
+            weight = Float.parseFloat(weightText);
+        } catch (final NumberFormatException e) {
+            MobHatTable.LOGGER.warn("Ignoring mob hat entry with invalid weight: {}", entry);
+            return;
+        }
+        if (null == itemKey || (null != dimensionId && null == dimension) || !(0 < weight)) {
+            MobHatTable.LOGGER.warn("Ignoring invalid mob hat entry: {}", entry);
+            return;
+        }
+
+        // 只添加已加载模组的帽子（兼容性检查）
+        // Only add hats from loaded mods (compatibility check)
+        if (!BuiltInRegistries.ITEM.containsKey(itemKey)) {
+            MobHatTable.LOGGER.debug("Skipping mob hat from a mod that is not loaded: {}", itemKey);
+            return;
+        }
+
+        final Weights target = null == dimension ? fallbackWeights
+                : weightsByDimension.computeIfAbsent(dimension, key -> new Weights());
+        target.items.add(BuiltInRegistries.ITEM.get(itemKey));
+        target.weights.add(weight);
+    }
+
+    /**
+     * 构建中的物品权重列表
+     * Item weight list being built
+     */
+    private static final class Weights {
+        private final List<Item> items = new ArrayList<>();
+        private final List<Float> weights = new ArrayList<>();
+
+        /**
+         * 使用Vose算法构建别名表
+         * Build the alias table with Vose's algorithm
+         *
+         * @return 别名表，没有物品时返回null
+         */
+        private AliasTable build() {
+            final int size = this.items.size();
+            if (0 == size) {
+                return null;
+            }
+
+            double total = 0.0;
+            for (final Float weight : this.weights) {
+                total += weight;
+            }
+
+            final double[] scaled = new double[size];
+            final int[] small = new int[size];
+            final int[] large = new int[size];
+            int smallCount = 0;
+            int largeCount = 0;
+            for (int i = 0; i < size; i++) {
+                scaled[i] = this.weights.get(i) * size / total;
+                if (1.0 > scaled[i]) {
+                    small[smallCount++] = i;
+                } else {
+                    large[largeCount++] = i;
+                }
+            }
+
+            final float[] probability = new float[size];
+            final int[] alias = new int[size];
+            while (0 < smallCount && 0 < largeCount) {
+                final int less = small[--smallCount];
+                final int more = large[--largeCount];
+                probability[less] = (float) scaled[less];
+                alias[less] = more;
+                scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+                if (1.0 > scaled[more]) {
+                    small[smallCount++] = more;
+                } else {
+                    large[largeCount++] = more;
+                }
+            }
+            // 剩余的列由于浮点误差可能略小于1，全部视为1
+            // Remaining columns may be slightly below 1 due to rounding, all are treated as 1
+            while (0 < largeCount) {
+                probability[large[--largeCount]] = 1.0f;
+            }
+            while (0 < smallCount) {
+                probability[small[--smallCount]] = 1.0f;
+            }
+
+            return new AliasTable(this.items.toArray(new Item[0]), probability, alias);
+        }
+    }
+
+    /**
+     * 别名表
+     * Alias table
+     *
+     * @param items       每列的物品
+     *                    Item of every column
+     * @param probability 每列选择自身物品的概率
+     *                    Probability of picking the column's own item
+     * @param alias       每列的别名列
+     *                    Alias column of every column
+     */
+    private record AliasTable(Item[] items, float[] probability, int[] alias) {
+        private Item sample(final RandomSource random) {
+            final int column = random.nextInt(this.items.length);
+            return random.nextFloat() < this.probability[column] ? this.items[column] : this.items[this.alias[column]];
+        }
+    }
+
+    /**
+     * 帽子表快照
+     * Hat table snapshot
+     *
+     * @param fallback    没有专属表的维度使用的表，可能为null
+     *                    Table for dimensions without their own table, may be null
+     * @param byDimension 维度专属的表
+     *                    Dimension-specific tables
+     */
+    private record Tables(AliasTable fallback, Map<ResourceLocation, AliasTable> byDimension) {
+    }
+}
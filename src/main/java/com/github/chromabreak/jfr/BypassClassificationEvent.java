@@ -0,0 +1,55 @@
+package com.github.chromabreak.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * BypassClassificationEvent - 伤害分类JFR事件
+ * Damage Classification JFR Event
+ * <p>
+ * 由ModCompatibilityManager.classifyDamage提交，持续时间覆盖整个分类
+ * Committed by ModCompatibilityManager.classifyDamage, the duration covers the whole classification
+ * <p>
+ * 默认禁用
+ * Disabled by default
+ */
+@Name("chromabreak.BypassClassification")
+@Label("Bypass Classification")
+@Category({"ChromaBreak", "Toughness"})
+@Description("Classification of a damage source against the toughness bypass rules")
+@Enabled(false)
+@StackTrace(false)
+public final class BypassClassificationEvent extends Event {
+
+    /**
+     * 缓存的事件类型，用于在分配事件之前检查是否有录制开启了它
+     * Cached event type, used to check whether a recording enabled it before allocating an event
+     */
+    private static final EventType TYPE = EventType.getEventType(BypassClassificationEvent.class);
+
+    @Label("Damage Type")
+    public String damageType;
+
+    @Label("Direct Entity Type")
+    public String directEntityType;
+
+    @Label("Verdict")
+    public String verdict;
+
+    /**
+     * 是否有录制开启了这个事件；未开启时伤害分类路径不分配事件
+     * Whether any recording enabled this event; the damage classification path allocates no event when it is off
+     *
+     * @return 是否开启
+     * Whether it is enabled
+     */
+    public static boolean isRecording() {
+        return BypassClassificationEvent.TYPE.isEnabled();
+    }
+}
@@ -0,0 +1,38 @@
+package com.github.chromabreak.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * ConfigReloadEvent - 实体配置加载JFR事件
+ * Entity Config Load JFR Event
+ * <p>
+ * 由EntityConfigLoader在加载或重新加载实体配置后提交
+ * Committed by EntityConfigLoader after entity configurations are loaded or reloaded
+ * <p>
+ * 默认禁用
+ * Disabled by default
+ */
+@Name("chromabreak.ConfigReload")
+@Label("Config Reload")
+@Category({"ChromaBreak", "Config"})
+@Description("Loading of the entity configurations")
+@Enabled(false)
+@StackTrace(false)
+public final class ConfigReloadEvent extends Event {
+
+    @Label("Reload")
+    @Description("Whether this was a reload rather than the first load")
+    public boolean reload;
+
+    @Label("Succeeded")
+    public int succeeded;
+
+    @Label("Failed")
+    public int failed;
+}
@@ -0,0 +1,41 @@
+package com.github.chromabreak.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * CrystalGrowthBatchEvent - 水晶生长补算批次JFR事件
+ * Crystal Growth Catch-Up Batch JFR Event
+ * <p>
+ * 由CrystalGrowthLedger在每tick处理补算任务后提交，持续时间覆盖这一批
+ * Committed by CrystalGrowthLedger after processing catch-up jobs in a tick, the duration covers that batch
+ * <p>
+ * 默认禁用
+ * Disabled by default
+ */
+@Name("chromabreak.CrystalGrowthBatch")
+@Label("Crystal Growth Batch")
+@Category({"ChromaBreak", "World"})
+@Description("One tick's batch of crystal growth catch-up work")
+@Enabled(false)
+@StackTrace(false)
+public final class CrystalGrowthBatchEvent extends Event {
+
+    @Label("Dimension")
+    public String dimension;
+
+    @Label("Work")
+    @Description("Budget units spent on scanned blocks and growth events")
+    public int work;
+
+    @Label("Chunks Completed")
+    public int chunksCompleted;
+
+    @Label("Chunks Pending")
+    public int chunksPending;
+}
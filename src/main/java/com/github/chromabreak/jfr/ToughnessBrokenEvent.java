@@ -0,0 +1,56 @@
+package com.github.chromabreak.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * ToughnessBrokenEvent - 韧性破坏JFR事件
+ * Toughness Broken JFR Event
+ * <p>
+ * 由ToughnessSystem.onToughnessBroken提交，是一个瞬时事件
+ * Committed by ToughnessSystem.onToughnessBroken as an instant event
+ * <p>
+ * 默认禁用
+ * Disabled by default
+ */
+@Name("chromabreak.ToughnessBroken")
+@Label("Toughness Broken")
+@Category({"ChromaBreak", "Toughness"})
+@Description("An entity's toughness was broken")
+@Enabled(false)
+@StackTrace(false)
+public final class ToughnessBrokenEvent extends Event {
+
+    /**
+     * 缓存的事件类型，用于在分配事件之前检查是否有录制开启了它
+     * Cached event type, used to check whether a recording enabled it before allocating an event
+     */
+    private static final EventType TYPE = EventType.getEventType(ToughnessBrokenEvent.class);
+
+    @Label("Entity Type")
+    public String entityType;
+
+    @Label("Reduction")
+    @Description("Toughness removed by the breaking hit")
+    public float reduction;
+
+    @Label("Max Toughness")
+    public float maxToughness;
+
+    /**
+     * 是否有录制开启了这个事件；未开启时韧性破坏路径不分配事件
+     * Whether any recording enabled this event; the toughness break path allocates no event when it is off
+     *
+     * @return 是否开启
+     * Whether it is enabled
+     */
+    public static boolean isRecording() {
+        return ToughnessBrokenEvent.TYPE.isEnabled();
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.chromabreak.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * ToughnessHitEvent - 韧性受击JFR事件
+ * Toughness Hit JFR Event
+ * <p>
+ * 由LivingEntityMixin.onHurt在受击进入韧性检查时提交，持续时间覆盖整个韧性处理
+ * Committed by LivingEntityMixin.onHurt when a hit reaches the toughness check, the duration covers all toughness handling
+ * <p>
+ * 默认禁用，用 -XX:StartFlightRecording:settings=... 或 jcmd JFR.configure 开启 chromabreak.ToughnessHit
+ * Disabled by default, enable chromabreak.ToughnessHit with -XX:StartFlightRecording:settings=... or jcmd JFR.configure
+ */
+@Name("chromabreak.ToughnessHit")
+@Label("Toughness Hit")
+@Category({"ChromaBreak", "Toughness"})
+@Description("A hit on an entity that reached the toughness check")
+@Enabled(false)
+@StackTrace(false)
+public final class ToughnessHitEvent extends Event {
+
+    /**
+     * 缓存的事件类型，用于在分配事件之前检查是否有录制开启了它
+     * Cached event type, used to check whether a recording enabled it before allocating an event
+     */
+    private static final EventType TYPE = EventType.getEventType(ToughnessHitEvent.class);
+
+    @Label("Entity Type")
+    public String entityType;
+
+    @Label("Damage Type")
+    public String damageType;
+
+    @Label("Damage")
+    @Description("Damage passed to LivingEntity.hurt")
+    public float damage;
+
+    @Label("Health Damage")
+    @Description("Damage applied to health by ChromaBreak, -1 when vanilla damage handling continues")
+    public float healthDamage;
+
+    @Label("Toughness Percentage")
+    public float toughnessPercentage;
+
+    @Label("Verdict")
+    @Description("Bypass rule returned by the damage classification")
+    public String verdict;
+
+    @Label("Outcome")
+    public String outcome;
+
+    /**
+     * 是否有录制开启了这个事件；未开启时受击路径不分配事件
+     * Whether any recording enabled this event; the hit path allocates no event when it is off
+     *
+     * @return 是否开启
+     * Whether it is enabled
+     */
+    public static boolean isRecording() {
+        return ToughnessHitEvent.TYPE.isEnabled();
+    }
+}
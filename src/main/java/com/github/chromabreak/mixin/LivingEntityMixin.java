@@ -1,7 +1,11 @@
 package com.github.chromabreak.mixin;
 
+import com.github.chromabreak.jfr.ToughnessHitEvent;
+import com.github.chromabreak.system.BypassRule;
+import com.github.chromabreak.system.HotPathMetrics;
 import com.github.chromabreak.system.ToughnessSystem;
 import net.minecraft.world.damagesource.DamageSource;
+import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.LivingEntity;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
@@ -28,110 +32,152 @@ public class LivingEntityMixin {
      */
     @Inject(method = "hurt", at = @At("HEAD"), cancellable = true)
     private void onHurt(final DamageSource source, final float amount, final CallbackInfoReturnable<Boolean> cir) {
-        final LivingEntity entity = (LivingEntity) (Object) this;
-
-        // Skip if entity is a player or dead
-        // 如果是玩家或死亡的实体则跳过
-        if (entity instanceof net.minecraft.world.entity.player.Player || !entity.isAlive()) {
-            return;
+        final long start = HotPathMetrics.ON_HURT.start();
+        // JFR event, only allocated, filled in and committed when a recording has chromabreak.ToughnessHit enabled
+        // JFR事件，只有录制开启chromabreak.ToughnessHit时才会分配、填写并提交
+        final ToughnessHitEvent hitEvent = ToughnessHitEvent.isRecording() ? new ToughnessHitEvent() : null;
+        if (null != hitEvent) {
+            hitEvent.begin();
         }
+        final LivingEntity entity = (LivingEntity) (Object) this;
+        try {
+            // Skip if entity is a player or dead
+            // 如果是玩家或死亡的实体则跳过
+            if (entity instanceof net.minecraft.world.entity.player.Player || !entity.isAlive()) {
+                return;
+            }
 
-        // Check if entity has toughness and it's not broken
-        // 检查实体是否有韧性且韧性未被破坏
-        if (!ToughnessSystem.isToughnessBroken(entity)) {
-            final float toughnessPercentage = ToughnessSystem.getToughnessPercentage(entity);
-
-            // If toughness is present (percentage > 0), apply damage reduction
-            // 如果韧性存在（百分比 > 0），应用伤害减免
-            if (0 < toughnessPercentage) {
-                // Check if damage can bypass toughness (void damage, guns, avaritia, or configured bypass types)
-                // 检查伤害是否可以绕过韧性（虚空伤害、枪械、无尽贪婪或配置的绕过类型）
-                if (com.github.chromabreak.system.ModCompatibilityManager.canBypassToughness(source)) {
-                    // Damage can bypass toughness, deal full damage
-                    // 伤害可以绕过韧性，造成全额伤害
-                    return;
-                }
+            // Finish deferred join setup (hat, toughness profile) before the first hit is calculated
+            // 在计算首次伤害前完成延迟的加入初始化（帽子、韧性配置档案）
+            com.github.chromabreak.events.EntityJoinQueue.flush(entity);
 
-                // Check if this is a direct health damage source (guns, avaritia weapons, etc.)
-                // 检查这是否是直接血量伤害源（枪械、无尽贪婪武器等）
-                if (com.github.chromabreak.system.ModCompatibilityManager.isDirectHealthDamage(source)) {
-                    // Direct health damage sources bypass toughness (except void damage which is already handled above)
-                    // 直接血量伤害源绕过韧性（除了虚空伤害，已在上面处理）
-                    return;
-                }
+            // Check if entity has toughness and it's not broken
+            // 检查实体是否有韧性且韧性未被破坏
+            if (!ToughnessSystem.isToughnessBroken(entity)) {
+                final float toughnessPercentage = ToughnessSystem.getToughnessPercentage(entity);
 
-                // Get base damage (remove critical hit, strength, and other buff bonuses)
-                // 获取基础伤害（移除暴击、力量等buff加成）
-                final float baseDamage = this.getBaseDamage(source, amount);
+                // If toughness is present (percentage > 0), apply damage reduction
+                // 如果韧性存在（百分比 > 0），应用伤害减免
+                if (0 < toughnessPercentage) {
+                    // Check if damage can bypass toughness (void damage, guns, avaritia, direct health damage or configured bypass types)
+                    // 检查伤害是否可以绕过韧性（虚空伤害、枪械、无尽贪婪、直接血量伤害或配置的绕过类型）
+                    // The classification is recorded when /chromabreak trace damage targets this entity
+                    // 当/chromabreak trace damage追踪此实体时会记录分类结果
+                    final BypassRule rule = com.github.chromabreak.system.DamageClassificationTrace.classify(entity, source);
+                    if (null != hitEvent) {
+                        hitEvent.toughnessPercentage = toughnessPercentage;
+                        hitEvent.verdict = rule.name();
+                    }
+                    if (rule.bypassesToughness()) {
+                        // Damage can bypass toughness, deal full damage
+                        // 伤害可以绕过韧性，造成全额伤害
+                        if (null != hitEvent) {
+                            hitEvent.outcome = "BYPASSED";
+                        }
+                        return;
+                    }
 
-                // Check if the attacker has a weapon with break toughness component
-                // 检查攻击者是否有带有破韧属性的武器
-                final boolean canBreakToughness = this.canBreakToughness(source);
+                    // Get base damage (remove critical hit, strength, and other buff bonuses)
+                    // 获取基础伤害（移除暴击、力量等buff加成）
+                    final float baseDamage = this.getBaseDamage(source, amount);
 
-                // Check if weapon can break toughness colors
-                // 检查武器是否可以破坏韧性颜色
-                final com.github.chromabreak.system.ToughnessColorDistribution colorDistribution =
-                        com.github.chromabreak.system.ToughnessSystem.getColorDistribution(entity);
-                final boolean canBreakColors = com.github.chromabreak.system.WeaponColorHelper.canBreakDistribution(
-                        this.getAttackerWeapon(source), colorDistribution);
+                    // Check if the attacker has a weapon with break toughness component
+                    // 检查攻击者是否有带有破韧属性的武器
+                    final boolean canBreakToughness = this.canBreakToughness(source);
 
-                // 武器必须同时有破韧属性和匹配的颜色才能破韧
-                // Weapon must have both break toughness attribute and matching colors to break toughness
-                if (!canBreakToughness || !canBreakColors) {
-                    // Weapon doesn't have break toughness component, apply full damage reduction
-                    // 武器没有破韧属性，应用全额伤害减免
-                    // Don't reduce toughness if weapon can't break it
-                    // 如果武器无法破韧，则不减少韧性
-                    // Control damage to 0.02-0.05 range (fixed range, not percentage)
-                    // 无论原始伤害多高（包括来自其他模组的极高伤害），都限制在0.02-0.05范围内
-                    // No matter how high the original damage is (including extremely high damage from other mods),
-                    // limit it to 0.02-0.05 range
-                    final float randomFactor = 0.02f + (float) Math.random() * 0.03f; // 0.02 to 0.05
-                    final float reducedDamage = randomFactor;
+                    // Check if weapon can break toughness colors
+                    // 检查武器是否可以破坏韧性颜色
+                    final com.github.chromabreak.system.ToughnessColorDistribution colorDistribution =
+                            com.github.chromabreak.system.ToughnessSystem.getColorDistribution(entity);
+                    final boolean canBreakColors = com.github.chromabreak.system.WeaponColorHelper.canBreakDistribution(
+                            this.getAttackerWeapon(source), colorDistribution);
 
-                    // Apply the reduced damage directly to health (avoid recursion)
-                    // 直接将减免后的伤害应用到生命值（避免递归）
-                    if (0 < reducedDamage) {
-                        final float newHealth = Math.max(0.0f, entity.getHealth() - reducedDamage);
-                        entity.setHealth(newHealth);
-                        cir.setReturnValue(true);
-                        return;
-                    } else {
-                        // Damage is completely absorbed by toughness
-                        // 伤害被韧性完全吸收
-                        cir.setReturnValue(false);
-                        return;
-                    }
-                } else {
-                    // Weapon has break toughness component and matching colors, can reduce toughness and deal more damage
-                    // 武器有破韧属性和匹配的颜色，可以减少韧性并造成更多伤害
-                    // Reduce toughness based on the base damage amount (not modified damage)
-                    // 根据基础伤害量减少韧性（不是修改后的伤害）
-                    final float oldToughness = ToughnessSystem.getToughness(entity);
-                    ToughnessSystem.reduceToughness(entity, baseDamage);
+                    // 武器必须同时有破韧属性和匹配的颜色才能破韧
+                    // Weapon must have both break toughness attribute and matching colors to break toughness
+                    if (!canBreakToughness || !canBreakColors) {
+                        // Weapon doesn't have break toughness component, apply full damage reduction
+                        // 武器没有破韧属性，应用全额伤害减免
+                        // Don't reduce toughness if weapon can't break it
+                        // 如果武器无法破韧，则不减少韧性
+                        // Control damage to 0.02-0.05 range (fixed range, not percentage)
+                        // 无论原始伤害多高（包括来自其他模组的极高伤害），都限制在0.02-0.05范围内
+                        // No matter how high the original damage is (including extremely high damage from other mods),
+                        // limit it to 0.02-0.05 range
+                        final float randomFactor = 0.02f + (float) Math.random() * 0.03f; // 0.02 to 0.05
+                        final float reducedDamage = randomFactor;
 
-                    // Check if toughness was broken by this attack
-                    // 检查韧性是否被此次攻击破坏
-                    if (ToughnessSystem.isToughnessBroken(entity) && 0 < oldToughness) {
-                        // Toughness broken, allow normal damage processing (don't cancel)
-                        // 韧性已破，允许正常伤害处理（不取消）
-                        return;
-                    } else {
-                        // Still has toughness, but weapon can break it, so deal more damage (50% of base)
-                        // 仍有韧性，但武器可以破韧，所以造成更多伤害（基础伤害的50%）
-                        final float reducedDamage = baseDamage * 0.5f;
+                        // Apply the reduced damage directly to health (avoid recursion)
+                        // 直接将减免后的伤害应用到生命值（避免递归）
+                        if (null != hitEvent) {
+                            hitEvent.outcome = "ABSORBED";
+                        }
                         if (0 < reducedDamage) {
                             final float newHealth = Math.max(0.0f, entity.getHealth() - reducedDamage);
                             entity.setHealth(newHealth);
+                            if (null != hitEvent) {
+                                hitEvent.healthDamage = reducedDamage;
+                            }
                             cir.setReturnValue(true);
                             return;
                         } else {
+                            // Damage is completely absorbed by toughness
+                            // 伤害被韧性完全吸收
                             cir.setReturnValue(false);
                             return;
                         }
+                    } else {
+                        // Weapon has break toughness component and matching colors, can reduce toughness and deal more damage
+                        // 武器有破韧属性和匹配的颜色，可以减少韧性并造成更多伤害
+                        // Reduce toughness based on the base damage amount (not modified damage)
+                        // 根据基础伤害量减少韧性（不是修改后的伤害）
+                        final float oldToughness = ToughnessSystem.getToughness(entity);
+                        ToughnessSystem.reduceToughness(entity, baseDamage);
+
+                        // Check if toughness was broken by this attack
+                        // 检查韧性是否被此次攻击破坏
+                        if (ToughnessSystem.isToughnessBroken(entity) && 0 < oldToughness) {
+                            // Toughness broken, allow normal damage processing (don't cancel)
+                            // 韧性已破，允许正常伤害处理（不取消）
+                            if (null != hitEvent) {
+                                hitEvent.outcome = "BROKEN";
+                            }
+                            return;
+                        } else {
+                            // Still has toughness, but weapon can break it, so deal more damage (50% of base)
+                            // 仍有韧性，但武器可以破韧，所以造成更多伤害（基础伤害的50%）
+                            final float reducedDamage = baseDamage * 0.5f;
+                            if (null != hitEvent) {
+                                hitEvent.outcome = "REDUCED";
+                            }
+                            if (0 < reducedDamage) {
+                                final float newHealth = Math.max(0.0f, entity.getHealth() - reducedDamage);
+                                entity.setHealth(newHealth);
+                                if (null != hitEvent) {
+                                    hitEvent.healthDamage = reducedDamage;
+                                }
+                                cir.setReturnValue(true);
+                                return;
+                            } else {
+                                cir.setReturnValue(false);
+                                return;
+                            }
+                        }
                     }
                 }
             }
+        } finally {
+            HotPathMetrics.ON_HURT.stop(start);
+            // 只提交进入韧性检查的受击
+            // Only hits that reached the toughness check are committed
+            if (null != hitEvent && null != hitEvent.verdict && hitEvent.shouldCommit()) {
+                hitEvent.entityType = EntityType.getKey(entity.getType()).toString();
+                hitEvent.damageType = source.getMsgId();
+                hitEvent.damage = amount;
+                if (!cir.isCancelled()) {
+                    hitEvent.healthDamage = -1.0f;
+                }
+                hitEvent.commit();
+            }
         }
     }
 
@@ -0,0 +1,101 @@
+package com.github.chromabreak.system;
+
+/**
+ * BypassRule - 韧性绕过规则
+ * Toughness Bypass Rule
+ * <p>
+ * ModCompatibilityManager对伤害源分类后给出的判定结果，记录具体是哪条规则让伤害绕过了韧性
+ * The verdict ModCompatibilityManager gives after classifying a damage source,
+ * recording exactly which rule made the damage bypass toughness
+ * <p>
+ * 规则按检查顺序排列，第一条命中的规则即为判定结果
+ * Rules are listed in evaluation order, the first rule that matches is the verdict
+ */
+public enum BypassRule {
+    /**
+     * 没有规则命中，伤害正常经过韧性系统
+     * No rule matched, damage goes through the toughness system
+     */
+    NONE("none"),
+
+    /**
+     * 虚空伤害（伤害类型ID或消息ID包含out_of_world/void）
+     * Void damage (damage type id or message id contains out_of_world/void)
+     */
+    VOID_DAMAGE("void_damage"),
+
+    /**
+     * 配置指定的伤害类型（消息ID或伤害类型ID）
+     * Configured damage type (message id or damage type id)
+     */
+    BYPASS_DAMAGE_TYPE("bypass_damage_type"),
+
+    /**
+     * 实体类型名称包含子弹/投射物等关键词
+     * Entity type name contains a bullet/projectile keyword
+     */
+    DIRECT_DAMAGE_ENTITY_TYPE("direct_damage_entity_type"),
+
+    /**
+     * 实体类名包含子弹/投射物等关键词或已知枪械模组标识
+     * Entity class name contains a bullet/projectile keyword or a known gun mod marker
+     */
+    DIRECT_DAMAGE_ENTITY_CLASS("direct_damage_entity_class"),
+
+    /**
+     * 伤害消息ID包含子弹/投射物等关键词
+     * Damage message id contains a bullet/projectile keyword
+     */
+    DIRECT_DAMAGE_MESSAGE("direct_damage_message"),
+
+    /**
+     * 来源实体属于配置的绕过模组
+     * Source entity belongs to a configured bypass mod
+     */
+    BYPASS_MOD_ID("bypass_mod_id"),
+
+    /**
+     * 来源实体属于已知的直接伤害模组
+     * Source entity belongs to a known direct damage mod
+     */
+    DIRECT_DAMAGE_MOD_ID("direct_damage_mod_id"),
+
+    /**
+     * 攻击者主手武器属于已知的直接伤害模组
+     * Attacker's main hand weapon belongs to a known direct damage mod
+     */
+    DIRECT_DAMAGE_WEAPON_MOD("direct_damage_weapon_mod"),
+
+    /**
+     * 攻击者主手武器匹配直接伤害物品ID模式
+     * Attacker's main hand weapon matches a direct damage item id pattern
+     */
+    DIRECT_DAMAGE_ITEM_PATTERN("direct_damage_item_pattern");
+
+    private final String name;
+
+    BypassRule(final String name) {
+        this.name = name;
+    }
+
+    /**
+     * 获取规则名称（小写）
+     * Get rule name (lowercase)
+     *
+     * @return 规则名称
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * 该判定是否让伤害绕过韧性
+     * Whether this verdict makes the damage bypass toughness
+     *
+     * @return 除NONE外都返回true
+     * True for everything except NONE
+     */
+    public boolean bypassesToughness() {
+        return BypassRule.NONE != this;
+    }
+}
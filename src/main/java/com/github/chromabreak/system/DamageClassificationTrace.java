@@ -0,0 +1,229 @@
+package com.github.chromabreak.system;
+
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.damagesource.DamageSource;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.LivingEntity;
+
+import java.util.UUID;
+
+/**
+ * DamageClassificationTrace - 伤害分类追踪
+ * Damage Classification Trace
+ * <p>
+ * 为指定目标实体记录接下来N次受击时ModCompatibilityManager命中了哪条绕过规则以及分类耗时
+ * Records, for the next N hits on a target entity, which ModCompatibilityManager bypass rule fired
+ * and how long the classification took
+ * <p>
+ * 主要功能包括：
+ * Main functionalities include:
+ * - 逐次报告：每次受击向发起追踪的玩家发送规则、伤害类型、来源实体和耗时
+ * Per-hit report: Every hit sends the rule, damage type, source entity and duration to the tracing player
+ * - 耗时直方图：按2的幂分桶统计nanoTime耗时，追踪结束时输出汇总
+ * Duration histogram: nanoTime durations bucketed by powers of two, summarized when the trace ends
+ * <p>
+ * 没有追踪时，classify只多一次volatile读取
+ * Without an active trace, classify costs a single extra volatile read
+ * <p>
+ * 使用枚举模式确保单例，所有方法都是静态方法
+ * Uses enum pattern to ensure singleton, all methods are static methods
+ */
+public enum DamageClassificationTrace {
+    ;
+
+    /**
+     * 直方图桶数量（第i个桶统计[2^i, 2^(i+1))纳秒）
+     * Number of histogram buckets (bucket i counts [2^i, 2^(i+1)) nanoseconds)
+     */
+    private static final int BUCKET_COUNT = 32;
+
+    /**
+     * 当前追踪会话，为null表示没有追踪
+     * Current trace session, null means no trace is active
+     */
+    private static volatile Session session;
+
+    /**
+     * 对伤害源分类，如果目标正在被追踪则记录结果和耗时
+     * Classify a damage source, recording the verdict and duration when the target is being traced
+     *
+     * @param target 受击实体
+     * @param source 伤害源
+     * @return 命中的绕过规则
+     */
+    public static BypassRule classify(final LivingEntity target, final DamageSource source) {
+        final Session current = DamageClassificationTrace.session;
+        if (null == current || current.targetId != target.getId()
+                || target.level().isClientSide() || !current.targetUuid.equals(target.getUUID())) {
+            return ModCompatibilityManager.classifyDamage(source);
+        }
+
+        final long start = System.nanoTime();
+        final BypassRule rule = ModCompatibilityManager.classifyDamage(source);
+        final long elapsed = System.nanoTime() - start;
+        DamageClassificationTrace.record(current, target, source, rule, elapsed);
+        return rule;
+    }
+
+    /**
+     * 开始追踪目标实体，替换已有的追踪
+     * Start tracing a target entity, replacing any existing trace
+     *
+     * @param player 接收报告的玩家
+     * @param target 目标实体
+     * @param hits   要记录的受击次数
+     */
+    public static void start(final ServerPlayer player, final LivingEntity target, final int hits) {
+        DamageClassificationTrace.session = new Session(player.getUUID(), target.getId(), target.getUUID(),
+                EntityType.getKey(target.getType()).toString(), hits);
+    }
+
+    /**
+     * 停止当前追踪并输出汇总
+     * Stop the current trace and print the summary
+     *
+     * @param server 服务器实例
+     * @return 是否有正在进行的追踪
+     */
+    public static boolean stop(final MinecraftServer server) {
+        final Session current = DamageClassificationTrace.session;
+        if (null == current) {
+            return false;
+        }
+        DamageClassificationTrace.finish(server, current);
+        return true;
+    }
+
+    /**
+     * 记录一次分类结果
+     * Record one classification result
+     */
+    private static synchronized void record(final Session current, final LivingEntity target, final DamageSource source,
+                                            final BypassRule rule, final long elapsedNanos) {
+        if (current != DamageClassificationTrace.session || current.recorded >= current.hits) {
+            return;
+        }
+
+        current.recorded++;
+        current.ruleCounts[rule.ordinal()]++;
+        current.buckets[DamageClassificationTrace.bucketOf(elapsedNanos)]++;
+        current.totalNanos += elapsedNanos;
+        current.maxNanos = Math.max(current.maxNanos, elapsedNanos);
+
+        final MinecraftServer server = target.level().getServer();
+        if (null == server) {
+            return;
+        }
+
+        final Entity directEntity = source.getDirectEntity();
+        final Entity sourceEntity = source.getEntity();
+        DamageClassificationTrace.send(server, current, Component.literal(String.format(
+                "[trace %d/%d] rule=%s type=%s direct=%s source=%s took=%d ns",
+                current.recorded, current.hits, rule.getName(),
+                source.typeHolder().unwrapKey().map(key -> key.location().toString()).orElse(source.getMsgId()),
+                DamageClassificationTrace.describe(directEntity),
+                DamageClassificationTrace.describe(sourceEntity),
+                elapsedNanos)).withStyle(rule.bypassesToughness() ? ChatFormatting.GOLD : ChatFormatting.GRAY));
+
+        if (current.recorded >= current.hits) {
+            DamageClassificationTrace.finish(server, current);
+        }
+    }
+
+    /**
+     * 结束追踪并向玩家发送规则统计和耗时直方图
+     * End the trace and send rule counts and the duration histogram to the player
+     */
+    private static synchronized void finish(final MinecraftServer server, final Session current) {
+        if (current != DamageClassificationTrace.session) {
+            return;
+        }
+        DamageClassificationTrace.session = null;
+
+        final StringBuilder summary = new StringBuilder()
+                .append("Damage trace for ").append(current.targetType)
+                .append(" finished: ").append(current.recorded).append(" hits");
+        if (0 < current.recorded) {
+            summary.append(", avg ").append(current.totalNanos / current.recorded)
+                    .append(" ns, max ").append(current.maxNanos).append(" ns");
+        }
+        summary.append("\nRules:");
+        final BypassRule[] rules = BypassRule.values();
+        for (int i = 0; i < rules.length; i++) {
+            if (0 < current.ruleCounts[i]) {
+                summary.append("\n  ").append(rules[i].getName()).append(": ").append(current.ruleCounts[i]);
+            }
+        }
+        summary.append("\nHistogram (ns):");
+        for (int i = 0; i < DamageClassificationTrace.BUCKET_COUNT; i++) {
+            if (0 < current.buckets[i]) {
+                summary.append("\n  [").append(1L << i).append(", ").append(1L << (i + 1)).append("): ")
+                        .append(current.buckets[i]);
+            }
+        }
+
+        DamageClassificationTrace.send(server, current, Component.literal(summary.toString()).withStyle(ChatFormatting.AQUA));
+    }
+
+    /**
+     * 向发起追踪的玩家发送消息（玩家离线时忽略）
+     * Send a message to the tracing player (ignored when the player is offline)
+     */
+    private static void send(final MinecraftServer server, final Session current, final Component message) {
+        final ServerPlayer player = server.getPlayerList().getPlayer(current.playerUuid);
+        if (null != player) {
+            player.sendSystemMessage(message);
+        }
+    }
+
+    /**
+     * 获取耗时所在的直方图桶
+     * Get the histogram bucket of a duration
+     */
+    private static int bucketOf(final long nanos) {
+        if (1 >= nanos) {
+            return 0;
+        }
+        return Math.min(DamageClassificationTrace.BUCKET_COUNT - 1, 63 - Long.numberOfLeadingZeros(nanos));
+    }
+
+    /**
+     * 描述实体（实体类型ID和简单类名）
+     * Describe an entity (entity type id and simple class name)
+     */
+    private static String describe(final Entity entity) {
+        if (null == entity) {
+            return "-";
+        }
+        return EntityType.getKey(entity.getType()) + "(" + entity.getClass().getSimpleName() + ")";
+    }
+
+    /**
+     * 追踪会话
+     * Trace session
+     */
+    private static final class Session {
+        private final UUID playerUuid;
+        private final int targetId;
+        private final UUID targetUuid;
+        private final String targetType;
+        private final int hits;
+        private final int[] ruleCounts = new int[BypassRule.values().length];
+        private final long[] buckets = new long[DamageClassificationTrace.BUCKET_COUNT];
+        private int recorded;
+        private long totalNanos;
+        private long maxNanos;
+
+        private Session(final UUID playerUuid, final int targetId, final UUID targetUuid, final String targetType, final int hits) {
+            this.playerUuid = playerUuid;
+            this.targetId = targetId;
+            this.targetUuid = targetUuid;
+            this.targetType = targetType;
+            this.hits = hits;
+        }
+    }
+}
@@ -6,6 +6,8 @@ import net.minecraft.world.entity.player.Player;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * EntityHealthManager - 实体健康管理器
@@ -48,6 +50,18 @@ public enum EntityHealthManager {
     // Map for storing custom toughness color distributions
     private static final Map<String, ToughnessColorDistribution> CUSTOM_COLOR_DISTRIBUTION_MAP = new HashMap<>();
 
+    // 数据包提供的实体配置档案（按包顺序合并后的结果，重载时整体替换）
+    // Entity profiles provided by data packs (merged by pack order, replaced as a whole on reload)
+    // 配置文件和KubeJS的设置优先于数据包档案
+    // Settings from the config file and KubeJS take precedence over data pack profiles
+    private static volatile Map<String, EntityProfile> dataPackProfiles = Map.of();
+
+    // 配置档案代数，任何自定义设置变化时递增
+    // Profile generation, incremented whenever any custom setting changes
+    // 以随机值开始，使上次运行时写入实体NBT的代数在重启后不会被误认为是最新的
+    // Starts from a random value so generations written to entity NBT by a previous run are never mistaken for current after a restart
+    private static final AtomicLong PROFILE_GENERATION = new AtomicLong(ThreadLocalRandom.current().nextLong());
+
     /**
      * 设置生物的自定义最大生命值
      * Set custom maximum health for entity type
@@ -61,6 +75,7 @@ public enum EntityHealthManager {
         } else {
             EntityHealthManager.CUSTOM_MAX_HEALTH_MAP.put(entityType, maxHealth);
         }
+        EntityHealthManager.PROFILE_GENERATION.incrementAndGet();
     }
 
     /**
@@ -71,7 +86,12 @@ public enum EntityHealthManager {
      * @return 自定义最大生命值，如果没有设置则返回-1
      */
     public static float getCustomMaxHealth(final String entityType) {
-        return EntityHealthManager.CUSTOM_MAX_HEALTH_MAP.getOrDefault(entityType, -1.0f);
+        final Float maxHealth = EntityHealthManager.CUSTOM_MAX_HEALTH_MAP.get(entityType);
+        if (null != maxHealth) {
+            return maxHealth;
+        }
+        final EntityProfile profile = EntityHealthManager.dataPackProfiles.get(entityType);
+        return null != profile && profile.hasMaxHealth() ? profile.maxHealth() : -1.0f;
     }
 
     /**
@@ -82,6 +102,7 @@ public enum EntityHealthManager {
      */
     public static void removeCustomMaxHealth(final String entityType) {
         EntityHealthManager.CUSTOM_MAX_HEALTH_MAP.remove(entityType);
+        EntityHealthManager.PROFILE_GENERATION.incrementAndGet();
     }
 
     /**
@@ -97,6 +118,7 @@ public enum EntityHealthManager {
         } else {
             EntityHealthManager.CUSTOM_TOUGHNESS_MAP.put(entityType, toughness);
         }
+        EntityHealthManager.PROFILE_GENERATION.incrementAndGet();
     }
 
     /**
@@ -107,7 +129,12 @@ public enum EntityHealthManager {
      * @return 自定义韧性值，如果没有设置则返回-1
      */
     public static float getCustomToughness(final String entityType) {
-        return EntityHealthManager.CUSTOM_TOUGHNESS_MAP.getOrDefault(entityType, -1.0f);
+        final Float toughness = EntityHealthManager.CUSTOM_TOUGHNESS_MAP.get(entityType);
+        if (null != toughness) {
+            return toughness;
+        }
+        final EntityProfile profile = EntityHealthManager.dataPackProfiles.get(entityType);
+        return null != profile && profile.hasMaxToughness() ? profile.maxToughness() : -1.0f;
     }
 
     /**
@@ -118,6 +145,7 @@ public enum EntityHealthManager {
      */
     public static void removeCustomToughness(final String entityType) {
         EntityHealthManager.CUSTOM_TOUGHNESS_MAP.remove(entityType);
+        EntityHealthManager.PROFILE_GENERATION.incrementAndGet();
     }
 
     /**
@@ -133,7 +161,7 @@ public enum EntityHealthManager {
         }
 
         final String entityType = EntityHealthManager.getEntityTypeString(entity);
-        return EntityHealthManager.CUSTOM_MAX_HEALTH_MAP.containsKey(entityType);
+        return 0 < EntityHealthManager.getCustomMaxHealth(entityType);
     }
 
     /**
@@ -149,7 +177,7 @@ public enum EntityHealthManager {
         }
 
         final String entityType = EntityHealthManager.getEntityTypeString(entity);
-        return EntityHealthManager.CUSTOM_TOUGHNESS_MAP.containsKey(entityType);
+        return 0 <= EntityHealthManager.getCustomToughness(entityType);
     }
 
     /**
@@ -165,7 +193,7 @@ public enum EntityHealthManager {
         }
 
         final String entityType = EntityHealthManager.getEntityTypeString(entity);
-        final float customMaxHealth = EntityHealthManager.CUSTOM_MAX_HEALTH_MAP.getOrDefault(entityType, -1.0f);
+        final float customMaxHealth = EntityHealthManager.getCustomMaxHealth(entityType);
 
         if (0 < customMaxHealth) {
             return customMaxHealth;
@@ -187,7 +215,7 @@ public enum EntityHealthManager {
         }
 
         final String entityType = EntityHealthManager.getEntityTypeString(entity);
-        final float customToughness = EntityHealthManager.CUSTOM_TOUGHNESS_MAP.getOrDefault(entityType, -1.0f);
+        final float customToughness = EntityHealthManager.getCustomToughness(entityType);
 
         if (0 <= customToughness) {
             return customToughness;
@@ -216,12 +244,8 @@ public enum EntityHealthManager {
             entity.getPersistentData().putFloat("chromabreak_custom_max_health", customMaxHealth);
         }
 
-        // 应用自定义韧性值
-        if (EntityHealthManager.hasCustomToughness(entity)) {
-            final float customToughness = EntityHealthManager.getEntityToughness(entity);
-            // 初始化韧性系统时使用自定义值
-            ToughnessSystem.initializeToughness(entity);
-        }
+        // 自定义韧性值由ToughnessSystem.ensureInitialized在首次使用时应用
+        // Custom toughness is applied by ToughnessSystem.ensureInitialized on first use
     }
 
     /**
@@ -269,6 +293,7 @@ public enum EntityHealthManager {
         } else {
             EntityHealthManager.CUSTOM_COLOR_DISTRIBUTION_MAP.put(entityType, distribution);
         }
+        EntityHealthManager.PROFILE_GENERATION.incrementAndGet();
     }
 
     /**
@@ -279,7 +304,12 @@ public enum EntityHealthManager {
      * @return 颜色分布，如果没有设置则返回null
      */
     public static ToughnessColorDistribution getCustomColorDistribution(final String entityType) {
-        return EntityHealthManager.CUSTOM_COLOR_DISTRIBUTION_MAP.get(entityType);
+        final ToughnessColorDistribution distribution = EntityHealthManager.CUSTOM_COLOR_DISTRIBUTION_MAP.get(entityType);
+        if (null != distribution) {
+            return distribution;
+        }
+        final EntityProfile profile = EntityHealthManager.dataPackProfiles.get(entityType);
+        return null != profile ? profile.colorDistribution() : null;
     }
 
     /**
@@ -295,7 +325,7 @@ public enum EntityHealthManager {
         }
 
         final String entityType = EntityHealthManager.getEntityTypeString(entity);
-        return EntityHealthManager.CUSTOM_COLOR_DISTRIBUTION_MAP.containsKey(entityType);
+        return null != EntityHealthManager.getCustomColorDistribution(entityType);
     }
 
     /**
@@ -311,16 +341,59 @@ public enum EntityHealthManager {
         }
 
         final String entityType = EntityHealthManager.getEntityTypeString(entity);
-        return EntityHealthManager.CUSTOM_COLOR_DISTRIBUTION_MAP.get(entityType);
+        return EntityHealthManager.getCustomColorDistribution(entityType);
+    }
+
+    /**
+     * 替换数据包提供的实体配置档案
+     * Replace the entity profiles provided by data packs
+     * <p>
+     * 由EntityProfileReloadListener在服务器线程调用，整体替换以保证读取方看到一致的快照
+     * Called by EntityProfileReloadListener on the server thread, replaced as a whole so readers see a consistent snapshot
+     *
+     * @param profiles 以实体类型为键的配置档案
+     *                 Profiles keyed by entity type
+     */
+    public static void setDataPackProfiles(final Map<String, EntityProfile> profiles) {
+        EntityHealthManager.dataPackProfiles = Map.copyOf(profiles);
+        EntityHealthManager.PROFILE_GENERATION.incrementAndGet();
+    }
+
+    /**
+     * 获取当前的配置档案代数
+     * Get the current profile generation
+     * <p>
+     * 实体NBT中记录的代数与此值不同时，需要重新应用自定义设置
+     * When the generation recorded in entity NBT differs from this value, custom settings need to be applied again
+     *
+     * @return 配置档案代数
+     * Profile generation
+     */
+    public static long getProfileGeneration() {
+        return EntityHealthManager.PROFILE_GENERATION.get();
+    }
+
+    /**
+     * 获取数据包提供的实体配置档案数量
+     * Get the number of entity profiles provided by data packs
+     *
+     * @return 配置档案数量
+     */
+    public static int getDataPackProfileCount() {
+        return EntityHealthManager.dataPackProfiles.size();
     }
 
     /**
      * 清除所有自定义设置
      * Clear all custom settings
+     * <p>
+     * 只清除配置文件和KubeJS的设置，数据包档案由重载监听器管理
+     * Only clears settings from the config file and KubeJS, data pack profiles are managed by the reload listener
      */
     public static void clearAllCustomSettings() {
         EntityHealthManager.CUSTOM_MAX_HEALTH_MAP.clear();
         EntityHealthManager.CUSTOM_TOUGHNESS_MAP.clear();
         EntityHealthManager.CUSTOM_COLOR_DISTRIBUTION_MAP.clear();
+        EntityHealthManager.PROFILE_GENERATION.incrementAndGet();
     }
 }
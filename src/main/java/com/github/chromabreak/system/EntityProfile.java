@@ -0,0 +1,80 @@
+package com.github.chromabreak.system;
+
+/**
+ * EntityProfile - 实体配置档案
+ * Entity Profile
+ * <p>
+ * 单个实体类型的已解析配置（最大生命值、最大韧性值、韧性颜色分布），由配置解析器一次性生成
+ * Parsed settings for a single entity type (max health, max toughness, toughness color distribution),
+ * produced in one pass by the configuration parser
+ * <p>
+ * 未设置的数值字段使用{@link #UNSET}表示，未设置的颜色分布为null
+ * Unset numeric fields use {@link #UNSET}, an unset color distribution is null
+ *
+ * @param entityType        实体类型（如"minecraft:zombie"）
+ *                          Entity type (e.g. "minecraft:zombie")
+ * @param maxHealth         最大生命值，未设置时为{@link #UNSET}
+ *                          Max health, {@link #UNSET} when not configured
+ * @param maxToughness      最大韧性值，未设置时为{@link #UNSET}
+ *                          Max toughness, {@link #UNSET} when not configured
+ * @param colorDistribution 韧性颜色分布，未设置时为null
+ *                          Toughness color distribution, null when not configured
+ */
+public record EntityProfile(String entityType, float maxHealth, float maxToughness,
+                            ToughnessColorDistribution colorDistribution) {
+
+    /**
+     * 未设置数值的标记值，与EntityHealthManager的"未设置"返回值保持一致
+     * Marker for unset numeric values, consistent with EntityHealthManager's "not set" return value
+     */
+    public static final float UNSET = -1.0f;
+
+    /**
+     * 是否配置了有效的最大生命值
+     * Whether a valid max health is configured
+     *
+     * @return 最大生命值大于0时返回true
+     * True when max health is greater than 0
+     */
+    public boolean hasMaxHealth() {
+        return 0 < this.maxHealth;
+    }
+
+    /**
+     * 是否配置了有效的最大韧性值（0表示显式关闭韧性条）
+     * Whether a valid max toughness is configured (0 explicitly disables the toughness bar)
+     *
+     * @return 最大韧性值大于等于0时返回true
+     * True when max toughness is greater than or equal to 0
+     */
+    public boolean hasMaxToughness() {
+        return 0 <= this.maxToughness;
+    }
+
+    /**
+     * 是否配置了韧性颜色分布
+     * Whether a toughness color distribution is configured
+     *
+     * @return 颜色分布不为null时返回true
+     * True when the color distribution is not null
+     */
+    public boolean hasColorDistribution() {
+        return null != this.colorDistribution;
+    }
+
+    /**
+     * 用另一个档案中已设置的字段覆盖当前档案（用于按数据包顺序合并）
+     * Override this profile with the fields set in another profile (used for merging by data pack order)
+     *
+     * @param override 优先级更高的档案
+     *                 Profile with higher priority
+     * @return 合并后的新档案
+     * New merged profile
+     */
+    public EntityProfile withOverrides(final EntityProfile override) {
+        return new EntityProfile(this.entityType,
+                override.hasMaxHealth() ? override.maxHealth() : this.maxHealth,
+                override.hasMaxToughness() ? override.maxToughness() : this.maxToughness,
+                override.hasColorDistribution() ? override.colorDistribution() : this.colorDistribution);
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.chromabreak.system;
+
+import com.github.chromabreak.util.ModDataComponents;
+import net.minecraft.util.Unit;
+import net.minecraft.world.entity.EquipmentSlot;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * GrantedEquipment - 模组授予的装备
+ * Mod-Granted Equipment
+ * <p>
+ * 记录ChromaBreak给生物装备的物品（例如骷髅和僵尸的帽子），这些物品在生物死亡时不会掉落
+ * Tracks equipment ChromaBreak gave to mobs (such as skeleton and zombie hats), which is never dropped when the mob dies
+ * <p>
+ * 主要功能包括：
+ * Main functionalities include:
+ * - 物品标记：授予的物品带有granted_equipment数据组件
+ * Item marking: Granted stacks carry the granted_equipment data component
+ * - 掉落概率：Mob的对应槽位掉落概率设为0，原版掉落逻辑直接跳过该物品，不需要扫描掉落列表
+ * Drop chance: The Mob's drop chance for the slot is set to 0, so vanilla drop logic skips the stack without any drop list scan
+ * - 槽位掩码：实体NBT记录授予过装备的槽位，没有授予装备的实体在掉落事件中只需一次整数读取
+ * Slot mask: The entity NBT records the slots that received equipment, entities without granted equipment cost a single int read in the drops event
+ * <p>
+ * 生物自己捡起的同槽位装备没有标记，会按原版规则正常掉落
+ * Equipment a mob picks up into the same slot is not marked and drops normally under vanilla rules
+ * <p>
+ * 使用枚举模式确保单例，所有方法都是静态方法
+ * Uses enum pattern to ensure singleton, all methods are static methods
+ */
+public enum GrantedEquipment {
+    ;
+
+    /**
+     * 授予装备槽位掩码NBT标签键（第i位对应EquipmentSlot.ordinal() == i）
+     * Granted slot mask NBT tag key (bit i corresponds to EquipmentSlot.ordinal() == i)
+     */
+    private static final String GRANTED_SLOTS_TAG = "chromabreak_granted_slots";
+
+    /**
+     * 给实体装备一件授予的物品
+     * Equip an entity with a granted stack
+     *
+     * @param entity 目标实体
+     *               Target entity
+     * @param slot   装备槽位
+     *               Equipment slot
+     * @param stack  要装备的物品，会被添加granted_equipment标记
+     *               Stack to equip, the granted_equipment marker is added to it
+     */
+    public static void grant(final LivingEntity entity, final EquipmentSlot slot, final ItemStack stack) {
+        stack.set(ModDataComponents.GRANTED_EQUIPMENT.get(), Unit.INSTANCE);
+        entity.setItemSlot(slot, stack);
+
+        // Mob的掉落概率为0时，原版掉落和换装逻辑都不会生成该物品
+        // With a zero drop chance, neither vanilla death drops nor equipment swaps spawn the stack
+        if (entity instanceof final Mob mob) {
+            mob.setDropChance(slot, 0.0f);
+        }
+
+        final int slots = entity.getPersistentData().getInt(GrantedEquipment.GRANTED_SLOTS_TAG);
+        entity.getPersistentData().putInt(GrantedEquipment.GRANTED_SLOTS_TAG, slots | (1 << slot.ordinal()));
+    }
+
+    /**
+     * 检查物品是否是授予的装备
+     * Check if a stack is granted equipment
+     *
+     * @param stack 物品堆栈
+     *              Item stack
+     * @return 是否带有granted_equipment或protected_hat标记
+     * Whether it carries the granted_equipment or protected_hat marker
+     */
+    public static boolean isGranted(final ItemStack stack) {
+        return !stack.isEmpty()
+                && (stack.has(ModDataComponents.GRANTED_EQUIPMENT.get()) || stack.has(ModDataComponents.PROTECTED_HAT.get()));
+    }
+
+    /**
+     * 获取实体授予过装备的槽位掩码
+     * Get the mask of slots that received granted equipment
+     *
+     * @param entity 目标实体
+     *               Target entity
+     * @return 槽位掩码，0表示没有授予装备
+     * Slot mask, 0 means no granted equipment
+     */
+    public static int getGrantedSlots(final LivingEntity entity) {
+        return entity.getPersistentData().getInt(GrantedEquipment.GRANTED_SLOTS_TAG);
+    }
+}
@@ -0,0 +1,410 @@
+package com.github.chromabreak.system;
+
+import com.github.chromabreak.ChromaBreak;
+import com.github.chromabreak.Config;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.fml.config.ModConfig;
+import net.neoforged.fml.event.config.ModConfigEvent;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HotPathMetrics - 热路径指标
+ * Hot Path Metrics
+ * <p>
+ * 记录ChromaBreak各子系统每次调用的次数、耗时分布和分配量估计，供/chromabreak stats和定期日志使用
+ * Records call counts, latency distributions and allocation estimates of ChromaBreak subsystems for /chromabreak stats and the periodic log line
+ * <p>
+ * 主要功能包括：
+ * Main functionalities include:
+ * - 低开销计数：调用次数使用分段的LongAdder，多线程写入不争用同一缓存行
+ * Low-overhead counting: Call counts use striped LongAdders, so concurrent writers do not contend on one cache line
+ * - HDR风格直方图：按2的幂分组，每组再分8个线性子桶，相对误差不超过12.5%
+ * HDR-style histograms: Buckets per power of two, each split into 8 linear sub-buckets, relative error at most 12.5%
+ * - 采样：Config.METRICS_ENABLED关闭时只对1/Config.METRICS_SAMPLE_INTERVAL的调用计时
+ * Sampling: When Config.METRICS_ENABLED is off only 1 in Config.METRICS_SAMPLE_INTERVAL calls is timed
+ * - 分配估计：被计时的调用读取当前线程的已分配字节数（JVM支持时）
+ * Allocation estimates: Timed calls read the current thread's allocated bytes (when the JVM supports it)
+ * <p>
+ * 用法：
+ * Usage:
+ * final long start = HotPathMetrics.ON_HURT.start();
+ * try { ... } finally { HotPathMetrics.ON_HURT.stop(start); }
+ * <p>
+ * 使用枚举模式确保单例，所有方法都是静态方法
+ * Uses enum pattern to ensure singleton, all methods are static methods
+ */
+@EventBusSubscriber(modid = ChromaBreak.MODID, bus = EventBusSubscriber.Bus.MOD)
+public enum HotPathMetrics {
+    ;
+
+    /**
+     * 未被采样的调用的起始值
+     * Start value of calls that are not sampled
+     */
+    public static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    /**
+     * LivingEntityMixin.onHurt
+     */
+    public static final Probe ON_HURT = new Probe("onHurt");
+
+    /**
+     * ModCompatibilityManager.classifyDamage
+     */
+    public static final Probe DAMAGE_CLASSIFICATION = new Probe("classifyDamage");
+
+    /**
+     * ToughnessSystem读取
+     * ToughnessSystem reads
+     */
+    public static final Probe TOUGHNESS_READ = new Probe("toughnessRead");
+
+    /**
+     * ToughnessSystem写入
+     * ToughnessSystem writes
+     */
+    public static final Probe TOUGHNESS_WRITE = new Probe("toughnessWrite");
+
+    /**
+     * 实体加入世界的初始化（EntityJoinQueue）
+     * Entity join setup (EntityJoinQueue)
+     */
+    public static final Probe ENTITY_JOIN = new Probe("entityJoin");
+
+    /**
+     * 水晶生长事件
+     * Crystal growth events
+     */
+    public static final Probe CRYSTAL_GROWTH = new Probe("crystalGrowth");
+
+    private static final List<Probe> PROBES = List.of(HotPathMetrics.ON_HURT, HotPathMetrics.DAMAGE_CLASSIFICATION,
+            HotPathMetrics.TOUGHNESS_READ, HotPathMetrics.TOUGHNESS_WRITE, HotPathMetrics.ENTITY_JOIN,
+            HotPathMetrics.CRYSTAL_GROWTH);
+
+    /**
+     * 每个2的幂分组中的线性子桶数（2^3 = 8）
+     * Linear sub-buckets per power of two group (2^3 = 8)
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << HotPathMetrics.SUB_BUCKET_BITS;
+
+    /**
+     * 直方图记录的最大2的幂（约18分钟），更长的耗时计入最后一个桶
+     * Largest power of two recorded by the histograms (about 18 minutes), longer latencies go into the last bucket
+     */
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKET_COUNT =
+            (HotPathMetrics.MAX_EXPONENT - HotPathMetrics.SUB_BUCKET_BITS + 2) * HotPathMetrics.SUB_BUCKETS;
+
+    /**
+     * 支持线程分配计数时的ThreadMXBean，不支持时为null
+     * ThreadMXBean when thread allocation counting is supported, null otherwise
+     */
+    private static final com.sun.management.ThreadMXBean ALLOCATION_BEAN = HotPathMetrics.allocationBean();
+
+    /**
+     * 是否对每次调用计时
+     * Whether every call is timed
+     */
+    private static volatile boolean timeEveryCall;
+
+    /**
+     * 关闭完整计时时的采样间隔
+     * Sample interval when full timing is off
+     */
+    private static volatile int sampleInterval = 64;
+
+    /**
+     * 上次重置的时间（纳秒）
+     * Time of the last reset (nanoseconds)
+     */
+    private static volatile long resetNanos = System.nanoTime();
+
+    /**
+     * 获取所有探针
+     * Get all probes
+     *
+     * @return 按固定顺序排列的探针
+     * Probes in a fixed order
+     */
+    public static List<Probe> probes() {
+        return HotPathMetrics.PROBES;
+    }
+
+    /**
+     * 重置所有探针
+     * Reset all probes
+     */
+    public static void reset() {
+        for (final Probe probe : HotPathMetrics.PROBES) {
+            probe.reset();
+        }
+        HotPathMetrics.resetNanos = System.nanoTime();
+    }
+
+    /**
+     * 获取距离上次重置的秒数
+     * Get the seconds since the last reset
+     *
+     * @return 秒数
+     * Seconds
+     */
+    public static double secondsSinceReset() {
+        return (System.nanoTime() - HotPathMetrics.resetNanos) / 1.0e9;
+    }
+
+    /**
+     * 配置加载时读取采样设置
+     * Read the sampling settings when the config loads
+     *
+     * @param event 配置加载事件
+     *              Config loading event
+     */
+    @SubscribeEvent
+    public static void onConfigLoading(final ModConfigEvent.Loading event) {
+        HotPathMetrics.configure(event.getConfig());
+    }
+
+    /**
+     * 配置重载时读取采样设置
+     * Read the sampling settings when the config reloads
+     *
+     * @param event 配置重载事件
+     *              Config reloading event
+     */
+    @SubscribeEvent
+    public static void onConfigReloading(final ModConfigEvent.Reloading event) {
+        HotPathMetrics.configure(event.getConfig());
+    }
+
+    /**
+     * 如果是本模组的配置，读取采样设置
+     * Read the sampling settings if the config belongs to this mod
+     */
+    private static void configure(final ModConfig config) {
+        if (config.getSpec() == Config.SPEC) {
+            HotPathMetrics.timeEveryCall = Config.METRICS_ENABLED.getAsBoolean();
+            HotPathMetrics.sampleInterval = Config.METRICS_SAMPLE_INTERVAL.getAsInt();
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof final com.sun.management.ThreadMXBean bean
+                    && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                return bean;
+            }
+        } catch (final RuntimeException | LinkageError e) {
+            // 没有com.sun.management的JVM不提供分配估计
+            // JVMs without com.sun.management provide no allocation estimates
+        }
+        return null;
+    }
+
+    /**
+     * 获取耗时所在的直方图桶
+     * Get the histogram bucket of a latency
+     */
+    private static int bucketOf(final long nanos) {
+        if (nanos < HotPathMetrics.SUB_BUCKETS) {
+            return (int) Math.max(0L, nanos);
+        }
+        final int exponent = Math.min(HotPathMetrics.MAX_EXPONENT, 63 - Long.numberOfLeadingZeros(nanos));
+        final int subBucket = exponent == 63 - Long.numberOfLeadingZeros(nanos)
+                ? (int) (nanos >>> (exponent - HotPathMetrics.SUB_BUCKET_BITS)) & (HotPathMetrics.SUB_BUCKETS - 1)
+                : HotPathMetrics.SUB_BUCKETS - 1;
+        return (exponent - HotPathMetrics.SUB_BUCKET_BITS + 1) * HotPathMetrics.SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * 获取直方图桶的上界（纳秒）
+     * Get the upper bound of a histogram bucket (nanoseconds)
+     */
+    private static long upperBoundOf(final int bucket) {
+        if (bucket < HotPathMetrics.SUB_BUCKETS) {
+            return bucket;
+        }
+        final int exponent = bucket / HotPathMetrics.SUB_BUCKETS + HotPathMetrics.SUB_BUCKET_BITS - 1;
+        final int subBucket = bucket % HotPathMetrics.SUB_BUCKETS;
+        final int shift = exponent - HotPathMetrics.SUB_BUCKET_BITS;
+        return ((long) (HotPathMetrics.SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * 单个子系统的探针
+     * Probe of a single subsystem
+     */
+    public static final class Probe {
+        private final String name;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder sampledCalls = new LongAdder();
+        private final LongAdder sampledNanos = new LongAdder();
+        private final LongAdder allocationSamples = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final LongAdder[] buckets = new LongAdder[HotPathMetrics.BUCKET_COUNT];
+
+        /**
+         * 被计时调用开始时线程已分配的字节数（同一探针在同一线程上嵌套时只记录最内层）
+         * Bytes the thread had allocated when a timed call started (only the innermost call is recorded when the same probe nests on a thread)
+         */
+        private final ThreadLocal<long[]> allocationStart = ThreadLocal.withInitial(() -> new long[1]);
+
+        private Probe(final String name) {
+            this.name = name;
+            for (int i = 0; i < this.buckets.length; i++) {
+                this.buckets[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * 调用开始
+         * Call start
+         *
+         * @return 被采样时为System.nanoTime()，否则为NOT_SAMPLED
+         * System.nanoTime() when sampled, NOT_SAMPLED otherwise
+         */
+        public long start() {
+            if (!HotPathMetrics.timeEveryCall
+                    && 0 != ThreadLocalRandom.current().nextInt(HotPathMetrics.sampleInterval)) {
+                return HotPathMetrics.NOT_SAMPLED;
+            }
+            if (null != HotPathMetrics.ALLOCATION_BEAN) {
+                this.allocationStart.get()[0] = HotPathMetrics.ALLOCATION_BEAN.getCurrentThreadAllocatedBytes();
+            }
+            return System.nanoTime();
+        }
+
+        /**
+         * 调用结束
+         * Call end
+         *
+         * @param start start()的返回值
+         *              Value returned by start()
+         */
+        public void stop(final long start) {
+            this.calls.increment();
+            if (HotPathMetrics.NOT_SAMPLED == start) {
+                return;
+            }
+
+            final long nanos = System.nanoTime() - start;
+            this.sampledCalls.increment();
+            this.sampledNanos.add(nanos);
+            this.buckets[HotPathMetrics.bucketOf(nanos)].increment();
+
+            if (null != HotPathMetrics.ALLOCATION_BEAN) {
+                final long bytes = HotPathMetrics.ALLOCATION_BEAN.getCurrentThreadAllocatedBytes()
+                        - this.allocationStart.get()[0];
+                if (0 <= bytes) {
+                    this.allocationSamples.increment();
+                    this.allocatedBytes.add(bytes);
+                }
+            }
+        }
+
+        /**
+         * 获取探针名称
+         * Get the probe name
+         *
+         * @return 名称
+         * Name
+         */
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * 获取当前统计快照
+         * Get a snapshot of the current statistics
+         *
+         * @return 快照
+         * Snapshot
+         */
+        public Snapshot snapshot() {
+            final long[] counts = new long[this.buckets.length];
+            long total = 0L;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = this.buckets[i].sum();
+                total += counts[i];
+            }
+
+            final long sampled = this.sampledCalls.sum();
+            final long allocations = this.allocationSamples.sum();
+            return new Snapshot(this.name, this.calls.sum(), sampled,
+                    0 < sampled ? (double) this.sampledNanos.sum() / sampled : 0.0,
+                    Probe.quantile(counts, total, 0.50), Probe.quantile(counts, total, 0.99),
+                    0 < allocations ? (double) this.allocatedBytes.sum() / allocations : -1.0);
+        }
+
+        private void reset() {
+            this.calls.reset();
+            this.sampledCalls.reset();
+            this.sampledNanos.reset();
+            this.allocationSamples.reset();
+            this.allocatedBytes.reset();
+            for (final LongAdder bucket : this.buckets) {
+                bucket.reset();
+            }
+        }
+
+        private static long quantile(final long[] counts, final long total, final double quantile) {
+            if (0 == total) {
+                return 0L;
+            }
+            final long rank = (long) Math.ceil(quantile * total);
+            long seen = 0L;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return HotPathMetrics.upperBoundOf(i);
+                }
+            }
+            return HotPathMetrics.upperBoundOf(counts.length - 1);
+        }
+    }
+
+    /**
+     * 探针统计快照
+     * Probe statistics snapshot
+     *
+     * @param name         探针名称
+     *                     Probe name
+     * @param calls        调用次数
+     *                     Call count
+     * @param sampledCalls 被计时的调用次数
+     *                     Timed call count
+     * @param meanNanos    被计时调用的平均耗时
+     *                     Mean latency of timed calls
+     * @param p50Nanos     耗时中位数（桶上界）
+     *                     Median latency (bucket upper bound)
+     * @param p99Nanos     耗时99分位数（桶上界）
+     *                     99th percentile latency (bucket upper bound)
+     * @param bytesPerCall 每次调用的平均分配字节数，不支持时为-1
+     *                     Mean bytes allocated per call, -1 when unsupported
+     */
+    public record Snapshot(String name, long calls, long sampledCalls, double meanNanos, long p50Nanos, long p99Nanos,
+                           double bytesPerCall) {
+
+        /**
+         * 格式化为单行文本
+         * Format as a single line
+         *
+         * @param seconds 统计时长（秒），用于计算每秒调用次数
+         *                Period in seconds, used for calls per second
+         * @return 单行文本
+         * Single line of text
+         */
+        public String format(final double seconds) {
+            final String allocation = 0 > this.bytesPerCall ? "n/a" : String.format(Locale.ROOT, "%.0fB", this.bytesPerCall);
+            return String.format(Locale.ROOT, "%s %.1f/s p50 %dns p99 %dns mean %.0fns alloc %s (%d calls, %d timed)",
+                    this.name, 0 < seconds ? this.calls / seconds : 0.0, this.p50Nanos, this.p99Nanos, this.meanNanos,
+                    allocation, this.calls, this.sampledCalls);
+        }
+    }
+}
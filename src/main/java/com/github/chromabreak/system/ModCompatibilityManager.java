@@ -1,12 +1,23 @@
 package com.github.chromabreak.system;
 
+import com.github.chromabreak.jfr.BypassClassificationEvent;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.world.damagesource.DamageSource;
+import net.minecraft.world.damagesource.DamageType;
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * ModCompatibilityManager - 模组兼容性管理器
@@ -82,155 +93,318 @@ public enum ModCompatibilityManager {
      * 已知的直接造成血量伤害的物品ID模式（从配置文件加载）
      * Known item ID patterns that deal direct health damage (loaded from config file)
      * <p>
-     * 使用startsWith匹配物品ID前缀
-     * Uses startsWith to match item ID prefixes
+     * 使用startsWith匹配物品ID前缀，查询前会预先解析为directDamageItems
+     * Uses startsWith to match item ID prefixes, pre-resolved into directDamageItems before queries
      * 例如："techguns:" 匹配所有Techguns模组的物品
      * Example: "techguns:" matches all Techguns mod items
      */
     private static final Set<String> DIRECT_DAMAGE_ITEM_PATTERNS = new HashSet<>();
 
     /**
-     * 检查伤害源是否可以绕过韧性
-     * Check if damage source can bypass toughness
+     * 由DIRECT_DAMAGE_ITEM_PATTERNS预先解析得到的物品集合（按对象身份比较）
+     * Item set pre-resolved from DIRECT_DAMAGE_ITEM_PATTERNS (compared by identity)
+     * <p>
+     * 为null表示模式已变化，需要在下一次查询时重新解析
+     * Null means the patterns have changed and must be re-resolved on the next query
+     */
+    private static volatile Set<Item> directDamageItems;
+
+    /**
+     * 解析directDamageItems时物品注册表的大小，用于发现注册表变化
+     * Size of the item registry when directDamageItems was resolved, used to detect registry changes
+     */
+    private static volatile int resolvedItemRegistrySize = -1;
+
+    /**
+     * 实体类到模组ID的推断缓存（用于类名回退匹配，空字符串表示没有匹配）
+     * Cache of mod ids inferred from entity classes (used by the class name fallback, an empty string means no match)
+     * <p>
+     * DIRECT_DAMAGE_MOD_IDS变化时清空
+     * Cleared when DIRECT_DAMAGE_MOD_IDS changes
+     */
+    private static final Map<Class<?>, String> CLASS_MOD_ID_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 子弹、投射物等直接伤害关键词（按完整单词匹配）
+     * Bullet/projectile style direct damage keywords (matched as whole words)
+     * <p>
+     * 按单词而不是子串匹配，避免"shot"误匹配"Shotgun"、"Snapshot"等无关名称，
+     * 类名只检查简单类名，避免原版包名net.minecraft.world.entity.projectile让所有原版投射物都绕过韧性
+     * Matched as words rather than substrings so "shot" no longer matches unrelated names like "Shotgun" or "Snapshot",
+     * and only the simple class name is checked so the vanilla package net.minecraft.world.entity.projectile
+     * no longer makes every vanilla projectile bypass toughness
+     */
+    private static final Set<String> DIRECT_DAMAGE_KEYWORDS = Set.of("bullet", "projectile", "ammo", "shot");
+
+    /**
+     * 已知枪械模组在类名（含包名）中的标识
+     * Known gun mod markers in class names (including package)
+     */
+    private static final String[] GUN_MOD_CLASS_MARKERS = {"cgm", "combatguns", "techguns"};
+
+    /**
+     * 按伤害类型缓存的判定结果（伤害类型决定了消息ID和类型ID）
+     * Verdicts cached per damage type (the damage type determines both message id and type id)
+     * <p>
+     * 以注册键为键，不会持有某个服务器注册表中的Holder，重新加载后仍然有效；BYPASS_DAMAGE_TYPES变化时清空
+     * Keyed by registry key so no Holder of a server's registry is retained and entries stay valid across reloads;
+     * cleared when BYPASS_DAMAGE_TYPES changes
+     */
+    private static final Map<ResourceKey<DamageType>, DamageTypeVerdict> DAMAGE_TYPE_VERDICTS = new ConcurrentHashMap<>();
+
+    /**
+     * 按实体类型缓存的"名称包含直接伤害关键词"结果
+     * Cached "entity type name contains a direct damage keyword" results per entity type
+     */
+    private static final Map<EntityType<?>, Boolean> ENTITY_TYPE_KEYWORD_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 按实体类缓存的"类名包含直接伤害关键词或枪械模组标识"结果
+     * Cached "class name contains a direct damage keyword or gun mod marker" results per entity class
+     */
+    private static final Map<Class<?>, Boolean> CLASS_KEYWORD_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 对伤害源分类，返回第一条命中的绕过规则
+     * Classify a damage source and return the first bypass rule that matches
+     * <p>
+     * 合并了canBypassToughness和isDirectHealthDamage的全部规则，检查顺序与旧版一致；
+     * 伤害类型、实体类型和实体类的判定都有缓存，每次命中只需少量哈希查询
+     * Combines every rule of canBypassToughness and isDirectHealthDamage in the original order;
+     * damage type, entity type and entity class verdicts are cached so a hit costs only a few hash lookups
      *
      * @param source 伤害源
-     * @return 是否可以绕过韧性
+     * @return 命中的规则，没有命中时返回BypassRule.NONE
      */
-    public static boolean canBypassToughness(final DamageSource source) {
-        if (null == source) {
-            return false;
+    public static BypassRule classifyDamage(final DamageSource source) {
+        final long start = HotPathMetrics.DAMAGE_CLASSIFICATION.start();
+        // JFR事件只在录制开启chromabreak.BypassClassification时分配
+        // The JFR event is only allocated when a recording has chromabreak.BypassClassification enabled
+        final BypassClassificationEvent event = BypassClassificationEvent.isRecording() ? new BypassClassificationEvent() : null;
+        if (null != event) {
+            event.begin();
         }
-
-        // 检查是否为虚空伤害（虚空伤害始终可以绕过韧性）
-        // Check if it's void damage (void damage always bypasses toughness)
-        // 在 Minecraft 1.21.1 中，通过检查伤害类型来判断虚空伤害
-        // In Minecraft 1.21.1, check void damage by checking damage type
         try {
-            if (null != source.typeHolder().unwrapKey().orElse(null)) {
-                final String damageTypeId = source.typeHolder().unwrapKey().get().location().toString().toLowerCase();
-                if (damageTypeId.contains("out_of_world") || damageTypeId.contains("void")) {
-                    return true;
-                }
+            final BypassRule rule = ModCompatibilityManager.classify(source);
+            if (null != event && event.shouldCommit()) {
+                event.damageType = null != source ? source.getMsgId() : null;
+                event.directEntityType = null != source && null != source.getDirectEntity()
+                        ? EntityType.getKey(source.getDirectEntity().getType()).toString() : null;
+                event.verdict = rule.name();
+                event.commit();
             }
-        } catch (final Exception e) {
-            // Ignore exceptions
-        }
-
-        // 检查伤害源消息ID
-        // Check damage source message ID
-        final String msgId = source.getMsgId().toLowerCase();
-        if (msgId.contains("outofworld") || msgId.contains("void")) {
-            return true;
+            return rule;
+        } finally {
+            HotPathMetrics.DAMAGE_CLASSIFICATION.stop(start);
         }
+    }
 
-        // 检查伤害类型
-        // Check damage type
-        final String damageType = source.getMsgId();
-        if (ModCompatibilityManager.BYPASS_DAMAGE_TYPES.contains(damageType)) {
-            return true;
+    /**
+     * 按顺序检查所有绕过规则
+     * Check every bypass rule in order
+     */
+    private static BypassRule classify(final DamageSource source) {
+        if (null == source) {
+            return BypassRule.NONE;
         }
 
-        // 检查伤害类型ID（1.21.1新系统）
-        // Check damage type ID (1.21.1 new system)
-        try {
-            if (null != source.typeHolder().unwrapKey().orElse(null)) {
-                final String damageTypeId = source.typeHolder().unwrapKey().get().location().toString();
-                if (ModCompatibilityManager.BYPASS_DAMAGE_TYPES.contains(damageTypeId)) {
-                    return true;
-                }
-            }
-        } catch (final Exception e) {
-            // Ignore exceptions
+        // 虚空伤害和配置的伤害类型（按伤害类型缓存，未注册的直接Holder不缓存）
+        // Void damage and configured damage types (cached per damage type, unregistered direct holders are not cached)
+        final ResourceKey<DamageType> typeKey = source.typeHolder().unwrapKey().orElse(null);
+        final DamageTypeVerdict typeVerdict = null != typeKey
+                ? ModCompatibilityManager.DAMAGE_TYPE_VERDICTS.computeIfAbsent(
+                typeKey, key -> ModCompatibilityManager.computeDamageTypeVerdict(source))
+                : ModCompatibilityManager.computeDamageTypeVerdict(source);
+        if (typeVerdict.rule().bypassesToughness()) {
+            return typeVerdict.rule();
         }
 
-        // 检查直接来源实体（攻击者）
-        // Check direct source entity (attacker)
+        // 检查直接来源实体（攻击者）和间接来源实体（如子弹的发射者）
+        // Check direct source entity (attacker) and indirect source entity (e.g., bullet shooter)
         final Entity directEntity = source.getDirectEntity();
-        if (null != directEntity) {
-            if (ModCompatibilityManager.isDirectDamageEntity(directEntity, source)) {
-                return true;
-            }
-        }
-
-        // 检查间接来源实体（如子弹的发射者）
-        // Check indirect source entity (e.g., bullet shooter)
         final Entity entity = source.getEntity();
-        if (null != entity && entity != directEntity) {
-            if (ModCompatibilityManager.isDirectDamageEntity(entity, source)) {
-                return true;
+        final boolean distinctEntity = null != entity && entity != directEntity;
+
+        BypassRule rule = ModCompatibilityManager.classifyDirectDamageEntity(directEntity, typeVerdict);
+        if (rule.bypassesToughness()) {
+            return rule;
+        }
+        if (distinctEntity) {
+            rule = ModCompatibilityManager.classifyDirectDamageEntity(entity, typeVerdict);
+            if (rule.bypassesToughness()) {
+                return rule;
             }
         }
 
         // 检查模组ID（通过伤害源的来源实体或间接来源实体）
         // Check mod ID (through source entity or indirect source entity)
-        if (null != directEntity) {
-            final String modId = ModCompatibilityManager.getModIdFromEntity(directEntity);
-            if (null != modId && ModCompatibilityManager.BYPASS_MOD_IDS.contains(modId)) {
-                return true;
-            }
-            // 检查是否为已知的直接伤害模组
-            // Check if it's a known direct damage mod
-            if (null != modId && ModCompatibilityManager.DIRECT_DAMAGE_MOD_IDS.contains(modId)) {
-                return true;
+        rule = ModCompatibilityManager.classifyModId(directEntity);
+        if (rule.bypassesToughness()) {
+            return rule;
+        }
+        if (distinctEntity) {
+            rule = ModCompatibilityManager.classifyModId(entity);
+            if (rule.bypassesToughness()) {
+                return rule;
             }
         }
 
-        if (null != entity && entity != directEntity) {
-            final String modId = ModCompatibilityManager.getModIdFromEntity(entity);
-            if (null != modId && ModCompatibilityManager.BYPASS_MOD_IDS.contains(modId)) {
-                return true;
+        // 检查攻击者使用的武器
+        // Check attacker's weapon
+        if (entity instanceof final LivingEntity attacker) {
+            final ItemStack mainHandItem = attacker.getMainHandItem();
+            if (!mainHandItem.isEmpty()) {
+                final String modId = ModCompatibilityManager.getModIdFromItem(mainHandItem);
+                if (null != modId && ModCompatibilityManager.DIRECT_DAMAGE_MOD_IDS.contains(modId)) {
+                    return BypassRule.DIRECT_DAMAGE_WEAPON_MOD;
+                }
+                if (ModCompatibilityManager.isDirectDamageItem(mainHandItem)) {
+                    return BypassRule.DIRECT_DAMAGE_ITEM_PATTERN;
+                }
             }
-            // 检查是否为已知的直接伤害模组
-            // Check if it's a known direct damage mod
-            return null != modId && ModCompatibilityManager.DIRECT_DAMAGE_MOD_IDS.contains(modId);
         }
 
-        return false;
+        return BypassRule.NONE;
+    }
+
+    /**
+     * 检查伤害源是否可以绕过韧性
+     * Check if damage source can bypass toughness
+     *
+     * @param source 伤害源
+     * @return 是否可以绕过韧性
+     */
+    public static boolean canBypassToughness(final DamageSource source) {
+        return ModCompatibilityManager.classifyDamage(source).bypassesToughness();
+    }
+
+    /**
+     * 计算伤害类型的判定结果
+     * Compute the verdict of a damage type
+     */
+    private static DamageTypeVerdict computeDamageTypeVerdict(final DamageSource source) {
+        final String damageTypeId = source.typeHolder().unwrapKey()
+                .map(key -> key.location().toString())
+                .orElse("");
+        final String msgId = source.getMsgId();
+        final boolean directDamageMessage = ModCompatibilityManager.containsKeyword(msgId);
+
+        // 检查是否为虚空伤害（虚空伤害始终可以绕过韧性）
+        // Check if it's void damage (void damage always bypasses toughness)
+        final String lowerTypeId = damageTypeId.toLowerCase(Locale.ROOT);
+        final String lowerMsgId = msgId.toLowerCase(Locale.ROOT);
+        if (lowerTypeId.contains("out_of_world") || lowerTypeId.contains("void")
+                || lowerMsgId.contains("outofworld") || lowerMsgId.contains("void")) {
+            return new DamageTypeVerdict(BypassRule.VOID_DAMAGE, directDamageMessage);
+        }
+
+        // 检查配置的伤害类型（消息ID或伤害类型ID）
+        // Check configured damage types (message id or damage type id)
+        if (ModCompatibilityManager.BYPASS_DAMAGE_TYPES.contains(msgId)
+                || (!damageTypeId.isEmpty() && ModCompatibilityManager.BYPASS_DAMAGE_TYPES.contains(damageTypeId))) {
+            return new DamageTypeVerdict(BypassRule.BYPASS_DAMAGE_TYPE, directDamageMessage);
+        }
+
+        return new DamageTypeVerdict(BypassRule.NONE, directDamageMessage);
     }
 
     /**
      * 检查实体是否为直接伤害实体（如子弹、投射物等）
      * Check if entity is a direct damage entity (e.g., bullet, projectile, etc.)
      *
-     * @param entity 实体
-     * @param source 伤害源
-     * @return 是否为直接伤害实体
+     * @param entity      实体
+     * @param typeVerdict 伤害类型判定（包含消息ID关键词结果）
+     * @return 命中的规则
      */
-    private static boolean isDirectDamageEntity(final Entity entity, final DamageSource source) {
+    private static BypassRule classifyDirectDamageEntity(final Entity entity, final DamageTypeVerdict typeVerdict) {
         if (null == entity) {
-            return false;
+            return BypassRule.NONE;
         }
 
         // 检查实体类型名称（子弹、投射物等）
         // Check entity type name (bullet, projectile, etc.)
-        final String entityTypeName = entity.getType().toString().toLowerCase();
-        if (entityTypeName.contains("bullet") ||
-                entityTypeName.contains("projectile") ||
-                entityTypeName.contains("ammo") ||
-                entityTypeName.contains("shot")) {
-            return true;
+        if (ModCompatibilityManager.ENTITY_TYPE_KEYWORD_CACHE.computeIfAbsent(entity.getType(),
+                type -> ModCompatibilityManager.containsKeyword(type.toString()))) {
+            return BypassRule.DIRECT_DAMAGE_ENTITY_TYPE;
         }
 
-        // 检查实体类名（通过反射）
-        // Check entity class name (via reflection)
-        final String className = entity.getClass().getName().toLowerCase();
-        if (className.contains("bullet") ||
-                className.contains("projectile") ||
-                className.contains("ammo") ||
-                className.contains("shot") ||
-                className.contains("cgm") ||
-                className.contains("combatguns") ||
-                className.contains("techguns")) {
-            return true;
+        // 检查实体类名
+        // Check entity class name
+        if (ModCompatibilityManager.CLASS_KEYWORD_CACHE.computeIfAbsent(entity.getClass(),
+                ModCompatibilityManager::isDirectDamageClass)) {
+            return BypassRule.DIRECT_DAMAGE_ENTITY_CLASS;
         }
 
         // 检查伤害源消息ID（可能包含子弹、投射物等信息）
         // Check damage source message ID (may contain bullet, projectile, etc. information)
-        final String msgId = source.getMsgId().toLowerCase();
-        return msgId.contains("bullet") ||
-                msgId.contains("projectile") ||
-                msgId.contains("ammo") ||
-                msgId.contains("shot");
+        return typeVerdict.directDamageMessage() ? BypassRule.DIRECT_DAMAGE_MESSAGE : BypassRule.NONE;
+    }
+
+    /**
+     * 检查实体所属模组是否为绕过模组或直接伤害模组
+     * Check whether the entity's mod is a bypass mod or a direct damage mod
+     */
+    private static BypassRule classifyModId(final Entity entity) {
+        if (null == entity) {
+            return BypassRule.NONE;
+        }
+        final String modId = ModCompatibilityManager.getModIdFromEntity(entity);
+        if (null == modId) {
+            return BypassRule.NONE;
+        }
+        if (ModCompatibilityManager.BYPASS_MOD_IDS.contains(modId)) {
+            return BypassRule.BYPASS_MOD_ID;
+        }
+        // 检查是否为已知的直接伤害模组
+        // Check if it's a known direct damage mod
+        return ModCompatibilityManager.DIRECT_DAMAGE_MOD_IDS.contains(modId) ? BypassRule.DIRECT_DAMAGE_MOD_ID : BypassRule.NONE;
+    }
+
+    /**
+     * 检查实体类是否为直接伤害类（简单类名包含关键词，或完整类名包含枪械模组标识）
+     * Check whether an entity class is a direct damage class (simple name contains a keyword,
+     * or full name contains a gun mod marker)
+     */
+    private static boolean isDirectDamageClass(final Class<?> entityClass) {
+        if (ModCompatibilityManager.containsKeyword(entityClass.getSimpleName())) {
+            return true;
+        }
+        final String className = entityClass.getName().toLowerCase(Locale.ROOT);
+        for (final String marker : ModCompatibilityManager.GUN_MOD_CLASS_MARKERS) {
+            if (className.contains(marker)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 检查名称中是否有单词等于直接伤害关键词
+     * Check whether any word of a name equals a direct damage keyword
+     * <p>
+     * 名称按非字母数字字符和驼峰边界拆分为单词，例如"entity.cgm.BulletEntity"拆分为entity、cgm、bullet、entity
+     * Names are split into words on non-alphanumeric characters and camel case boundaries,
+     * e.g. "entity.cgm.BulletEntity" becomes entity, cgm, bullet, entity
+     */
+    static boolean containsKeyword(final String name) {
+        if (null == name || name.isEmpty()) {
+            return false;
+        }
+        int start = 0;
+        final int length = name.length();
+        for (int i = 1; i <= length; i++) {
+            final boolean boundary = i == length
+                    || !Character.isLetterOrDigit(name.charAt(i))
+                    || (Character.isUpperCase(name.charAt(i)) && Character.isLowerCase(name.charAt(i - 1)));
+            if (boundary) {
+                if (start < i && ModCompatibilityManager.DIRECT_DAMAGE_KEYWORDS.contains(
+                        name.substring(start, i).toLowerCase(Locale.ROOT))) {
+                    return true;
+                }
+                start = i < length && !Character.isLetterOrDigit(name.charAt(i)) ? i + 1 : i;
+            }
+        }
+        return false;
     }
 
     /**
@@ -245,27 +419,19 @@ public enum ModCompatibilityManager {
             return null;
         }
 
-        // 方法1：从实体类型获取模组ID
-        // Method 1: Get mod ID from entity type
-        try {
-            final net.minecraft.resources.ResourceLocation entityId = net.minecraft.world.entity.EntityType.getKey(entity.getType());
-            if (null != entityId) {
-                final String namespace = entityId.getNamespace();
-                if (null != namespace && !"minecraft".equals(namespace)) {
-                    return namespace;
-                }
-            }
-        } catch (final Exception e) {
-            // Ignore exceptions
+        // 方法1：从实体类型获取模组ID（预先计算的命名空间表）
+        // Method 1: Get mod ID from entity type (precomputed namespace table)
+        final int namespaceId = ModNamespaceTable.getNamespaceId(entity.getType());
+        if (ModNamespaceTable.MINECRAFT != namespaceId && ModNamespaceTable.UNKNOWN != namespaceId) {
+            return ModNamespaceTable.getNamespace(namespaceId);
         }
 
-        // 方法2：从实体类名推断模组ID
-        // Method 2: Infer mod ID from entity class name
-        final String className = entity.getClass().getName().toLowerCase();
-        for (final String modId : ModCompatibilityManager.DIRECT_DAMAGE_MOD_IDS) {
-            if (className.contains(modId)) {
-                return modId;
-            }
+        // 方法2：从实体类名推断模组ID（按类缓存）
+        // Method 2: Infer mod ID from entity class name (cached per class)
+        final String classModId = ModCompatibilityManager.CLASS_MOD_ID_CACHE.computeIfAbsent(
+                entity.getClass(), ModCompatibilityManager::inferModIdFromClass);
+        if (!classModId.isEmpty()) {
+            return classModId;
         }
 
         // 方法3：如果是生物实体，检查其主手物品
@@ -281,6 +447,23 @@ public enum ModCompatibilityManager {
         return null;
     }
 
+    /**
+     * 从实体类名推断模组ID
+     * Infer the mod ID from an entity class name
+     *
+     * @param entityClass 实体类
+     * @return 匹配到的模组ID，没有匹配时返回空字符串
+     */
+    private static String inferModIdFromClass(final Class<?> entityClass) {
+        final String className = entityClass.getName().toLowerCase(Locale.ROOT);
+        for (final String modId : ModCompatibilityManager.DIRECT_DAMAGE_MOD_IDS) {
+            if (className.contains(modId)) {
+                return modId;
+            }
+        }
+        return "";
+    }
+
     /**
      * 从物品获取其所属模组的ID
      * Get the mod ID from an item
@@ -293,24 +476,9 @@ public enum ModCompatibilityManager {
             return null;
         }
 
-        try {
-            final net.minecraft.resources.ResourceLocation itemId = net.minecraft.core.registries.BuiltInRegistries.ITEM.getKey(itemStack.getItem());
-            if (null != itemId) {
-                final String namespace = itemId.getNamespace();
-                if (null != namespace && !"minecraft".equals(namespace)) {
-                    // 检查是否为已知的直接伤害物品
-                    // Check if it's a known direct damage item
-                    final String itemIdString = itemId.toString().toLowerCase();
-                    for (final String pattern : ModCompatibilityManager.DIRECT_DAMAGE_ITEM_PATTERNS) {
-                        if (itemIdString.startsWith(pattern)) {
-                            return namespace;
-                        }
-                    }
-                    return namespace;
-                }
-            }
-        } catch (final Exception e) {
-            // Ignore exceptions
+        final int namespaceId = ModNamespaceTable.getNamespaceId(itemStack.getItem());
+        if (ModNamespaceTable.MINECRAFT != namespaceId && ModNamespaceTable.UNKNOWN != namespaceId) {
+            return ModNamespaceTable.getNamespace(namespaceId);
         }
 
         return null;
@@ -325,6 +493,7 @@ public enum ModCompatibilityManager {
     public static void addBypassDamageType(final String damageType) {
         if (null != damageType && !damageType.isEmpty()) {
             ModCompatibilityManager.BYPASS_DAMAGE_TYPES.add(damageType);
+            ModCompatibilityManager.DAMAGE_TYPE_VERDICTS.clear();
         }
     }
 
@@ -337,6 +506,7 @@ public enum ModCompatibilityManager {
     public static void removeBypassDamageType(final String damageType) {
         if (null != damageType) {
             ModCompatibilityManager.BYPASS_DAMAGE_TYPES.remove(damageType);
+            ModCompatibilityManager.DAMAGE_TYPE_VERDICTS.clear();
         }
     }
 
@@ -362,6 +532,7 @@ public enum ModCompatibilityManager {
             // 同时添加到直接伤害模组ID列表（如果还没有）
             // Also add to direct damage mod IDs list (if not already present)
             ModCompatibilityManager.DIRECT_DAMAGE_MOD_IDS.add(modId);
+            ModCompatibilityManager.CLASS_MOD_ID_CACHE.clear();
         }
     }
 
@@ -374,7 +545,60 @@ public enum ModCompatibilityManager {
     public static void addBypassItemPattern(final String pattern) {
         if (null != pattern && !pattern.isEmpty()) {
             ModCompatibilityManager.DIRECT_DAMAGE_ITEM_PATTERNS.add(pattern);
+            ModCompatibilityManager.directDamageItems = null;
+        }
+    }
+
+    /**
+     * 检查物品是否匹配直接伤害物品ID模式
+     * Check if an item matches the direct damage item ID patterns
+     * <p>
+     * 模式在首次查询时针对物品注册表解析为物品集合，之后每次检查只是一次集合查询
+     * Patterns are resolved against the item registry into an item set on the first query,
+     * after that every check is a single set membership test
+     *
+     * @param itemStack 物品堆栈
+     * @return 是否为直接伤害物品
+     */
+    public static boolean isDirectDamageItem(final ItemStack itemStack) {
+        if (null == itemStack || itemStack.isEmpty()) {
+            return false;
+        }
+
+        Set<Item> items = ModCompatibilityManager.directDamageItems;
+        if (null == items || BuiltInRegistries.ITEM.size() != ModCompatibilityManager.resolvedItemRegistrySize) {
+            items = ModCompatibilityManager.resolveDirectDamageItems();
+        }
+        return items.contains(itemStack.getItem());
+    }
+
+    /**
+     * 将物品ID模式解析为物品集合
+     * Resolve item ID patterns into an item set
+     * <p>
+     * 与旧版逻辑一致：小写物品ID以模式开头即视为匹配
+     * Same rule as before: the lower-cased item id starting with a pattern counts as a match
+     */
+    private static synchronized Set<Item> resolveDirectDamageItems() {
+        final Set<Item> resolved = Collections.newSetFromMap(new IdentityHashMap<>());
+        final String[] patterns = ModCompatibilityManager.DIRECT_DAMAGE_ITEM_PATTERNS.toArray(new String[0]);
+        final int registrySize = BuiltInRegistries.ITEM.size();
+
+        if (0 < patterns.length) {
+            for (final Item item : BuiltInRegistries.ITEM) {
+                final String itemIdString = BuiltInRegistries.ITEM.getKey(item).toString().toLowerCase(Locale.ROOT);
+                for (final String pattern : patterns) {
+                    if (itemIdString.startsWith(pattern)) {
+                        resolved.add(item);
+                        break;
+                    }
+                }
+            }
         }
+
+        ModCompatibilityManager.resolvedItemRegistrySize = registrySize;
+        ModCompatibilityManager.directDamageItems = resolved;
+        return resolved;
     }
 
     /**
@@ -407,67 +631,7 @@ public enum ModCompatibilityManager {
      * @return 是否为直接血量伤害
      */
     public static boolean isDirectHealthDamage(final DamageSource source) {
-        if (null == source) {
-            return false;
-        }
-
-        // 检查直接来源实体
-        // Check direct source entity
-        final Entity directEntity = source.getDirectEntity();
-        if (null != directEntity) {
-            // 检查是否为子弹、投射物等
-            // Check if it's a bullet, projectile, etc.
-            if (ModCompatibilityManager.isDirectDamageEntity(directEntity, source)) {
-                return true;
-            }
-
-            // 检查实体所属模组
-            // Check entity's mod
-            final String modId = ModCompatibilityManager.getModIdFromEntity(directEntity);
-            if (null != modId && ModCompatibilityManager.DIRECT_DAMAGE_MOD_IDS.contains(modId)) {
-                return true;
-            }
-        }
-
-        // 检查间接来源实体
-        // Check indirect source entity
-        final Entity entity = source.getEntity();
-        if (null != entity && entity != directEntity) {
-            final String modId = ModCompatibilityManager.getModIdFromEntity(entity);
-            if (null != modId && ModCompatibilityManager.DIRECT_DAMAGE_MOD_IDS.contains(modId)) {
-                return true;
-            }
-        }
-
-        // 检查攻击者使用的武器
-        // Check attacker's weapon
-        if (entity instanceof final LivingEntity attacker) {
-            final ItemStack mainHandItem = attacker.getMainHandItem();
-            if (!mainHandItem.isEmpty()) {
-                final String modId = ModCompatibilityManager.getModIdFromItem(mainHandItem);
-                if (null != modId && ModCompatibilityManager.DIRECT_DAMAGE_MOD_IDS.contains(modId)) {
-                    return true;
-                }
-
-                // 检查物品ID模式
-                // Check item ID patterns
-                try {
-                    final net.minecraft.resources.ResourceLocation itemId = net.minecraft.core.registries.BuiltInRegistries.ITEM.getKey(mainHandItem.getItem());
-                    if (null != itemId) {
-                        final String itemIdString = itemId.toString().toLowerCase();
-                        for (final String pattern : ModCompatibilityManager.DIRECT_DAMAGE_ITEM_PATTERNS) {
-                            if (itemIdString.startsWith(pattern)) {
-                                return true;
-                            }
-                        }
-                    }
-                } catch (final Exception e) {
-                    // Ignore exceptions
-                }
-            }
-        }
-
-        return false;
+        return ModCompatibilityManager.classifyDamage(source).bypassesToughness();
     }
 
     /**
@@ -476,9 +640,23 @@ public enum ModCompatibilityManager {
      */
     public static void clearBypassConfigurations() {
         ModCompatibilityManager.BYPASS_DAMAGE_TYPES.clear();
+        ModCompatibilityManager.DAMAGE_TYPE_VERDICTS.clear();
         ModCompatibilityManager.BYPASS_MOD_IDS.clear();
         ModCompatibilityManager.DIRECT_DAMAGE_MOD_IDS.clear();
+        ModCompatibilityManager.CLASS_MOD_ID_CACHE.clear();
         ModCompatibilityManager.DIRECT_DAMAGE_ITEM_PATTERNS.clear();
+        ModCompatibilityManager.directDamageItems = null;
     }
-}
 
+    /**
+     * 伤害类型判定结果
+     * Damage type verdict
+     *
+     * @param rule                伤害类型层面命中的规则（VOID_DAMAGE、BYPASS_DAMAGE_TYPE或NONE）
+     *                            Rule matched at damage type level (VOID_DAMAGE, BYPASS_DAMAGE_TYPE or NONE)
+     * @param directDamageMessage 消息ID是否包含直接伤害关键词
+     *                            Whether the message id contains a direct damage keyword
+     */
+    private record DamageTypeVerdict(BypassRule rule, boolean directDamageMessage) {
+    }
+}
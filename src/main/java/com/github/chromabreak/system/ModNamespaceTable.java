@@ -0,0 +1,198 @@
+package com.github.chromabreak.system;
+
+import com.github.chromabreak.ChromaBreak;
+import net.minecraft.core.Registry;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.item.Item;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.fml.event.lifecycle.FMLCommonSetupEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ModNamespaceTable - 模组命名空间表
+ * Mod Namespace Table
+ * <p>
+ * 预先计算所有实体类型和物品所属的模组命名空间，并将命名空间驻留为整数ID
+ * Precomputes the mod namespace of every entity type and item, interning namespaces as integer ids
+ * <p>
+ * 主要功能包括：
+ * Main functionalities include:
+ * - 命名空间驻留：每个命名空间只存储一次，以整数ID引用
+ * Namespace interning: Every namespace is stored once and referenced by an integer id
+ * - O(1)查询：通过注册表原始ID直接索引数组获取命名空间ID
+ * O(1) lookup: The namespace id is read from an array indexed by the registry raw id
+ * - 构建时机：注册表冻结后的通用设置阶段构建一次，查询时不再检查注册表大小
+ * Building: Built once during common setup after registry freeze, lookups never check the registry sizes
+ * <p>
+ * 内置注册表冻结后不会再变化（数据包重新加载不影响它们），因此表不需要失效，查询时也不需要加锁
+ * Built-in registries never change after freeze (data pack reloads do not touch them),
+ * so the table needs no invalidation, and lookups need no locking
+ * <p>
+ * 使用枚举模式确保单例，所有方法都是静态方法
+ * Uses enum pattern to ensure singleton, all methods are static methods
+ */
+@EventBusSubscriber(modid = ChromaBreak.MODID, bus = EventBusSubscriber.Bus.MOD)
+public enum ModNamespaceTable {
+    ;
+
+    /**
+     * 未知命名空间的ID（对象不在注册表中）
+     * Id of the unknown namespace (object is not in the registry)
+     */
+    public static final int UNKNOWN = -1;
+
+    /**
+     * "minecraft"命名空间的ID，构建时总是第一个驻留
+     * Id of the "minecraft" namespace, always interned first when building
+     */
+    public static final int MINECRAFT = 0;
+
+    /**
+     * 当前的命名空间表快照，为null表示尚未构建
+     * Current namespace table snapshot, null means it has not been built yet
+     */
+    private static volatile Table table;
+
+    /**
+     * 通用设置时构建命名空间表（此时注册表已冻结）
+     * Build the namespace table during common setup (registries are frozen by then)
+     *
+     * @param event 通用设置事件
+     *              Common setup event
+     */
+    @SubscribeEvent
+    public static void onCommonSetup(final FMLCommonSetupEvent event) {
+        ModNamespaceTable.current();
+    }
+
+    /**
+     * 获取实体类型所属命名空间的ID
+     * Get the namespace id of an entity type
+     *
+     * @param entityType 实体类型
+     *                   Entity type
+     * @return 命名空间ID，不在注册表中时返回UNKNOWN
+     * Namespace id, UNKNOWN when not in the registry
+     */
+    public static int getNamespaceId(final EntityType<?> entityType) {
+        return ModNamespaceTable.lookup(ModNamespaceTable.current().entityTypes(),
+                BuiltInRegistries.ENTITY_TYPE.getId(entityType));
+    }
+
+    /**
+     * 获取物品所属命名空间的ID
+     * Get the namespace id of an item
+     *
+     * @param item 物品
+     *             Item
+     * @return 命名空间ID，不在注册表中时返回UNKNOWN
+     * Namespace id, UNKNOWN when not in the registry
+     */
+    public static int getNamespaceId(final Item item) {
+        return ModNamespaceTable.lookup(ModNamespaceTable.current().items(),
+                BuiltInRegistries.ITEM.getId(item));
+    }
+
+    /**
+     * 获取命名空间ID对应的命名空间字符串
+     * Get the namespace string of a namespace id
+     *
+     * @param namespaceId 命名空间ID
+     *                    Namespace id
+     * @return 驻留的命名空间字符串，ID无效时返回null
+     * Interned namespace string, null when the id is invalid
+     */
+    public static String getNamespace(final int namespaceId) {
+        final String[] namespaces = ModNamespaceTable.current().namespaces();
+        return 0 <= namespaceId && namespaceId < namespaces.length ? namespaces[namespaceId] : null;
+    }
+
+    /**
+     * 按原始ID读取命名空间ID
+     * Read a namespace id by raw id
+     */
+    private static int lookup(final int[] namespaceIds, final int rawId) {
+        return 0 <= rawId && rawId < namespaceIds.length ? namespaceIds[rawId] : ModNamespaceTable.UNKNOWN;
+    }
+
+    /**
+     * 获取当前表，尚未构建时构建
+     * Get the current table, building it if needed
+     */
+    private static Table current() {
+        final Table current = ModNamespaceTable.table;
+        return null != current ? current : ModNamespaceTable.build();
+    }
+
+    /**
+     * 构建命名空间表
+     * Build the namespace table
+     */
+    private static synchronized Table build() {
+        final Table existing = ModNamespaceTable.table;
+        if (null != existing) {
+            return existing;
+        }
+
+        final Map<String, Integer> ids = new HashMap<>();
+        final List<String> namespaces = new ArrayList<>();
+        ModNamespaceTable.intern("minecraft", ids, namespaces);
+
+        final int[] entityTypes = ModNamespaceTable.index(BuiltInRegistries.ENTITY_TYPE, ids, namespaces);
+        final int[] items = ModNamespaceTable.index(BuiltInRegistries.ITEM, ids, namespaces);
+
+        final Table built = new Table(namespaces.toArray(new String[0]), entityTypes, items);
+        ModNamespaceTable.table = built;
+        return built;
+    }
+
+    /**
+     * 为注册表中的每个对象记录命名空间ID（按原始ID索引）
+     * Record the namespace id of every object in a registry (indexed by raw id)
+     */
+    private static <T> int[] index(final Registry<T> registry, final Map<String, Integer> ids, final List<String> namespaces) {
+        final int[] result = new int[registry.size()];
+        Arrays.fill(result, ModNamespaceTable.UNKNOWN);
+        for (final T value : registry) {
+            final int rawId = registry.getId(value);
+            final ResourceLocation key = registry.getKey(value);
+            if (0 <= rawId && rawId < result.length && null != key) {
+                result[rawId] = ModNamespaceTable.intern(key.getNamespace(), ids, namespaces);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 驻留命名空间字符串
+     * Intern a namespace string
+     */
+    private static int intern(final String namespace, final Map<String, Integer> ids, final List<String> namespaces) {
+        return ids.computeIfAbsent(namespace, key -> {
+            namespaces.add(key);
+            return namespaces.size() - 1;
+        });
+    }
+
+    /**
+     * 命名空间表快照
+     * Namespace table snapshot
+     *
+     * @param namespaces  按ID排列的命名空间
+     *                    Namespaces ordered by id
+     * @param entityTypes 按实体类型原始ID索引的命名空间ID
+     *                    Namespace ids indexed by entity type raw id
+     * @param items       按物品原始ID索引的命名空间ID
+     *                    Namespace ids indexed by item raw id
+     */
+    private record Table(String[] namespaces, int[] entityTypes, int[] items) {
+    }
+}
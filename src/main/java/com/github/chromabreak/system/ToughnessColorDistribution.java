@@ -5,6 +5,7 @@ import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.StringTag;
 import net.minecraft.nbt.Tag;
 
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -85,7 +86,7 @@ public class ToughnessColorDistribution {
      * Used for internal instance creation, external creation through static factory methods
      */
     private ToughnessColorDistribution() {
-        this.colorMap = new HashMap<>();
+        this.colorMap = new EnumMap<>(ToughnessColor.class);
     }
 
     /**
@@ -131,6 +132,39 @@ public class ToughnessColorDistribution {
         return distribution;
     }
 
+    /**
+     * 从按颜色序号排列的权重数组创建韧性分布，只归一化一次
+     * Create toughness distribution from a weight array indexed by color ordinal, normalizing only once
+     *
+     * @param weights 以ToughnessColor.ordinal()为下标的权重数组，小于等于0的权重会被忽略
+     *                Weight array indexed by ToughnessColor.ordinal(), weights less than or equal to 0 are ignored
+     * @return 归一化后的韧性颜色分布实例，如果没有有效权重则返回null
+     * Normalized toughness color distribution instance, returns null if there is no valid weight
+     * <p>
+     * 供流式配置解析器使用，避免先构建中间Map再二次归一化
+     * Used by the streaming configuration parser to avoid building intermediate maps and normalizing twice
+     */
+    public static ToughnessColorDistribution fromWeights(final float[] weights) {
+        final ToughnessColor[] colors = ToughnessColor.values();
+        float sum = 0.0f;
+        for (int i = 0; i < weights.length && i < colors.length; i++) {
+            if (0 < weights[i]) {
+                sum += weights[i];
+            }
+        }
+        if (0 >= sum) {
+            return null;
+        }
+
+        final ToughnessColorDistribution distribution = new ToughnessColorDistribution();
+        for (int i = 0; i < weights.length && i < colors.length; i++) {
+            if (0 < weights[i]) {
+                distribution.colorMap.put(colors[i], weights[i] / sum);
+            }
+        }
+        return distribution;
+    }
+
     /**
      * 从NBT标签读取韧性颜色分布
      * Read toughness color distribution from NBT tag
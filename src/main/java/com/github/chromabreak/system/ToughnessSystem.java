@@ -1,6 +1,8 @@
 package com.github.chromabreak.system;
 
+import com.github.chromabreak.jfr.ToughnessBrokenEvent;
 import net.minecraft.nbt.CompoundTag;
+import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
 
@@ -56,15 +58,49 @@ public enum ToughnessSystem {
      */
     private static final String IS_TOUGHNESS_BROKEN_TAG = "chromabreak_toughness_broken";
 
+    /**
+     * 韧性状态初始化时的配置档案代数NBT标签键
+     * NBT tag key of the profile generation the toughness state was initialized with
+     */
+    private static final String PROFILE_GENERATION_TAG = "chromabreak_profile_generation";
+
     // ==================== 核心方法 ====================
     // ==================== Core Methods ====================
 
+    /**
+     * 确保实体的韧性状态已按当前配置初始化
+     * Ensure the entity's toughness state has been initialized with the current configuration
+     * <p>
+     * 韧性状态在首次被读取或受伤时才创建，而不是在实体加入世界时
+     * Toughness state is materialized on first read or first damage instead of when the entity joins the world
+     * <p>
+     * 实体NBT中记录了初始化时的配置档案代数，与EntityHealthManager当前代数相同时直接返回，
+     * 因此区块重新加载时已初始化的实体不需要任何额外工作
+     * The entity NBT records the profile generation it was initialized with; when it matches the current
+     * EntityHealthManager generation this returns immediately, so already-initialized entities cost nothing on chunk reload
+     *
+     * @param entity 目标实体
+     *               Target entity
+     */
+    public static void ensureInitialized(final LivingEntity entity) {
+        final CompoundTag tag = entity.getPersistentData();
+        final long generation = EntityHealthManager.getProfileGeneration();
+        if (tag.contains(ToughnessSystem.PROFILE_GENERATION_TAG)
+                && generation == tag.getLong(ToughnessSystem.PROFILE_GENERATION_TAG)) {
+            return;
+        }
+
+        EntityHealthManager.applyCustomValues(entity);
+        ToughnessSystem.initializeToughness(entity);
+        tag.putLong(ToughnessSystem.PROFILE_GENERATION_TAG, generation);
+    }
+
     /**
      * 初始化实体的韧性系统
      * Initialize toughness system for entity
      * <p>
-     * 这个方法在实体生成或加载时调用，用于设置初始韧性值和相关配置
-     * This method is called when entity spawns or loads, used to set initial toughness values and related configurations
+     * 这个方法由ensureInitialized在配置档案代数变化后调用，用于设置初始韧性值和相关配置
+     * This method is called by ensureInitialized after the profile generation changes, used to set initial toughness values and related configurations
      * <p>
      * 处理逻辑包括：
      * Processing logic includes:
@@ -174,12 +210,18 @@ public enum ToughnessSystem {
      * Current toughness value, returns 0.0f if entity should not have toughness bar
      */
     public static float getToughness(final LivingEntity entity) {
-        if (!ToughnessSystem.shouldHaveToughness(entity)) {
-            return 0.0f;
-        }
+        final long start = HotPathMetrics.TOUGHNESS_READ.start();
+        try {
+            if (!ToughnessSystem.shouldHaveToughness(entity)) {
+                return 0.0f;
+            }
 
-        final CompoundTag tag = entity.getPersistentData();
-        return tag.getFloat(ToughnessSystem.TOUGHNESS_TAG);
+            ToughnessSystem.ensureInitialized(entity);
+            final CompoundTag tag = entity.getPersistentData();
+            return tag.getFloat(ToughnessSystem.TOUGHNESS_TAG);
+        } finally {
+            HotPathMetrics.TOUGHNESS_READ.stop(start);
+        }
     }
 
     /**
@@ -195,12 +237,18 @@ public enum ToughnessSystem {
      * Maximum toughness value, returns 0.0f if entity should not have toughness bar
      */
     public static float getMaxToughness(final LivingEntity entity) {
-        if (!ToughnessSystem.shouldHaveToughness(entity)) {
-            return 0.0f;
-        }
+        final long start = HotPathMetrics.TOUGHNESS_READ.start();
+        try {
+            if (!ToughnessSystem.shouldHaveToughness(entity)) {
+                return 0.0f;
+            }
 
-        final CompoundTag tag = entity.getPersistentData();
-        return tag.getFloat(ToughnessSystem.MAX_TOUGHNESS_TAG);
+            ToughnessSystem.ensureInitialized(entity);
+            final CompoundTag tag = entity.getPersistentData();
+            return tag.getFloat(ToughnessSystem.MAX_TOUGHNESS_TAG);
+        } finally {
+            HotPathMetrics.TOUGHNESS_READ.stop(start);
+        }
     }
 
     /**
@@ -216,16 +264,38 @@ public enum ToughnessSystem {
      * Toughness percentage (0.0 - 1.0), returns 0.0f if entity should not have toughness bar
      */
     public static float getToughnessPercentage(final LivingEntity entity) {
-        if (!ToughnessSystem.shouldHaveToughness(entity)) {
-            return 0.0f;
+        final long start = HotPathMetrics.TOUGHNESS_READ.start();
+        try {
+            if (!ToughnessSystem.shouldHaveToughness(entity)) {
+                return 0.0f;
+            }
+
+            ToughnessSystem.ensureInitialized(entity);
+            return ToughnessSystem.getToughnessPercentage(entity.getPersistentData());
+        } finally {
+            HotPathMetrics.TOUGHNESS_READ.stop(start);
         }
+    }
 
-        final float maxToughness = ToughnessSystem.getMaxToughness(entity);
+    /**
+     * 从韧性NBT数据计算韧性值百分比
+     * Calculate the toughness percentage from toughness NBT data
+     * <p>
+     * 不依赖实体的核心逻辑，也供基准测试直接调用
+     * Entity-free core logic, also called directly by benchmarks
+     *
+     * @param tag 实体的持久化数据
+     *            Entity persistent data
+     * @return 韧性值百分比 (0.0 - 1.0)
+     * Toughness percentage (0.0 - 1.0)
+     */
+    public static float getToughnessPercentage(final CompoundTag tag) {
+        final float maxToughness = tag.getFloat(ToughnessSystem.MAX_TOUGHNESS_TAG);
         if (0 >= maxToughness) {
             return 0.0f;
         }
 
-        return Math.min(Math.max(ToughnessSystem.getToughness(entity) / maxToughness, 0.0f), 1.0f);
+        return Math.min(Math.max(tag.getFloat(ToughnessSystem.TOUGHNESS_TAG) / maxToughness, 0.0f), 1.0f);
     }
 
     /**
@@ -283,19 +353,44 @@ public enum ToughnessSystem {
      * @param amount 基础削减量
      */
     public static void reduceToughness(final LivingEntity entity, final float amount) {
-        if (!ToughnessSystem.shouldHaveToughness(entity) || 0 >= amount) {
-            return;
-        }
+        final long start = HotPathMetrics.TOUGHNESS_WRITE.start();
+        try {
+            if (!ToughnessSystem.shouldHaveToughness(entity) || 0 >= amount) {
+                return;
+            }
 
-        // 根据防御值计算削减幅度
-        // Calculate reduction percentage based on defense
-        final float reductionPercentage = ToughnessSystem.calculateReductionPercentage(entity);
+            // 根据防御值计算削减幅度
+            // Calculate reduction percentage based on defense
+            final float reductionPercentage = ToughnessSystem.calculateReductionPercentage(entity);
 
-        // 应用削减幅度
-        // Apply reduction percentage
-        final float actualReduction = amount * reductionPercentage;
+            // 应用削减幅度
+            // Apply reduction percentage
+            final float actualReduction = amount * reductionPercentage;
 
-        final CompoundTag tag = entity.getPersistentData();
+            ToughnessSystem.ensureInitialized(entity);
+            if (ToughnessSystem.reduceToughness(entity.getPersistentData(), actualReduction)) {
+                ToughnessSystem.onToughnessBroken(entity, actualReduction);
+            }
+        } finally {
+            HotPathMetrics.TOUGHNESS_WRITE.stop(start);
+        }
+    }
+
+    /**
+     * 从韧性NBT数据中减去已计算的削减量
+     * Subtract an already calculated reduction from toughness NBT data
+     * <p>
+     * 不依赖实体的核心逻辑，也供基准测试直接调用
+     * Entity-free core logic, also called directly by benchmarks
+     *
+     * @param tag             实体的持久化数据
+     *                        Entity persistent data
+     * @param actualReduction 实际削减量
+     *                        Actual reduction
+     * @return 韧性是否因为这次削减被破坏
+     * Whether toughness was broken by this reduction
+     */
+    public static boolean reduceToughness(final CompoundTag tag, final float actualReduction) {
         final float currentToughness = tag.getFloat(ToughnessSystem.TOUGHNESS_TAG);
         final float newToughness = Math.max(0.0f, currentToughness - actualReduction);
 
@@ -304,8 +399,9 @@ public enum ToughnessSystem {
         // Check if toughness is broken
         if (0 >= newToughness && 0 < currentToughness) {
             tag.putBoolean(ToughnessSystem.IS_TOUGHNESS_BROKEN_TAG, true);
-            ToughnessSystem.onToughnessBroken(entity);
+            return true;
         }
+        return false;
     }
 
     /**
@@ -316,23 +412,43 @@ public enum ToughnessSystem {
      * @return 韧性是否已被破坏
      */
     public static boolean isToughnessBroken(final LivingEntity entity) {
-        if (!ToughnessSystem.shouldHaveToughness(entity)) {
-            return true; // Entities without toughness are considered "broken"
-        }
+        final long start = HotPathMetrics.TOUGHNESS_READ.start();
+        try {
+            if (!ToughnessSystem.shouldHaveToughness(entity)) {
+                return true; // Entities without toughness are considered "broken"
+            }
 
-        final CompoundTag tag = entity.getPersistentData();
-        return tag.getBoolean(ToughnessSystem.IS_TOUGHNESS_BROKEN_TAG);
+            ToughnessSystem.ensureInitialized(entity);
+            final CompoundTag tag = entity.getPersistentData();
+            return tag.getBoolean(ToughnessSystem.IS_TOUGHNESS_BROKEN_TAG);
+        } finally {
+            HotPathMetrics.TOUGHNESS_READ.stop(start);
+        }
     }
 
     /**
      * 韧性被破坏时的回调
      * Callback when toughness is broken
      *
-     * @param entity 目标实体
+     * @param entity    目标实体
+     * @param reduction 破坏韧性的这次削减量
+     *                  Reduction of the breaking hit
      */
-    private static void onToughnessBroken(final LivingEntity entity) {
+    private static void onToughnessBroken(final LivingEntity entity, final float reduction) {
         // 预留接口，未来可以添加视觉效果/音效
         // Reserved interface for future visual/audio effects
+
+        // 记录JFR事件（未录制时不分配事件）
+        // Record the JFR event (no event is allocated when not recording)
+        if (ToughnessBrokenEvent.isRecording()) {
+            final ToughnessBrokenEvent event = new ToughnessBrokenEvent();
+            if (event.shouldCommit()) {
+                event.entityType = EntityType.getKey(entity.getType()).toString();
+                event.reduction = reduction;
+                event.maxToughness = entity.getPersistentData().getFloat(ToughnessSystem.MAX_TOUGHNESS_TAG);
+                event.commit();
+            }
+        }
     }
 
     /**
@@ -418,59 +534,80 @@ public enum ToughnessSystem {
      * @return 韧性颜色分布，如果不存在则返回默认白色
      */
     public static ToughnessColorDistribution getColorDistribution(final LivingEntity entity) {
-        if (!ToughnessSystem.shouldHaveToughness(entity)) {
-            return ToughnessColorDistribution.singleColor(ToughnessColor.WHITE);
-        }
-
-        // 优先检查EntityHealthManager中的自定义颜色分布（实时检查，确保获取最新配置）
-        // Prefer checking custom color distribution in EntityHealthManager (real-time check to ensure latest config)
-        final com.github.chromabreak.system.ToughnessColorDistribution customDistribution =
-                com.github.chromabreak.system.EntityHealthManager.getEntityColorDistribution(entity);
-        if (null != customDistribution) {
-            final java.util.Map<com.github.chromabreak.system.ToughnessColor, Float> colorMap = customDistribution.getColorMap();
-            if (null != colorMap && !colorMap.isEmpty()) {
-                // 将自定义颜色分布保存到实体NBT中，以便后续使用
-                // Save custom color distribution to entity NBT for future use
-                final CompoundTag tag = entity.getPersistentData();
-                customDistribution.toNbt(tag);
-
-                // 调试日志：记录找到的自定义颜色分布
-                // Debug log: record found custom color distribution
-                final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger("ToughnessSystem");
-                logger.debug("Found custom color distribution for {}: {}", entity.getType().toString(), colorMap.keySet());
-
-                return customDistribution;
+        final long start = HotPathMetrics.TOUGHNESS_READ.start();
+        try {
+            if (!ToughnessSystem.shouldHaveToughness(entity)) {
+                return ToughnessColorDistribution.singleColor(ToughnessColor.WHITE);
             }
-        }
 
-        // 如果没有自定义颜色分布，从NBT读取（支持KubeJS脚本直接设置的NBT数据）
-        // If no custom color distribution, read from NBT (supports NBT data set directly by KubeJS scripts)
-        final CompoundTag tag = entity.getPersistentData();
+            ToughnessSystem.ensureInitialized(entity);
 
-        // 检查NBT中是否有颜色数据（支持KubeJS脚本直接设置的格式）
-        // Check if NBT has color data (supports format set directly by KubeJS scripts)
-        if (tag.contains(ToughnessColorDistribution.COLORS_TAG) &&
-                tag.contains(ToughnessColorDistribution.PERCENTAGES_TAG)) {
-            final ToughnessColorDistribution distribution = ToughnessColorDistribution.fromNbt(tag);
-            if (null != distribution) {
-                final java.util.Map<com.github.chromabreak.system.ToughnessColor, Float> colorMap = distribution.getColorMap();
+            // 优先检查EntityHealthManager中的自定义颜色分布（实时检查，确保获取最新配置）
+            // Prefer checking custom color distribution in EntityHealthManager (real-time check to ensure latest config)
+            final com.github.chromabreak.system.ToughnessColorDistribution customDistribution =
+                    com.github.chromabreak.system.EntityHealthManager.getEntityColorDistribution(entity);
+            if (null != customDistribution) {
+                final java.util.Map<com.github.chromabreak.system.ToughnessColor, Float> colorMap = customDistribution.getColorMap();
                 if (null != colorMap && !colorMap.isEmpty()) {
-                    // 调试日志：记录从NBT读取的颜色分布
-                    // Debug log: record color distribution read from NBT
+                    // 将自定义颜色分布保存到实体NBT中，以便后续使用
+                    // Save custom color distribution to entity NBT for future use
+                    final CompoundTag tag = entity.getPersistentData();
+                    customDistribution.toNbt(tag);
+
+                    // 调试日志：记录找到的自定义颜色分布
+                    // Debug log: record found custom color distribution
                     final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger("ToughnessSystem");
-                    logger.debug("Found color distribution from NBT for {}: {}", entity.getType().toString(), colorMap.keySet());
+                    logger.debug("Found custom color distribution for {}: {}", entity.getType().toString(), colorMap.keySet());
 
-                    return distribution;
+                    return customDistribution;
                 }
             }
+
+            // 如果没有自定义颜色分布，从NBT读取（支持KubeJS脚本直接设置的NBT数据）
+            // If no custom color distribution, read from NBT (supports NBT data set directly by KubeJS scripts)
+            final ToughnessColorDistribution distribution = ToughnessSystem.readColorDistribution(entity.getPersistentData());
+            if (null != distribution) {
+                // 调试日志：记录从NBT读取的颜色分布
+                // Debug log: record color distribution read from NBT
+                final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger("ToughnessSystem");
+                logger.debug("Found color distribution from NBT for {}: {}", entity.getType().toString(), distribution.getColorMap().keySet());
+
+                return distribution;
+            }
+
+            // 默认返回白色
+            // Default to white
+            final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger("ToughnessSystem");
+            logger.debug("Using default white color for {}", entity.getType().toString());
+
+            return ToughnessColorDistribution.singleColor(ToughnessColor.WHITE);
+        } finally {
+            HotPathMetrics.TOUGHNESS_READ.stop(start);
         }
+    }
 
-        // 默认返回白色
-        // Default to white
-        final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger("ToughnessSystem");
-        logger.debug("Using default white color for {}", entity.getType().toString());
+    /**
+     * 从NBT读取韧性颜色分布
+     * Read the toughness color distribution from NBT
+     * <p>
+     * 不依赖实体的核心逻辑，也供基准测试直接调用
+     * Entity-free core logic, also called directly by benchmarks
+     *
+     * @param tag 实体的持久化数据
+     *            Entity persistent data
+     * @return 非空的颜色分布，NBT中没有有效数据时返回null
+     * Non-empty color distribution, null when the NBT has no valid data
+     */
+    public static ToughnessColorDistribution readColorDistribution(final CompoundTag tag) {
+        // 检查NBT中是否有颜色数据（支持KubeJS脚本直接设置的格式）
+        // Check if NBT has color data (supports format set directly by KubeJS scripts)
+        if (!tag.contains(ToughnessColorDistribution.COLORS_TAG) ||
+                !tag.contains(ToughnessColorDistribution.PERCENTAGES_TAG)) {
+            return null;
+        }
 
-        return ToughnessColorDistribution.singleColor(ToughnessColor.WHITE);
+        final ToughnessColorDistribution distribution = ToughnessColorDistribution.fromNbt(tag);
+        return null != distribution && 0 < distribution.getColorCount() ? distribution : null;
     }
 
     /**
@@ -481,12 +618,18 @@ public enum ToughnessSystem {
      * @param distribution 颜色分布
      */
     public static void setColorDistribution(final LivingEntity entity, final ToughnessColorDistribution distribution) {
-        if (!ToughnessSystem.shouldHaveToughness(entity) || null == distribution) {
-            return;
-        }
+        final long start = HotPathMetrics.TOUGHNESS_WRITE.start();
+        try {
+            if (!ToughnessSystem.shouldHaveToughness(entity) || null == distribution) {
+                return;
+            }
 
-        final CompoundTag tag = entity.getPersistentData();
-        distribution.toNbt(tag);
+            ToughnessSystem.ensureInitialized(entity);
+            final CompoundTag tag = entity.getPersistentData();
+            distribution.toNbt(tag);
+        } finally {
+            HotPathMetrics.TOUGHNESS_WRITE.stop(start);
+        }
     }
 
     /**
@@ -1,9 +1,9 @@
 package com.github.chromabreak.system;
 
-import net.minecraft.core.component.DataComponentMap;
 import net.minecraft.core.component.DataComponents;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.component.CustomData;
 
 import java.util.HashSet;
 import java.util.Map;
@@ -108,31 +108,43 @@ public enum WeaponColorHelper {
      * @return 颜色集合
      */
     public static Set<ToughnessColor> getColors(final ItemStack itemStack) {
-        final Set<ToughnessColor> colors = new HashSet<>();
-
         if (itemStack.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        // 从DataComponents读取颜色
+        // Read colors from DataComponents
+        return WeaponColorHelper.getColors(itemStack.get(DataComponents.CUSTOM_DATA));
+    }
+
+    /**
+     * 从自定义数据组件读取武器颜色
+     * Read weapon colors from the custom data component
+     * <p>
+     * 不依赖物品堆栈的核心逻辑，也供基准测试直接调用
+     * ItemStack-free core logic, also called directly by benchmarks
+     *
+     * @param customData 自定义数据组件，可以为null
+     *                   Custom data component, may be null
+     * @return 颜色集合
+     */
+    public static Set<ToughnessColor> getColors(final CustomData customData) {
+        final Set<ToughnessColor> colors = new HashSet<>();
+        if (null == customData) {
             return colors;
         }
 
         try {
-            // 从DataComponents读取颜色
-            // Read colors from DataComponents
-            final DataComponentMap components = itemStack.getComponents();
-            if (null != components) {
-                final var customData = components.get(DataComponents.CUSTOM_DATA);
-                if (null != customData) {
-                    // 使用正确的API获取NBT标签
-                    // Use correct API to get NBT tag
-                    final CompoundTag tag = customData.copyTag();
-                    if (null != tag && tag.contains(WeaponColorHelper.COLORS_TAG)) {
-                        final net.minecraft.nbt.ListTag colorsTag = tag.getList(WeaponColorHelper.COLORS_TAG, net.minecraft.nbt.Tag.TAG_STRING);
-                        for (int i = 0; i < colorsTag.size(); i++) {
-                            final String colorName = colorsTag.getString(i);
-                            final ToughnessColor color = ToughnessColor.byName(colorName);
-                            if (null != color) {
-                                colors.add(color);
-                            }
-                        }
+            // 使用正确的API获取NBT标签
+            // Use correct API to get NBT tag
+            final CompoundTag tag = customData.copyTag();
+            if (null != tag && tag.contains(WeaponColorHelper.COLORS_TAG)) {
+                final net.minecraft.nbt.ListTag colorsTag = tag.getList(WeaponColorHelper.COLORS_TAG, net.minecraft.nbt.Tag.TAG_STRING);
+                for (int i = 0; i < colorsTag.size(); i++) {
+                    final String colorName = colorsTag.getString(i);
+                    final ToughnessColor color = ToughnessColor.byName(colorName);
+                    if (null != color) {
+                        colors.add(color);
                     }
                 }
             }
@@ -269,7 +281,22 @@ public enum WeaponColorHelper {
             return false;
         }
 
-        final Set<ToughnessColor> weaponColors = WeaponColorHelper.getColors(itemStack);
+        return WeaponColorHelper.canBreakDistribution(WeaponColorHelper.getColors(itemStack), distribution);
+    }
+
+    /**
+     * 检查武器颜色集合是否可以破坏指定颜色分布的韧性
+     * Check if a set of weapon colors can break toughness of specified color distribution
+     *
+     * @param weaponColors 武器颜色集合
+     * @param distribution 颜色分布
+     * @return 是否可以破坏（武器必须拥有分布中的所有颜色）
+     */
+    public static boolean canBreakDistribution(final Set<ToughnessColor> weaponColors, final ToughnessColorDistribution distribution) {
+        if (null == distribution) {
+            return false;
+        }
+
         final Map<ToughnessColor, Float> distributionColors = distribution.getColorMap();
 
         // 武器必须拥有分布中的所有颜色
@@ -0,0 +1,225 @@
+package com.github.chromabreak.tool;
+
+import com.github.chromabreak.system.DamageClassificationTrace;
+import com.github.chromabreak.system.HotPathMetrics;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.entity.projectile.ProjectileUtil;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.phys.AABB;
+import net.minecraft.world.phys.EntityHitResult;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * ChromaBreakCommands - ChromaBreak诊断命令类
+ * ChromaBreak Diagnostic Commands Class
+ * <p>
+ * 提供/chromabreak命令，用于在运行中的服务器上诊断韧性系统
+ * Provides the /chromabreak command for diagnosing the toughness system on a running server
+ * <p>
+ * 命令系统：
+ * Command system:
+ * - /chromabreak trace damage [hits] - 追踪准星所指实体接下来的受击分类（默认10次）
+ * /chromabreak trace damage [hits] - Trace damage classification of the next hits on the looked-at entity (10 by default)
+ * - /chromabreak trace stop - 停止追踪并输出汇总
+ * /chromabreak trace stop - Stop tracing and print the summary
+ * - /chromabreak stats - 输出热路径的调用速率、耗时分位数和分配估计
+ * /chromabreak stats - Print call rates, latency percentiles and allocation estimates of the hot paths
+ * - /chromabreak stats reset - 重置热路径指标
+ * /chromabreak stats reset - Reset the hot path metrics
+ * - /chromabreak retrofit geodes [radius] - 在周围已生成的区块中补充生成橙水晶矿洞（默认64区块），重启后继续
+ * /chromabreak retrofit geodes [radius] - Retrofit orange geodes into the generated chunks around you (64 chunks by default), resumes after restarts
+ * - /chromabreak retrofit status - 输出补充生成进度
+ * /chromabreak retrofit status - Print the retrofit progress
+ * - /chromabreak retrofit cancel - 取消补充生成
+ * /chromabreak retrofit cancel - Cancel the retrofit
+ * <p>
+ * 需要操作员权限（权限等级2）
+ * Requires operator permission (permission level 2)
+ */
+public enum ChromaBreakCommands {
+    ;
+
+    /**
+     * 查找准星所指实体的最大距离
+     * Maximum distance for finding the looked-at entity
+     */
+    private static final double TARGET_RANGE = 32.0;
+
+    /**
+     * 注册命令
+     * Register commands
+     *
+     * @param dispatcher 命令分发器
+     */
+    public static void register(final CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(Commands.literal("chromabreak")
+                .requires(source -> source.hasPermission(2)) // 需要操作员权限
+                .then(Commands.literal("trace")
+                        .then(Commands.literal("damage")
+                                .executes(context -> ChromaBreakCommands.traceDamage(context, 10))
+                                .then(Commands.argument("hits", IntegerArgumentType.integer(1, 1000))
+                                        .executes(context -> ChromaBreakCommands.traceDamage(context,
+                                                IntegerArgumentType.getInteger(context, "hits")))))
+                        .then(Commands.literal("stop")
+                                .executes(ChromaBreakCommands::stopTrace)))
+                .then(Commands.literal("stats")
+                        .executes(ChromaBreakCommands::printStats)
+                        .then(Commands.literal("reset")
+                                .executes(ChromaBreakCommands::resetStats)))
+                .then(Commands.literal("retrofit")
+                        .then(Commands.literal("geodes")
+                                .executes(context -> ChromaBreakCommands.retrofitGeodes(context, 64))
+                                .then(Commands.argument("radius", IntegerArgumentType.integer(1, GeodeRetrofit.MAX_RADIUS))
+                                        .executes(context -> ChromaBreakCommands.retrofitGeodes(context,
+                                                IntegerArgumentType.getInteger(context, "radius")))))
+                        .then(Commands.literal("status")
+                                .executes(ChromaBreakCommands::retrofitStatus))
+                        .then(Commands.literal("cancel")
+                                .executes(ChromaBreakCommands::retrofitCancel))));
+    }
+
+    /**
+     * 开始追踪准星所指实体的伤害分类
+     * Start tracing damage classification of the looked-at entity
+     */
+    private static int traceDamage(final CommandContext<CommandSourceStack> context, final int hits) {
+        final CommandSourceStack source = context.getSource();
+        if (!(source.getEntity() instanceof final ServerPlayer player)) {
+            source.sendFailure(Component.literal("This command can only be used by players / 此命令只能由玩家使用"));
+            return 0;
+        }
+
+        final LivingEntity target = ChromaBreakCommands.findLookedAtEntity(player);
+        if (null == target) {
+            source.sendFailure(Component.literal("No living entity in sight within " + (int) ChromaBreakCommands.TARGET_RANGE
+                    + " blocks / 视线内" + (int) ChromaBreakCommands.TARGET_RANGE + "格内没有生物"));
+            return 0;
+        }
+
+        DamageClassificationTrace.start(player, target, hits);
+        final String targetType = EntityType.getKey(target.getType()).toString();
+        source.sendSuccess(() -> Component.literal("Tracing the next " + hits + " hits on " + targetType
+                + " (only hits that reach the toughness check are recorded)"), false);
+        source.sendSuccess(() -> Component.literal("正在追踪 " + targetType + " 接下来的 " + hits
+                + " 次受击（只记录进入韧性检查的受击）"), false);
+        return 1;
+    }
+
+    /**
+     * 停止当前追踪
+     * Stop the current trace
+     */
+    private static int stopTrace(final CommandContext<CommandSourceStack> context) {
+        final CommandSourceStack source = context.getSource();
+        if (!DamageClassificationTrace.stop(source.getServer())) {
+            source.sendFailure(Component.literal("No damage trace is running / 没有正在进行的伤害追踪"));
+            return 0;
+        }
+        return 1;
+    }
+
+    /**
+     * 输出热路径指标
+     * Print the hot path metrics
+     */
+    private static int printStats(final CommandContext<CommandSourceStack> context) {
+        final CommandSourceStack source = context.getSource();
+        final double seconds = HotPathMetrics.secondsSinceReset();
+        source.sendSuccess(() -> Component.literal(String.format(Locale.ROOT,
+                "Hot path metrics over the last %.0f s / 最近%.0f秒的热路径指标", seconds, seconds)), false);
+        for (final HotPathMetrics.Probe probe : HotPathMetrics.probes()) {
+            final String line = probe.snapshot().format(seconds);
+            source.sendSuccess(() -> Component.literal(" " + line), false);
+        }
+        return 1;
+    }
+
+    /**
+     * 重置热路径指标
+     * Reset the hot path metrics
+     */
+    private static int resetStats(final CommandContext<CommandSourceStack> context) {
+        HotPathMetrics.reset();
+        context.getSource().sendSuccess(() -> Component.literal("Hot path metrics reset / 热路径指标已重置"), false);
+        return 1;
+    }
+
+    /**
+     * 在命令源周围已生成的区块中补充生成橙水晶矿洞
+     * Retrofit orange geodes into the already generated chunks around the command source
+     */
+    private static int retrofitGeodes(final CommandContext<CommandSourceStack> context, final int radius) {
+        final CommandSourceStack source = context.getSource();
+        final ChunkPos center = new ChunkPos(BlockPos.containing(source.getPosition()));
+        if (!GeodeRetrofit.start(source.getLevel(), center, radius)) {
+            source.sendFailure(Component.literal("A retrofit is already running or the geode feature is not used in this dimension"
+                    + " / 已有补充生成任务正在运行或此维度未使用晶洞特征"));
+            return 0;
+        }
+        source.sendSuccess(() -> Component.literal("Geode retrofit started around chunk " + center + ", radius " + radius
+                + " / 已开始补充生成晶洞，进度会在重启后继续"), true);
+        return 1;
+    }
+
+    /**
+     * 输出补充生成任务的进度
+     * Print the progress of the retrofit job
+     */
+    private static int retrofitStatus(final CommandContext<CommandSourceStack> context) {
+        final CommandSourceStack source = context.getSource();
+        final Optional<GeodeRetrofit.Progress> progress = GeodeRetrofit.status(source.getServer());
+        if (progress.isEmpty()) {
+            source.sendFailure(Component.literal("No geode retrofit has run in this world / 此世界还没有运行过晶洞补充生成"));
+            return 0;
+        }
+        final String line = progress.get().describe();
+        source.sendSuccess(() -> Component.literal(line), false);
+        return 1;
+    }
+
+    /**
+     * 取消补充生成任务
+     * Cancel the retrofit job
+     */
+    private static int retrofitCancel(final CommandContext<CommandSourceStack> context) {
+        final CommandSourceStack source = context.getSource();
+        if (!GeodeRetrofit.cancel(source.getServer())) {
+            source.sendFailure(Component.literal("No geode retrofit is running / 没有正在进行的晶洞补充生成"));
+            return 0;
+        }
+        source.sendSuccess(() -> Component.literal("Geode retrofit cancelled, placed geodes are kept / 已取消晶洞补充生成，已放置的晶洞保留"), true);
+        return 1;
+    }
+
+    /**
+     * 查找玩家准星所指的生物
+     * Find the living entity the player is looking at
+     *
+     * @param player 玩家
+     * @return 准星所指的生物，没有时返回null
+     */
+    private static LivingEntity findLookedAtEntity(final ServerPlayer player) {
+        final Vec3 eye = player.getEyePosition();
+        final Vec3 end = eye.add(player.getViewVector(1.0f).scale(ChromaBreakCommands.TARGET_RANGE));
+        final AABB searchBox = player.getBoundingBox()
+                .expandTowards(player.getViewVector(1.0f).scale(ChromaBreakCommands.TARGET_RANGE))
+                .inflate(1.0);
+        final EntityHitResult hit = ProjectileUtil.getEntityHitResult(player, eye, end, searchBox,
+                (final Entity entity) -> entity instanceof LivingEntity && !entity.isSpectator() && entity.isPickable(),
+                ChromaBreakCommands.TARGET_RANGE * ChromaBreakCommands.TARGET_RANGE);
+        return null != hit && hit.getEntity() instanceof final LivingEntity living ? living : null;
+    }
+}
@@ -0,0 +1,360 @@
+package com.github.chromabreak.tool;
+
+import com.github.chromabreak.world.PlacedFeatures.PlacedFeaturesOG;
+import net.minecraft.Util;
+import net.minecraft.core.Holder;
+import net.minecraft.core.QuartPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.tags.BlockTags;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.LevelHeightAccessor;
+import net.minecraft.world.level.NoiseColumn;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.biome.BiomeSource;
+import net.minecraft.world.level.biome.Climate;
+import net.minecraft.world.level.biome.FeatureSorter;
+import net.minecraft.world.level.chunk.ChunkGenerator;
+import net.minecraft.world.level.levelgen.GenerationStep;
+import net.minecraft.world.level.levelgen.RandomState;
+import net.minecraft.world.level.levelgen.RandomSupport;
+import net.minecraft.world.level.levelgen.WorldgenRandom;
+import net.minecraft.world.level.levelgen.XoroshiroRandomSource;
+import net.minecraft.world.level.levelgen.placement.PlacedFeature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * GeodeDensityAnalyzer - 晶洞放置密度分析器
+ * Geode Placement Density Analyzer
+ * <p>
+ * 在N×N区块范围内并行模拟橙水晶矿洞的放置流程（不放置任何方块），用于调整稀有度和扫描距离
+ * Simulates the orange geode placement pipeline over an N×N chunk region in parallel (without placing any block), used
+ * to tune rarity and scan distance
+ * <p>
+ * 每个区块按PlacedFeaturesOG的放置规则模拟：
+ * Every chunk is simulated with the placement rules of PlacedFeaturesOG:
+ * - 生物群系：区块中心的一列生物群系中是否有包含该放置特征的生物群系（沙漠，由BiomeModifiersOG添加）
+ * Biome: Whether any biome in the center column of the chunk contains the placed feature (deserts, added by BiomeModifiersOG)
+ * - 稀有度、区块内分布和高度：与RarityFilter、InSquarePlacement和HeightRangePlacement使用相同的随机数序列
+ * Rarity, spread and height: The same random sequence as RarityFilter, InSquarePlacement and HeightRangePlacement
+ * - 环境扫描：在区块生成器的基础地形列（NoiseColumn）上向下寻找石头，与EnvironmentScanPlacement相同
+ * Environment scan: Searches downwards for stone in the base terrain column (NoiseColumn) of the chunk generator, the
+ * same way EnvironmentScanPlacement does
+ * <p>
+ * 只访问区块生成器、生物群系源和世界种子（线程安全），不加载区块，因此可以在后台线程运行
+ * Only the chunk generator, biome source and world seed are accessed (thread safe), no chunk is loaded, so it runs on
+ * background threads
+ * <p>
+ * 随机数按区块生成器的方式设置（包括放置特征在地下装饰阶段中的实际序号），洞穴雕刻和晶洞特征本身的失败（例如遇到无效方块）不被模拟
+ * The random is seeded the way the chunk generator does (including the real index of the placed feature in the
+ * underground decoration step); carvers and failures of the geode feature itself (such as invalid blocks) are not
+ * simulated
+ */
+public enum GeodeDensityAnalyzer {
+    ;
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /**
+     * 最大分析半径（区块），(2×128+1)²约为6.6万个区块
+     * Maximum analysis radius (chunks), (2×128+1)² is about 66 thousand chunks
+     */
+    public static final int MAX_RADIUS = 128;
+
+    /**
+     * 是否有分析正在运行（只在服务器线程读写）
+     * Whether an analysis is running (only read and written on the server thread)
+     */
+    private static boolean running;
+
+    /**
+     * 放置参数
+     * Placement settings
+     *
+     * @param rarity       平均每多少个区块尝试一次 / One attempt on average every this many chunks
+     * @param minY         高度下限 / Lowest height
+     * @param maxY         高度上限 / Highest height
+     * @param scanDistance 向下扫描的最大距离 / Maximum downward scan distance
+     */
+    public record Settings(int rarity, int minY, int maxY, int scanDistance) {
+        /**
+         * PlacedFeaturesOG中的当前参数
+         * The current settings of PlacedFeaturesOG
+         */
+        public static Settings defaults() {
+            return new Settings(PlacedFeaturesOG.ORANGE_GEODE_RARITY, PlacedFeaturesOG.ORANGE_GEODE_MIN_Y,
+                    PlacedFeaturesOG.ORANGE_GEODE_MAX_Y, PlacedFeaturesOG.ORANGE_GEODE_SCAN_DISTANCE);
+        }
+    }
+
+    /**
+     * 分析结果
+     * Analysis result
+     *
+     * @param chunks         分析的区块数 / Analysed chunks
+     * @param eligibleChunks 生物群系允许放置的区块数 / Chunks whose biomes allow the feature
+     * @param scanAttempts   通过稀有度检查并执行环境扫描的次数 / Attempts that passed rarity and ran the environment scan
+     * @param blockChecks    环境扫描检查的方块数 / Blocks checked by the environment scan
+     * @param geodes         找到放置位置的晶洞数 / Geodes that found a placement position
+     * @param cpuNanos       所有工作线程的总耗时 / Total time of all worker threads
+     * @param wallNanos      实际经过的时间 / Elapsed wall time
+     */
+    public record Result(long chunks, long eligibleChunks, long scanAttempts, long blockChecks, long geodes,
+                         long cpuNanos, long wallNanos) {
+        /**
+         * 每1000个区块的晶洞数
+         * Geodes per 1000 chunks
+         */
+        public double geodesPer1000Chunks() {
+            return 0 == this.chunks ? 0.0 : this.geodes * 1000.0 / this.chunks;
+        }
+
+        /**
+         * 每1000个可放置区块的晶洞数
+         * Geodes per 1000 eligible chunks
+         */
+        public double geodesPer1000EligibleChunks() {
+            return 0 == this.eligibleChunks ? 0.0 : this.geodes * 1000.0 / this.eligibleChunks;
+        }
+
+        /**
+         * 每个区块的平均耗时（纳秒）
+         * Average time per chunk (nanoseconds)
+         */
+        public double nanosPerChunk() {
+            return 0 == this.chunks ? 0.0 : (double) this.cpuNanos / this.chunks;
+        }
+
+        /**
+         * 格式化为一行文本
+         * Format as one line of text
+         */
+        public String format() {
+            return String.format(Locale.ROOT,
+                    "%d chunks (%d eligible): %d geodes, %.2f per 1000 chunks, %.2f per 1000 eligible chunks, "
+                            + "%d scan attempts, %d block checks, %.0f ns/chunk, %.1f ms wall",
+                    this.chunks, this.eligibleChunks, this.geodes, this.geodesPer1000Chunks(),
+                    this.geodesPer1000EligibleChunks(), this.scanAttempts, this.blockChecks, this.nanosPerChunk(),
+                    this.wallNanos / 1.0e6);
+        }
+    }
+
+    /**
+     * 一行区块的计数（每个任务独享，最后合并）
+     * Counters of one chunk row (owned by one task, merged at the end)
+     */
+    private static final class Tally {
+        private long chunks;
+        private long eligibleChunks;
+        private long scanAttempts;
+        private long blockChecks;
+        private long geodes;
+        private long nanos;
+
+        private void add(final Tally other) {
+            this.chunks += other.chunks;
+            this.eligibleChunks += other.eligibleChunks;
+            this.scanAttempts += other.scanAttempts;
+            this.blockChecks += other.blockChecks;
+            this.geodes += other.geodes;
+            this.nanos += other.nanos;
+        }
+    }
+
+    /**
+     * 世界生成数据的不可变快照，在服务器线程获取后交给工作线程
+     * Immutable snapshot of the world generation data, taken on the server thread and handed to the workers
+     *
+     * @param featureIndex 放置特征在地下装饰阶段中的序号（与ChunkGenerator.applyBiomeDecoration相同）
+     *                     Index of the placed feature in the underground decoration step (the same as
+     *                     ChunkGenerator.applyBiomeDecoration)
+     */
+    record Terrain(ChunkGenerator generator, RandomState randomState, BiomeSource biomeSource,
+                   Climate.Sampler sampler, LevelHeightAccessor heightAccessor, long seed,
+                   PlacedFeature feature, int featureIndex) {
+        /**
+         * 在服务器线程获取维度的快照；未注册放置特征或维度中没有生物群系使用它时返回空
+         * Take the snapshot of a dimension on the server thread; empty if the placed feature is not registered or no
+         * biome of the dimension uses it
+         */
+        static Optional<Terrain> of(final ServerLevel level) {
+            final ChunkGenerator generator = level.getChunkSource().getGenerator();
+            final RandomState randomState = level.getChunkSource().randomState();
+            return level.registryAccess().registryOrThrow(Registries.PLACED_FEATURE)
+                    .getHolder(PlacedFeaturesOG.ORANGE_GEODE_PLACED)
+                    .map(feature -> new Terrain(generator, randomState, generator.getBiomeSource(), randomState.sampler(),
+                            LevelHeightAccessor.create(level.getMinBuildHeight(), level.getHeight()), level.getSeed(),
+                            feature.value(), Terrain.featureIndex(generator.getBiomeSource(), feature.value())))
+                    .filter(terrain -> 0 <= terrain.featureIndex());
+        }
+
+        /**
+         * 按ChunkGenerator的方式对维度中所有可能的生物群系的特征排序，返回放置特征在地下装饰阶段中的序号
+         * Sort the features of every possible biome of the dimension the way ChunkGenerator does and return the index of
+         * the placed feature in the underground decoration step
+         */
+        private static int featureIndex(final BiomeSource biomeSource, final PlacedFeature feature) {
+            final List<FeatureSorter.StepFeatureData> steps = FeatureSorter.buildFeaturesPerStep(
+                    List.copyOf(biomeSource.possibleBiomes()), biome -> biome.value().getGenerationSettings().features(),
+                    true);
+            final int step = GenerationStep.Decoration.UNDERGROUND_DECORATION.ordinal();
+            return step < steps.size() ? steps.get(step).indexMapping().applyAsInt(feature) : -1;
+        }
+    }
+
+    /**
+     * 是否有分析正在运行
+     * Whether an analysis is running
+     */
+    public static boolean isRunning() {
+        return GeodeDensityAnalyzer.running;
+    }
+
+    /**
+     * 开始分析，每行区块一个后台任务；必须在服务器线程调用
+     * Start an analysis with one background task per chunk row; must be called on the server thread
+     *
+     * @param level    要分析的维度
+     *                 Dimension to analyse
+     * @param center   中心区块
+     *                 Center chunk
+     * @param radius   半径（区块），会被限制在MAX_RADIUS以内
+     *                 Radius (chunks), clamped to MAX_RADIUS
+     * @param settings 放置参数
+     *                 Placement settings
+     * @return 分析结果；未注册放置特征或维度中没有生物群系使用它时返回空
+     * The analysis result; empty if the placed feature is not registered or no biome of the dimension uses it
+     */
+    public static Optional<CompletableFuture<Result>> analyze(final ServerLevel level, final ChunkPos center,
+                                                              final int radius, final Settings settings) {
+        final Optional<Terrain> snapshot = Terrain.of(level);
+        if (snapshot.isEmpty()) {
+            return Optional.empty();
+        }
+        final Terrain terrain = snapshot.get();
+
+        final int clamped = Mth.clamp(radius, 0, GeodeDensityAnalyzer.MAX_RADIUS);
+        final List<CompletableFuture<Tally>> rows = new ArrayList<>(2 * clamped + 1);
+        for (int dz = -clamped; dz <= clamped; dz++) {
+            final int chunkZ = center.z + dz;
+            rows.add(CompletableFuture.supplyAsync(() -> GeodeDensityAnalyzer.analyzeRow(terrain, settings,
+                    center.x - clamped, center.x + clamped, chunkZ), Util.backgroundExecutor()));
+        }
+
+        GeodeDensityAnalyzer.running = true;
+        final long start = System.nanoTime();
+        return Optional.of(CompletableFuture.allOf(rows.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            final Tally total = new Tally();
+            for (final CompletableFuture<Tally> row : rows) {
+                total.add(row.join());
+            }
+            final Result result = new Result(total.chunks, total.eligibleChunks, total.scanAttempts,
+                    total.blockChecks, total.geodes, total.nanos, System.nanoTime() - start);
+            GeodeDensityAnalyzer.LOGGER.info("晶洞密度分析 / Geode density analysis {}: {}", settings, result.format());
+            return result;
+        }).whenCompleteAsync((result, error) -> GeodeDensityAnalyzer.running = false, level.getServer()));
+    }
+
+    /**
+     * 分析一行区块
+     * Analyse one chunk row
+     */
+    private static Tally analyzeRow(final Terrain terrain, final Settings settings, final int minChunkX,
+                                    final int maxChunkX, final int chunkZ) {
+        final Tally tally = new Tally();
+        final WorldgenRandom random = new WorldgenRandom(new XoroshiroRandomSource(RandomSupport.generateUniqueSeed()));
+
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            final long start = System.nanoTime();
+            tally.chunks++;
+            final int minX = SectionPos.sectionToBlockCoord(chunkX);
+            final int minZ = SectionPos.sectionToBlockCoord(chunkZ);
+
+            if (GeodeDensityAnalyzer.isEligible(terrain, minX + 8, minZ + 8)) {
+                tally.eligibleChunks++;
+
+                // RarityFilter、InSquarePlacement、HeightRangePlacement
+                if (GeodeDensityAnalyzer.rollRarity(terrain, random, minX, minZ, settings.rarity())) {
+                    final int x = minX + random.nextInt(16);
+                    final int z = minZ + random.nextInt(16);
+                    final int y = settings.minY() > settings.maxY() ? settings.minY()
+                            : Mth.randomBetweenInclusive(random, settings.minY(), settings.maxY());
+                    tally.scanAttempts++;
+                    GeodeDensityAnalyzer.scan(terrain, settings, x, y, z, tally);
+                }
+            }
+            tally.nanos += System.nanoTime() - start;
+        }
+        return tally;
+    }
+
+    /**
+     * 按ChunkGenerator.applyBiomeDecoration的方式为区块设置装饰种子和特征种子
+     * Seed the random for a chunk with the decoration and feature seeds the way ChunkGenerator.applyBiomeDecoration does
+     */
+    static void seedDecoration(final Terrain terrain, final WorldgenRandom random, final int minX, final int minZ) {
+        final long decorationSeed = random.setDecorationSeed(terrain.seed(), minX, minZ);
+        random.setFeatureSeed(decorationSeed, terrain.featureIndex(), GenerationStep.Decoration.UNDERGROUND_DECORATION.ordinal());
+    }
+
+    /**
+     * 设置装饰种子并进行与RarityFilter相同的稀有度判定，之后的随机数序列与放置流程一致
+     * Seed the random and roll rarity the same way RarityFilter does, the following random sequence matches the placement pipeline
+     */
+    static boolean rollRarity(final Terrain terrain, final WorldgenRandom random, final int minX, final int minZ,
+                              final int rarity) {
+        GeodeDensityAnalyzer.seedDecoration(terrain, random, minX, minZ);
+        return random.nextFloat() < 1.0F / rarity;
+    }
+
+    /**
+     * 区块中心这一列中是否有生物群系包含该放置特征（每个区块段采样一次）
+     * Whether any biome in the center column of the chunk contains the placed feature (sampled once per section)
+     */
+    static boolean isEligible(final Terrain terrain, final int x, final int z) {
+        final LevelHeightAccessor height = terrain.heightAccessor();
+        for (int y = height.getMinBuildHeight(); y < height.getMaxBuildHeight(); y += 16) {
+            final Holder<Biome> biome = terrain.biomeSource().getNoiseBiome(QuartPos.fromBlock(x), QuartPos.fromBlock(y),
+                    QuartPos.fromBlock(z), terrain.sampler());
+            if (biome.value().getGenerationSettings().hasFeature(terrain.feature())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 与EnvironmentScanPlacement相同的向下扫描：最多检查scanDistance+1个方块
+     * The same downward scan as EnvironmentScanPlacement: checks at most scanDistance + 1 blocks
+     */
+    private static void scan(final Terrain terrain, final Settings settings, final int x, final int y, final int z,
+                             final Tally tally) {
+        final LevelHeightAccessor height = terrain.heightAccessor();
+        final NoiseColumn column = terrain.generator().getBaseColumn(x, z, height, terrain.randomState());
+        int currentY = y;
+        for (int step = 0; step < settings.scanDistance(); step++) {
+            tally.blockChecks++;
+            if (column.getBlock(currentY).is(BlockTags.BASE_STONE_OVERWORLD)) {
+                tally.geodes++;
+                return;
+            }
+            currentY--;
+            if (height.isOutsideBuildHeight(currentY)) {
+                return;
+            }
+        }
+        tally.blockChecks++;
+        if (column.getBlock(currentY).is(BlockTags.BASE_STONE_OVERWORLD)) {
+            tally.geodes++;
+        }
+    }
+}
@@ -0,0 +1,562 @@
+package com.github.chromabreak.tool;
+
+import com.github.chromabreak.ChromaBreak;
+import com.github.chromabreak.util.ModAttachments;
+import com.github.chromabreak.util.ModBlocks;
+import com.github.chromabreak.world.PlacedFeatures.PlacedFeaturesOG;
+import net.minecraft.Util;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.core.SectionPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.chunk.storage.ChunkSerializer;
+import net.minecraft.world.level.chunk.status.ChunkType;
+import net.minecraft.world.level.levelgen.RandomSupport;
+import net.minecraft.world.level.levelgen.WorldgenRandom;
+import net.minecraft.world.level.levelgen.XoroshiroRandomSource;
+import net.minecraft.world.level.saveddata.SavedData;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.attachment.AttachmentHolder;
+import net.neoforged.neoforge.event.level.ChunkEvent;
+import net.neoforged.neoforge.event.server.ServerStartedEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * GeodeRetrofit - 已有世界的晶洞补充生成任务
+ * Geode Retrofit Job for Existing Worlds
+ * <p>
+ * 已有世界只有新生成的沙漠区块才会出现橙水晶矿洞；这个任务遍历半径内已生成的区块，为应该有晶洞的区块补充生成
+ * Existing worlds only get orange geodes in newly generated desert chunks; this job walks the already generated chunks
+ * within a radius and places geodes in the chunks that should have one
+ * <p>
+ * 任务分两步：
+ * The job runs in two steps:
+ * - 后台线程：每批BATCH_SIZE个区块，判定稀有度和生物群系（与GeodeDensityAnalyzer相同，纯计算）；然后检查候选区块及其周围
+ * 8个区块，已加载的区块在服务器线程上直接检查（它们的存档可能已过期），未加载的区块异步读取存档。跳过未完整生成的候选区块、
+ * 带有晶洞生成标记的候选区块（安装本模组后生成的区块已经过晶洞生成），以及自身或相邻区块已包含橙水晶方块的候选区块
+ * （晶洞中心最多偏移7格，再加上半径会延伸到相邻区块；标记出现之前本模组生成的区块只能这样识别）
+ * Background threads: Batches of BATCH_SIZE chunks roll rarity and check biomes (the same pure math as
+ * GeodeDensityAnalyzer); then each candidate and its 8 neighbours are checked, loaded chunks directly on the server
+ * thread (their saved data may be stale) and unloaded ones by reading their saved data asynchronously. Candidates are
+ * skipped if they are not fully generated, carry the geode generation marker (chunks generated with the mod installed
+ * already went through geode generation), or if they or a neighbour already contain orange crystal blocks (a geode's
+ * center is offset by up to 7 blocks and its radius spills into the neighbouring chunks; this is the only way to
+ * recognise chunks the mod generated before the marker existed)
+ * - 服务器线程：按顺序在候选区块中运行ORANGE_GEODE_PLACED的完整放置流程（方块写入必须在服务器线程），每tick受时间预算限制，
+ * 最多加载一个区块
+ * Server thread: Runs the full ORANGE_GEODE_PLACED placement pipeline in the candidates in order (block writes must
+ * happen on the server thread), bounded by a time budget per tick and at most one chunk load per tick
+ * <p>
+ * 进度保存在主世界的SavedData中，每放置一个晶洞都会更新，服务器重启后从下一个区块继续
+ * Progress lives in SavedData of the overworld and is updated after every placed geode, so the job resumes at the next
+ * chunk after a restart
+ * <p>
+ * 同时只有一个任务，除后台批次外所有方法都在服务器线程调用
+ * There is at most one job, all methods except the background batches are called on the server thread
+ */
+@EventBusSubscriber(modid = ChromaBreak.MODID)
+public enum GeodeRetrofit {
+    ;
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /**
+     * SavedData的名称
+     * Name of the SavedData
+     */
+    private static final String DATA_NAME = "chromabreak_geode_retrofit";
+
+    /**
+     * 最大半径（区块）
+     * Maximum radius (chunks)
+     */
+    public static final int MAX_RADIUS = 1024;
+
+    /**
+     * 每个后台批次的区块数
+     * Chunks per background batch
+     */
+    private static final int BATCH_SIZE = 256;
+
+    /**
+     * 同时在后台运行的批次数
+     * Batches running in the background at the same time
+     */
+    private static final int MAX_IN_FLIGHT = 4;
+
+    /**
+     * 每tick在服务器线程放置晶洞的时间预算（纳秒）
+     * Time budget for placing geodes on the server thread per tick (nanoseconds)
+     */
+    private static final long TICK_BUDGET_NANOS = 2_000_000L;
+
+    /**
+     * 每tick最多放置的晶洞数（每次放置可能同步加载区块）
+     * Maximum geodes placed per tick (every placement may load a chunk synchronously)
+     */
+    private static final int MAX_PLACEMENTS_PER_TICK = 1;
+
+    /**
+     * 正在运行的任务（只在服务器线程读写）
+     * The running job (only read and written on the server thread)
+     */
+    private static Job job;
+
+    /**
+     * 持久化的任务进度
+     * Persisted job progress
+     */
+    public static final class Progress extends SavedData {
+        private static final SavedData.Factory<Progress> FACTORY = new SavedData.Factory<>(Progress::new, Progress::load, null);
+
+        private String dimension = "";
+        private int centerX;
+        private int centerZ;
+        private int radius;
+        /**
+         * 下一个要处理的区块序号（按行遍历）
+         * Index of the next chunk to process (row-major)
+         */
+        private int nextIndex;
+        private long placed;
+        private boolean active;
+
+        private static Progress load(final CompoundTag tag, final HolderLookup.Provider registries) {
+            final Progress progress = new Progress();
+            progress.dimension = tag.getString("Dimension");
+            progress.centerX = tag.getInt("CenterX");
+            progress.centerZ = tag.getInt("CenterZ");
+            progress.radius = tag.getInt("Radius");
+            progress.nextIndex = tag.getInt("NextIndex");
+            progress.placed = tag.getLong("Placed");
+            progress.active = tag.getBoolean("Active");
+            return progress;
+        }
+
+        @Override
+        public CompoundTag save(final CompoundTag tag, final HolderLookup.Provider registries) {
+            tag.putString("Dimension", this.dimension);
+            tag.putInt("CenterX", this.centerX);
+            tag.putInt("CenterZ", this.centerZ);
+            tag.putInt("Radius", this.radius);
+            tag.putInt("NextIndex", this.nextIndex);
+            tag.putLong("Placed", this.placed);
+            tag.putBoolean("Active", this.active);
+            return tag;
+        }
+
+        private int side() {
+            return 2 * this.radius + 1;
+        }
+
+        private int total() {
+            return this.side() * this.side();
+        }
+
+        private ChunkPos chunkAt(final int index) {
+            return new ChunkPos(this.centerX - this.radius + index % this.side(),
+                    this.centerZ - this.radius + index / this.side());
+        }
+
+        /**
+         * 进度描述
+         * Progress description
+         */
+        public String describe() {
+            return String.format(Locale.ROOT, "%s around chunk [%d, %d] radius %d: %d/%d chunks (%.1f%%), %d geodes placed%s",
+                    this.dimension, this.centerX, this.centerZ, this.radius, this.nextIndex, this.total(),
+                    100.0 * this.nextIndex / this.total(), this.placed, this.active ? "" : ", stopped");
+        }
+    }
+
+    /**
+     * 一个后台批次：区块序号范围和需要放置晶洞的候选序号（升序）
+     * One background batch: the chunk index range and the candidate indices that need a geode (ascending)
+     */
+    private record Batch(int start, int end, CompletableFuture<int[]> candidates) {
+    }
+
+    /**
+     * 运行中的任务状态
+     * State of the running job
+     */
+    private static final class Job {
+        private final ServerLevel level;
+        private final GeodeDensityAnalyzer.Terrain terrain;
+        private final Progress progress;
+        private final Set<String> markerBlocks;
+        private final Set<Block> markerBlockTypes;
+        private final ArrayDeque<Batch> batches = new ArrayDeque<>();
+        /**
+         * 只在服务器线程使用的随机数
+         * Random only used on the server thread
+         */
+        private final WorldgenRandom random = new WorldgenRandom(new XoroshiroRandomSource(RandomSupport.generateUniqueSeed()));
+        private int nextSubmit;
+        /**
+         * 当前批次中下一个候选的位置
+         * Position of the next candidate in the current batch
+         */
+        private int cursor;
+
+        private Job(final ServerLevel level, final GeodeDensityAnalyzer.Terrain terrain, final Progress progress) {
+            this.level = level;
+            this.terrain = terrain;
+            this.progress = progress;
+            this.nextSubmit = progress.nextIndex;
+            this.markerBlockTypes = Set.of(ModBlocks.CRYSTALS_ORANGE_BLOCK.get(), ModBlocks.BUDDING_ORANGE_CRYSTALS.get());
+            this.markerBlocks = Set.of(
+                    BuiltInRegistries.BLOCK.getKey(ModBlocks.CRYSTALS_ORANGE_BLOCK.get()).toString(),
+                    BuiltInRegistries.BLOCK.getKey(ModBlocks.BUDDING_ORANGE_CRYSTALS.get()).toString());
+        }
+    }
+
+    /**
+     * 开始补充生成
+     * Start the retrofit
+     *
+     * @param level  维度
+     *               Dimension
+     * @param center 中心区块
+     *               Center chunk
+     * @param radius 半径（区块）
+     *               Radius (chunks)
+     * @return 未注册放置特征、维度中没有生物群系使用它或已有任务时返回false
+     * false if the placed feature is not registered, no biome of the dimension uses it or a job is already running
+     */
+    public static boolean start(final ServerLevel level, final ChunkPos center, final int radius) {
+        final Progress progress = GeodeRetrofit.progress(level.getServer());
+        if (null != GeodeRetrofit.job || progress.active) {
+            return false;
+        }
+        final Optional<GeodeDensityAnalyzer.Terrain> terrain = GeodeDensityAnalyzer.Terrain.of(level);
+        if (terrain.isEmpty()) {
+            return false;
+        }
+
+        progress.dimension = level.dimension().location().toString();
+        progress.centerX = center.x;
+        progress.centerZ = center.z;
+        progress.radius = radius;
+        progress.nextIndex = 0;
+        progress.placed = 0;
+        progress.active = true;
+        progress.setDirty();
+
+        GeodeRetrofit.job = new Job(level, terrain.get(), progress);
+        GeodeRetrofit.LOGGER.info("开始补充生成晶洞 / Geode retrofit started: {}", progress.describe());
+        return true;
+    }
+
+    /**
+     * 取消任务，已放置的晶洞保留
+     * Cancel the job, placed geodes are kept
+     *
+     * @return 是否有任务被取消
+     * Whether a job was cancelled
+     */
+    public static boolean cancel(final MinecraftServer server) {
+        final Progress progress = GeodeRetrofit.progress(server);
+        final boolean wasActive = progress.active;
+        GeodeRetrofit.job = null;
+        progress.active = false;
+        progress.setDirty();
+        return wasActive;
+    }
+
+    /**
+     * 当前或上一次任务的进度
+     * Progress of the current or last job
+     */
+    public static Optional<Progress> status(final MinecraftServer server) {
+        final Progress progress = GeodeRetrofit.progress(server);
+        return progress.dimension.isEmpty() ? Optional.empty() : Optional.of(progress);
+    }
+
+    private static Progress progress(final MinecraftServer server) {
+        return server.overworld().getDataStorage().computeIfAbsent(Progress.FACTORY, GeodeRetrofit.DATA_NAME);
+    }
+
+    /**
+     * 服务器启动后恢复未完成的任务
+     * Resume an unfinished job after the server started
+     *
+     * @param event 服务器启动完成事件
+     *              Server started event
+     */
+    @SubscribeEvent
+    public static void onServerStarted(final ServerStartedEvent event) {
+        final Progress progress = GeodeRetrofit.progress(event.getServer());
+        if (!progress.active) {
+            return;
+        }
+
+        final ResourceLocation dimension = ResourceLocation.tryParse(progress.dimension);
+        final ServerLevel level = null == dimension ? null
+                : event.getServer().getLevel(ResourceKey.create(Registries.DIMENSION, dimension));
+        final Optional<GeodeDensityAnalyzer.Terrain> terrain = null == level ? Optional.empty()
+                : GeodeDensityAnalyzer.Terrain.of(level);
+        if (terrain.isEmpty()) {
+            GeodeRetrofit.LOGGER.warn("无法恢复晶洞补充生成 / Cannot resume the geode retrofit: {}", progress.describe());
+            return;
+        }
+
+        GeodeRetrofit.job = new Job(level, terrain.get(), progress);
+        GeodeRetrofit.LOGGER.info("恢复晶洞补充生成 / Geode retrofit resumed: {}", progress.describe());
+    }
+
+    /**
+     * 服务器停止时丢弃内存中的任务，进度已保存在SavedData中
+     * Drop the in-memory job when the server stops, the progress is already in SavedData
+     *
+     * @param event 服务器停止事件
+     *              Server stopped event
+     */
+    @SubscribeEvent
+    public static void onServerStopped(final ServerStoppedEvent event) {
+        GeodeRetrofit.job = null;
+    }
+
+    /**
+     * 新生成的区块已经过本模组的晶洞生成，写入标记让补充生成跳过它们
+     * Newly generated chunks already went through this mod's geode generation, mark them so the retrofit skips them
+     *
+     * @param event 区块加载事件
+     *              Chunk load event
+     */
+    @SubscribeEvent
+    public static void onChunkLoad(final ChunkEvent.Load event) {
+        if (event.isNewChunk() && event.getLevel() instanceof ServerLevel
+                && event.getChunk() instanceof final LevelChunk chunk) {
+            GeodeRetrofit.markGenerated(chunk);
+        }
+    }
+
+    /**
+     * 每tick提交后台批次，并在时间预算内放置已判定的晶洞
+     * Submit background batches and place evaluated geodes within the time budget every tick
+     *
+     * @param event 服务器tick事件
+     *              Server tick event
+     */
+    @SubscribeEvent
+    public static void onServerTick(final ServerTickEvent.Post event) {
+        final Job current = GeodeRetrofit.job;
+        if (null == current) {
+            return;
+        }
+
+        final Progress progress = current.progress;
+        final int total = progress.total();
+        while (current.batches.size() < GeodeRetrofit.MAX_IN_FLIGHT && current.nextSubmit < total) {
+            final int start = current.nextSubmit;
+            final int end = Math.min(total, start + GeodeRetrofit.BATCH_SIZE);
+            current.batches.add(new Batch(start, end, GeodeRetrofit.evaluate(current, start, end)));
+            current.nextSubmit = end;
+        }
+
+        final long deadline = System.nanoTime() + GeodeRetrofit.TICK_BUDGET_NANOS;
+        int placements = 0;
+        while (!current.batches.isEmpty() && current.batches.peek().candidates().isDone()) {
+            final Batch batch = current.batches.peek();
+            final int[] candidates;
+            try {
+                candidates = batch.candidates().join();
+            } catch (final RuntimeException e) {
+                GeodeRetrofit.LOGGER.error("晶洞补充生成批次失败，任务已暂停 / Geode retrofit batch failed, job paused: {}",
+                        progress.describe(), e);
+                GeodeRetrofit.job = null;
+                return;
+            }
+
+            while (current.cursor < candidates.length) {
+                if (placements >= GeodeRetrofit.MAX_PLACEMENTS_PER_TICK || System.nanoTime() >= deadline) {
+                    return;
+                }
+                final int index = candidates[current.cursor++];
+                if (GeodeRetrofit.place(current, progress.chunkAt(index))) {
+                    progress.placed++;
+                }
+                progress.nextIndex = index + 1;
+                progress.setDirty();
+                placements++;
+            }
+
+            current.batches.poll();
+            current.cursor = 0;
+            progress.nextIndex = batch.end();
+            progress.setDirty();
+        }
+
+        if (current.batches.isEmpty() && progress.nextIndex >= total) {
+            progress.active = false;
+            progress.setDirty();
+            GeodeRetrofit.job = null;
+            GeodeRetrofit.LOGGER.info("晶洞补充生成完成 / Geode retrofit finished: {}", progress.describe());
+        }
+    }
+
+    /**
+     * 在后台判定一个批次：先做纯计算的稀有度和生物群系判定，再回到服务器线程检查候选区块及其相邻区块
+     * Evaluate a batch in the background: pure rarity and biome checks first, then back on the server thread check the
+     * candidates and their neighbours
+     */
+    private static CompletableFuture<int[]> evaluate(final Job job, final int start, final int end) {
+        final Progress progress = job.progress;
+        final int side = progress.side();
+        final int minChunkX = progress.centerX - progress.radius;
+        final int minChunkZ = progress.centerZ - progress.radius;
+        final int rarity = PlacedFeaturesOG.ORANGE_GEODE_RARITY;
+
+        return CompletableFuture.supplyAsync(() -> {
+            final WorldgenRandom random = new WorldgenRandom(new XoroshiroRandomSource(RandomSupport.generateUniqueSeed()));
+            final List<Integer> rolled = new ArrayList<>();
+            for (int index = start; index < end; index++) {
+                final int minX = SectionPos.sectionToBlockCoord(minChunkX + index % side);
+                final int minZ = SectionPos.sectionToBlockCoord(minChunkZ + index / side);
+                if (GeodeDensityAnalyzer.rollRarity(job.terrain, random, minX, minZ, rarity)
+                        && GeodeDensityAnalyzer.isEligible(job.terrain, minX + 8, minZ + 8)) {
+                    rolled.add(index);
+                }
+            }
+            return rolled;
+        }, Util.backgroundExecutor()).thenComposeAsync(rolled -> {
+            final List<CompletableFuture<Boolean>> reads = new ArrayList<>(rolled.size());
+            for (final int index : rolled) {
+                reads.add(GeodeRetrofit.needsGeode(job, progress.chunkAt(index)));
+            }
+            return CompletableFuture.allOf(reads.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+                final int[] candidates = new int[rolled.size()];
+                int count = 0;
+                for (int i = 0; i < rolled.size(); i++) {
+                    if (reads.get(i).join()) {
+                        candidates[count++] = rolled.get(i);
+                    }
+                }
+                return Arrays.copyOf(candidates, count);
+            });
+        }, job.level.getServer());
+    }
+
+    /**
+     * 检查候选区块及其周围8个区块（只能在服务器线程调用）
+     * Check a candidate and its 8 neighbours (server thread only)
+     */
+    private static CompletableFuture<Boolean> needsGeode(final Job job, final ChunkPos candidate) {
+        final List<CompletableFuture<Boolean>> checks = new ArrayList<>(9);
+        for (int dz = -1; dz <= 1; dz++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                checks.add(GeodeRetrofit.isClear(job, new ChunkPos(candidate.x + dx, candidate.z + dz), 0 == dx && 0 == dz));
+            }
+        }
+        return CompletableFuture.allOf(checks.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> checks.stream().allMatch(CompletableFuture::join));
+    }
+
+    /**
+     * 检查一个区块：已加载区块的存档可能落后于内存中的方块，直接检查区块本身（getChunkNow只能在服务器线程调用），否则异步读取存档；
+     * 不存在的相邻区块没有橙水晶方块，不存在的候选区块不需要晶洞
+     * Check one chunk: the saved data of a loaded chunk may lag behind its blocks in memory, so check the chunk itself
+     * (getChunkNow only works on the server thread), otherwise read its saved data asynchronously; a missing neighbour
+     * has no orange crystal blocks, a missing candidate needs no geode
+     *
+     * @param candidate 是否为候选区块本身（只有它需要完整生成且没有晶洞生成标记）
+     *                  Whether this is the candidate itself (only it must be fully generated and unmarked)
+     */
+    private static CompletableFuture<Boolean> isClear(final Job job, final ChunkPos pos, final boolean candidate) {
+        final LevelChunk loaded = job.level.getChunkSource().getChunkNow(pos.x, pos.z);
+        if (null != loaded) {
+            return CompletableFuture.completedFuture(GeodeRetrofit.isClear(job, loaded, candidate));
+        }
+        return job.level.getChunkSource().chunkMap.read(pos)
+                .thenApply(tag -> tag.isPresent() ? GeodeRetrofit.isClear(job, tag.get(), candidate) : !candidate);
+    }
+
+    /**
+     * 已保存的区块没有任何区块段的调色板包含橙水晶方块；候选区块还必须已完整生成且没有晶洞生成标记
+     * No section palette of the saved chunk contains an orange crystal block; a candidate must also be fully generated
+     * and have no geode generation marker
+     */
+    private static boolean isClear(final Job job, final CompoundTag chunk, final boolean candidate) {
+        if (candidate && (ChunkType.LEVELCHUNK != ChunkSerializer.getChunkTypeFromTag(chunk)
+                || chunk.getCompound(AttachmentHolder.ATTACHMENTS_NBT_KEY)
+                .contains(ModAttachments.GEODE_GENERATION.getId().toString()))) {
+            return false;
+        }
+        final ListTag sections = chunk.getList("sections", Tag.TAG_COMPOUND);
+        for (int i = 0; i < sections.size(); i++) {
+            final ListTag palette = sections.getCompound(i).getCompound("block_states").getList("palette", Tag.TAG_COMPOUND);
+            for (int j = 0; j < palette.size(); j++) {
+                if (job.markerBlocks.contains(palette.getCompound(j).getString("Name"))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 已加载的区块没有任何区块段可能包含橙水晶方块；候选区块还必须没有晶洞生成标记
+     * No section of the loaded chunk may contain an orange crystal block; a candidate must also have no geode generation
+     * marker
+     */
+    private static boolean isClear(final Job job, final LevelChunk chunk, final boolean candidate) {
+        if (candidate && chunk.hasData(ModAttachments.GEODE_GENERATION)) {
+            return false;
+        }
+        for (final LevelChunkSection section : chunk.getSections()) {
+            if (section.getStates().maybeHas(state -> job.markerBlockTypes.contains(state.getBlock()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 在服务器线程加载区块并运行完整的放置流程（环境扫描使用实际方块），之后写入晶洞生成标记
+     * Load the chunk on the server thread and run the full placement pipeline (the environment scan uses the real blocks),
+     * then write the geode generation marker
+     */
+    private static boolean place(final Job job, final ChunkPos chunk) {
+        final LevelChunk levelChunk = job.level.getChunk(chunk.x, chunk.z);
+        GeodeDensityAnalyzer.seedDecoration(job.terrain, job.random, chunk.getMinBlockX(), chunk.getMinBlockZ());
+        final boolean placed = job.terrain.feature().place(job.level, job.terrain.generator(), job.random,
+                new BlockPos(chunk.getMinBlockX(), 0, chunk.getMinBlockZ()));
+        GeodeRetrofit.markGenerated(levelChunk);
+        return placed;
+    }
+
+    /**
+     * 写入晶洞生成标记并标记区块需要保存
+     * Write the geode generation marker and mark the chunk for saving
+     */
+    private static void markGenerated(final LevelChunk chunk) {
+        chunk.setData(ModAttachments.GEODE_GENERATION, true);
+        chunk.setUnsaved(true);
+    }
+}
@@ -0,0 +1,451 @@
+package com.github.chromabreak.tool;
+
+import com.github.chromabreak.ChromaBreak;
+import net.minecraft.ChatFormatting;
+import net.minecraft.Util;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
+import net.minecraft.core.SectionPos;
+import net.minecraft.network.chat.ClickEvent;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.minecraft.world.level.chunk.ChunkGeneratorStructureState;
+import net.minecraft.world.level.chunk.status.ChunkStatus;
+import net.minecraft.world.level.levelgen.structure.Structure;
+import net.minecraft.world.level.levelgen.structure.StructureCheckResult;
+import net.minecraft.world.level.levelgen.structure.StructureSet;
+import net.minecraft.world.level.levelgen.structure.StructureStart;
+import net.minecraft.world.level.levelgen.structure.placement.ConcentricRingsStructurePlacement;
+import net.minecraft.world.level.levelgen.structure.placement.RandomSpreadStructurePlacement;
+import net.minecraft.world.level.levelgen.structure.placement.StructurePlacement;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * StructureLocator - 异步结构定位器
+ * Asynchronous Structure Locator
+ * <p>
+ * 代替在服务器线程同步执行的/locate，远处或不存在的结构不再让tick卡顿数秒
+ * Replaces /locate running synchronously on the server thread, so far or absent structures no longer stall the tick for seconds
+ * <p>
+ * 定位分两步：
+ * Locating happens in two steps:
+ * - 后台线程：根据世界种子和结构放置规则计算搜索半径内所有候选区块，并按距离排序（纯数学计算，不访问世界）
+ * Background thread: Compute every candidate chunk within the search radius from the world seed and the structure
+ * placement rules, sorted by distance (pure math, no world access)
+ * - 服务器线程：每tick在时间预算内按距离顺序检查候选区块（结构检查和区块加载必须在服务器线程进行），最多加载一个区块
+ * Server thread: Check candidates in distance order within a time budget every tick (structure checks and chunk loads
+ * must happen on the server thread), loading at most one chunk per tick
+ * <p>
+ * 功能：
+ * Features:
+ * - 进度：每隔几秒在动作栏显示已检查的候选数量
+ * Progress: The action bar shows the number of checked candidates every few seconds
+ * - 取消：/findstructures locate cancel
+ * Cancellation: /findstructures locate cancel
+ * - 缓存：结果按（维度，结构，起点所在区域）缓存，重复定位立即返回
+ * Cache: Results are cached per (dimension, structure, region of the origin), so repeated lookups return immediately
+ * <p>
+ * 每个玩家同时只有一个定位任务，所有方法都在服务器线程调用
+ * Every player has at most one locate job, all methods are called on the server thread
+ */
+@EventBusSubscriber(modid = ChromaBreak.MODID)
+public enum StructureLocator {
+    ;
+
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    /**
+     * 搜索半径（区块），与原版/locate相同
+     * Search radius in chunks, same as vanilla /locate
+     */
+    private static final int SEARCH_RADIUS_CHUNKS = 100;
+
+    /**
+     * 每tick检查候选区块的时间预算（纳秒）
+     * Time budget for checking candidates per tick (nanoseconds)
+     */
+    private static final long TICK_BUDGET_NANOS = 2_000_000L;
+
+    /**
+     * 每tick最多为结构检查加载的区块数量
+     * Maximum chunks loaded for structure checks per tick
+     */
+    private static final int CHUNK_LOADS_PER_TICK = 1;
+
+    /**
+     * 进度消息的间隔（刻）
+     * Interval of progress messages (ticks)
+     */
+    private static final int PROGRESS_INTERVAL_TICKS = 40;
+
+    /**
+     * 缓存区域的大小（区块数的以2为底的对数，32区块 = 512格）
+     * Size of a cache region (log2 of chunks, 32 chunks = 512 blocks)
+     */
+    private static final int REGION_SHIFT = 5;
+
+    /**
+     * 缓存的最大条目数
+     * Maximum number of cached entries
+     */
+    private static final int CACHE_SIZE = 256;
+
+    /**
+     * 按玩家分组的定位任务
+     * Locate jobs grouped by player
+     */
+    private static final Map<UUID, LocateJob> JOBS = new HashMap<>();
+
+    /**
+     * 定位结果缓存，值为空时表示搜索半径内没有该结构
+     * Locate result cache, an empty value means the structure is not within the search radius
+     */
+    private static final Map<CacheKey, Optional<BlockPos>> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<CacheKey, Optional<BlockPos>> eldest) {
+            return this.size() > StructureLocator.CACHE_SIZE;
+        }
+    };
+
+    /**
+     * 开始为玩家定位结构
+     * Start locating a structure for a player
+     *
+     * @param player      玩家
+     * @param structureId 结构ID
+     * @param structure   结构
+     * @return 是否已开始定位或已从缓存返回结果
+     */
+    public static boolean start(final ServerPlayer player, final ResourceLocation structureId, final Holder<Structure> structure) {
+        final ServerLevel level = player.serverLevel();
+        final ChunkPos origin = player.chunkPosition();
+        final CacheKey key = new CacheKey(level.dimension(), structureId,
+                origin.x >> StructureLocator.REGION_SHIFT, origin.z >> StructureLocator.REGION_SHIFT);
+
+        final Optional<BlockPos> cached = StructureLocator.CACHE.get(key);
+        if (null != cached) {
+            StructureLocator.report(player, structureId, cached.orElse(null), true);
+            return true;
+        }
+
+        final ChunkGeneratorStructureState state = level.getChunkSource().getGeneratorState();
+        final List<StructurePlacement> placements = new ArrayList<>();
+        for (final Holder<StructureSet> structureSet : state.possibleStructureSets()) {
+            for (final StructureSet.StructureSelectionEntry entry : structureSet.value().structures()) {
+                if (entry.structure().value() == structure.value()) {
+                    placements.add(structureSet.value().placement());
+                    break;
+                }
+            }
+        }
+        if (placements.isEmpty()) {
+            player.sendSystemMessage(Component.literal("❌ 结构 " + structureId + " 不会在当前维度生成 / Structure "
+                    + structureId + " does not generate in this dimension"));
+            return false;
+        }
+
+        final LocateJob previous = StructureLocator.JOBS.remove(player.getUUID());
+        if (null != previous) {
+            previous.cancel();
+        }
+
+        final LocateJob job = new LocateJob(player.getUUID(), level, key, structureId, structure);
+        job.candidates = CompletableFuture.supplyAsync(
+                () -> StructureLocator.findCandidates(job, state, placements, origin), Util.backgroundExecutor());
+        StructureLocator.JOBS.put(player.getUUID(), job);
+        player.sendSystemMessage(Component.literal("🔍 正在后台定位 " + structureId + "，使用 /findstructures locate cancel 取消"
+                + " / Locating " + structureId + " in the background, use /findstructures locate cancel to cancel"));
+        return true;
+    }
+
+    /**
+     * 取消玩家的定位任务
+     * Cancel a player's locate job
+     *
+     * @param player 玩家
+     * @return 是否有任务被取消
+     */
+    public static boolean cancel(final ServerPlayer player) {
+        final LocateJob job = StructureLocator.JOBS.remove(player.getUUID());
+        if (null == job) {
+            return false;
+        }
+        job.cancel();
+        return true;
+    }
+
+    /**
+     * 每tick结束时推进定位任务
+     * Advance locate jobs at the end of every tick
+     *
+     * @param event 服务器tick事件
+     *              Server tick event
+     */
+    @SubscribeEvent
+    public static void onServerTick(final ServerTickEvent.Post event) {
+        if (StructureLocator.JOBS.isEmpty()) {
+            return;
+        }
+
+        final Iterator<LocateJob> iterator = StructureLocator.JOBS.values().iterator();
+        while (iterator.hasNext()) {
+            final LocateJob job = iterator.next();
+            final ServerPlayer player = event.getServer().getPlayerList().getPlayer(job.playerId);
+            if (null == player) {
+                job.cancel();
+                iterator.remove();
+                continue;
+            }
+
+            try {
+                if (job.advance(player)) {
+                    iterator.remove();
+                }
+            } catch (final RuntimeException e) {
+                StructureLocator.LOGGER.error("定位结构时出错:", e);
+                player.sendSystemMessage(Component.literal("❌ 定位时出错 / Locate failed: " + e.getMessage()));
+                job.cancel();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * 服务器停止时丢弃任务和缓存
+     * Drop jobs and the cache when the server stops
+     *
+     * @param event 服务器停止事件
+     *              Server stopped event
+     */
+    @SubscribeEvent
+    public static void onServerStopped(final ServerStoppedEvent event) {
+        StructureLocator.JOBS.values().forEach(LocateJob::cancel);
+        StructureLocator.JOBS.clear();
+        StructureLocator.CACHE.clear();
+    }
+
+    /**
+     * 计算搜索半径内的候选区块（后台线程）
+     * Compute the candidate chunks within the search radius (background thread)
+     * <p>
+     * 只使用世界种子和放置规则，不访问世界
+     * Only uses the world seed and the placement rules, never touches the world
+     */
+    private static List<Candidate> findCandidates(final LocateJob job, final ChunkGeneratorStructureState state,
+                                                  final List<StructurePlacement> placements, final ChunkPos origin) {
+        final int radius = StructureLocator.SEARCH_RADIUS_CHUNKS;
+        final List<Candidate> candidates = new ArrayList<>();
+        for (final StructurePlacement placement : placements) {
+            if (placement instanceof final ConcentricRingsStructurePlacement concentricRings) {
+                final List<ChunkPos> ringPositions = state.getRingPositionsFor(concentricRings);
+                if (null != ringPositions) {
+                    for (final ChunkPos chunkPos : ringPositions) {
+                        if (StructureLocator.withinRadius(origin, chunkPos, radius)) {
+                            candidates.add(new Candidate(chunkPos, placement));
+                        }
+                    }
+                }
+            } else if (placement instanceof final RandomSpreadStructurePlacement randomSpread) {
+                final int spacing = randomSpread.spacing();
+                final int regionRadius = radius / spacing + 1;
+                final int originRegionX = Math.floorDiv(origin.x, spacing);
+                final int originRegionZ = Math.floorDiv(origin.z, spacing);
+                for (int regionX = originRegionX - regionRadius; regionX <= originRegionX + regionRadius; regionX++) {
+                    if (job.cancelled) {
+                        return List.of();
+                    }
+                    for (int regionZ = originRegionZ - regionRadius; regionZ <= originRegionZ + regionRadius; regionZ++) {
+                        final ChunkPos chunkPos = randomSpread.getPotentialStructureChunk(state.getLevelSeed(),
+                                regionX * spacing, regionZ * spacing);
+                        if (StructureLocator.withinRadius(origin, chunkPos, radius)
+                                && randomSpread.isStructureChunk(state, chunkPos.x, chunkPos.z)) {
+                            candidates.add(new Candidate(chunkPos, placement));
+                        }
+                    }
+                }
+            }
+        }
+
+        candidates.sort(Comparator.comparingLong(candidate -> StructureLocator.distanceSquared(origin, candidate.chunkPos())));
+        return candidates;
+    }
+
+    private static boolean withinRadius(final ChunkPos origin, final ChunkPos chunkPos, final int radius) {
+        return Math.abs(chunkPos.x - origin.x) <= radius && Math.abs(chunkPos.z - origin.z) <= radius;
+    }
+
+    private static long distanceSquared(final ChunkPos origin, final ChunkPos chunkPos) {
+        final long dx = chunkPos.x - origin.x;
+        final long dz = chunkPos.z - origin.z;
+        return dx * dx + dz * dz;
+    }
+
+    /**
+     * 向玩家报告结果
+     * Report the result to the player
+     */
+    private static void report(final ServerPlayer player, final ResourceLocation structureId, final BlockPos pos, final boolean cached) {
+        final String suffix = cached ? "（缓存 / cached）" : "";
+        if (null == pos) {
+            player.sendSystemMessage(Component.literal("❌ 在" + StructureLocator.SEARCH_RADIUS_CHUNKS + "区块内未找到 " + structureId
+                    + " / " + structureId + " not found within " + StructureLocator.SEARCH_RADIUS_CHUNKS + " chunks" + suffix));
+            return;
+        }
+
+        final int distance = (int) Math.sqrt(player.blockPosition().distSqr(new BlockPos(pos.getX(), player.getBlockY(), pos.getZ())));
+        final String tpCommand = "/tp @s " + pos.getX() + " ~ " + pos.getZ();
+        player.sendSystemMessage(Component.literal("✅ 已找到 " + structureId + " / Found " + structureId + ": ")
+                .append(Component.literal("[" + pos.getX() + ", ~, " + pos.getZ() + "]")
+                        .withStyle(style -> style.withColor(ChatFormatting.GREEN)
+                                .withClickEvent(new ClickEvent(ClickEvent.Action.SUGGEST_COMMAND, tpCommand))))
+                .append(Component.literal(" (" + distance + " blocks)" + suffix)));
+    }
+
+    /**
+     * 候选区块及其所属的放置规则
+     * Candidate chunk and the placement it belongs to
+     *
+     * @param chunkPos  候选区块
+     * @param placement 放置规则
+     */
+    private record Candidate(ChunkPos chunkPos, StructurePlacement placement) {
+    }
+
+    /**
+     * 缓存键
+     * Cache key
+     *
+     * @param dimension   维度
+     * @param structureId 结构ID
+     * @param regionX     起点所在区域X
+     * @param regionZ     起点所在区域Z
+     */
+    private record CacheKey(ResourceKey<Level> dimension, ResourceLocation structureId, int regionX, int regionZ) {
+    }
+
+    /**
+     * 单个定位任务
+     * A single locate job
+     */
+    private static final class LocateJob {
+        private final UUID playerId;
+        private final ServerLevel level;
+        private final CacheKey key;
+        private final ResourceLocation structureId;
+        private final Holder<Structure> structure;
+
+        /**
+         * 后台计算的候选区块
+         * Candidate chunks computed in the background
+         */
+        private CompletableFuture<List<Candidate>> candidates;
+
+        /**
+         * 下一个要检查的候选序号
+         * Index of the next candidate to check
+         */
+        private int next;
+
+        private int ticks;
+
+        private volatile boolean cancelled;
+
+        private LocateJob(final UUID playerId, final ServerLevel level, final CacheKey key, final ResourceLocation structureId,
+                          final Holder<Structure> structure) {
+            this.playerId = playerId;
+            this.level = level;
+            this.key = key;
+            this.structureId = structureId;
+            this.structure = structure;
+        }
+
+        private void cancel() {
+            this.cancelled = true;
+            if (null != this.candidates) {
+                this.candidates.cancel(false);
+            }
+        }
+
+        /**
+         * 在时间预算内检查候选区块
+         * Check candidates within the time budget
+         *
+         * @return 任务是否已结束
+         */
+        private boolean advance(final ServerPlayer player) {
+            this.ticks++;
+            if (!this.candidates.isDone()) {
+                return false;
+            }
+
+            final List<Candidate> chunks = this.candidates.join();
+            final long deadline = System.nanoTime() + StructureLocator.TICK_BUDGET_NANOS;
+            int chunkLoads = 0;
+            while (this.next < chunks.size() && System.nanoTime() < deadline) {
+                final ChunkPos chunkPos = chunks.get(this.next).chunkPos();
+                final StructurePlacement placement = chunks.get(this.next).placement();
+                final StructureCheckResult result = this.level.structureManager().checkStructurePresence(
+                        chunkPos, this.structure.value(), placement, false);
+                if (StructureCheckResult.START_NOT_PRESENT == result) {
+                    this.next++;
+                    continue;
+                }
+                if (StructureCheckResult.START_PRESENT == result) {
+                    return this.finish(player, placement.getLocatePos(chunkPos));
+                }
+
+                // 需要加载区块才能确定，每tick加载的区块数量有限
+                // The chunk must be loaded to decide, only a few chunks are loaded per tick
+                if (chunkLoads >= StructureLocator.CHUNK_LOADS_PER_TICK) {
+                    break;
+                }
+                chunkLoads++;
+                this.next++;
+                final ChunkAccess chunk = this.level.getChunk(chunkPos.x, chunkPos.z, ChunkStatus.STRUCTURE_STARTS);
+                final StructureStart start = this.level.structureManager().getStartForStructure(
+                        SectionPos.bottomOf(chunk), this.structure.value(), chunk);
+                if (null != start && start.isValid()) {
+                    return this.finish(player, placement.getLocatePos(start.getChunkPos()));
+                }
+            }
+
+            if (this.next >= chunks.size()) {
+                return this.finish(player, null);
+            }
+
+            if (0 == this.ticks % StructureLocator.PROGRESS_INTERVAL_TICKS) {
+                player.displayClientMessage(Component.literal("🔍 " + this.structureId + ": " + this.next + "/" + chunks.size()),
+                        true);
+            }
+            return false;
+        }
+
+        private boolean finish(final ServerPlayer player, final BlockPos pos) {
+            StructureLocator.CACHE.put(this.key, Optional.ofNullable(pos));
+            StructureLocator.report(player, this.structureId, pos, false);
+            return true;
+        }
+    }
+}
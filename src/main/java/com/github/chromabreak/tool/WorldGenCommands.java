@@ -1,20 +1,45 @@
 package com.github.chromabreak.tool;
 
+import com.github.chromabreak.world.PlacedFeatures.PlacedFeaturesOG;
 import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.context.CommandContext;
+import net.minecraft.ChatFormatting;
+import net.minecraft.Util;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
 import net.minecraft.core.Registry;
 import net.minecraft.core.registries.Registries;
+import net.minecraft.network.chat.ClickEvent;
 import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.levelgen.feature.ConfiguredFeature;
 import net.minecraft.world.level.levelgen.structure.Structure;
+import net.neoforged.fml.loading.FMLPaths;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 /**
  * WorldGenCommands - 世界生成命令类
@@ -42,20 +67,28 @@ import java.util.List;
  * Command system:
  * - /findstructures - 主命令，显示所有结构
  * /findstructures - Main command, shows all structures
- * - /findstructures all - 列出所有结构
- * /findstructures all - Lists all structures
+ * - /findstructures all [page <n>] - 分页列出所有结构
+ * /findstructures all [page <n>] - Lists all structures, one page at a time
+ * - /findstructures export - 在后台把所有结构导出到文件
+ * /findstructures export - Exports all structures to a file in the background
  * - /findstructures mod <modid> - 按模组列出结构
  * /findstructures mod <modid> - Lists structures by mod
  * - /findstructures search <name> - 搜索结构
  * /findstructures search <name> - Searches structures
  * - /findstructures count - 统计结构数量
  * /findstructures count - Counts structures
- * - /findstructures locate <structure> - 定位结构/特征
- * /findstructures locate <structure> - Locates structure/feature
+ * - /findstructures locate <structure> - 在后台定位结构，显示进度
+ * /findstructures locate <structure> - Locates a structure in the background with progress
+ * - /findstructures locate cancel - 取消正在进行的定位
+ * /findstructures locate cancel - Cancels the running locate job
+ * - /findstructures geodes [radius] [rarity] [scanDistance] - 在后台分析周围橙水晶矿洞的放置密度和耗时
+ * /findstructures geodes [radius] [rarity] [scanDistance] - Analyses orange geode placement density and cost around you in the background
  * - /findstructures features - 显示所有特征
  * /findstructures features - Shows all features
- * - /findstructures features all - 列出所有特征
- * /findstructures features all - Lists all features
+ * - /findstructures features all [page <n>] - 分页列出所有特征
+ * /findstructures features all [page <n>] - Lists all features, one page at a time
+ * - /findstructures features export - 在后台把所有特征导出到文件
+ * /findstructures features export - Exports all features to a file in the background
  * - /findstructures features mod <modid> - 按模组列出特征
  * /findstructures features mod <modid> - Lists features by mod
  * - /findstructures features search <name> - 搜索特征
@@ -100,6 +133,8 @@ import java.util.List;
  * Integration features:
  * - WorldGenFinder集成：与WorldGenFinder工具类紧密集成
  * WorldGenFinder integration: Tightly integrated with WorldGenFinder utility class
+ * - 注册表索引：所有子命令共用WorldGenIndex快照，每个注册表实例只遍历和排序一次
+ * Registry index: Every subcommand shares a WorldGenIndex snapshot, so each registry instance is iterated and sorted only once
  * - 日志记录：使用Log4j记录命令执行日志
  * Logging: Uses Log4j to record command execution logs
  * - 多语言支持：支持中英文双语输出
@@ -110,6 +145,24 @@ public enum WorldGenCommands {
 
     private static final Logger LOGGER = LogManager.getLogger();
 
+    /**
+     * 每页显示的条目数量
+     * Entries shown per page
+     */
+    private static final int PAGE_SIZE = 40;
+
+    /**
+     * 导出文件名中的时间戳格式
+     * Timestamp format of export file names
+     */
+    private static final DateTimeFormatter EXPORT_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    /**
+     * 晶洞密度分析的默认半径（区块）
+     * Default radius of the geode density analysis (chunks)
+     */
+    private static final int DEFAULT_GEODE_RADIUS = 32;
+
     /**
      * 注册命令
      * Register commands
@@ -121,27 +174,61 @@ public enum WorldGenCommands {
                 .requires(source -> source.hasPermission(2)) // 需要操作员权限
                 .executes(WorldGenCommands::listAllStructures)
                 .then(Commands.literal("all")
-                        .executes(WorldGenCommands::listAllStructures))
+                        .executes(WorldGenCommands::listAllStructures)
+                        .then(Commands.literal("page")
+                                .then(Commands.argument("page", IntegerArgumentType.integer(1))
+                                        .executes(context -> WorldGenCommands.listAllStructures(context,
+                                                IntegerArgumentType.getInteger(context, "page"))))))
+                .then(Commands.literal("export")
+                        .executes(WorldGenCommands::exportStructures))
                 .then(Commands.literal("mod")
                         .then(Commands.argument("modid", StringArgumentType.string())
+                                .suggests(WorldGenSuggestions.STRUCTURE_MOD_IDS)
                                 .executes(WorldGenCommands::listStructuresByMod)))
                 .then(Commands.literal("search")
                         .then(Commands.argument("name", StringArgumentType.string())
+                                .suggests(WorldGenSuggestions.STRUCTURE_NAMES)
                                 .executes(WorldGenCommands::searchStructures)))
                 .then(Commands.literal("count")
                         .executes(WorldGenCommands::countStructures))
                 .then(Commands.literal("locate")
+                        .then(Commands.literal("cancel")
+                                .executes(WorldGenCommands::cancelLocate))
                         .then(Commands.argument("structure", StringArgumentType.string())
+                                .suggests(WorldGenSuggestions.STRUCTURE_IDS)
                                 .executes(WorldGenCommands::locateStructure)))
+                .then(Commands.literal("geodes")
+                        .executes(context -> WorldGenCommands.analyzeGeodes(context, WorldGenCommands.DEFAULT_GEODE_RADIUS,
+                                GeodeDensityAnalyzer.Settings.defaults()))
+                        .then(Commands.argument("radius", IntegerArgumentType.integer(0, GeodeDensityAnalyzer.MAX_RADIUS))
+                                .executes(context -> WorldGenCommands.analyzeGeodes(context,
+                                        IntegerArgumentType.getInteger(context, "radius"), GeodeDensityAnalyzer.Settings.defaults()))
+                                .then(Commands.argument("rarity", IntegerArgumentType.integer(1))
+                                        .executes(context -> WorldGenCommands.analyzeGeodes(context,
+                                                IntegerArgumentType.getInteger(context, "radius"),
+                                                WorldGenCommands.geodeSettings(context, PlacedFeaturesOG.ORANGE_GEODE_SCAN_DISTANCE)))
+                                        .then(Commands.argument("scanDistance", IntegerArgumentType.integer(0, 64))
+                                                .executes(context -> WorldGenCommands.analyzeGeodes(context,
+                                                        IntegerArgumentType.getInteger(context, "radius"),
+                                                        WorldGenCommands.geodeSettings(context,
+                                                                IntegerArgumentType.getInteger(context, "scanDistance"))))))))
                 .then(Commands.literal("features")
                         .executes(WorldGenCommands::listAllFeatures)
                         .then(Commands.literal("all")
-                                .executes(WorldGenCommands::listAllFeatures))
+                                .executes(WorldGenCommands::listAllFeatures)
+                                .then(Commands.literal("page")
+                                        .then(Commands.argument("page", IntegerArgumentType.integer(1))
+                                                .executes(context -> WorldGenCommands.listAllFeatures(context,
+                                                        IntegerArgumentType.getInteger(context, "page"))))))
+                        .then(Commands.literal("export")
+                                .executes(WorldGenCommands::exportFeatures))
                         .then(Commands.literal("mod")
                                 .then(Commands.argument("modid", StringArgumentType.string())
+                                        .suggests(WorldGenSuggestions.FEATURE_MOD_IDS)
                                         .executes(WorldGenCommands::listFeaturesByMod)))
                         .then(Commands.literal("search")
                                 .then(Commands.argument("name", StringArgumentType.string())
+                                        .suggests(WorldGenSuggestions.FEATURE_NAMES)
                                         .executes(WorldGenCommands::searchFeatures)))
                         .then(Commands.literal("count")
                                 .executes(WorldGenCommands::countFeatures)))
@@ -156,6 +243,18 @@ public enum WorldGenCommands {
      * @return 命令结果
      */
     private static int listAllStructures(final CommandContext<CommandSourceStack> context) {
+        return WorldGenCommands.listAllStructures(context, 1);
+    }
+
+    /**
+     * 分页列出所有结构
+     * List all structures, one page at a time
+     *
+     * @param context 命令上下文
+     * @param page    页码（从1开始）
+     * @return 命令结果
+     */
+    private static int listAllStructures(final CommandContext<CommandSourceStack> context, final int page) {
         final CommandSourceStack source = context.getSource();
         final Registry<Structure> structureRegistry = source.registryAccess().registry(Registries.STRUCTURE).orElse(null);
 
@@ -164,34 +263,16 @@ public enum WorldGenCommands {
             return 0;
         }
 
-        final List<WorldGenFinder.StructureInfo> structures = WorldGenFinder.getAllStructures(structureRegistry);
+        final List<WorldGenFinder.StructureInfo> structures = WorldGenFinder.structureIndex(structureRegistry).entries();
 
         if (structures.isEmpty()) {
             source.sendSuccess(() -> Component.literal("未找到任何结构"), false);
             return 1;
         }
 
-        source.sendSuccess(() -> Component.literal("=== 所有注册的自然生成结构 ==="), false);
-        source.sendSuccess(() -> Component.literal("=== All Registered Natural Generation Structures ==="), false);
-
-        String currentMod = "";
-        for (final WorldGenFinder.StructureInfo info : structures) {
-            if (!currentMod.equals(info.getModId())) {
-                currentMod = info.getModId();
-                final String modName = WorldGenCommands.getModName(currentMod);
-                final String finalCurrentMod = currentMod;
-                source.sendSuccess(() -> Component.literal("--- " + modName + " (" + finalCurrentMod + ") ---"), false);
-            }
-            source.sendSuccess(() -> Component.literal("  - " + info.getStructureName() + " (类型: " + info.getStructureType() + ")"), false);
-        }
-
-        source.sendSuccess(() -> Component.literal("=== 总计: " + structures.size() + " 个结构 ==="), false);
-        source.sendSuccess(() -> Component.literal("=== Total: " + structures.size() + " structures ==="), false);
-
-        // 同时在控制台输出
-        WorldGenFinder.printAllStructures(structures);
-
-        return structures.size();
+        return WorldGenCommands.sendPage(source, structures, page,
+                WorldGenFinder.StructureInfo::getModId, WorldGenCommands::structureLine,
+                "所有注册的自然生成结构", "All Registered Natural Generation Structures", "/findstructures all page ");
     }
 
     /**
@@ -219,32 +300,25 @@ public enum WorldGenCommands {
                 fullId = "chromabreak:" + targetName; // 添加默认命名空间
             }
 
-            // 首先尝试作为结构定位
-            final String structureLocateCommand = "locate structure " + fullId;
-            final var structureResult = source.getServer().getCommands().getDispatcher().execute(
-                    structureLocateCommand,
-                    source.withSuppressedOutput().withMaximumPermission(2)
-            );
-
-            if (0 < structureResult) {
-                source.sendSuccess(() -> Component.literal("✅ 已找到结构: " + fullId), false);
-                source.sendSuccess(() -> Component.literal("💡 可以使用 /locate structure " + fullId + " 查看具体位置"), false);
-                source.sendSuccess(() -> Component.literal("🚀 然后使用 /tp 命令传送到该位置"), false);
-                return structureResult;
+            final ResourceLocation id = ResourceLocation.tryParse(fullId);
+            if (null == id) {
+                source.sendFailure(Component.literal("❌ 无效的ID: " + fullId));
+                return 0;
+            }
+
+            // 首先尝试作为结构定位（在后台进行，不阻塞服务器tick）
+            final Optional<Holder.Reference<Structure>> structure = source.registryAccess().registryOrThrow(Registries.STRUCTURE)
+                    .getHolder(ResourceKey.create(Registries.STRUCTURE, id));
+            if (structure.isPresent()) {
+                return StructureLocator.start(player, id, structure.get()) ? 1 : 0;
             }
 
-            // 如果结构未找到，尝试作为特征定位
-            final String featureLocateCommand = "locate feature " + fullId;
-            final var featureResult = source.getServer().getCommands().getDispatcher().execute(
-                    featureLocateCommand,
-                    source.withSuppressedOutput().withMaximumPermission(2)
-            );
-
-            if (0 < featureResult) {
-                source.sendSuccess(() -> Component.literal("✅ 已找到特征: " + fullId), false);
-                source.sendSuccess(() -> Component.literal("💡 可以使用 /locate feature " + fullId + " 查看具体位置"), false);
-                source.sendSuccess(() -> Component.literal("🚀 然后使用 /tp 命令传送到该位置"), false);
-                return featureResult;
+            // 特征在区块装饰阶段放置，无法像结构一样根据种子预测位置
+            if (source.registryAccess().registryOrThrow(Registries.CONFIGURED_FEATURE).containsKey(id)) {
+                source.sendFailure(Component.literal("❌ " + fullId + " 是特征，特征在区块装饰时放置，无法定位"
+                        + " / " + fullId + " is a feature, features are placed while chunks are decorated and cannot be located"));
+                source.sendSuccess(() -> Component.literal("💡 可以使用 /findstructures features search <name> 确认特征已注册"), false);
+                return 0;
             }
 
             // 如果都未找到，提供详细错误信息
@@ -269,6 +343,28 @@ public enum WorldGenCommands {
         }
     }
 
+    /**
+     * 取消当前的定位任务
+     * Cancel the current locate job
+     *
+     * @param context 命令上下文
+     * @return 命令结果
+     */
+    private static int cancelLocate(final CommandContext<CommandSourceStack> context) {
+        final CommandSourceStack source = context.getSource();
+        if (!(source.getEntity() instanceof final ServerPlayer player)) {
+            source.sendFailure(Component.literal("只有玩家可以使用此命令"));
+            return 0;
+        }
+
+        if (!StructureLocator.cancel(player)) {
+            source.sendFailure(Component.literal("没有正在进行的定位 / No locate job is running"));
+            return 0;
+        }
+        source.sendSuccess(() -> Component.literal("已取消定位 / Locate cancelled"), false);
+        return 1;
+    }
+
     /**
      * 按模组列出结构
      * List structures by mod
@@ -286,8 +382,7 @@ public enum WorldGenCommands {
             return 0;
         }
 
-        final List<WorldGenFinder.StructureInfo> allStructures = WorldGenFinder.getAllStructures(structureRegistry);
-        final List<WorldGenFinder.StructureInfo> filteredStructures = WorldGenFinder.filterByModId(allStructures, modId);
+        final List<WorldGenFinder.StructureInfo> filteredStructures = WorldGenFinder.structureIndex(structureRegistry).byModId(modId);
 
         if (filteredStructures.isEmpty()) {
             source.sendSuccess(() -> Component.literal("模组 '" + modId + "' 未注册任何结构"), false);
@@ -325,8 +420,7 @@ public enum WorldGenCommands {
             return 0;
         }
 
-        final List<WorldGenFinder.StructureInfo> allStructures = WorldGenFinder.getAllStructures(structureRegistry);
-        final List<WorldGenFinder.StructureInfo> foundStructures = WorldGenFinder.findStructure(allStructures, searchTerm);
+        final List<WorldGenFinder.StructureInfo> foundStructures = WorldGenFinder.structureIndex(structureRegistry).search(searchTerm);
 
         if (foundStructures.isEmpty()) {
             source.sendSuccess(() -> Component.literal("未找到包含 '" + searchTerm + "' 的结构"), false);
@@ -369,27 +463,24 @@ public enum WorldGenCommands {
             return 0;
         }
 
-        final List<WorldGenFinder.StructureInfo> structures = WorldGenFinder.getAllStructures(structureRegistry);
+        final WorldGenIndex<WorldGenFinder.StructureInfo> index = WorldGenFinder.structureIndex(structureRegistry);
 
         source.sendSuccess(() -> Component.literal("=== 各模组结构数量统计 ==="), false);
         source.sendSuccess(() -> Component.literal("=== Structure Count by Mod ==="), false);
 
-        structures.stream()
-                .collect(java.util.stream.Collectors.groupingBy(WorldGenFinder.StructureInfo::getModId, java.util.stream.Collectors.counting()))
-                .entrySet().stream()
-                .sorted((e1, e2) -> Long.compare(e2.getValue(), e1.getValue())) // 按数量降序
-                .forEach(entry -> {
-                    final String modName = WorldGenCommands.getModName(entry.getKey());
-                    source.sendSuccess(() -> Component.literal(modName + " (" + entry.getKey() + "): " + entry.getValue() + " 个结构"), false);
-                });
+        // 按数量降序
+        for (final Map.Entry<String, Integer> entry : index.modCounts()) {
+            final String modName = WorldGenCommands.getModName(entry.getKey());
+            source.sendSuccess(() -> Component.literal(modName + " (" + entry.getKey() + "): " + entry.getValue() + " 个结构"), false);
+        }
 
-        source.sendSuccess(() -> Component.literal("=== 总计: " + structures.size() + " 个结构 ==="), false);
-        source.sendSuccess(() -> Component.literal("=== Total: " + structures.size() + " structures ==="), false);
+        source.sendSuccess(() -> Component.literal("=== 总计: " + index.size() + " 个结构 ==="), false);
+        source.sendSuccess(() -> Component.literal("=== Total: " + index.size() + " structures ==="), false);
 
         // 同时在控制台输出统计
-        WorldGenFinder.countStructuresByMod(structures);
+        WorldGenFinder.countStructuresByMod(index);
 
-        return structures.size();
+        return index.size();
     }
 
     /**
@@ -417,6 +508,18 @@ public enum WorldGenCommands {
      * @return 命令结果
      */
     private static int listAllFeatures(final CommandContext<CommandSourceStack> context) {
+        return WorldGenCommands.listAllFeatures(context, 1);
+    }
+
+    /**
+     * 分页列出所有特征
+     * List all features, one page at a time
+     *
+     * @param context 命令上下文
+     * @param page    页码（从1开始）
+     * @return 命令结果
+     */
+    private static int listAllFeatures(final CommandContext<CommandSourceStack> context, final int page) {
         final CommandSourceStack source = context.getSource();
         final Registry<ConfiguredFeature<?, ?>> featureRegistry = source.registryAccess().registry(Registries.CONFIGURED_FEATURE).orElse(null);
 
@@ -425,34 +528,238 @@ public enum WorldGenCommands {
             return 0;
         }
 
-        final List<WorldGenFinder.FeatureInfo> features = WorldGenFinder.getAllFeatures(featureRegistry);
+        final List<WorldGenFinder.FeatureInfo> features = WorldGenFinder.featureIndex(featureRegistry).entries();
 
         if (features.isEmpty()) {
             source.sendSuccess(() -> Component.literal("未找到任何特征"), false);
             return 1;
         }
 
-        source.sendSuccess(() -> Component.literal("=== 所有注册的自然生成特征 ==="), false);
-        source.sendSuccess(() -> Component.literal("=== All Registered Natural Generation Features ==="), false);
+        return WorldGenCommands.sendPage(source, features, page,
+                WorldGenFinder.FeatureInfo::getModId, WorldGenCommands::featureLine,
+                "所有注册的自然生成特征", "All Registered Natural Generation Features", "/findstructures features all page ");
+    }
+
+    /**
+     * 导出所有结构到文件
+     * Export all structures to a file
+     *
+     * @param context 命令上下文
+     * @return 命令结果
+     */
+    private static int exportStructures(final CommandContext<CommandSourceStack> context) {
+        final CommandSourceStack source = context.getSource();
+        final Registry<Structure> structureRegistry = source.registryAccess().registry(Registries.STRUCTURE).orElse(null);
+
+        if (null == structureRegistry) {
+            source.sendFailure(Component.literal("无法访问结构注册表"));
+            return 0;
+        }
+
+        return WorldGenCommands.export(source, "structures", WorldGenFinder.structureIndex(structureRegistry).entries(),
+                WorldGenFinder.StructureInfo::getModId, WorldGenCommands::structureLine);
+    }
+
+    /**
+     * 导出所有特征到文件
+     * Export all features to a file
+     *
+     * @param context 命令上下文
+     * @return 命令结果
+     */
+    private static int exportFeatures(final CommandContext<CommandSourceStack> context) {
+        final CommandSourceStack source = context.getSource();
+        final Registry<ConfiguredFeature<?, ?>> featureRegistry = source.registryAccess().registry(Registries.CONFIGURED_FEATURE).orElse(null);
+
+        if (null == featureRegistry) {
+            source.sendFailure(Component.literal("无法访问特征注册表"));
+            return 0;
+        }
+
+        return WorldGenCommands.export(source, "features", WorldGenFinder.featureIndex(featureRegistry).entries(),
+                WorldGenFinder.FeatureInfo::getModId, WorldGenCommands::featureLine);
+    }
 
+    /**
+     * 结构的列表行
+     * List line of a structure
+     */
+    private static String structureLine(final WorldGenFinder.StructureInfo info) {
+        return "  - " + info.getStructureName() + " (类型: " + info.getStructureType() + ")";
+    }
+
+    /**
+     * 特征的列表行
+     * List line of a feature
+     */
+    private static String featureLine(final WorldGenFinder.FeatureInfo info) {
+        return "  - " + info.getFeatureName();
+    }
+
+    /**
+     * 以单条多行消息发送一页条目
+     * Send one page of entries as a single multi-line message
+     * <p>
+     * 旧版每个条目发送一个聊天包并同时写入日志，大型整合包会产生数千个数据包；现在每页只发送一条消息，完整列表请使用export
+     * The old listing sent one chat packet per entry and logged every entry as well, which meant thousands of packets in
+     * large packs; now each page is a single message, use export for the full list
+     *
+     * @param source      命令源
+     * @param entries     按模组ID排序的全部条目
+     * @param page        页码（从1开始）
+     * @param modIdOf     获取条目模组ID的函数
+     * @param lineOf      格式化条目的函数
+     * @param titleZh     中文标题
+     * @param titleEn     英文标题
+     * @param pageCommand 翻页命令前缀（后接页码）
+     * @param <T>         条目类型
+     * @return 条目总数，页码超出范围时返回0
+     */
+    private static <T> int sendPage(final CommandSourceStack source, final List<T> entries, final int page,
+                                    final Function<T, String> modIdOf, final Function<T, String> lineOf,
+                                    final String titleZh, final String titleEn, final String pageCommand) {
+        final int pageCount = (entries.size() + WorldGenCommands.PAGE_SIZE - 1) / WorldGenCommands.PAGE_SIZE;
+        if (page > pageCount) {
+            source.sendFailure(Component.literal("页码超出范围: " + page + "/" + pageCount + " / Page out of range: " + page + "/" + pageCount));
+            return 0;
+        }
+
+        final int from = (page - 1) * WorldGenCommands.PAGE_SIZE;
+        final int to = Math.min(entries.size(), from + WorldGenCommands.PAGE_SIZE);
+
+        final StringBuilder text = new StringBuilder();
+        text.append("=== ").append(titleZh).append(" (").append(page).append('/').append(pageCount).append(") ===\n");
+        text.append("=== ").append(titleEn).append(" (").append(page).append('/').append(pageCount).append(") ===");
+
+        // 每页都显示当前模组的标题，翻页后也能看出条目属于哪个模组
+        // Every page shows the current mod header, so entries stay attributable after turning the page
         String currentMod = "";
-        for (final WorldGenFinder.FeatureInfo info : features) {
-            if (!currentMod.equals(info.getModId())) {
-                currentMod = info.getModId();
-                final String modName = WorldGenCommands.getModName(currentMod);
-                final String finalCurrentMod = currentMod;
-                source.sendSuccess(() -> Component.literal("--- " + modName + " (" + finalCurrentMod + ") ---"), false);
+        for (int i = from; i < to; i++) {
+            final T entry = entries.get(i);
+            final String modId = modIdOf.apply(entry);
+            if (!currentMod.equals(modId)) {
+                currentMod = modId;
+                text.append("\n--- ").append(WorldGenCommands.getModName(modId)).append(" (").append(modId).append(") ---");
             }
-            source.sendSuccess(() -> Component.literal("  - " + info.getFeatureName()), false);
+            text.append('\n').append(lineOf.apply(entry));
+        }
+
+        text.append("\n=== 总计: ").append(entries.size()).append(" 项 / Total: ").append(entries.size()).append(" ===");
+
+        final MutableComponent message = Component.literal(text.toString());
+        if (page < pageCount) {
+            final String nextCommand = pageCommand + (page + 1);
+            message.append(Component.literal("\n[下一页 / Next page: " + nextCommand + "]")
+                    .withStyle(style -> style.withColor(ChatFormatting.AQUA)
+                            .withClickEvent(new ClickEvent(ClickEvent.Action.RUN_COMMAND, nextCommand))));
         }
 
-        source.sendSuccess(() -> Component.literal("=== 总计: " + features.size() + " 个特征 ==="), false);
-        source.sendSuccess(() -> Component.literal("=== Total: " + features.size() + " features ==="), false);
+        source.sendSuccess(() -> message, false);
+        return entries.size();
+    }
+
+    /**
+     * 在IO线程池中把全部条目写入文件，完成后在服务器线程通知命令源
+     * Write every entry to a file on the IO pool, then notify the command source on the server thread
+     *
+     * @param source  命令源
+     * @param kind    导出类型，用于文件名（structures或features）
+     * @param entries 按模组ID排序的全部条目（只读快照）
+     * @param modIdOf 获取条目模组ID的函数
+     * @param lineOf  格式化条目的函数
+     * @param <T>     条目类型
+     * @return 条目总数
+     */
+    private static <T> int export(final CommandSourceStack source, final String kind, final List<T> entries,
+                                  final Function<T, String> modIdOf, final Function<T, String> lineOf) {
+        final MinecraftServer server = source.getServer();
+        final Path file = FMLPaths.GAMEDIR.get().resolve("chromabreak").resolve("exports")
+                .resolve(kind + "-" + LocalDateTime.now().format(WorldGenCommands.EXPORT_TIMESTAMP) + ".txt");
+
+        source.sendSuccess(() -> Component.literal("正在导出 " + entries.size() + " 项到 " + file
+                + " / Exporting " + entries.size() + " entries to " + file), false);
+
+        CompletableFuture.runAsync(() -> {
+            final List<String> lines = new ArrayList<>(entries.size() + entries.size() / 8 + 1);
+            String currentMod = "";
+            for (final T entry : entries) {
+                final String modId = modIdOf.apply(entry);
+                if (!currentMod.equals(modId)) {
+                    currentMod = modId;
+                    lines.add("--- " + WorldGenCommands.getModName(modId) + " (" + modId + ") ---");
+                }
+                lines.add(lineOf.apply(entry));
+            }
+            lines.add("=== Total: " + entries.size() + " ===");
+
+            try {
+                Files.createDirectories(file.getParent());
+                Files.write(file, lines, StandardCharsets.UTF_8);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, Util.ioPool()).whenCompleteAsync((result, error) -> {
+            if (null == error) {
+                source.sendSuccess(() -> Component.literal("✅ 导出完成 / Export finished: " + file), false);
+            } else {
+                source.sendFailure(Component.literal("❌ 导出失败 / Export failed: " + error.getMessage()));
+                WorldGenCommands.LOGGER.error("导出失败:", error);
+            }
+        }, server);
 
-        // 同时在控制台输出
-        WorldGenFinder.printAllFeatures(features);
+        return entries.size();
+    }
 
-        return features.size();
+    /**
+     * 使用命令中的稀有度和给定的扫描距离，高度范围保持PlacedFeaturesOG的设置
+     * Use the rarity from the command and the given scan distance, keeping the height range of PlacedFeaturesOG
+     */
+    private static GeodeDensityAnalyzer.Settings geodeSettings(final CommandContext<CommandSourceStack> context,
+                                                               final int scanDistance) {
+        return new GeodeDensityAnalyzer.Settings(IntegerArgumentType.getInteger(context, "rarity"),
+                PlacedFeaturesOG.ORANGE_GEODE_MIN_Y, PlacedFeaturesOG.ORANGE_GEODE_MAX_Y, scanDistance);
+    }
+
+    /**
+     * 在命令源周围分析橙水晶矿洞的放置密度，结果在完成后发送
+     * Analyse the orange geode placement density around the command source, the result is sent when finished
+     *
+     * @param context  命令上下文
+     * @param radius   半径（区块）
+     * @param settings 放置参数
+     * @return 分析的区块数
+     */
+    private static int analyzeGeodes(final CommandContext<CommandSourceStack> context, final int radius,
+                                     final GeodeDensityAnalyzer.Settings settings) {
+        final CommandSourceStack source = context.getSource();
+        if (GeodeDensityAnalyzer.isRunning()) {
+            source.sendFailure(Component.literal("已有分析正在运行 / An analysis is already running"));
+            return 0;
+        }
+
+        final ChunkPos center = new ChunkPos(BlockPos.containing(source.getPosition()));
+        final Optional<CompletableFuture<GeodeDensityAnalyzer.Result>> analysis =
+                GeodeDensityAnalyzer.analyze(source.getLevel(), center, radius, settings);
+        if (analysis.isEmpty()) {
+            source.sendFailure(Component.literal("❌ 未注册或此维度未使用 " + PlacedFeaturesOG.ORANGE_GEODE_PLACED.location()
+                    + " / Placed feature not registered or not used in this dimension"));
+            return 0;
+        }
+
+        final int side = 2 * radius + 1;
+        source.sendSuccess(() -> Component.literal("正在分析 " + side + "×" + side + " 个区块 / Analysing " + side + "×" + side
+                + " chunks: rarity " + settings.rarity() + ", scan " + settings.scanDistance()), false);
+
+        analysis.get().whenCompleteAsync((result, error) -> {
+            if (null == error) {
+                source.sendSuccess(() -> Component.literal("✅ 晶洞密度 / Geode density: " + result.format()), false);
+            } else {
+                source.sendFailure(Component.literal("❌ 分析失败 / Analysis failed: " + error.getMessage()));
+                WorldGenCommands.LOGGER.error("晶洞密度分析失败:", error);
+            }
+        }, source.getServer());
+
+        return side * side;
     }
 
     /**
@@ -472,8 +779,7 @@ public enum WorldGenCommands {
             return 0;
         }
 
-        final List<WorldGenFinder.FeatureInfo> allFeatures = WorldGenFinder.getAllFeatures(featureRegistry);
-        final List<WorldGenFinder.FeatureInfo> filteredFeatures = WorldGenFinder.filterFeaturesByModId(allFeatures, modId);
+        final List<WorldGenFinder.FeatureInfo> filteredFeatures = WorldGenFinder.featureIndex(featureRegistry).byModId(modId);
 
         if (filteredFeatures.isEmpty()) {
             source.sendSuccess(() -> Component.literal("模组 '" + modId + "' 未注册任何特征"), false);
@@ -511,8 +817,7 @@ public enum WorldGenCommands {
             return 0;
         }
 
-        final List<WorldGenFinder.FeatureInfo> allFeatures = WorldGenFinder.getAllFeatures(featureRegistry);
-        final List<WorldGenFinder.FeatureInfo> foundFeatures = WorldGenFinder.findFeature(allFeatures, searchTerm);
+        final List<WorldGenFinder.FeatureInfo> foundFeatures = WorldGenFinder.featureIndex(featureRegistry).search(searchTerm);
 
         if (foundFeatures.isEmpty()) {
             source.sendSuccess(() -> Component.literal("未找到包含 '" + searchTerm + "' 的特征"), false);
@@ -555,26 +860,23 @@ public enum WorldGenCommands {
             return 0;
         }
 
-        final List<WorldGenFinder.FeatureInfo> features = WorldGenFinder.getAllFeatures(featureRegistry);
+        final WorldGenIndex<WorldGenFinder.FeatureInfo> index = WorldGenFinder.featureIndex(featureRegistry);
 
         source.sendSuccess(() -> Component.literal("=== 各模组特征数量统计 ==="), false);
         source.sendSuccess(() -> Component.literal("=== Feature Count by Mod ==="), false);
 
-        features.stream()
-                .collect(java.util.stream.Collectors.groupingBy(WorldGenFinder.FeatureInfo::getModId, java.util.stream.Collectors.counting()))
-                .entrySet().stream()
-                .sorted((e1, e2) -> Long.compare(e2.getValue(), e1.getValue())) // 按数量降序
-                .forEach(entry -> {
-                    final String modName = WorldGenCommands.getModName(entry.getKey());
-                    source.sendSuccess(() -> Component.literal(modName + " (" + entry.getKey() + "): " + entry.getValue() + " 个特征"), false);
-                });
+        // 按数量降序
+        for (final Map.Entry<String, Integer> entry : index.modCounts()) {
+            final String modName = WorldGenCommands.getModName(entry.getKey());
+            source.sendSuccess(() -> Component.literal(modName + " (" + entry.getKey() + "): " + entry.getValue() + " 个特征"), false);
+        }
 
-        source.sendSuccess(() -> Component.literal("=== 总计: " + features.size() + " 个特征 ==="), false);
-        source.sendSuccess(() -> Component.literal("=== Total: " + features.size() + " features ==="), false);
+        source.sendSuccess(() -> Component.literal("=== 总计: " + index.size() + " 个特征 ==="), false);
+        source.sendSuccess(() -> Component.literal("=== Total: " + index.size() + " features ==="), false);
 
         // 同时在控制台输出统计
-        WorldGenFinder.countFeaturesByMod(features);
+        WorldGenFinder.countFeaturesByMod(index);
 
-        return features.size();
+        return index.size();
     }
 }
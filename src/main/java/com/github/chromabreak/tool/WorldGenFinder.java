@@ -12,8 +12,7 @@ import org.apache.logging.log4j.Logger;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 /**
  * WorldGenFinder - 世界生成查找工具类
@@ -26,14 +25,10 @@ import java.util.stream.Collectors;
  * Main functionalities include:
  * - 获取所有注册的结构和特征信息
  * Get all registered structure and feature information
- * - 按模组ID过滤和统计结构/特征
- * Filter and count structures/features by mod ID
- * - 搜索特定名称的结构/特征
- * Search for structures/features by specific name
- * - 输出结构/特征信息到日志
- * Output structure/feature information to logs
- * - 统计各模组的结构/特征数量
- * Count structures/features by mod
+ * - 构建按名称和模组查询的结构/特征索引
+ * Build structure/feature indexes queried by name and mod
+ * - 统计各模组的结构/特征数量并输出到日志
+ * Count structures/features by mod and log the counts
  * <p>
  * 使用Minecraft的注册表系统来获取结构和特征信息
  * Uses Minecraft's registry system to get structure and feature information
@@ -50,20 +45,75 @@ public enum WorldGenFinder {
      */
     private static final Logger LOGGER = LogManager.getLogger();
 
+    /**
+     * 结构注册表的索引快照，注册表实例改变时重建
+     * Index snapshot of the structure registry, rebuilt when the registry instance changes
+     */
+    private static WorldGenIndex<StructureInfo> structureIndex;
+
+    /**
+     * 特征注册表的索引快照，注册表实例改变时重建
+     * Index snapshot of the feature registry, rebuilt when the registry instance changes
+     */
+    private static WorldGenIndex<FeatureInfo> featureIndex;
+
+    /**
+     * 获取结构注册表的索引快照
+     * Get the index snapshot of the structure registry
+     * <p>
+     * 每个注册表实例只构建一次
+     * Built only once per registry instance
+     *
+     * @param registry 结构注册表
+     * @return 索引快照
+     */
+    public static synchronized WorldGenIndex<StructureInfo> structureIndex(final Registry<Structure> registry) {
+        if (null == WorldGenFinder.structureIndex || !WorldGenFinder.structureIndex.isFor(registry)) {
+            WorldGenFinder.structureIndex = WorldGenIndex.build(registry,
+                    WorldGenFinder.collectStructures(registry), StructureInfo::getId);
+        }
+        return WorldGenFinder.structureIndex;
+    }
+
+    /**
+     * 获取特征注册表的索引快照
+     * Get the index snapshot of the feature registry
+     * <p>
+     * 每个注册表实例只构建一次
+     * Built only once per registry instance
+     *
+     * @param registry 特征注册表
+     * @return 索引快照
+     */
+    public static synchronized WorldGenIndex<FeatureInfo> featureIndex(final Registry<ConfiguredFeature<?, ?>> registry) {
+        if (null == WorldGenFinder.featureIndex || !WorldGenFinder.featureIndex.isFor(registry)) {
+            WorldGenFinder.featureIndex = WorldGenIndex.build(registry,
+                    WorldGenFinder.collectFeatures(registry), FeatureInfo::getId);
+        }
+        return WorldGenFinder.featureIndex;
+    }
+
     /**
      * 获取所有注册的结构
      * Get all registered structures
      *
      * @param registry 结构注册表
-     * @return 结构信息列表
+     * @return 结构信息列表（只读，来自索引快照）
      */
     public static List<StructureInfo> getAllStructures(final Registry<Structure> registry) {
-        final List<StructureInfo> structures = new ArrayList<>();
-
         if (null == registry) {
             WorldGenFinder.LOGGER.warn("结构注册表为空");
-            return structures;
+            return List.of();
         }
+        return WorldGenFinder.structureIndex(registry).entries();
+    }
+
+    /**
+     * 遍历注册表收集结构并排序
+     * Collect and sort the structures of a registry
+     */
+    private static List<StructureInfo> collectStructures(final Registry<Structure> registry) {
+        final List<StructureInfo> structures = new ArrayList<>();
 
         for (final Structure structure : registry) {
             final ResourceLocation id = registry.getKey(structure);
@@ -85,15 +135,22 @@ public enum WorldGenFinder {
      * Get all registered features
      *
      * @param registry 特征注册表
-     * @return 特征信息列表
+     * @return 特征信息列表（只读，来自索引快照）
      */
     public static List<FeatureInfo> getAllFeatures(final Registry<ConfiguredFeature<?, ?>> registry) {
-        final List<FeatureInfo> features = new ArrayList<>();
-
         if (null == registry) {
             WorldGenFinder.LOGGER.warn("特征注册表为空");
-            return features;
+            return List.of();
         }
+        return WorldGenFinder.featureIndex(registry).entries();
+    }
+
+    /**
+     * 遍历注册表收集特征并排序
+     * Collect and sort the features of a registry
+     */
+    private static List<FeatureInfo> collectFeatures(final Registry<ConfiguredFeature<?, ?>> registry) {
+        final List<FeatureInfo> features = new ArrayList<>();
 
         for (final ConfiguredFeature<?, ?> feature : registry) {
             final ResourceLocation id = registry.getKey(feature);
@@ -110,62 +167,6 @@ public enum WorldGenFinder {
         return features;
     }
 
-    /**
-     * 按模组ID过滤结构
-     * Filter structures by mod ID
-     *
-     * @param structures 结构列表
-     * @param modId      模组ID
-     * @return 过滤后的结构列表
-     */
-    public static List<StructureInfo> filterByModId(final List<StructureInfo> structures, final String modId) {
-        return structures.stream()
-                .filter(info -> info.getModId().equals(modId))
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * 获取所有模组ID
-     * Get all mod IDs from structures
-     *
-     * @param structures 结构列表
-     * @return 模组ID集合
-     */
-    public static Set<String> getAllModIds(final List<StructureInfo> structures) {
-        return structures.stream()
-                .map(StructureInfo::getModId)
-                .collect(Collectors.toSet());
-    }
-
-    /**
-     * 打印所有结构信息
-     * Print all structure information
-     *
-     * @param structures 结构列表
-     */
-    public static void printAllStructures(final List<StructureInfo> structures) {
-        if (structures.isEmpty()) {
-            WorldGenFinder.LOGGER.info("未找到任何结构");
-            return;
-        }
-
-        WorldGenFinder.LOGGER.info("=== 所有注册的自然生成结构 ===");
-        WorldGenFinder.LOGGER.info("=== All Registered Natural Generation Structures ===");
-
-        String currentMod = "";
-        for (final StructureInfo info : structures) {
-            if (!currentMod.equals(info.getModId())) {
-                currentMod = info.getModId();
-                final String modName = WorldGenFinder.getModName(currentMod);
-                WorldGenFinder.LOGGER.info("--- {} ({}) ---", modName, currentMod);
-            }
-            WorldGenFinder.LOGGER.info("  - {} (类型: {})", info.getStructureName(), info.getStructureType());
-        }
-
-        WorldGenFinder.LOGGER.info("=== 总计: {} 个结构 ===", structures.size());
-        WorldGenFinder.LOGGER.info("=== Total: {} structures ===", structures.size());
-    }
-
     /**
      * 获取模组名称
      * Get mod name
@@ -184,114 +185,35 @@ public enum WorldGenFinder {
     }
 
     /**
-     * 查找特定结构
-     * Find specific structure
-     *
-     * @param structures    结构列表
-     * @param structureName 结构名称（支持部分匹配）
-     * @return 匹配的结构列表
-     */
-    public static List<StructureInfo> findStructure(final List<StructureInfo> structures, final String structureName) {
-        return structures.stream()
-                .filter(info -> info.getStructureName().toLowerCase().contains(structureName.toLowerCase()))
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * 统计结构数量
-     * Count structures by mod
+     * 按索引快照中的模组统计输出结构数量
+     * Log structure counts from the mod counts of an index snapshot
      *
-     * @param structures 结构列表
+     * @param index 结构索引快照
      */
-    public static void countStructuresByMod(final List<StructureInfo> structures) {
+    public static void countStructuresByMod(final WorldGenIndex<StructureInfo> index) {
         WorldGenFinder.LOGGER.info("=== 各模组结构数量统计 ===");
         WorldGenFinder.LOGGER.info("=== Structure Count by Mod ===");
 
-        structures.stream()
-                .collect(Collectors.groupingBy(StructureInfo::getModId, Collectors.counting()))
-                .entrySet().stream()
-                .sorted((e1, e2) -> Long.compare(e2.getValue(), e1.getValue())) // 按数量降序
-                .forEach(entry -> {
-                    final String modName = WorldGenFinder.getModName(entry.getKey());
-                    WorldGenFinder.LOGGER.info("{} ({}): {} 个结构", modName, entry.getKey(), entry.getValue());
-                });
-    }
-
-    /**
-     * 按模组ID过滤特征
-     * Filter features by mod ID
-     *
-     * @param features 特征列表
-     * @param modId    模组ID
-     * @return 过滤后的特征列表
-     */
-    public static List<FeatureInfo> filterFeaturesByModId(final List<FeatureInfo> features, final String modId) {
-        return features.stream()
-                .filter(info -> info.getModId().equals(modId))
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * 查找特定特征
-     * Find specific feature
-     *
-     * @param features    特征列表
-     * @param featureName 特征名称（支持部分匹配）
-     * @return 匹配的特征列表
-     */
-    public static List<FeatureInfo> findFeature(final List<FeatureInfo> features, final String featureName) {
-        return features.stream()
-                .filter(info -> info.getFeatureName().toLowerCase().contains(featureName.toLowerCase()))
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * 打印所有特征信息
-     * Print all feature information
-     *
-     * @param features 特征列表
-     */
-    public static void printAllFeatures(final List<FeatureInfo> features) {
-        if (features.isEmpty()) {
-            WorldGenFinder.LOGGER.info("未找到任何特征");
-            return;
-        }
-
-        WorldGenFinder.LOGGER.info("=== 所有注册的自然生成特征 ===");
-        WorldGenFinder.LOGGER.info("=== All Registered Natural Generation Features ===");
-
-        String currentMod = "";
-        for (final FeatureInfo info : features) {
-            if (!currentMod.equals(info.getModId())) {
-                currentMod = info.getModId();
-                final String modName = WorldGenFinder.getModName(currentMod);
-                WorldGenFinder.LOGGER.info("--- {} ({}) ---", modName, currentMod);
-            }
-            WorldGenFinder.LOGGER.info("  - {}", info.getFeatureName());
+        for (final Map.Entry<String, Integer> entry : index.modCounts()) {
+            final String modName = WorldGenFinder.getModName(entry.getKey());
+            WorldGenFinder.LOGGER.info("{} ({}): {} 个结构", modName, entry.getKey(), entry.getValue());
         }
-
-        WorldGenFinder.LOGGER.info("=== 总计: {} 个特征 ===", features.size());
-        WorldGenFinder.LOGGER.info("=== Total: {} features ===", features.size());
     }
 
     /**
-     * 统计特征数量
-     * Count features by mod
+     * 按索引快照中的模组统计输出特征数量
+     * Log feature counts from the mod counts of an index snapshot
      *
-     * @param features 特征列表
+     * @param index 特征索引快照
      */
-    public static void countFeaturesByMod(final List<FeatureInfo> features) {
+    public static void countFeaturesByMod(final WorldGenIndex<FeatureInfo> index) {
         WorldGenFinder.LOGGER.info("=== 各模组特征数量统计 ===");
         WorldGenFinder.LOGGER.info("=== Feature Count by Mod ===");
 
-        features.stream()
-                .collect(Collectors.groupingBy(FeatureInfo::getModId, Collectors.counting()))
-                .entrySet().stream()
-                .sorted((e1, e2) -> Long.compare(e2.getValue(), e1.getValue())) // 按数量降序
-                .forEach(entry -> {
-                    final String modName = WorldGenFinder.getModName(entry.getKey());
-                    WorldGenFinder.LOGGER.info("{} ({}): {} 个特征", modName, entry.getKey(), entry.getValue());
-                });
+        for (final Map.Entry<String, Integer> entry : index.modCounts()) {
+            final String modName = WorldGenFinder.getModName(entry.getKey());
+            WorldGenFinder.LOGGER.info("{} ({}): {} 个特征", modName, entry.getKey(), entry.getValue());
+        }
     }
 
     /**
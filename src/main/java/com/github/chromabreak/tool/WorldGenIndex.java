@@ -0,0 +1,415 @@
+package com.github.chromabreak.tool;
+
+import net.minecraft.core.Registry;
+import net.minecraft.resources.ResourceLocation;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * WorldGenIndex - 世界生成注册表索引
+ * World Generation Registry Index
+ * <p>
+ * 结构或特征注册表的只读快照，每个注册表实例只构建一次，供所有/findstructures子命令和补全复用
+ * Read-only snapshot of the structure or feature registry, built once per registry instance and reused by every
+ * /findstructures subcommand and completion provider
+ * <p>
+ * 包含的索引：
+ * Indexes included:
+ * - 按模组ID和名称排序的全部条目
+ * All entries sorted by mod ID and name
+ * - 按模组ID分组的条目和按数量降序的模组统计
+ * Entries grouped by mod ID and mod counts in descending order
+ * - 按名称词元（以_和/分隔）分组的条目
+ * Entries grouped by name token (split on _ and /)
+ * - 前缀索引：排序后的完整ID、名称和词元，前缀查询只需二分查找
+ * Prefix index: Sorted full IDs, names and tokens, so prefix queries are a binary search
+ * - 预先转为小写的名称，子串搜索不再为每个条目分配字符串
+ * Pre-lowercased names, so substring search no longer allocates a string per entry
+ * <p>
+ * 世界生成注册表在服务器启动时确定，/reload不会改变它们；只有启动新的服务器（例如重新进入世界）时注册表实例才会改变，
+ * 快照随之重建；快照只弱引用注册表
+ * Worldgen registries are fixed when the server starts and /reload does not change them; the registry instance only
+ * changes when a new server starts (such as entering a world again), and the snapshot is rebuilt with it; the snapshot
+ * only holds a weak reference to the registry
+ *
+ * @param <T> 条目类型（WorldGenFinder.StructureInfo或WorldGenFinder.FeatureInfo）
+ *            Entry type (WorldGenFinder.StructureInfo or WorldGenFinder.FeatureInfo)
+ */
+public final class WorldGenIndex<T> {
+
+    /**
+     * 构建快照的注册表
+     * Registry the snapshot was built from
+     */
+    private final WeakReference<Registry<?>> registry;
+
+    /**
+     * 按模组ID和名称排序的全部条目
+     * All entries sorted by mod ID and name
+     */
+    private final List<T> entries;
+
+    /**
+     * 条目的ID，与entries顺序相同
+     * Entry IDs, in the same order as entries
+     */
+    private final ResourceLocation[] ids;
+
+    /**
+     * 小写的名称（路径），与entries顺序相同
+     * Lowercase names (paths), in the same order as entries
+     */
+    private final String[] lowerNames;
+
+    /**
+     * 按模组ID分组的条目，按模组ID排序
+     * Entries grouped by mod ID, sorted by mod ID
+     */
+    private final Map<String, List<T>> byModId;
+
+    /**
+     * 排序后的模组ID，用于模组ID的前缀查询
+     * Sorted mod IDs, used for mod ID prefix queries
+     */
+    private final String[] sortedModIds;
+
+    /**
+     * 按数量降序排列的模组统计
+     * Mod counts in descending order
+     */
+    private final List<Map.Entry<String, Integer>> modCounts;
+
+    /**
+     * 按词元分组的条目
+     * Entries grouped by token
+     */
+    private final Map<String, List<T>> byToken;
+
+    /**
+     * 前缀索引的键（小写，已排序）和对应的条目序号
+     * Keys of the prefix index (lowercase, sorted) and their entry indices
+     */
+    private final String[] prefixKeys;
+    private final int[] prefixOwners;
+
+    private WorldGenIndex(final Registry<?> registry, final List<T> sortedEntries, final Function<T, ResourceLocation> idOf) {
+        this.registry = new WeakReference<>(registry);
+        this.entries = Collections.unmodifiableList(sortedEntries);
+
+        final int size = sortedEntries.size();
+        this.ids = new ResourceLocation[size];
+        this.lowerNames = new String[size];
+
+        final Map<String, List<T>> modGroups = new LinkedHashMap<>();
+        final Map<String, List<T>> tokenGroups = new TreeMap<>();
+        final List<PrefixKey> keys = new ArrayList<>(size * 4);
+        for (int i = 0; i < size; i++) {
+            final T entry = sortedEntries.get(i);
+            final ResourceLocation id = idOf.apply(entry);
+            this.ids[i] = id;
+            this.lowerNames[i] = id.getPath().toLowerCase(Locale.ROOT);
+
+            modGroups.computeIfAbsent(id.getNamespace(), key -> new ArrayList<>()).add(entry);
+
+            keys.add(new PrefixKey(id.toString().toLowerCase(Locale.ROOT), i));
+            keys.add(new PrefixKey(this.lowerNames[i], i));
+            for (final String token : this.lowerNames[i].split("[_/]")) {
+                if (token.isEmpty()) {
+                    continue;
+                }
+                final List<T> tokenEntries = tokenGroups.computeIfAbsent(token, key -> new ArrayList<>());
+                // 同一名称中重复的词元只记录一次
+                // Tokens repeated within one name are only recorded once
+                if (tokenEntries.isEmpty() || tokenEntries.get(tokenEntries.size() - 1) != entry) {
+                    tokenEntries.add(entry);
+                    keys.add(new PrefixKey(token, i));
+                }
+            }
+        }
+
+        modGroups.replaceAll((key, value) -> Collections.unmodifiableList(value));
+        tokenGroups.replaceAll((key, value) -> Collections.unmodifiableList(value));
+        this.byModId = Collections.unmodifiableMap(modGroups);
+        this.sortedModIds = modGroups.keySet().toArray(String[]::new);
+        Arrays.sort(this.sortedModIds);
+        this.byToken = Collections.unmodifiableMap(tokenGroups);
+
+        final List<Map.Entry<String, Integer>> counts = new ArrayList<>(modGroups.size());
+        modGroups.forEach((modId, modEntries) -> counts.add(Map.entry(modId, modEntries.size())));
+        counts.sort((e1, e2) -> Integer.compare(e2.getValue(), e1.getValue())); // 按数量降序（稳定排序保持模组ID顺序）
+        this.modCounts = Collections.unmodifiableList(counts);
+
+        keys.sort(null);
+        this.prefixKeys = new String[keys.size()];
+        this.prefixOwners = new int[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            this.prefixKeys[i] = keys.get(i).key();
+            this.prefixOwners[i] = keys.get(i).owner();
+        }
+    }
+
+    /**
+     * 从注册表条目构建快照
+     * Build a snapshot from registry entries
+     *
+     * @param registry      条目来源的注册表
+     *                      Registry the entries come from
+     * @param sortedEntries 按模组ID和名称排序的条目
+     *                      Entries sorted by mod ID and name
+     * @param idOf          获取条目ID的函数
+     *                      Function returning an entry's ID
+     * @param <T>           条目类型
+     *                      Entry type
+     * @return 快照
+     * Snapshot
+     */
+    static <T> WorldGenIndex<T> build(final Registry<?> registry, final List<T> sortedEntries,
+                                      final Function<T, ResourceLocation> idOf) {
+        return new WorldGenIndex<>(registry, new ArrayList<>(sortedEntries), idOf);
+    }
+
+    /**
+     * 检查快照是否由该注册表实例构建
+     * Check whether the snapshot was built from this registry instance
+     *
+     * @param registry 注册表
+     *                 Registry
+     * @return 是否为同一注册表实例
+     * Whether it is the same registry instance
+     */
+    boolean isFor(final Registry<?> registry) {
+        return this.registry.get() == registry;
+    }
+
+    /**
+     * 获取全部条目
+     * Get all entries
+     *
+     * @return 按模组ID和名称排序的只读列表
+     * Read-only list sorted by mod ID and name
+     */
+    public List<T> entries() {
+        return this.entries;
+    }
+
+    /**
+     * 获取条目数量
+     * Get the entry count
+     *
+     * @return 条目数量
+     * Entry count
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * 获取模组的条目
+     * Get the entries of a mod
+     *
+     * @param modId 模组ID
+     *              Mod ID
+     * @return 只读列表，没有条目时为空列表
+     * Read-only list, empty when the mod has no entries
+     */
+    public List<T> byModId(final String modId) {
+        return this.byModId.getOrDefault(modId, List.of());
+    }
+
+    /**
+     * 获取所有有条目的模组ID
+     * Get every mod ID that has entries
+     *
+     * @return 排序后的模组ID
+     * Sorted mod IDs
+     */
+    public Set<String> modIds() {
+        return this.byModId.keySet();
+    }
+
+    /**
+     * 获取按数量降序排列的模组统计
+     * Get mod counts in descending order
+     *
+     * @return 只读列表，键为模组ID，值为条目数量
+     * Read-only list, keyed by mod ID with the entry count as value
+     */
+    public List<Map.Entry<String, Integer>> modCounts() {
+        return this.modCounts;
+    }
+
+    /**
+     * 获取名称中包含该词元的条目
+     * Get the entries whose name contains this token
+     *
+     * @param token 词元（名称中以_或/分隔的部分）
+     *              Token (a part of the name separated by _ or /)
+     * @return 只读列表，没有条目时为空列表
+     * Read-only list, empty when no entry has the token
+     */
+    public List<T> byToken(final String token) {
+        return this.byToken.getOrDefault(token.toLowerCase(Locale.ROOT), List.of());
+    }
+
+    /**
+     * 搜索名称包含该字符串的条目（不区分大小写，与旧版搜索语义相同）
+     * Search entries whose name contains this string (case-insensitive, same semantics as the old search)
+     *
+     * @param term 搜索字符串
+     *             Search term
+     * @return 按模组ID和名称排序的匹配条目
+     * Matching entries sorted by mod ID and name
+     */
+    public List<T> search(final String term) {
+        final String lowerTerm = term.toLowerCase(Locale.ROOT);
+        final List<T> result = new ArrayList<>();
+        for (int i = 0; i < this.lowerNames.length; i++) {
+            if (this.lowerNames[i].contains(lowerTerm)) {
+                result.add(this.entries.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 查找完整ID、名称或任一词元以该前缀开头的条目
+     * Find entries whose full ID, name or any token starts with this prefix
+     *
+     * @param prefix 前缀（不区分大小写）
+     *               Prefix (case-insensitive)
+     * @param limit  最多返回的条目数量，超出时保留匹配键排序最靠前的条目
+     *               Maximum number of entries returned, beyond it the entries whose matching keys sort first are kept
+     * @return 按模组ID和名称排序的匹配条目
+     * Matching entries sorted by mod ID and name
+     */
+    public List<T> withPrefix(final String prefix, final int limit) {
+        final int[] matches = this.matchPrefix(prefix, limit);
+        final List<T> result = new ArrayList<>(matches.length);
+        for (final int match : matches) {
+            result.add(this.entries.get(match));
+        }
+        return result;
+    }
+
+    /**
+     * 查找完整ID、名称或任一词元以该前缀开头的条目ID
+     * Find the IDs of entries whose full ID, name or any token starts with this prefix
+     *
+     * @param prefix 前缀（不区分大小写）
+     *               Prefix (case-insensitive)
+     * @param limit  最多返回的ID数量，超出时保留匹配键排序最靠前的ID
+     *               Maximum number of IDs returned, beyond it the IDs whose matching keys sort first are kept
+     * @return 按模组ID和名称排序的ID
+     * IDs sorted by mod ID and name
+     */
+    public List<ResourceLocation> idsWithPrefix(final String prefix, final int limit) {
+        final int[] matches = this.matchPrefix(prefix, limit);
+        final List<ResourceLocation> result = new ArrayList<>(matches.length);
+        for (final int match : matches) {
+            result.add(this.ids[match]);
+        }
+        return result;
+    }
+
+    /**
+     * 查找以该前缀开头的模组ID
+     * Find the mod IDs starting with this prefix
+     *
+     * @param prefix 前缀（不区分大小写）
+     *               Prefix (case-insensitive)
+     * @param limit  最多返回的模组ID数量
+     *               Maximum number of mod IDs returned
+     * @return 排序后的模组ID
+     * Sorted mod IDs
+     */
+    public List<String> modIdsWithPrefix(final String prefix, final int limit) {
+        final String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+        final List<String> result = new ArrayList<>();
+        for (int i = WorldGenIndex.lowerBound(this.sortedModIds, lowerPrefix);
+             i < this.sortedModIds.length && result.size() < limit && this.sortedModIds[i].startsWith(lowerPrefix); i++) {
+            result.add(this.sortedModIds[i]);
+        }
+        return result;
+    }
+
+    /**
+     * 从二分查找的起点扫描前缀索引，收集到limit个不同条目后停止
+     * Scan the prefix index from the binary search start and stop once limit distinct entries are collected
+     *
+     * @return 升序排列（即按模组ID和名称排序）的条目序号
+     * Entry indexes in ascending order (that is, sorted by mod ID and name)
+     */
+    private int[] matchPrefix(final String prefix, final int limit) {
+        final String lowerPrefix = prefix.toLowerCase(Locale.ROOT);
+        final int[] owners = new int[Math.max(0, Math.min(limit, this.entries.size()))];
+        int count = 0;
+        for (int i = WorldGenIndex.lowerBound(this.prefixKeys, lowerPrefix);
+             i < this.prefixKeys.length && count < owners.length && this.prefixKeys[i].startsWith(lowerPrefix); i++) {
+            final int owner = this.prefixOwners[i];
+            if (!WorldGenIndex.contains(owners, count, owner)) {
+                owners[count++] = owner;
+            }
+        }
+        final int[] matches = Arrays.copyOf(owners, count);
+        Arrays.sort(matches);
+        return matches;
+    }
+
+    /**
+     * 数组的前count个元素中是否包含该值（count不超过补全数量上限，线性查找即可）
+     * Whether the first count elements of the array contain the value (count is bounded by the limit, so a linear scan is enough)
+     */
+    private static boolean contains(final int[] values, final int count, final int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 二分查找第一个不小于该键的位置
+     * Binary search for the first position not less than the key
+     */
+    private static int lowerBound(final String[] sorted, final String key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (0 > sorted[mid].compareTo(key)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 前缀索引的键
+     * Key of the prefix index
+     *
+     * @param key   小写的键
+     *              Lowercase key
+     * @param owner 条目序号
+     *              Entry index
+     */
+    private record PrefixKey(String key, int owner) implements Comparable<PrefixKey> {
+        @Override
+        public int compareTo(final PrefixKey other) {
+            final int byKey = this.key.compareTo(other.key);
+            return 0 != byKey ? byKey : Integer.compare(this.owner, other.owner);
+        }
+    }
+}
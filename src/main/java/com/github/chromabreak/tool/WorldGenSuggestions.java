@@ -0,0 +1,136 @@
+package com.github.chromabreak.tool;
+
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.suggestion.SuggestionProvider;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceLocation;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * WorldGenSuggestions - 世界生成命令补全
+ * World Generation Command Suggestions
+ * <p>
+ * 为/findstructures的mod、search和locate参数提供Tab补全，数据来自WorldGenFinder的注册表索引快照
+ * Tab completion for the mod, search and locate arguments of /findstructures, backed by the registry index snapshots of WorldGenFinder
+ * <p>
+ * 每次补全只在排序后的前缀索引中二分查找，并最多返回SUGGESTION_LIMIT条，上万个注册表条目时也能即时响应
+ * Every completion is a binary search in the sorted prefix index returning at most SUGGESTION_LIMIT entries, so it stays
+ * responsive with tens of thousands of registry entries
+ * <p>
+ * 参数是StringArgumentType.string()，包含冒号等字符的建议会自动加引号
+ * The arguments are StringArgumentType.string(), so suggestions containing characters such as colons are quoted automatically
+ */
+public enum WorldGenSuggestions {
+    ;
+
+    /**
+     * 每次补全最多返回的建议数量
+     * Maximum suggestions returned per completion
+     */
+    private static final int SUGGESTION_LIMIT = 64;
+
+    /**
+     * 结构所属的模组ID
+     * Mod IDs of structures
+     */
+    public static final SuggestionProvider<CommandSourceStack> STRUCTURE_MOD_IDS = (context, builder) -> {
+        final WorldGenIndex<WorldGenFinder.StructureInfo> index = WorldGenSuggestions.structureIndex(context);
+        return null == index ? Suggestions.empty()
+                : WorldGenSuggestions.suggest(builder, index.modIdsWithPrefix(WorldGenSuggestions.remaining(builder),
+                WorldGenSuggestions.SUGGESTION_LIMIT));
+    };
+
+    /**
+     * 结构名称（search参数）
+     * Structure names (search argument)
+     */
+    public static final SuggestionProvider<CommandSourceStack> STRUCTURE_NAMES = (context, builder) -> {
+        final WorldGenIndex<WorldGenFinder.StructureInfo> index = WorldGenSuggestions.structureIndex(context);
+        return null == index ? Suggestions.empty()
+                : WorldGenSuggestions.suggestNames(builder, index);
+    };
+
+    /**
+     * 完整的结构ID（locate参数）
+     * Full structure IDs (locate argument)
+     */
+    public static final SuggestionProvider<CommandSourceStack> STRUCTURE_IDS = (context, builder) -> {
+        final WorldGenIndex<WorldGenFinder.StructureInfo> index = WorldGenSuggestions.structureIndex(context);
+        if (null == index) {
+            return Suggestions.empty();
+        }
+        for (final ResourceLocation id : index.idsWithPrefix(WorldGenSuggestions.remaining(builder), WorldGenSuggestions.SUGGESTION_LIMIT)) {
+            builder.suggest(StringArgumentType.escapeIfRequired(id.toString()));
+        }
+        return builder.buildFuture();
+    };
+
+    /**
+     * 特征所属的模组ID
+     * Mod IDs of features
+     */
+    public static final SuggestionProvider<CommandSourceStack> FEATURE_MOD_IDS = (context, builder) -> {
+        final WorldGenIndex<WorldGenFinder.FeatureInfo> index = WorldGenSuggestions.featureIndex(context);
+        return null == index ? Suggestions.empty()
+                : WorldGenSuggestions.suggest(builder, index.modIdsWithPrefix(WorldGenSuggestions.remaining(builder),
+                WorldGenSuggestions.SUGGESTION_LIMIT));
+    };
+
+    /**
+     * 特征名称（search参数）
+     * Feature names (search argument)
+     */
+    public static final SuggestionProvider<CommandSourceStack> FEATURE_NAMES = (context, builder) -> {
+        final WorldGenIndex<WorldGenFinder.FeatureInfo> index = WorldGenSuggestions.featureIndex(context);
+        return null == index ? Suggestions.empty()
+                : WorldGenSuggestions.suggestNames(builder, index);
+    };
+
+    private static WorldGenIndex<WorldGenFinder.StructureInfo> structureIndex(final CommandContext<CommandSourceStack> context) {
+        return context.getSource().registryAccess().registry(Registries.STRUCTURE)
+                .map(WorldGenFinder::structureIndex)
+                .orElse(null);
+    }
+
+    private static WorldGenIndex<WorldGenFinder.FeatureInfo> featureIndex(final CommandContext<CommandSourceStack> context) {
+        return context.getSource().registryAccess().registry(Registries.CONFIGURED_FEATURE)
+                .map(WorldGenFinder::featureIndex)
+                .orElse(null);
+    }
+
+    /**
+     * 获取已输入的部分，去掉开头的引号
+     * Get the typed part without a leading quote
+     */
+    private static String remaining(final SuggestionsBuilder builder) {
+        final String remaining = builder.getRemainingLowerCase();
+        return !remaining.isEmpty() && ('"' == remaining.charAt(0) || '\'' == remaining.charAt(0))
+                ? remaining.substring(1) : remaining;
+    }
+
+    /**
+     * 建议名称（路径）：名称或词元以已输入部分开头的条目，去掉重复
+     * Suggest names (paths): entries whose name or token starts with the typed part, without duplicates
+     */
+    private static CompletableFuture<Suggestions> suggestNames(final SuggestionsBuilder builder, final WorldGenIndex<?> index) {
+        final Set<String> names = new LinkedHashSet<>();
+        for (final ResourceLocation id : index.idsWithPrefix(WorldGenSuggestions.remaining(builder), WorldGenSuggestions.SUGGESTION_LIMIT)) {
+            names.add(StringArgumentType.escapeIfRequired(id.getPath()));
+        }
+        return WorldGenSuggestions.suggest(builder, names);
+    }
+
+    private static CompletableFuture<Suggestions> suggest(final SuggestionsBuilder builder, final Iterable<String> suggestions) {
+        for (final String suggestion : suggestions) {
+            builder.suggest(suggestion);
+        }
+        return builder.buildFuture();
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.chromabreak.util;
+
+import com.github.chromabreak.ChromaBreak;
+import com.mojang.serialization.Codec;
+import net.neoforged.neoforge.attachment.AttachmentType;
+import net.neoforged.neoforge.registries.DeferredHolder;
+import net.neoforged.neoforge.registries.DeferredRegister;
+import net.neoforged.neoforge.registries.NeoForgeRegistries;
+
+/**
+ * ModAttachments - 模组数据附件注册类
+ * Mod Data Attachments Registration Class
+ * <p>
+ * 负责注册模组中的所有数据附件，使用枚举模式确保单例
+ * Responsible for registering all data attachments in the mod, using enum pattern to ensure singleton
+ * <p>
+ * 包含以下附件：
+ * Includes the following attachments:
+ * - crystal_growth_ledger：区块中水晶生长已模拟到的游戏时间
+ * crystal_growth_ledger: Game time up to which crystal growth in a chunk has been simulated
+ * - geode_generation：区块已经过本模组的晶洞生成（生成时已安装本模组，或已被补充生成处理）
+ * geode_generation: The chunk already went through this mod's geode generation (generated with the mod installed, or
+ * handled by the retrofit)
+ */
+public enum ModAttachments {
+    ;
+
+    /**
+     * 数据附件注册器 - Data attachment registry
+     * <p>
+     * 使用DeferredRegister延迟注册系统，确保附件在正确的时机注册
+     * Uses DeferredRegister deferred registration system to ensure attachments are registered at the correct time
+     */
+    public static final DeferredRegister<AttachmentType<?>> ATTACHMENT_TYPES =
+            DeferredRegister.create(NeoForgeRegistries.ATTACHMENT_TYPES, ChromaBreak.MODID);
+
+    /**
+     * 水晶生长账本
+     * Crystal growth ledger
+     * <p>
+     * 附加在区块上，只有包含过生长中母岩的区块才会写入，随区块一起保存
+     * Attached to chunks, only written for chunks that had growing budding blocks, saved with the chunk
+     */
+    public static final DeferredHolder<AttachmentType<?>, AttachmentType<Long>> CRYSTAL_GROWTH_LEDGER =
+            ModAttachments.ATTACHMENT_TYPES.register("crystal_growth_ledger",
+                    () -> AttachmentType.builder(() -> 0L).serialize(Codec.LONG).build());
+
+    /**
+     * 晶洞生成标记
+     * Geode generation marker
+     * <p>
+     * 附加在区块上，新生成的区块和补充生成处理过的区块会写入，补充生成会跳过带有标记的区块
+     * Attached to chunks, written for newly generated chunks and chunks the retrofit processed; the retrofit skips marked
+     * chunks
+     */
+    public static final DeferredHolder<AttachmentType<?>, AttachmentType<Boolean>> GEODE_GENERATION =
+            ModAttachments.ATTACHMENT_TYPES.register("geode_generation",
+                    () -> AttachmentType.builder(() -> false).serialize(Codec.BOOL).build());
+}
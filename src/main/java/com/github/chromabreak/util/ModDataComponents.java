@@ -0,0 +1,74 @@
+package com.github.chromabreak.util;
+
+import com.github.chromabreak.ChromaBreak;
+import net.minecraft.core.component.DataComponentType;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.util.Unit;
+import net.neoforged.neoforge.registries.DeferredHolder;
+import net.neoforged.neoforge.registries.DeferredRegister;
+
+/**
+ * ModDataComponents - 模组数据组件注册类
+ * Mod Data Components Registration Class
+ * <p>
+ * 负责注册模组中的所有物品数据组件，使用枚举模式确保单例
+ * Responsible for registering all item data components in the mod, using enum pattern to ensure singleton
+ * <p>
+ * 标记类组件使用Unit类型，检查时只需调用ItemStack.has，不需要读取或复制自定义NBT
+ * Marker components use the Unit type, so checks are a plain ItemStack.has call without reading or copying custom NBT
+ * <p>
+ * 包含以下组件：
+ * Includes the following components:
+ * - protected_hat：模组给骷髅和僵尸添加的帽子，不能掉落或被剥离
+ * protected_hat: Hat added to skeletons and zombies by the mod, cannot drop or be stripped
+ * - armor_stripper：可以剥离生物盔甲的工具
+ * armor_stripper: Tool that can strip armor from mobs
+ * - granted_equipment：模组给生物装备的物品，生物死亡时不掉落
+ * granted_equipment: Equipment the mod gave to a mob, never dropped when the mob dies
+ */
+public enum ModDataComponents {
+    ;
+
+    /**
+     * 数据组件注册器 - Data component registry
+     * <p>
+     * 使用DeferredRegister延迟注册系统，确保组件在正确的时机注册
+     * Uses DeferredRegister deferred registration system to ensure components are registered at the correct time
+     */
+    public static final DeferredRegister.DataComponents DATA_COMPONENTS =
+            DeferredRegister.createDataComponents(Registries.DATA_COMPONENT_TYPE, ChromaBreak.MODID);
+
+    /**
+     * 受保护帽子标记
+     * Protected hat marker
+     * <p>
+     * 持久化并同步到客户端
+     * Persisted and synchronized to clients
+     */
+    public static final DeferredHolder<DataComponentType<?>, DataComponentType<Unit>> PROTECTED_HAT =
+            ModDataComponents.DATA_COMPONENTS.registerComponentType("protected_hat",
+                    builder -> builder.persistent(Unit.CODEC).networkSynchronized(StreamCodec.unit(Unit.INSTANCE)));
+
+    /**
+     * 盔甲剥离工具标记
+     * Armor stripper marker
+     * <p>
+     * 持久化并同步到客户端
+     * Persisted and synchronized to clients
+     */
+    public static final DeferredHolder<DataComponentType<?>, DataComponentType<Unit>> ARMOR_STRIPPER =
+            ModDataComponents.DATA_COMPONENTS.registerComponentType("armor_stripper",
+                    builder -> builder.persistent(Unit.CODEC).networkSynchronized(StreamCodec.unit(Unit.INSTANCE)));
+
+    /**
+     * 模组授予的装备标记
+     * Mod-granted equipment marker
+     * <p>
+     * 持久化并同步到客户端
+     * Persisted and synchronized to clients
+     */
+    public static final DeferredHolder<DataComponentType<?>, DataComponentType<Unit>> GRANTED_EQUIPMENT =
+            ModDataComponents.DATA_COMPONENTS.registerComponentType("granted_equipment",
+                    builder -> builder.persistent(Unit.CODEC).networkSynchronized(StreamCodec.unit(Unit.INSTANCE)));
+}
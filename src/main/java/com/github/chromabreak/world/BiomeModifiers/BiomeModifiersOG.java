@@ -1,24 +1,27 @@
 package com.github.chromabreak.world.BiomeModifiers;
 
 import com.github.chromabreak.ChromaBreak;
+import com.github.chromabreak.blocks.BuddingCrystalsBlock;
+import com.github.chromabreak.world.GeodeSpecs;
 import com.github.chromabreak.world.PlacedFeatures.PlacedFeaturesOG;
 import net.minecraft.core.HolderSet;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.data.worldgen.BootstrapContext;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
-import net.minecraft.world.level.biome.Biomes;
 import net.minecraft.world.level.levelgen.GenerationStep;
 import net.neoforged.neoforge.common.world.BiomeModifier;
 import net.neoforged.neoforge.common.world.BiomeModifiers;
 import net.neoforged.neoforge.registries.NeoForgeRegistries;
 import org.slf4j.Logger;
 
+import java.util.Locale;
+
 /**
  * 生物群系修改器类 - Biome Modifiers Class
  * <p>
- * 这个类定义了模组的所有生物群系修改器，特别是将橙水晶矿洞添加到沙漠生物群系的修改器
- * This class defines all biome modifiers for the mod, especially the one that adds orange crystal geode to desert biomes
+ * 这个类定义了模组的所有生物群系修改器，即把GeodeSpecs.GEODES中每种颜色的水晶矿洞添加到对应生物群系的修改器
+ * This class defines all biome modifiers for the mod, the ones that add the crystal geode of every color in GeodeSpecs.GEODES to its biome
  * <p>
  * 生物群系修改器用于向特定生物群系添加或修改特征生成
  * Biome modifiers are used to add or modify feature generation in specific biomes
@@ -33,8 +36,7 @@ public enum BiomeModifiersOG {
      * This key is used to uniquely identify this biome modifier in the registry
      */
     public static final ResourceKey<BiomeModifier> ADD_ORANGE_GEODE_TO_DESERTS =
-            ResourceKey.create(NeoForgeRegistries.Keys.BIOME_MODIFIERS,
-                    ResourceLocation.fromNamespaceAndPath("chromabreak", "orange_geode_biome_modifier"));
+            BiomeModifiersOG.geode(BuddingCrystalsBlock.CrystalColor.ORANGE);
     private static final Logger LOGGER = ChromaBreak.LOGGER;
 
     /**
@@ -47,7 +49,7 @@ public enum BiomeModifiersOG {
      *                Bootstrap context for registering biome modifiers
      */
     public static void bootstrap(final BootstrapContext<BiomeModifier> context) {
-        BiomeModifiersOG.LOGGER.info("开始注册橙水晶矿洞生物群系修改器 - Starting to register orange geode biome modifier");
+        BiomeModifiersOG.LOGGER.info("开始注册水晶矿洞生物群系修改器 - Starting to register crystal geode biome modifiers");
 
         // 1. 获取已注册的生物群系
         final var biomes = context.lookup(Registries.BIOME);
@@ -55,25 +57,40 @@ public enum BiomeModifiersOG {
         // 2. 获取已注册的晶洞放置特征
         final var placedFeatures = context.lookup(Registries.PLACED_FEATURE);
 
-        // 3. 创建一个生物群系修改器
-        //    功能：在沙漠生物群系中添加橙水晶矿洞
-        context.register(BiomeModifiersOG.ADD_ORANGE_GEODE_TO_DESERTS,
-                new BiomeModifiers.AddFeaturesBiomeModifier(
-                        // 选择沙漠生物群系
-                        HolderSet.direct(
-                                biomes.getOrThrow(Biomes.DESERT)  // 使用沙漠生物群系
-                        ),
-                        // 选择要添加的特征
-                        HolderSet.direct(
-                                placedFeatures.getOrThrow(PlacedFeaturesOG.ORANGE_GEODE_PLACED)
-                        ),
-                        // 在哪个生成阶段添加（UNDERGROUND_DECORATION是地下装饰阶段）
-                        GenerationStep.Decoration.UNDERGROUND_DECORATION
-                )
-        );
+        // 3. 为每种颜色创建一个生物群系修改器
+        //    功能：在该颜色的生物群系中添加对应的水晶矿洞
+        for (final GeodeSpecs.GeodeSpec spec : GeodeSpecs.GEODES) {
+            context.register(BiomeModifiersOG.geode(spec.color()),
+                    new BiomeModifiers.AddFeaturesBiomeModifier(
+                            // 选择生物群系
+                            HolderSet.direct(
+                                    biomes.getOrThrow(spec.biome())
+                            ),
+                            // 选择要添加的特征
+                            HolderSet.direct(
+                                    placedFeatures.getOrThrow(PlacedFeaturesOG.geode(spec.color()))
+                            ),
+                            // 在哪个生成阶段添加（UNDERGROUND_DECORATION是地下装饰阶段）
+                            GenerationStep.Decoration.UNDERGROUND_DECORATION
+                    )
+            );
+        }
 
-        BiomeModifiersOG.LOGGER.info("橙水晶矿洞生物群系修改器注册完成 - Orange geode biome modifier registration completed");
+        BiomeModifiersOG.LOGGER.info("水晶矿洞生物群系修改器注册完成 - Crystal geode biome modifier registration completed: {}",
+                GeodeSpecs.GEODES.size());
     }
-}
-
 
+    /**
+     * 某种颜色晶洞的生物群系修改器键，例如chromabreak:orange_geode_biome_modifier
+     * Biome modifier key of the geode of a color, for example chromabreak:orange_geode_biome_modifier
+     *
+     * @param color 水晶颜色
+     *              Crystal color
+     * @return 生物群系修改器键
+     * Biome modifier key
+     */
+    public static ResourceKey<BiomeModifier> geode(final BuddingCrystalsBlock.CrystalColor color) {
+        return ResourceKey.create(NeoForgeRegistries.Keys.BIOME_MODIFIERS,
+                ResourceLocation.fromNamespaceAndPath("chromabreak", color.name().toLowerCase(Locale.ROOT) + "_geode_biome_modifier"));
+    }
+}
@@ -1,7 +1,9 @@
 package com.github.chromabreak.world.ConfiguredFeatures;
 
 import com.github.chromabreak.ChromaBreak;
-import com.github.chromabreak.util.ModBlocks;
+import com.github.chromabreak.blocks.BuddingCrystalsBlock;
+import com.github.chromabreak.blocks.CrystalGrowthStages;
+import com.github.chromabreak.world.GeodeSpecs;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.data.worldgen.BootstrapContext;
 import net.minecraft.resources.ResourceKey;
@@ -18,13 +20,13 @@ import net.minecraft.world.level.levelgen.feature.configurations.GeodeConfigurat
 import net.minecraft.world.level.levelgen.feature.stateproviders.BlockStateProvider;
 import org.slf4j.Logger;
 
-import java.util.List;
+import java.util.Locale;
 
 /**
  * 配置特征枚举 - Configured Features Enum
  * <p>
- * 这个类定义了模组的所有配置特征，特别是橙水晶矿洞的配置
- * This class defines all configured features for the mod, especially the orange crystal geode configuration
+ * 这个类定义了模组的所有配置特征，即GeodeSpecs.GEODES中每种颜色的水晶矿洞配置
+ * This class defines all configured features for the mod, the crystal geode configuration of every color in GeodeSpecs.GEODES
  * <p>
  * 配置特征定义了特征的生成参数，但不涉及在世界中的具体放置位置
  * Configured features define generation parameters but not specific placement in the world
@@ -36,7 +38,7 @@ public enum ConfiguredFeaturesOG {
      * Configured feature key for orange crystal geode
      */
     public static final ResourceKey<ConfiguredFeature<?, ?>> ORANGE_GEODE =
-            ResourceKey.create(Registries.CONFIGURED_FEATURE, ResourceLocation.fromNamespaceAndPath("chromabreak", "orange_geode"));
+            ConfiguredFeaturesOG.geode(BuddingCrystalsBlock.CrystalColor.ORANGE);
     private static final Logger LOGGER = ChromaBreak.LOGGER;
 
     /**
@@ -49,20 +51,41 @@ public enum ConfiguredFeaturesOG {
      *                Bootstrap context for registering configured features
      */
     public static void bootstrap(final BootstrapContext<ConfiguredFeature<?, ?>> context) {
-        ConfiguredFeaturesOG.LOGGER.info("开始注册橙水晶矿洞配置特征 - Starting to register orange geode configured feature");
-        context.register(ConfiguredFeaturesOG.ORANGE_GEODE, new ConfiguredFeature<>(Feature.GEODE, new GeodeConfiguration(
+        ConfiguredFeaturesOG.LOGGER.info("开始注册水晶矿洞配置特征 - Starting to register crystal geode configured features");
+        for (final GeodeSpecs.GeodeSpec spec : GeodeSpecs.GEODES) {
+            context.register(ConfiguredFeaturesOG.geode(spec.color()), ConfiguredFeaturesOG.geodeFeature(spec));
+        }
+        ConfiguredFeaturesOG.LOGGER.info("水晶矿洞配置特征注册完成 - Crystal geode configured feature registration completed: {}",
+                GeodeSpecs.GEODES.size());
+    }
+
+    /**
+     * 某种颜色晶洞的配置特征键，例如chromabreak:orange_geode
+     * Configured feature key of the geode of a color, for example chromabreak:orange_geode
+     *
+     * @param color 水晶颜色
+     *              Crystal color
+     * @return 配置特征键
+     * Configured feature key
+     */
+    public static ResourceKey<ConfiguredFeature<?, ?>> geode(final BuddingCrystalsBlock.CrystalColor color) {
+        return ResourceKey.create(Registries.CONFIGURED_FEATURE,
+                ResourceLocation.fromNamespaceAndPath("chromabreak", color.name().toLowerCase(Locale.ROOT) + "_geode"));
+    }
+
+    /**
+     * 按规格创建晶洞配置，除方块外所有颜色共用同一套参数
+     * Create the geode configuration of a spec, every color shares the same parameters apart from the blocks
+     */
+    private static ConfiguredFeature<?, ?> geodeFeature(final GeodeSpecs.GeodeSpec spec) {
+        return new ConfiguredFeature<>(Feature.GEODE, new GeodeConfiguration(
                 new GeodeBlockSettings(
                         BlockStateProvider.simple(Blocks.AIR),      // 内部：空气
-                        BlockStateProvider.simple(ModBlocks.CRYSTALS_ORANGE_BLOCK.get()),          // 外层：橙水晶块
-                        BlockStateProvider.simple(ModBlocks.BUDDING_ORANGE_CRYSTALS.get()),        // 中间层（备用）
-                        BlockStateProvider.simple(net.minecraft.world.level.block.Blocks.CALCITE), // 内层：方解石
+                        BlockStateProvider.simple(spec.shell().get()),   // 内壁：水晶块（没有时为方解石）
+                        BlockStateProvider.simple(spec.budding().get()), // 内壁中长出芽的方块（母岩，没有时为方解石）
+                        BlockStateProvider.simple(Blocks.CALCITE),       // 中间层：方解石
                         BlockStateProvider.simple(Blocks.DEEPSLATE),          // 最外填充：橙水晶块（代替平滑玄武岩）
-                        List.of(                                                                   // 晶簇列表
-                                ModBlocks.SMALL_CRYSTALS_ORANGE_BUD.get().defaultBlockState(),     // 小晶芽
-                                ModBlocks.MEDIUM_CRYSTALS_ORANGE_BUD.get().defaultBlockState(),    // 中晶芽
-                                ModBlocks.LARGE_CRYSTALS_ORANGE_BUD.get().defaultBlockState(),     // 大晶芽
-                                ModBlocks.CRYSTALS_ORANGE_CLUSTER.get().defaultBlockState()        // 晶簇
-                        ),
+                        CrystalGrowthStages.stages(spec.color()),        // 晶簇列表：该颜色已注册的各阶段芽
                         BlockTags.FEATURES_CANNOT_REPLACE,  // 不能替换的方块标签
                         BlockTags.GEODE_INVALID_BLOCKS       // 无效的矿洞方块标签
                 ),
@@ -78,8 +101,7 @@ public enum ConfiguredFeaturesOG {
                 16,                                         // 最大Y轴生成高度
                 0.05,                                       // 噪声偏移
                 1                                           // 噪声乘数
-        )));
-        ConfiguredFeaturesOG.LOGGER.info("橙水晶矿洞配置特征注册完成 - Orange geode configured feature registration completed");
+        ));
     }
 
 }
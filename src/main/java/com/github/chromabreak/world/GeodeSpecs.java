@@ -0,0 +1,69 @@
+package com.github.chromabreak.world;
+
+import com.github.chromabreak.blocks.BuddingCrystalsBlock;
+import com.github.chromabreak.util.ModBlocks;
+import com.github.chromabreak.world.PlacedFeatures.PlacedFeaturesOG;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.biome.Biome;
+import net.minecraft.world.level.biome.Biomes;
+import net.minecraft.world.level.block.Block;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * GeodeSpecs - 晶洞规格表
+ * GeodeSpecs - Geode Spec Table
+ * <p>
+ * 每种水晶颜色一行，ConfiguredFeaturesOG、PlacedFeaturesOG和BiomeModifiersOG都从这张表注册各自的条目
+ * One row per crystal color, ConfiguredFeaturesOG, PlacedFeaturesOG and BiomeModifiersOG all register their entries
+ * from this table
+ * <p>
+ * 每种颜色只在自己的生物群系中生成，区块装饰只会运行区块内生物群系包含的特征，稀有度过滤又在环境扫描之前，
+ * 所以增加颜色后单个区块的开销仍接近一种晶洞
+ * Every color only generates in its own biome, chunk decoration only runs the features of the biomes present in the
+ * chunk, and the rarity filter runs before the environment scan, so adding colors keeps the cost per chunk close to
+ * that of one geode type
+ * <p>
+ * 只列出水晶块、母岩、各阶段芽的方块状态和模型都已存在的颜色（目前只有橙色）；其他颜色的芽只有贴图，
+ * 没有母岩时晶洞里的芽永远不会生长，等它们的母岩和模型添加后再加入这里
+ * Only colors whose crystal block, budding block and bud blockstates and models all exist are listed (only orange
+ * for now); the buds of the other colors only have textures, and without a budding block their geode buds would
+ * never grow, so they are added here once their budding block and models exist
+ */
+public enum GeodeSpecs {
+    ;
+
+    /**
+     * 所有会生成的晶洞
+     * All geodes that generate
+     */
+    public static final List<GeodeSpec> GEODES = List.of(
+            new GeodeSpec(BuddingCrystalsBlock.CrystalColor.ORANGE, Biomes.DESERT,
+                    PlacedFeaturesOG.ORANGE_GEODE_RARITY, PlacedFeaturesOG.ORANGE_GEODE_MIN_Y, PlacedFeaturesOG.ORANGE_GEODE_MAX_Y,
+                    ModBlocks.CRYSTALS_ORANGE_BLOCK, ModBlocks.BUDDING_ORANGE_CRYSTALS));
+
+    /**
+     * 晶洞规格
+     * Geode spec
+     *
+     * @param color   水晶颜色 / Crystal color
+     * @param biome   生成的生物群系 / Biome it generates in
+     * @param rarity  平均每多少个区块尝试一次 / One attempt on average every this many chunks
+     * @param minY    高度下限 / Lowest height
+     * @param maxY    高度上限 / Highest height
+     * @param shell   内壁方块 / Inner shell block
+     * @param budding 内壁中长出芽的方块 / Inner shell block the buds grow from
+     */
+    public record GeodeSpec(BuddingCrystalsBlock.CrystalColor color, ResourceKey<Biome> biome, int rarity, int minY, int maxY,
+                            Supplier<? extends Block> shell, Supplier<? extends Block> budding) {
+        /**
+         * 颜色名，用作注册名前缀
+         * Color name, used as the prefix of registry names
+         */
+        public String name() {
+            return this.color.name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
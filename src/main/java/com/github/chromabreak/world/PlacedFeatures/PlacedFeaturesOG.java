@@ -1,7 +1,9 @@
 package com.github.chromabreak.world.PlacedFeatures;
 
 import com.github.chromabreak.ChromaBreak;
+import com.github.chromabreak.blocks.BuddingCrystalsBlock;
 import com.github.chromabreak.world.ConfiguredFeatures.ConfiguredFeaturesOG;
+import com.github.chromabreak.world.GeodeSpecs;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.data.worldgen.BootstrapContext;
 import net.minecraft.resources.ResourceKey;
@@ -14,12 +16,13 @@ import net.minecraft.world.level.levelgen.placement.*;
 import org.slf4j.Logger;
 
 import java.util.List;
+import java.util.Locale;
 
 /**
  * 放置特征枚举 - Placed Features Enum
  * <p>
- * 这个类定义了模组的所有放置特征，特别是橙水晶矿洞的放置规则
- * This class defines all placed features for the mod, especially the orange crystal geode placement rules
+ * 这个类定义了模组的所有放置特征，即GeodeSpecs.GEODES中每种颜色的水晶矿洞放置规则
+ * This class defines all placed features for the mod, the crystal geode placement rules of every color in GeodeSpecs.GEODES
  * <p>
  * 放置特征定义了配置特征在世界中的具体放置位置和条件
  * Placed features define the specific placement locations and conditions for configured features in the world
@@ -31,7 +34,27 @@ public enum PlacedFeaturesOG {
      * Placed feature key for orange crystal geode
      */
     public static final ResourceKey<PlacedFeature> ORANGE_GEODE_PLACED =
-            ResourceKey.create(Registries.PLACED_FEATURE, ResourceLocation.fromNamespaceAndPath("chromabreak", "orange_geode_placed"));
+            PlacedFeaturesOG.geode(BuddingCrystalsBlock.CrystalColor.ORANGE);
+    /**
+     * 稀有度：平均每多少个区块尝试生成一次
+     * Rarity: one attempt on average every this many chunks
+     */
+    public static final int ORANGE_GEODE_RARITY = 60;
+    /**
+     * 生成高度下限（深板岩层底部）
+     * Lowest generation height (bottom of the deepslate layer)
+     */
+    public static final int ORANGE_GEODE_MIN_Y = -64;
+    /**
+     * 生成高度上限（深板岩层顶部）
+     * Highest generation height (top of the deepslate layer)
+     */
+    public static final int ORANGE_GEODE_MAX_Y = 0;
+    /**
+     * 向下寻找石头的最大扫描距离
+     * Maximum scan distance when searching downwards for stone
+     */
+    public static final int ORANGE_GEODE_SCAN_DISTANCE = 16;
     private static final Logger LOGGER = ChromaBreak.LOGGER;
 
     /**
@@ -44,28 +67,52 @@ public enum PlacedFeaturesOG {
      *                Bootstrap context for registering placed features
      */
     public static void bootstrap(final BootstrapContext<PlacedFeature> context) {
-        PlacedFeaturesOG.LOGGER.info("开始注册橙水晶矿洞放置特征 - Starting to register orange geode placed feature");
+        PlacedFeaturesOG.LOGGER.info("开始注册水晶矿洞放置特征 - Starting to register crystal geode placed features");
 
         final var configured = context.lookup(Registries.CONFIGURED_FEATURE);
 
-        context.register(PlacedFeaturesOG.ORANGE_GEODE_PLACED, new PlacedFeature(
-                configured.getOrThrow(ConfiguredFeaturesOG.ORANGE_GEODE),
-                List.of(
-                        RarityFilter.onAverageOnceEvery(60),  // 稀有度过滤器：平均每60个区块生成一次
-                        InSquarePlacement.spread(),           // 在区块内均匀分布
-                        HeightRangePlacement.uniform(         // 高度范围：-64到0（深板岩层）
-                                VerticalAnchor.absolute(-64),  // 最低高度
-                                VerticalAnchor.absolute(0)),   // 最高高度（深板岩层顶部）
-                        EnvironmentScanPlacement.scanningFor( // 环境扫描：向下寻找基岩
-                                net.minecraft.core.Direction.DOWN,
-                                BlockPredicate.matchesTag(BlockTags.BASE_STONE_OVERWORLD), // 匹配基岩标签
-                                16                                                         // 最大扫描距离
-                        ),
-                        RandomOffsetPlacement.horizontal(ConstantInt.of(7)), // 水平随机偏移：±7格
-                        RandomOffsetPlacement.vertical(ConstantInt.of(1))    // 垂直随机偏移：±1格
-                )
-        ));
+        for (final GeodeSpecs.GeodeSpec spec : GeodeSpecs.GEODES) {
+            context.register(PlacedFeaturesOG.geode(spec.color()), new PlacedFeature(
+                    configured.getOrThrow(ConfiguredFeaturesOG.geode(spec.color())),
+                    PlacedFeaturesOG.geodePlacement(spec)));
+        }
 
-        PlacedFeaturesOG.LOGGER.info("橙水晶矿洞放置特征注册完成 - Orange geode placed feature registration completed");
+        PlacedFeaturesOG.LOGGER.info("水晶矿洞放置特征注册完成 - Crystal geode placed feature registration completed: {}",
+                GeodeSpecs.GEODES.size());
+    }
+
+    /**
+     * 某种颜色晶洞的放置特征键，例如chromabreak:orange_geode_placed
+     * Placed feature key of the geode of a color, for example chromabreak:orange_geode_placed
+     *
+     * @param color 水晶颜色
+     *              Crystal color
+     * @return 放置特征键
+     * Placed feature key
+     */
+    public static ResourceKey<PlacedFeature> geode(final BuddingCrystalsBlock.CrystalColor color) {
+        return ResourceKey.create(Registries.PLACED_FEATURE,
+                ResourceLocation.fromNamespaceAndPath("chromabreak", color.name().toLowerCase(Locale.ROOT) + "_geode_placed"));
+    }
+
+    /**
+     * 按规格创建放置规则；稀有度过滤放在最前面，只有通过的区块才会进行环境扫描
+     * Create the placement rules of a spec; the rarity filter comes first, so only chunks that pass it run the environment scan
+     */
+    private static List<PlacementModifier> geodePlacement(final GeodeSpecs.GeodeSpec spec) {
+        return List.of(
+                RarityFilter.onAverageOnceEvery(spec.rarity()),  // 稀有度过滤器：平均每rarity个区块生成一次
+                InSquarePlacement.spread(),           // 在区块内均匀分布
+                HeightRangePlacement.uniform(         // 高度范围
+                        VerticalAnchor.absolute(spec.minY()),  // 最低高度
+                        VerticalAnchor.absolute(spec.maxY())), // 最高高度
+                EnvironmentScanPlacement.scanningFor( // 环境扫描：向下寻找基岩
+                        net.minecraft.core.Direction.DOWN,
+                        BlockPredicate.matchesTag(BlockTags.BASE_STONE_OVERWORLD), // 匹配基岩标签
+                        PlacedFeaturesOG.ORANGE_GEODE_SCAN_DISTANCE                // 最大扫描距离（所有颜色共用）
+                ),
+                RandomOffsetPlacement.horizontal(ConstantInt.of(7)), // 水平随机偏移：±7格
+                RandomOffsetPlacement.vertical(ConstantInt.of(1))    // 垂直随机偏移：±1格
+        );
     }
 }